@@ -0,0 +1,102 @@
+package com.tts.testApp.dto;
+
+import com.tts.testApp.model.QuestionBank;
+import com.tts.testApp.model.Student;
+import com.tts.testApp.model.Subject;
+import com.tts.testApp.service.QuestionBankService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO conversions used by the admin lists, and grade calculation
+ * done on every submission.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoConversionBenchmark {
+
+    /** Rows in each list */
+    @Param({"500"})
+    public int size;
+
+    private List<Student> students;
+    private List<QuestionBank> questionBanks;
+    private QuestionBankService questionBankService;
+    private TestResultDTO[] results;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+        students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Student student = new Student();
+            student.setId((long) i + 1);
+            student.setStudentId(String.format("STU%06d", i + 1));
+            student.setFullName("Student Number " + i);
+            student.setEmail("student" + i + "@example.com");
+            student.setRegisteredDate(now.minusDays(i));
+            student.setTestsTaken(random.nextInt(20));
+            students.add(student);
+        }
+
+        Subject subject = new Subject();
+        subject.setId(1L);
+        subject.setName("Benchmark Subject");
+        questionBanks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            QuestionBank questionBank = new QuestionBank();
+            questionBank.setId((long) i + 1);
+            questionBank.setSubject(subject);
+            questionBank.setFileName("bank-" + i + ".csv");
+            questionBank.setOriginalFileName("Question Bank " + i + ".csv");
+            questionBank.setTotalQuestions(100 + random.nextInt(900));
+            questionBank.setActive(true);
+            questionBank.setFileSize(10_000L + random.nextInt(100_000));
+            questionBank.setLastUpdated(now.minusHours(i));
+            questionBank.setUploadedBy("admin@example.com");
+            questionBanks.add(questionBank);
+        }
+        // Conversion uses no collaborators
+        questionBankService = new QuestionBankService(null, null, null, null, null);
+
+        // Score spread across every grade band, read round-robin so the branch is not predictable
+        results = new TestResultDTO[1024];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = new TestResultDTO();
+            results[i].setScorePercentage(random.nextDouble() * 100);
+        }
+    }
+
+    @Benchmark
+    public List<StudentDTO> studentDtos() {
+        return students.stream().map(StudentDTO::new).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<QuestionBankDTO> questionBankDtos() {
+        return questionBankService.convertToDTOs(questionBanks);
+    }
+
+    @Benchmark
+    public String calculateGrade() {
+        TestResultDTO result = results[next++ & (results.length - 1)];
+        return result.calculateGrade();
+    }
+}
@@ -0,0 +1,122 @@
+package com.tts.testApp.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result with a stored baseline and prints the change
+ * in score and in allocation per operation (gc.alloc.rate.norm) for every
+ * benchmark present in both.
+ *
+ * A benchmark regresses when its time per operation (or throughput) or its
+ * allocation per operation is worse than the baseline by more than the
+ * threshold. Scores within the baseline's error margin are not counted.
+ *
+ * Usage: BaselineComparison <baseline.json> <result.json> [thresholdPercent] [failOnRegression]
+ * Runs after the benchmarks in the jmh Maven profile; see pom.xml.
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [thresholdPercent] [failOnRegression]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        boolean failOnRegression = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (!baselineFile.isFile()) {
+            System.out.printf("No JMH baseline at %s; to start tracking, copy %s there%n", baselineFile, resultFile);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(resultFile));
+
+        int regressions = 0;
+        System.out.printf("%n%-80s %12s %12s %8s %12s %12s %8s%n",
+                "benchmark", "baseline", "current", "change", "base B/op", "curr B/op", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %12s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double baseError = before.path("primaryMetric").path("scoreError").asDouble(0);
+            double score = after.path("primaryMetric").path("score").asDouble();
+            double scoreChange = percentChange(baseScore, score);
+            double worse = higherIsBetter ? baseScore - score : score - baseScore;
+            boolean slower = worse > Math.abs(baseError) && Math.abs(scoreChange) > threshold;
+
+            double baseAlloc = before.path("secondaryMetrics").path(ALLOC_NORM).path("score").asDouble(Double.NaN);
+            double alloc = after.path("secondaryMetrics").path(ALLOC_NORM).path("score").asDouble(Double.NaN);
+            double allocChange = percentChange(baseAlloc, alloc);
+            // Allocation is deterministic enough that a few bytes of noise should not count
+            boolean allocates = alloc - baseAlloc > 16 && allocChange > threshold;
+
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-80s %12.3f %12.3f %7.1f%% %12.0f %12.0f %7.1f%%%s%n",
+                    entry.getKey(), baseScore, score, scoreChange, baseAlloc, alloc, allocChange,
+                    slower || allocates ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%n%d regression(s) beyond %.0f%% against %s%n", regressions, threshold, baselineFile);
+        if (failOnRegression && regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Results keyed by benchmark name and parameters, e.g. QuestionServiceBenchmark.validateAnswers(bankSize=200)
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+                    benchmark.lastIndexOf('.') - 1) + 1));
+            JsonNode params = result.path("params");
+            if (params.isObject() && !params.isEmpty()) {
+                key.append('(');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(',');
+                    }
+                }
+                key.append(')');
+            }
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+
+    private static double percentChange(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        return (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,69 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CSVQuestionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Question bank upload parsing on generated CSV files, including quoted
+ * fields with commas and a share of invalid rows that are skipped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CSVParserServiceBenchmark {
+
+    /** Question rows per file */
+    @Param({"100", "2000"})
+    public int rows;
+
+    private final CSVParserService csvParserService = new CSVParserService();
+    private MockMultipartFile file;
+
+    @Setup
+    public void setUp() {
+        file = new MockMultipartFile("file", "questions.csv", "text/csv", generate(rows, 42));
+    }
+
+    @Benchmark
+    public List<CSVQuestionDTO> parseCSV() throws IOException {
+        return csvParserService.parseCSV(file);
+    }
+
+    static byte[] generate(int rows, long seed) {
+        Random random = new Random(seed);
+        StringBuilder csv = new StringBuilder(rows * 200);
+        csv.append("Question,Option A,Option B,Option C,Option D,Correct Answer,Explanation,Marks,Difficulty\n");
+        for (int i = 0; i < rows; i++) {
+            // About 2% of rows have an invalid answer, as hand-edited uploads do
+            String answer = random.nextInt(50) == 0
+                    ? "E"
+                    : QuestionFixtures.OPTIONS[random.nextInt(QuestionFixtures.OPTIONS.length)];
+            csv.append("\"Which statement about topic ").append(i).append(", part ").append(i % 7)
+                    .append(", is correct?\",")
+                    .append("Option one ").append(i).append(',')
+                    .append("Option two ").append(i).append(',')
+                    .append("\"Option three, with a comma\",")
+                    .append("Option four ").append(i).append(',')
+                    .append(answer).append(',')
+                    .append("Because option ").append(answer).append(" is right,")
+                    .append(1 + random.nextInt(3)).append(',')
+                    .append(QuestionFixtures.DIFFICULTIES[random.nextInt(QuestionFixtures.DIFFICULTIES.length)])
+                    .append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
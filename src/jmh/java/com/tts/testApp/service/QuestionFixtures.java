@@ -0,0 +1,79 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.model.Question;
+import com.tts.testApp.repository.QuestionRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * In-memory question bank for benchmarks. The repository stub returns a new
+ * list on every call, as JPA does, so callers that shuffle it in place see
+ * the same cost as in production without the database round trip.
+ */
+final class QuestionFixtures {
+
+    static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+    static final String[] OPTIONS = {"A", "B", "C", "D"};
+
+    private QuestionFixtures() {
+    }
+
+    static List<Question> questionBank(int size, long seed) {
+        Random random = new Random(seed);
+        List<Question> questions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Question question = new Question();
+            question.setId((long) i + 1);
+            question.setQuestionText("Benchmark question " + i + " about a topic that needs a sentence of text?");
+            question.setOptionA("First option for question " + i);
+            question.setOptionB("Second option for question " + i);
+            question.setOptionC("Third option for question " + i);
+            question.setOptionD("Fourth option for question " + i);
+            question.setCorrectAnswer(OPTIONS[random.nextInt(OPTIONS.length)]);
+            question.setExplanation("Explanation for question " + i);
+            question.setMarks(1 + random.nextInt(3));
+            question.setDifficultyLevel(DIFFICULTIES[i % DIFFICULTIES.length]);
+            question.setActive(true);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    /**
+     * Stub answering the queries QuestionService issues; any other repository method throws
+     */
+    static QuestionRepository repository(List<Question> questions) {
+        Map<Long, Question> byId = new HashMap<>();
+        Map<String, List<Question>> byDifficulty = new HashMap<>();
+        for (Question question : questions) {
+            byId.put(question.getId(), question);
+            byDifficulty.computeIfAbsent(question.getDifficultyLevel(), level -> new ArrayList<>()).add(question);
+        }
+
+        return (QuestionRepository) Proxy.newProxyInstance(QuestionRepository.class.getClassLoader(),
+                new Class<?>[]{QuestionRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByQuestionBankIdAndActiveTrue" -> new ArrayList<>(questions);
+                    case "findByQuestionBankIdAndDifficultyLevelAndActiveTrue" ->
+                            new ArrayList<>(byDifficulty.getOrDefault((String) args[1], List.of()));
+                    case "findAllById" -> {
+                        List<Question> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Question question = byId.get((Long) id);
+                            if (question != null) {
+                                found.add(question);
+                            }
+                        }
+                        yield found;
+                    }
+                    case "toString" -> "QuestionFixtures.repository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,79 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.QuestionDTO;
+import com.tts.testApp.dto.StudentAnswerDTO;
+import com.tts.testApp.dto.TestResultDTO;
+import com.tts.testApp.model.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exam start (question sampling and conversion to DTOs) and exam submit
+ * (grading) against an in-memory question bank.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QuestionServiceBenchmark {
+
+    private static final long BANK_ID = 1L;
+
+    /** Questions in the bank */
+    @Param({"200", "2000"})
+    public int bankSize;
+
+    /** Questions per exam */
+    @Param({"30"})
+    public int examSize;
+
+    private QuestionService questionService;
+    private List<StudentAnswerDTO> submission;
+
+    @Setup
+    public void setUp() {
+        List<Question> questions = QuestionFixtures.questionBank(bankSize, 42);
+        questionService = new QuestionService(QuestionFixtures.repository(questions));
+
+        // A typical submission: mostly answered, some right, some wrong, a few skipped
+        Random random = new Random(7);
+        submission = new ArrayList<>(examSize);
+        for (int i = 0; i < examSize; i++) {
+            Question question = questions.get(random.nextInt(questions.size()));
+            String answer = switch (random.nextInt(5)) {
+                case 0 -> null;
+                case 1, 2 -> question.getCorrectAnswer();
+                default -> QuestionFixtures.OPTIONS[random.nextInt(QuestionFixtures.OPTIONS.length)];
+            };
+            submission.add(new StudentAnswerDTO(question.getId(), answer));
+        }
+    }
+
+    @Benchmark
+    public List<QuestionDTO> sampleQuestions() {
+        return questionService.getRandomQuestionsForTest(BANK_ID, examSize);
+    }
+
+    @Benchmark
+    public List<QuestionDTO> sampleQuestionsByDifficulty() {
+        int perLevel = examSize / 3;
+        return questionService.getRandomQuestionsByDifficulty(BANK_ID, perLevel, perLevel, examSize - 2 * perLevel);
+    }
+
+    @Benchmark
+    public TestResultDTO validateAnswers() {
+        TestResultDTO result = questionService.validateAnswers(submission);
+        result.setGrade(result.calculateGrade());
+        return result;
+    }
+}
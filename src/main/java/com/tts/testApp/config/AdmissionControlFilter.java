@@ -0,0 +1,136 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Puts exam, student and admin requests through AdmissionController before
+ * any work is done for them: ahead of session loading and Spring Security,
+ * inside ServerTimingFilter so queue time shows up as the "queue" phase.
+ *
+ * A request whose class queue is full gets 429, one that waited its class's
+ * maximum without being admitted gets 503; both carry Retry-After. API and
+ * JSON clients get the usual {"success": false, "error": ...} body, pages a
+ * short plain-text message. Login, static resources and actuator endpoints
+ * are never held back.
+ *
+ * Running before Spring Security means an anonymous request would take a
+ * queue slot of its class until it is refused. Exam API calls that carry
+ * neither a session cookie nor an API token cannot be authenticated, so
+ * they get 401 here without being admitted. Ones with a forged or expired
+ * credential are still admitted and refused by Spring Security; the
+ * per-class queue limits bound what such a flood can hold.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String SESSION_COOKIE = "SESSION";
+
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestPriority priority = classify(request);
+        if (isExamApi(priority) && !hasCredentials(request)) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("success", false, "error", "Unauthorized or token expired"));
+            return;
+        }
+        AdmissionController.Admission admission = admissionController.admit(priority);
+        if (admission.waitedNanos() > 0) {
+            RequestTiming.record(RequestTiming.QUEUE, admission.waitedNanos());
+        }
+        if (!admission.admitted()) {
+            reject(request, response, priority, admission.outcome());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            admissionController.release(priority);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RequestPriority priority,
+                        AdmissionController.Outcome outcome) throws IOException {
+        boolean queueFull = outcome == AdmissionController.Outcome.QUEUE_FULL;
+        HttpStatus status = queueFull ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        int retryAfter = admissionController.getRetryAfterSeconds(priority);
+        String message = queueFull ? "Server is busy, please retry shortly"
+                : "Server is overloaded, please retry shortly";
+        log.debug("Shed {} request {} {}: {}", priority.key(), request.getMethod(), request.getRequestURI(),
+                outcome);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (wantsJson(request)) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("success", false, "error", message, "retryAfterSeconds", retryAfter));
+        } else {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(message);
+        }
+    }
+
+    private static RequestPriority classify(HttpServletRequest request) {
+        return RequestPriority.classify(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static boolean isExamApi(RequestPriority priority) {
+        return priority != RequestPriority.STUDENT && priority != RequestPriority.ADMIN;
+    }
+
+    private static boolean hasCredentials(HttpServletRequest request) {
+        if (request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (SESSION_COOKIE.equals(cookie.getName()) || ApiTokenService.COOKIE_NAME.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean wantsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/")
+                || (accept != null && accept.contains(MediaType.APPLICATION_JSON_VALUE));
+    }
+}
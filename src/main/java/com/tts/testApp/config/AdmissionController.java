@@ -0,0 +1,261 @@
+package com.tts.testApp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Priority admission control for request handling.
+ *
+ * Every class (RequestPriority) has its own concurrency limit, a bounded
+ * FIFO queue and a maximum queue wait. On top of that all classes share one
+ * in-flight budget (app.admission.max-in-flight, sized like the worker
+ * pool), of which each class may only fill its share: admin work stops being
+ * admitted at half the budget, student pages at 70%, proctoring events at
+ * 80%, exam starts at 90% and autosaves at 95%, while submits may use all of it. Under overload the low classes therefore
+ * queue and shed first and the headroom they leave is what keeps submits
+ * flowing. Whenever a request finishes, waiting requests are admitted
+ * highest class first.
+ *
+ * A request is rejected immediately when its class queue is full and after
+ * its maximum wait otherwise; the filter answers 429 or 503 respectively.
+ */
+@Component
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true")
+@Slf4j
+public class AdmissionController {
+
+    public enum Outcome {
+        ADMITTED,
+        /** The class queue was full; rejected without waiting */
+        QUEUE_FULL,
+        /** Queued, but not admitted within the class's maximum wait */
+        TIMED_OUT
+    }
+
+    /**
+     * @param waitedNanos time spent queued (0 when admitted straight away)
+     */
+    public record Admission(Outcome outcome, long waitedNanos) {
+        public boolean admitted() {
+            return outcome == Outcome.ADMITTED;
+        }
+    }
+
+    /**
+     * @param sharePercent      part of the shared in-flight budget this class may fill
+     * @param retryAfterSeconds Retry-After sent with a rejection
+     */
+    public record Limits(int maxConcurrent, int maxQueue, long maxWaitMillis, int sharePercent,
+                         int retryAfterSeconds) {
+    }
+
+    private static final Map<RequestPriority, Limits> DEFAULT_LIMITS = Map.of(
+            RequestPriority.SUBMIT, new Limits(200, 2000, 30_000, 100, 2),
+            RequestPriority.AUTOSAVE, new Limits(150, 2000, 5_000, 95, 2),
+            RequestPriority.INITIALIZE, new Limits(150, 1000, 10_000, 90, 2),
+            RequestPriority.PROCTORING, new Limits(60, 500, 2_000, 80, 5),
+            RequestPriority.STUDENT, new Limits(100, 200, 2_000, 70, 5),
+            RequestPriority.ADMIN, new Limits(40, 50, 1_000, 50, 10));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<RequestPriority, PriorityClass> classes = new EnumMap<>(RequestPriority.class);
+    /** Admitted requests of all classes; guarded by lock */
+    private int inFlight;
+
+    @Autowired
+    public AdmissionController(Environment environment, MeterRegistry registry) {
+        this(environment.getProperty("app.admission.max-in-flight", Integer.class, 200),
+                limitsFrom(environment), registry);
+    }
+
+    AdmissionController(int maxInFlight, Map<RequestPriority, Limits> limits, MeterRegistry registry) {
+        for (RequestPriority priority : RequestPriority.values()) {
+            Limits classLimits = limits.get(priority);
+            int ceiling = Math.max(1, maxInFlight * classLimits.sharePercent() / 100);
+            PriorityClass priorityClass = new PriorityClass(priority, classLimits, ceiling, registry);
+            classes.put(priority, priorityClass);
+            log.info("Admission class {}: {} concurrent, queue {}, wait {} ms, up to {} of {} in flight",
+                    priority.key(), classLimits.maxConcurrent(), classLimits.maxQueue(),
+                    classLimits.maxWaitMillis(), ceiling, maxInFlight);
+        }
+    }
+
+    private static Map<RequestPriority, Limits> limitsFrom(Environment environment) {
+        Map<RequestPriority, Limits> limits = new EnumMap<>(RequestPriority.class);
+        DEFAULT_LIMITS.forEach((priority, defaults) -> {
+            String prefix = "app.admission.classes." + priority.key() + ".";
+            limits.put(priority, new Limits(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, defaults.maxConcurrent()),
+                    environment.getProperty(prefix + "max-queue", Integer.class, defaults.maxQueue()),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, defaults.maxWaitMillis()),
+                    environment.getProperty(prefix + "share-percent", Integer.class, defaults.sharePercent()),
+                    environment.getProperty(prefix + "retry-after-seconds", Integer.class,
+                            defaults.retryAfterSeconds())));
+        });
+        return limits;
+    }
+
+    /**
+     * Admit a request, queueing it if its class cannot run now.
+     * Every admitted request must be followed by release().
+     */
+    public Admission admit(RequestPriority priority) {
+        PriorityClass priorityClass = classes.get(priority);
+        lock.lock();
+        try {
+            if (priorityClass.waiters.isEmpty() && canRun(priorityClass)) {
+                start(priorityClass);
+                return new Admission(Outcome.ADMITTED, 0);
+            }
+            if (priorityClass.waiters.size() >= priorityClass.limits.maxQueue()) {
+                priorityClass.queueFull.increment();
+                return new Admission(Outcome.QUEUE_FULL, 0);
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            priorityClass.waiters.addLast(waiter);
+            long start = System.nanoTime();
+            long remaining = TimeUnit.MILLISECONDS.toNanos(priorityClass.limits.maxWaitMillis());
+            try {
+                while (!waiter.admitted && remaining > 0) {
+                    remaining = waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long waited = System.nanoTime() - start;
+            priorityClass.queueWait.record(waited, TimeUnit.NANOSECONDS);
+            if (waiter.admitted) {
+                return new Admission(Outcome.ADMITTED, waited);
+            }
+            priorityClass.waiters.remove(waiter);
+            priorityClass.timedOut.increment();
+            return new Admission(Outcome.TIMED_OUT, waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(RequestPriority priority) {
+        lock.lock();
+        try {
+            classes.get(priority).inFlight--;
+            inFlight--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getRetryAfterSeconds(RequestPriority priority) {
+        return classes.get(priority).limits.retryAfterSeconds();
+    }
+
+    public int getInFlight(RequestPriority priority) {
+        lock.lock();
+        try {
+            return classes.get(priority).inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued(RequestPriority priority) {
+        lock.lock();
+        try {
+            return classes.get(priority).waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hand freed capacity to waiting requests, highest class first; called with the lock held
+     */
+    private void dispatch() {
+        for (PriorityClass priorityClass : classes.values()) {
+            while (!priorityClass.waiters.isEmpty() && canRun(priorityClass)) {
+                Waiter waiter = priorityClass.waiters.pollFirst();
+                waiter.admitted = true;
+                start(priorityClass);
+                waiter.signal.signal();
+            }
+        }
+    }
+
+    private boolean canRun(PriorityClass priorityClass) {
+        return priorityClass.inFlight < priorityClass.limits.maxConcurrent() && inFlight < priorityClass.ceiling;
+    }
+
+    private void start(PriorityClass priorityClass) {
+        priorityClass.inFlight++;
+        inFlight++;
+    }
+
+    private static final class Waiter {
+        private final Condition signal;
+        /** Set by dispatch() under the lock */
+        private boolean admitted;
+
+        Waiter(Condition signal) {
+            this.signal = signal;
+        }
+    }
+
+    /**
+     * State of one class; fields guarded by the controller's lock
+     */
+    private final class PriorityClass {
+        private final Limits limits;
+        /** In-flight total above which this class is not admitted */
+        private final int ceiling;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private final Counter queueFull;
+        private final Counter timedOut;
+        private final Timer queueWait;
+        private int inFlight;
+
+        PriorityClass(RequestPriority priority, Limits limits, int ceiling, MeterRegistry registry) {
+            this.limits = limits;
+            this.ceiling = ceiling;
+            String key = priority.key();
+            queueFull = Counter.builder("tts.admission.shed")
+                    .description("Requests rejected by admission control")
+                    .tags("class", key, "reason", "queue_full")
+                    .register(registry);
+            timedOut = Counter.builder("tts.admission.shed")
+                    .description("Requests rejected by admission control")
+                    .tags("class", key, "reason", "timeout")
+                    .register(registry);
+            queueWait = Timer.builder("tts.admission.queue-wait")
+                    .description("Time requests spent queued for admission")
+                    .tag("class", key)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+            Gauge.builder("tts.admission.queued", AdmissionController.this, controller -> controller.getQueued(priority))
+                    .description("Requests currently queued for admission")
+                    .tag("class", key)
+                    .register(registry);
+            Gauge.builder("tts.admission.in-flight", AdmissionController.this,
+                            controller -> controller.getInFlight(priority))
+                    .description("Admitted requests currently being handled")
+                    .tag("class", key)
+                    .register(registry);
+        }
+    }
+}
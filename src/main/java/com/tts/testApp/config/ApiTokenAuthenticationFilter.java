@@ -0,0 +1,42 @@
+package com.tts.testApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates stateless /api/test requests from a signed API token.
+ * Requests without a valid token continue unauthenticated and are
+ * rejected by the authorization rules.
+ *
+ * Nothing is read from the session or the session registry: logging in
+ * elsewhere or logging out revokes the token through ApiTokenRevocations,
+ * which is checked in memory. Token calls therefore do not keep the login
+ * session alive; the exam API keeps working until the token expires.
+ */
+@RequiredArgsConstructor
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final ApiTokenService apiTokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = apiTokenService.resolveToken(request);
+        AuthenticatedUser user = apiTokenService.verify(token);
+        if (user != null) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+            SecurityContextHolder.setContext(context);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,103 @@
+package com.tts.testApp.config;
+
+import com.tts.testApp.model.CacheChangeLog;
+import com.tts.testApp.repository.CacheChangeLogRepository;
+import com.tts.testApp.service.CacheInvalidation;
+import com.tts.testApp.service.CacheInvalidationBus;
+import com.tts.testApp.service.CacheNames;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-student cut-off for API tokens, kept in memory on every node.
+ *
+ * A student's login or logout revokes every token issued to them before it.
+ * The revocation goes out on the CacheInvalidationBus (cache name
+ * API_TOKENS, key = student id), so each node holds the latest cut-off per
+ * student and checks a token with one map lookup. A node that starts later
+ * reads the revocations still within the token lifetime from the change log.
+ *
+ * Cut-offs and token issue times come from the clocks of different nodes,
+ * so they are assumed to agree to within a few seconds.
+ */
+@Component
+@Slf4j
+public class ApiTokenRevocations {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CacheChangeLogRepository changeLogRepository;
+    private final boolean enabled;
+    private final long ttlMillis;
+
+    /** Student id -> tokens issued before this time (epoch milliseconds) are revoked */
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public ApiTokenRevocations(CacheInvalidationBus cacheInvalidationBus,
+                               CacheChangeLogRepository changeLogRepository,
+                               @Value("${app.security.api-token.enabled:false}") boolean enabled,
+                               @Value("${app.security.api-token.ttl-minutes:180}") long ttlMinutes) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.changeLogRepository = changeLogRepository;
+        this.enabled = enabled;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        cacheInvalidationBus.subscribe(CacheNames.API_TOKENS, this::apply);
+    }
+
+    /**
+     * Pick up revocations published before this node started
+     */
+    @PostConstruct
+    public void loadRecent() {
+        if (!enabled) {
+            return;
+        }
+        List<CacheChangeLog> recent = changeLogRepository.findByCacheNameAndPublishedAtGreaterThanEqual(
+                CacheNames.API_TOKENS, System.currentTimeMillis() - ttlMillis);
+        recent.forEach(change -> apply(new CacheInvalidation(change.getCacheName(), change.getEntityKey(),
+                change.getOriginNode(), change.getPublishedAt())));
+        log.info("Loaded {} API token revocations", recent.size());
+    }
+
+    /**
+     * Revoke every token issued to the student until now, on all nodes
+     */
+    public void revoke(Long studentId) {
+        cacheInvalidationBus.publish(CacheNames.API_TOKENS, studentId);
+    }
+
+    /**
+     * @param issuedAt epoch milliseconds
+     */
+    public boolean isRevoked(Long studentId, long issuedAt) {
+        Long cutoff = revokedBefore.get(studentId);
+        return cutoff != null && issuedAt < cutoff;
+    }
+
+    /**
+     * Forget cut-offs older than the token lifetime: every token they revoke has expired
+     */
+    @Scheduled(fixedDelayString = "${app.security.api-token.prune-interval-ms:600000}")
+    public void prune() {
+        long expired = System.currentTimeMillis() - ttlMillis;
+        revokedBefore.values().removeIf(cutoff -> cutoff < expired);
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        if (invalidation.key() == null) {
+            return;
+        }
+        try {
+            revokedBefore.merge(Long.valueOf(invalidation.key()), invalidation.publishedAt(), Math::max);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring API token revocation with key {}", invalidation.key());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Issues and verifies compact signed tokens (JWT, HS256) for the stateless
+ * /api/test mode. A token carries the student's login name, id and roles,
+ * so a request is authenticated from the token with one HMAC and an
+ * in-memory revocation check, with no database or session store lookup.
+ * A newer login or a logout revokes the student's earlier tokens on every
+ * node (see ApiTokenRevocations).
+ *
+ * All nodes must share app.security.api-token.secret (Base64, at least 32
+ * bytes). Without it a random key is generated, which only works on a
+ * single node and invalidates tokens on restart.
+ */
+@Component
+@Slf4j
+public class ApiTokenService {
+
+    public static final String COOKIE_NAME = "EXAM_TOKEN";
+    public static final String COOKIE_PATH = "/api/test";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final ApiTokenRevocations revocations;
+    private final Mac macPrototype;
+    private final Duration ttl;
+    private final boolean enabled;
+
+    public ApiTokenService(ObjectMapper objectMapper,
+                           ApiTokenRevocations revocations,
+                           @Value("${app.security.api-token.enabled:false}") boolean enabled,
+                           @Value("${app.security.api-token.secret:}") String secret,
+                           @Value("${app.security.api-token.ttl-minutes:180}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.revocations = revocations;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.macPrototype = createMac(resolveKey(secret, enabled));
+    }
+
+    /**
+     * True when /api/test runs in stateless token mode (app.security.api-token.enabled)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        Instant now = Instant.now();
+        List<String> roles = user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        Claims claims = new Claims(user.getUsername(), user.getAccountId(), user.getFullName(), roles,
+                now.toEpochMilli(), now.plus(ttl).getEpochSecond());
+
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            String signingInput = HEADER + "." + payload;
+            return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to issue API token", e);
+        }
+    }
+
+    /**
+     * Revoke the student's tokens issued so far, e.g. before issuing the one for a new login
+     */
+    public void revokeIssued(Long studentId) {
+        revocations.revoke(studentId);
+    }
+
+    /**
+     * @return the principal carried by the token, or null if it is malformed, forged, expired
+     *         or revoked
+     */
+    public AuthenticatedUser verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !token.startsWith(HEADER + ".")) {
+            return null;
+        }
+
+        try {
+            byte[] expected = sign(token.substring(0, lastDot));
+            byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            Claims claims = objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)), Claims.class);
+            if (claims.exp() < Instant.now().getEpochSecond() || revocations.isRevoked(claims.sid(), claims.iat())) {
+                return null;
+            }
+
+            List<SimpleGrantedAuthority> authorities = claims.roles().stream().map(SimpleGrantedAuthority::new).toList();
+            return new AuthenticatedUser(claims.sub(), "", true, true, authorities,
+                    claims.sid(), "STUDENT", claims.name());
+        } catch (Exception e) {
+            log.debug("Rejected API token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Bearer token from the Authorization header, falling back to the cookie set at login
+     */
+    public String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring(7).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hand the token to the browser. SameSite=Strict keeps other sites from
+     * riding on it, which is what lets the stateless chain skip CSRF tokens.
+     */
+    public void addTokenCookie(HttpServletRequest request, HttpServletResponse response, String token) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, token, ttl).toString());
+    }
+
+    public void clearTokenCookie(HttpServletRequest request, HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO).toString());
+    }
+
+    private ResponseCookie cookie(HttpServletRequest request, String value, Duration maxAge) {
+        return ResponseCookie.from(COOKIE_NAME, value)
+                .path(COOKIE_PATH)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Strict")
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private byte[] sign(String signingInput) throws CloneNotSupportedException {
+        // Cloning the initialised Mac is much cheaper than Mac.getInstance + init per request
+        Mac mac = (Mac) macPrototype.clone();
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] resolveKey(String secret, boolean enabled) {
+        if (secret == null || secret.isBlank()) {
+            if (enabled) {
+                log.warn("app.security.api-token.secret is not set; using a random key. " +
+                        "API tokens will not be valid on other nodes or after a restart.");
+            }
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        byte[] key = Base64.getDecoder().decode(secret.trim());
+        if (key.length < 32) {
+            throw new IllegalArgumentException("app.security.api-token.secret must be at least 32 bytes");
+        }
+        return key;
+    }
+
+    private static Mac createMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Token payload: login name, student id, display name, authorities, issue time
+     * (epoch milliseconds, compared with revocations) and expiry (epoch seconds)
+     */
+    record Claims(String sub, Long sid, String name, List<String> roles, long iat, long exp) {
+    }
+}
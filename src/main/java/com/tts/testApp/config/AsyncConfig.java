@@ -0,0 +1,73 @@
+package com.tts.testApp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * In virtual-thread mode the I/O-bound executors run their tasks on
+     * virtual threads; pool sizes and queue capacities still apply
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * CPU-bound pool for password hashing during bulk imports.
+     * Sized to the core count; when the queue is full the submitting
+     * thread hashes the password itself, which throttles the reader.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(cores * 128);
+        executor.setThreadNamePrefix("pwd-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs bulk student import jobs in the background so the upload
+     * request returns immediately with a job ID.
+     */
+    @Bean(name = "studentImportExecutor")
+    public ThreadPoolTaskExecutor studentImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("student-import-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small background queue for security bookkeeping (e.g. persisting
+     * login lockouts) so it never adds latency to the login request.
+     * Tasks beyond the queue capacity are rejected rather than blocking.
+     */
+    @Bean(name = "securityEventExecutor")
+    public ThreadPoolTaskExecutor securityEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("security-events-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tts.testApp.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Security principal carrying the database id and display name of the
+ * logged-in admin or student, so controllers do not need to reload the
+ * account on every request.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long accountId;
+    private final String accountType;
+    private final String fullName;
+
+    public AuthenticatedUser(String username, String password, boolean enabled, boolean accountNonLocked,
+                             Collection<? extends GrantedAuthority> authorities,
+                             Long accountId, String accountType, String fullName) {
+        super(username, password, enabled, true, true, accountNonLocked, authorities);
+        this.accountId = accountId;
+        this.accountType = accountType;
+        this.fullName = fullName;
+    }
+
+    /**
+     * Primary key in the admins or students table
+     */
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * ADMIN or STUDENT
+     */
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public boolean isStudent() {
+        return "STUDENT".equals(accountType);
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    /**
+     * First word of the full name, used for greetings
+     */
+    public String getFirstName() {
+        if (fullName == null || fullName.isBlank()) {
+            return null;
+        }
+        return fullName.trim().split("\\s+")[0];
+    }
+
+    /**
+     * Copy of this principal with a different encoded password
+     */
+    public AuthenticatedUser withPassword(String newPassword) {
+        return new AuthenticatedUser(getUsername(), newPassword, isEnabled(), isAccountNonLocked(),
+                getAuthorities(), accountId, accountType, fullName);
+    }
+}
@@ -0,0 +1,27 @@
+package com.tts.testApp.config;
+
+/**
+ * Hibernate second-level cache regions.
+ * Entity regions hold rows by id; query regions hold the ids returned by
+ * cacheable repository queries and are checked against the update
+ * timestamps region, so any write to a queried table invalidates them.
+ */
+public final class CacheRegions {
+
+    public static final String SUBJECT = "subject";
+    public static final String TEST = "test";
+    public static final String QUESTION_BANK = "questionBank";
+
+    public static final String SUBJECT_QUERIES = "subjectQueries";
+    public static final String TEST_QUERIES = "testQueries";
+    public static final String QUESTION_BANK_QUERIES = "questionBankQueries";
+
+    /**
+     * Hibernate's own regions for queries without an explicit region and for table update timestamps
+     */
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {
+    }
+}
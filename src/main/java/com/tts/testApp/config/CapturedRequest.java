@@ -0,0 +1,52 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * One line of the traffic capture file (JSON Lines, short keys to keep the
+ * file compact). Everything identifying has already been anonymized by
+ * TrafficAnonymizer; the replay tool reads these back.
+ *
+ * @param timestamp      epoch millis when the request arrived
+ * @param client         pseudonym of the browser session, stable for the capture, null if there was none
+ * @param role           ADMIN for /admin/* traffic, STUDENT otherwise
+ * @param method         HTTP method
+ * @param path           request path without the context path
+ * @param query          anonymized query string, or null
+ * @param contentType    media type of the body without parameters, or null
+ * @param contentLength  request body size in bytes (-1 if unknown)
+ * @param body           anonymized JSON or form body; for multipart the form fields, url-encoded.
+ *                       Null when there was no body or it exceeded the capture limit
+ * @param files          uploaded file parts of a multipart request (sizes only, never contents)
+ * @param status         response status
+ * @param durationMicros time spent in the server
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CapturedRequest(
+        @JsonProperty("t") long timestamp,
+        @JsonProperty("c") String client,
+        @JsonProperty("r") String role,
+        @JsonProperty("m") String method,
+        @JsonProperty("p") String path,
+        @JsonProperty("q") String query,
+        @JsonProperty("ct") String contentType,
+        @JsonProperty("l") long contentLength,
+        @JsonProperty("b") String body,
+        @JsonProperty("f") List<CapturedFile> files,
+        @JsonProperty("s") int status,
+        @JsonProperty("d") long durationMicros) {
+
+    /**
+     * @param field    multipart field name
+     * @param fileName "upload" plus the original extension
+     * @param size     file size in bytes
+     */
+    public record CapturedFile(
+            @JsonProperty("n") String field,
+            @JsonProperty("x") String fileName,
+            @JsonProperty("z") long size) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.tts.testApp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolves the client IP of a request.
+ *
+ * This is the peer address of the connection. Proxy headers are not read
+ * here, since any client can send them; behind a trusted proxy
+ * (server.tomcat.remoteip.internal-proxies) Tomcat's RemoteIpValve has
+ * already replaced the peer address with the one the proxy forwarded.
+ */
+public final class ClientIpResolver {
+
+    private ClientIpResolver() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -19,13 +19,14 @@ public class CustomLoginFailureHandler implements AuthenticationFailureHandler {
             throws IOException, ServletException {
 
         String role = request.getParameter("role");
+        String error = exception instanceof LoginThrottledException ? "locked" : "true";
 
         if ("ADMIN".equalsIgnoreCase(role)) {
-            response.sendRedirect("/login?role=ADMIN&error=true");
+            response.sendRedirect("/login?role=ADMIN&error=" + error);
         } else if ("STUDENT".equalsIgnoreCase(role)) {
-            response.sendRedirect("/login?role=STUDENT&error=true");
+            response.sendRedirect("/login?role=STUDENT&error=" + error);
         } else {
-            response.sendRedirect("/login?error=true");
+            response.sendRedirect("/login?error=" + error);
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.tts.testApp.config;
 
+import com.tts.testApp.service.LoginActivityService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import jakarta.servlet.ServletException;
@@ -10,8 +12,12 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 
 @Component
+@RequiredArgsConstructor
 public class CustomLoginSuccessHandler implements AuthenticationSuccessHandler {
 
+    private final LoginActivityService loginActivityService;
+    private final ApiTokenService apiTokenService;
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request,
                                         HttpServletResponse response,
@@ -39,6 +45,18 @@ public class CustomLoginSuccessHandler implements AuthenticationSuccessHandler {
             return;
         }
 
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            loginActivityService.recordLogin(user.getAccountType(), user.getAccountId(),
+                    ClientIpResolver.resolve(request));
+
+            // Stateless exam API: the token stands in for the security context of this login.
+            // Tokens from earlier logins are revoked, as maximumSessions(1) expires their sessions.
+            if (apiTokenService.isEnabled() && user.isStudent()) {
+                apiTokenService.revokeIssued(user.getAccountId());
+                apiTokenService.addTokenCookie(request, response, apiTokenService.issue(user));
+            }
+        }
+
         // If role matches, redirect to appropriate dashboard
         if (isAdmin) {
             response.sendRedirect("/admin/dashboard");
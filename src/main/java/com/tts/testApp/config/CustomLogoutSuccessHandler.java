@@ -3,6 +3,7 @@ package com.tts.testApp.config;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
@@ -11,14 +12,25 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 
 @Component
+@RequiredArgsConstructor
 public class CustomLogoutSuccessHandler implements LogoutSuccessHandler {
 
+    private final ApiTokenService apiTokenService;
+
     @Override
     public void onLogoutSuccess(HttpServletRequest request,
                                 HttpServletResponse response,
                                 Authentication authentication)
             throws IOException, ServletException {
 
+        if (apiTokenService.isEnabled()) {
+            apiTokenService.clearTokenCookie(request, response);
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                    && user.isStudent()) {
+                apiTokenService.revokeIssued(user.getAccountId());
+            }
+        }
+
         if (authentication != null && authentication.getAuthorities() != null) {
             boolean isAdmin = authentication.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
@@ -1,80 +1,75 @@
 package com.tts.testApp.config;
 
-import com.tts.testApp.model.Admin;
-import com.tts.testApp.model.Student;
+import com.tts.testApp.model.UserAccount;
 import com.tts.testApp.repository.AdminRepository;
 import com.tts.testApp.repository.StudentRepository;
+import com.tts.testApp.repository.UserAccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import java.time.LocalDateTime;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserAccountRepository userAccountRepository;
     private final AdminRepository adminRepository;
     private final StudentRepository studentRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Attempting to load user: {}", username);
+        log.debug("Attempting to load user: {}", username);
 
-        // Try ADMIN first
-        Admin admin = adminRepository.findByUsername(username).orElse(null);
-        if (admin != null) {
-            log.info("Admin found: {} with role: {}", username, admin.getRole());
+        // Single lookup across admins (by username) and students (by email)
+        UserAccount account = userAccountRepository.findByLoginName(username)
+                .orElseThrow(() -> {
+                    log.warn("User not found: {}", username);
+                    return new UsernameNotFoundException("User not found: " + username);
+                });
 
-            if (!admin.getIsActive()) {
-                log.warn("Admin account is deactivated: {}", username);
-                throw new UsernameNotFoundException("Account is deactivated");
-            }
-
-            if (admin.getAccountLockedUntil() != null &&
-                    LocalDateTime.now().isBefore(admin.getAccountLockedUntil())) {
-                log.warn("Admin account locked: {}", username);
-                throw new UsernameNotFoundException("Account is locked");
-            }
-
-            return User.builder()
-                    .username(admin.getUsername())
-                    .password(admin.getPassword())
-                    .authorities(Collections.singletonList(
-                            new SimpleGrantedAuthority("ROLE_" + admin.getRole())
-                    ))
-                    .accountExpired(false)
-                    .accountLocked(false)
-                    .credentialsExpired(false)
-                    .disabled(!admin.getIsActive())
-                    .build();
+        if (!account.isEnabled()) {
+            log.warn("{} account is deactivated: {}", account.getAccountType(), username);
+        } else if (account.isLocked()) {
+            log.warn("{} account is locked: {}", account.getAccountType(), username);
         }
 
-        // Try STUDENT next
-        Student student = studentRepository.findByEmail(username).orElse(null);
-        if (student != null) {
-            log.info("Student found: {} with role: {}", username, student.getRole());
-            log.info("Student email: {}, password: {}", student.getEmail(), student.getPassword());
+        // Disabled or locked accounts are rejected by the provider before the password is hashed
+        return new AuthenticatedUser(
+                account.getUsername(),
+                account.getPassword(),
+                account.isEnabled(),
+                !account.isLocked(),
+                Collections.singletonList(new SimpleGrantedAuthority(account.getRole())),
+                account.getAccountId(),
+                account.getAccountType(),
+                account.getFullName());
+    }
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful login when the
+     * stored hash was produced by a different hashing policy than the current one
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // Principals are always built by loadUserByUsername above
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) user;
 
-            return User.builder()
-                    .username(student.getEmail())
-                    .password(student.getPassword())
-                    .authorities(Collections.singletonList(
-                            new SimpleGrantedAuthority(student.getRole())
-                    ))
-                    .accountLocked(!student.isAccountNonLocked())
-                    .disabled(!student.isEnabled())
-                    .build();
+        if (authenticatedUser.isStudent()) {
+            studentRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        } else {
+            adminRepository.updatePassword(user.getUsername(), newPassword);
         }
+        log.info("Re-encoded password hash for {} with current hashing policy", user.getUsername());
 
-        // If neither found
-        log.error("User not found: {}", username);
-        throw new UsernameNotFoundException("User not found: " + username);
+        return authenticatedUser.withPassword(newPassword);
     }
 }
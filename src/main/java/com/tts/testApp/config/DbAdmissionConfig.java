@@ -0,0 +1,105 @@
+package com.tts.testApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Puts the application DataSource behind a DbAdmissionControlledDataSource.
+ * On by default in virtual-thread mode (spring.threads.virtual.enabled),
+ * where nothing else bounds how many requests reach the connection pool;
+ * app.db.admission.enabled switches it on or off explicitly.
+ *
+ * Admission is sized to the Hikari pool and times out after the pool's
+ * connection timeout unless app.db.admission.max-concurrency / timeout-ms
+ * say otherwise.
+ */
+@Configuration
+@ConditionalOnExpression("${app.db.admission.enabled:${spring.threads.virtual.enabled:false}}")
+@Slf4j
+public class DbAdmissionConfig {
+
+    @Bean
+    public static BeanPostProcessor dbAdmissionDataSourcePostProcessor(Environment environment) {
+        return new DataSourcePostProcessor(environment);
+    }
+
+    @Bean
+    public MeterBinder dbAdmissionMetrics(DataSource dataSource) throws SQLException {
+        DbAdmissionControlledDataSource admission = dataSource.unwrap(DbAdmissionControlledDataSource.class);
+        return registry -> {
+            Gauge.builder("tts.db.admission.in-use", admission, DbAdmissionControlledDataSource::getInUse)
+                    .description("Connections handed out through the admission governor")
+                    .register(registry);
+            Gauge.builder("tts.db.admission.waiting", admission, DbAdmissionControlledDataSource::getWaiting)
+                    .description("Threads waiting for database admission")
+                    .register(registry);
+            FunctionCounter.builder("tts.db.admission.timeouts", admission,
+                            DbAdmissionControlledDataSource::getTimedOutCount)
+                    .description("Requests for a connection that gave up waiting for admission")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Runs ahead of other post-processors, so the governor sits directly on
+     * the pool and any proxy added later (tracing, metrics) wraps it. A
+     * DataSource that an earlier post-processor already proxied is still
+     * recognised through unwrap.
+     */
+    static final class DataSourcePostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final Environment environment;
+
+        DataSourcePostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            HikariDataSource hikari = unwrap(dataSource, HikariDataSource.class);
+            if (hikari == null || unwrap(dataSource, DbAdmissionControlledDataSource.class) != null) {
+                return bean;
+            }
+            int maxConcurrency = environment.getProperty("app.db.admission.max-concurrency", Integer.class, 0);
+            long timeoutMillis = environment.getProperty("app.db.admission.timeout-ms", Long.class, 0L);
+            if (maxConcurrency <= 0) {
+                maxConcurrency = hikari.getMaximumPoolSize();
+            }
+            if (timeoutMillis <= 0) {
+                timeoutMillis = hikari.getConnectionTimeout();
+            }
+            log.info("Database admission control on {}: {} concurrent connections, {} ms timeout",
+                    beanName, maxConcurrency, timeoutMillis);
+            return new DbAdmissionControlledDataSource(dataSource, maxConcurrency, timeoutMillis);
+        }
+
+        private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+            try {
+                return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+    }
+}
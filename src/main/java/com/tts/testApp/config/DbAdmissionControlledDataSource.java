@@ -0,0 +1,142 @@
+package com.tts.testApp.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits at most a fixed number of threads to the database at a time;
+ * the rest wait in FIFO order on a fair semaphore and give up after the
+ * timeout with the same exception type as a pool timeout.
+ *
+ * With platform threads Tomcat's worker pool bounds how many requests can
+ * queue for a connection. With virtual threads every request is a thread,
+ * so without this thousands of them can pile into the connection pool's
+ * own wait at once. Sized to the pool, the semaphore keeps the pool's
+ * hand-off uncontended, makes the queue measurable (getWaiting) and lets
+ * the wait be bounded separately from the pool's connection timeout.
+ *
+ * A permit is held from getConnection() until the connection is closed.
+ */
+public class DbAdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long timeoutNanos;
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public DbAdmissionControlledDataSource(DataSource target, int maxConcurrency, long timeoutMillis) {
+        super(target);
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Connections currently handed out through this data source
+     */
+    public int getInUse() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Threads waiting for admission (an estimate, as for any semaphore)
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                timedOut.incrementAndGet();
+                throw new SQLTransientConnectionException(String.format(
+                        "Database admission timed out after %d ms (%d in use, %d waiting)",
+                        TimeUnit.NANOSECONDS.toMillis(timeoutNanos), getInUse(), getWaiting()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for database admission", e);
+        }
+        admitted.incrementAndGet();
+    }
+
+    /**
+     * The connection itself, except that the first close() also returns the permit
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    // Unwrapping to Connection must not bypass close(), or the permit would leak
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package com.tts.testApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Marks a random sample of requests (app.logging.debug-sample-rate) so
+ * SampledDebugTurboFilter logs their application DEBUG detail in production,
+ * where the configured level is INFO. The marker is an MDC entry, so it also
+ * appears on the request's summary line for correlation.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DebugLogSamplingFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "debug_sampled";
+
+    /** Fraction of requests logged at DEBUG, 0.0 (off) to 1.0 */
+    @Value("${app.logging.debug-sample-rate:0.0}")
+    private double sampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return sampleRate <= 0.0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(MDC_KEY, "true");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
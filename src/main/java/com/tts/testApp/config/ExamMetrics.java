@@ -0,0 +1,156 @@
+package com.tts.testApp.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency timers for the exam hot paths, published with p50/p95/p99.
+ * The percentiles are computed per node; with app.metrics.percentile-histogram
+ * the timers publish histogram buckets instead, which Prometheus can
+ * aggregate across nodes (histogram_quantile) but which replace the
+ * per-node quantiles in the scrape output.
+ *
+ * Every timer is registered up front and recorded with a plain nanosecond
+ * duration, so recording is a lookup-free, allocation-free call on the
+ * request thread (no Timer.Sample, no tag building per request).
+ */
+@Component
+public class ExamMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String OUTCOME_THROTTLED = "throttled";
+
+    /** Used for exams started without a duration */
+    private static final int DEFAULT_EXAM_MINUTES = 180;
+
+    private final Timer initializeSuccess;
+    private final Timer initializeFailure;
+    private final Timer submitSuccess;
+    private final Timer submitFailure;
+    private final Timer validateAnswers;
+    private final Timer uploadSuccess;
+    private final Timer uploadFailure;
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Timer loginThrottled;
+
+    /** Student account id -> deadline (clock nanos) of the exam they started */
+    private final Map<Long, Long> activeExams = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final boolean percentileHistogram;
+
+    @Autowired
+    public ExamMetrics(MeterRegistry registry,
+                       @Value("${app.metrics.percentile-histogram:false}") boolean percentileHistogram) {
+        this(registry, percentileHistogram, System::nanoTime);
+    }
+
+    ExamMetrics(MeterRegistry registry, boolean percentileHistogram, LongSupplier clock) {
+        this.clock = clock;
+        this.percentileHistogram = percentileHistogram;
+
+        initializeSuccess = timer(registry, "tts.exam.initialize", "Question sampling for a new exam", OUTCOME_SUCCESS);
+        initializeFailure = timer(registry, "tts.exam.initialize", "Question sampling for a new exam", OUTCOME_FAILURE);
+        submitSuccess = timer(registry, "tts.exam.submit", "Grading and saving a submitted exam", OUTCOME_SUCCESS);
+        submitFailure = timer(registry, "tts.exam.submit", "Grading and saving a submitted exam", OUTCOME_FAILURE);
+        validateAnswers = timer(registry, "tts.exam.validate-answers", "Scoring a submission's answers", null);
+        uploadSuccess = timer(registry, "tts.question-bank.upload", "Parsing and storing a question bank CSV", OUTCOME_SUCCESS);
+        uploadFailure = timer(registry, "tts.question-bank.upload", "Parsing and storing a question bank CSV", OUTCOME_FAILURE);
+        loginSuccess = timer(registry, "tts.login", "Form login authentication", OUTCOME_SUCCESS);
+        loginFailure = timer(registry, "tts.login", "Form login authentication", OUTCOME_FAILURE);
+        loginThrottled = timer(registry, "tts.login", "Form login authentication", OUTCOME_THROTTLED);
+
+        Gauge.builder("tts.exam.sessions.active", this, ExamMetrics::countActiveExams)
+                .description("Students with a started, unsubmitted exam that has not passed its time limit")
+                .register(registry);
+    }
+
+    private Timer timer(MeterRegistry registry, String name, String description, String outcome) {
+        Timer.Builder builder = Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30));
+        if (outcome != null) {
+            builder.tag("outcome", outcome);
+        }
+        return builder.register(registry);
+    }
+
+    /**
+     * Start time to pass to the record methods
+     */
+    public long start() {
+        return clock.getAsLong();
+    }
+
+    public void recordInitialize(long startNanos, boolean success) {
+        record(success ? initializeSuccess : initializeFailure, startNanos);
+    }
+
+    public void recordSubmit(long startNanos, boolean success) {
+        record(success ? submitSuccess : submitFailure, startNanos);
+    }
+
+    public void recordValidateAnswers(long startNanos) {
+        record(validateAnswers, startNanos);
+    }
+
+    public void recordUpload(long startNanos, boolean success) {
+        record(success ? uploadSuccess : uploadFailure, startNanos);
+    }
+
+    /**
+     * @param outcome one of OUTCOME_SUCCESS, OUTCOME_FAILURE, OUTCOME_THROTTLED
+     */
+    public void recordLogin(long startNanos, String outcome) {
+        Timer timer = switch (outcome) {
+            case OUTCOME_SUCCESS -> loginSuccess;
+            case OUTCOME_THROTTLED -> loginThrottled;
+            default -> loginFailure;
+        };
+        record(timer, startNanos);
+    }
+
+    /**
+     * Count the student as sitting an exam until they submit or the time limit passes
+     */
+    public void examStarted(Long studentId, Integer durationMinutes) {
+        if (studentId == null) {
+            return;
+        }
+        int minutes = durationMinutes != null && durationMinutes > 0 ? durationMinutes : DEFAULT_EXAM_MINUTES;
+        activeExams.put(studentId, clock.getAsLong() + TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    public void examFinished(Long studentId) {
+        if (studentId != null) {
+            activeExams.remove(studentId);
+        }
+    }
+
+    /**
+     * Read on scrape; drops exams that were abandoned past their time limit
+     */
+    int countActiveExams() {
+        long now = clock.getAsLong();
+        activeExams.values().removeIf(deadline -> deadline - now < 0);
+        return activeExams.size();
+    }
+
+    private void record(Timer timer, long startNanos) {
+        timer.record(clock.getAsLong() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,141 @@
+package com.tts.testApp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.SingleIndexResolver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory session store for local development and tests (app.session.store=local).
+ * Behaves like the JDBC store as far as the application is concerned: sessions
+ * are copied on save/load and indexed by principal name, so the
+ * single-session rule works through the same SessionRegistry. Sessions are
+ * lost on restart and are not shared between nodes.
+ */
+@Slf4j
+public class LocalIndexedSessionRepository implements FindByIndexNameSessionRepository<MapSession> {
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final MapSessionRepository delegate = new MapSessionRepository(sessions);
+    private final SingleIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    /** session id -> principal name, and principal name -> session ids */
+    private final Map<String, String> principalBySession = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionsByPrincipal = new ConcurrentHashMap<>();
+
+    public LocalIndexedSessionRepository(Duration defaultMaxInactiveInterval) {
+        delegate.setDefaultMaxInactiveInterval(defaultMaxInactiveInterval);
+    }
+
+    @Override
+    public MapSession createSession() {
+        return delegate.createSession();
+    }
+
+    @Override
+    public void save(MapSession session) {
+        if (!session.getId().equals(session.getOriginalId())) {
+            unindex(session.getOriginalId());
+        }
+        delegate.save(session);
+        index(session.getId(), principalNameResolver.resolveIndexValueFor(session));
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        MapSession session = delegate.findById(id);
+        if (session == null) {
+            // Either unknown or expired (the delegate drops expired sessions on read)
+            unindex(id);
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        unindex(id);
+    }
+
+    @Override
+    public Map<String, MapSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName) || indexValue == null) {
+            return Collections.emptyMap();
+        }
+        Set<String> ids = sessionsByPrincipal.get(indexValue);
+        if (ids == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, MapSession> result = new HashMap<>();
+        for (String id : Set.copyOf(ids)) {
+            MapSession session = findById(id);
+            if (session != null) {
+                result.put(id, session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of live (possibly not yet purged) sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Expired sessions are only dropped when read, so sweep periodically
+     * to keep abandoned sessions from accumulating
+     */
+    @Scheduled(fixedDelayString = "${app.session.local.cleanup-interval-ms:60000}")
+    public void cleanUpExpiredSessions() {
+        int removed = 0;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (entry.getValue().isExpired()) {
+                deleteById(entry.getKey());
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("Removed {} expired local sessions", removed);
+        }
+    }
+
+    private void index(String sessionId, String principalName) {
+        String previous = principalName == null
+                ? principalBySession.remove(sessionId)
+                : principalBySession.put(sessionId, principalName);
+        if (previous != null && !previous.equals(principalName)) {
+            removeFromPrincipal(previous, sessionId);
+        }
+        if (principalName != null) {
+            sessionsByPrincipal.computeIfAbsent(principalName, key -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        }
+    }
+
+    private void unindex(String sessionId) {
+        String principalName = principalBySession.remove(sessionId);
+        if (principalName != null) {
+            removeFromPrincipal(principalName, sessionId);
+        }
+    }
+
+    private void removeFromPrincipal(String principalName, String sessionId) {
+        sessionsByPrincipal.computeIfPresent(principalName, (key, ids) -> {
+            ids.remove(sessionId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
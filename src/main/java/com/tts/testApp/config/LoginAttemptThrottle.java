@@ -0,0 +1,249 @@
+package com.tts.testApp.config;
+
+import com.tts.testApp.service.LoginLockoutService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory brute-force protection checked before any password is hashed.
+ * Failed logins are counted per username and per client IP in sliding
+ * windows; once a limit is hit further attempts are rejected until the
+ * block expires. Username lockouts are also written to the database in the
+ * background so other nodes and restarts honour them.
+ *
+ * Counters live in a fixed number of lock stripes, each holding a bounded
+ * map, so a credential-stuffing burst with random usernames cannot grow
+ * memory without limit or serialize all logins on one lock.
+ */
+@Component
+@Slf4j
+public class LoginAttemptThrottle {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_ENTRIES_PER_STRIPE = 4096;
+
+    private final Stripe[] usernameStripes = newStripes();
+    private final Stripe[] ipStripes = newStripes();
+
+    private final LoginLockoutService loginLockoutService;
+    private final Executor lockoutExecutor;
+    private final LongSupplier clock;
+
+    @Value("${app.security.login-throttle.max-failures-per-user:5}")
+    private int maxFailuresPerUser;
+
+    @Value("${app.security.login-throttle.max-failures-per-ip:50}")
+    private int maxFailuresPerIp;
+
+    @Value("${app.security.login-throttle.window-minutes:15}")
+    private long windowMinutes;
+
+    @Value("${app.security.login-throttle.lock-minutes:15}")
+    private long lockMinutes;
+
+    @Autowired
+    public LoginAttemptThrottle(LoginLockoutService loginLockoutService,
+                                @Qualifier("securityEventExecutor") Executor lockoutExecutor) {
+        this(loginLockoutService, lockoutExecutor, System::currentTimeMillis);
+    }
+
+    LoginAttemptThrottle(LoginLockoutService loginLockoutService, Executor lockoutExecutor, LongSupplier clock) {
+        this.loginLockoutService = loginLockoutService;
+        this.lockoutExecutor = lockoutExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if a login attempt for this username and IP may proceed to password verification
+     */
+    public boolean isAllowed(String username, String ip) {
+        long now = clock.getAsLong();
+        return !isBlocked(usernameStripes, normalize(username), now)
+                && !isBlocked(ipStripes, ip, now);
+    }
+
+    public void recordFailure(String username, String ip) {
+        long now = clock.getAsLong();
+        long windowMillis = windowMinutes * 60_000;
+        long lockMillis = lockMinutes * 60_000;
+
+        String key = normalize(username);
+        if (key != null && increment(usernameStripes, key, now, windowMillis, maxFailuresPerUser, lockMillis)) {
+            log.warn("Login throttled for user {} after {} failed attempts", key, maxFailuresPerUser);
+            persistLockout(key, now + lockMillis);
+        }
+
+        if (ip != null && increment(ipStripes, ip, now, windowMillis, maxFailuresPerIp, lockMillis)) {
+            log.warn("Login throttled for IP {} after {} failed attempts", ip, maxFailuresPerIp);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        String key = normalize(username);
+        if (key == null) {
+            return;
+        }
+        Stripe stripe = stripeFor(usernameStripes, key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private boolean isBlocked(Stripe[] stripes, String key, long now) {
+        if (key == null) {
+            return false;
+        }
+        Stripe stripe = stripeFor(stripes, key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            return window != null && window.blockedUntil > now;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if this failure tripped the limit and started a new block
+     */
+    private boolean increment(Stripe[] stripes, String key, long now, long windowMillis, int limit, long lockMillis) {
+        Stripe stripe = stripeFor(stripes, key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                if (stripe.windows.size() >= MAX_ENTRIES_PER_STRIPE) {
+                    stripe.evictIdle(now, windowMillis);
+                }
+                window = new Window(now);
+                stripe.windows.put(key, window);
+            }
+
+            if (window.blockedUntil > now) {
+                return false;
+            }
+
+            window.roll(now, windowMillis);
+            window.current++;
+
+            if (window.estimate(now, windowMillis) >= limit) {
+                window.blockedUntil = now + lockMillis;
+                window.current = 0;
+                window.previous = 0;
+                return true;
+            }
+            return false;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void persistLockout(String username, long blockedUntilMillis) {
+        LocalDateTime lockedUntil = LocalDateTime.ofInstant(Instant.ofEpochMilli(blockedUntilMillis),
+                ZoneId.systemDefault());
+        try {
+            lockoutExecutor.execute(() -> {
+                try {
+                    loginLockoutService.persistLockout(username, lockedUntil, maxFailuresPerUser);
+                } catch (Exception e) {
+                    log.error("Failed to persist lockout for {}: {}", username, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The in-memory block still applies on this node
+            log.warn("Lockout persistence queue full, skipping DB lockout for {}", username);
+        }
+    }
+
+    private static String normalize(String username) {
+        return username == null || username.isBlank() ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Stripe stripeFor(Stripe[] stripes, String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static Stripe[] newStripes() {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        return stripes;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows = new HashMap<>();
+
+        /**
+         * Drop entries with no recent failures and no active block.
+         * If everything is still live, drop the oldest window to stay bounded.
+         */
+        void evictIdle(long now, long windowMillis) {
+            Iterator<Window> iterator = windows.values().iterator();
+            while (iterator.hasNext()) {
+                Window window = iterator.next();
+                if (window.blockedUntil <= now && now - window.currentStart >= 2 * windowMillis) {
+                    iterator.remove();
+                }
+            }
+            if (windows.size() >= MAX_ENTRIES_PER_STRIPE) {
+                windows.entrySet().stream()
+                        .filter(e -> e.getValue().blockedUntil <= now)
+                        .min((a, b) -> Long.compare(a.getValue().currentStart, b.getValue().currentStart))
+                        .ifPresent(oldest -> windows.remove(oldest.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Two-bucket sliding window: the previous bucket's count is weighted by
+     * how much of it still overlaps the window ending now.
+     */
+    private static final class Window {
+        private long currentStart;
+        private int current;
+        private int previous;
+        private long blockedUntil;
+
+        Window(long now) {
+            this.currentStart = now;
+        }
+
+        void roll(long now, long windowMillis) {
+            long elapsed = now - currentStart;
+            if (elapsed >= 2 * windowMillis) {
+                previous = 0;
+                current = 0;
+                currentStart = now;
+            } else if (elapsed >= windowMillis) {
+                previous = current;
+                current = 0;
+                currentStart += windowMillis;
+            }
+        }
+
+        double estimate(long now, long windowMillis) {
+            double overlap = 1.0 - (double) (now - currentStart) / windowMillis;
+            return current + previous * Math.max(0.0, overlap);
+        }
+    }
+}
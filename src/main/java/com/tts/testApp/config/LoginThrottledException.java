@@ -0,0 +1,13 @@
+package com.tts.testApp.config;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Raised when a login is rejected by the brute-force throttle
+ * before the password is checked
+ */
+public class LoginThrottledException extends AuthenticationException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tts.testApp.config;
+
+import com.tts.testApp.service.ActiveTestCatalog;
+import com.tts.testApp.service.CacheInvalidationBus;
+import com.tts.testApp.service.LoginActivityService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cache and queue meters. All of them read counters the components already
+ * keep, and only when the registry is scraped, so they add nothing to the
+ * request path. Exam latency timers live in ExamMetrics; executor queue
+ * depths (executor.queued) are bound by Spring Boot for every executor bean.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> L2_ENTITY_REGIONS = List.of(
+            CacheRegions.SUBJECT, CacheRegions.TEST, CacheRegions.QUESTION_BANK);
+
+    @Bean
+    public MeterBinder activeTestCatalogMetrics(ActiveTestCatalog catalog) {
+        return registry -> {
+            FunctionCounter.builder("tts.cache.catalog.hits", catalog, ActiveTestCatalog::getHitCount)
+                    .description("Active test catalog reads served from the current snapshot")
+                    .register(registry);
+            FunctionCounter.builder("tts.cache.catalog.rebuilds", catalog, ActiveTestCatalog::getRebuildCount)
+                    .description("Active test catalog reads that rebuilt the snapshot")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Hit and miss counts per entity region; registered only when the
+     * second-level cache and Hibernate statistics are both on
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            Statistics statistics = sessionFactory.getStatistics();
+            if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()
+                    || !statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String region : L2_ENTITY_REGIONS) {
+                FunctionCounter.builder("tts.cache.l2.hits", statistics,
+                                stats -> stats.getDomainDataRegionStatistics(region).getHitCount())
+                        .tag("region", region)
+                        .register(registry);
+                FunctionCounter.builder("tts.cache.l2.misses", statistics,
+                                stats -> stats.getDomainDataRegionStatistics(region).getMissCount())
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheInvalidationMetrics(CacheInvalidationBus cacheInvalidationBus) {
+        return registry -> {
+            FunctionCounter.builder("tts.cache.invalidation.published", cacheInvalidationBus,
+                            bus -> bus.getStats().getPublished())
+                    .description("Cache invalidations published by this node")
+                    .register(registry);
+            FunctionCounter.builder("tts.cache.invalidation.received", cacheInvalidationBus,
+                            bus -> bus.getStats().getReceivedFromOtherNodes())
+                    .description("Cache invalidations received from other nodes")
+                    .register(registry);
+            Gauge.builder("tts.cache.invalidation.backlog", cacheInvalidationBus,
+                            bus -> bus.getStats().getBacklog())
+                    .description("Change-log entries other nodes have written but this node has not yet seen")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginActivityMetrics(LoginActivityService loginActivityService) {
+        return registry -> Gauge.builder("tts.login-activity.pending", loginActivityService,
+                        LoginActivityService::getPendingCount)
+                .description("Last-login updates buffered until the next flush")
+                .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tts.testApp.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Versioned password hashing policies.
+ * Every stored hash is prefixed with the id of the policy that produced it,
+ * e.g. {bcrypt-12}$2a$12$..., so the algorithm and cost are known per row.
+ * Hashes written before prefixes existed are plain BCrypt and still match.
+ */
+public final class PasswordEncoders {
+
+    public static final String DEFAULT_ENCODER_ID = "bcrypt-12";
+
+    private static final int MIN_BCRYPT_COST = 8;
+    private static final int MAX_BCRYPT_COST = 14;
+
+    private PasswordEncoders() {
+    }
+
+    /**
+     * All supported policies keyed by id
+     */
+    public static Map<String, PasswordEncoder> supportedEncoders() {
+        Map<String, PasswordEncoder> encoders = new LinkedHashMap<>();
+        for (int cost = MIN_BCRYPT_COST; cost <= MAX_BCRYPT_COST; cost++) {
+            encoders.put("bcrypt-" + cost, new BCryptPasswordEncoder(cost));
+        }
+        encoders.put("pbkdf2-sha256", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        return encoders;
+    }
+
+    public static Set<String> supportedIds() {
+        return supportedEncoders().keySet();
+    }
+
+    /**
+     * Build an encoder that writes hashes with the given policy and
+     * verifies hashes written with any supported policy.
+     * After a successful login, DelegatingPasswordEncoder#upgradeEncoding reports
+     * true for hashes of any other policy (higher or lower cost), which lets
+     * the authentication provider re-encode them.
+     *
+     * @param idForEncode policy id used for new hashes, e.g. "bcrypt-10"
+     */
+    public static DelegatingPasswordEncoder create(String idForEncode) {
+        Map<String, PasswordEncoder> encoders = supportedEncoders();
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("Unsupported password encoder id: " + idForEncode
+                    + ". Supported: " + encoders.keySet());
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // Legacy hashes have no {id} prefix; BCrypt can verify them at any cost
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+}
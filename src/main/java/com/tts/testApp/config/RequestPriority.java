@@ -0,0 +1,57 @@
+package com.tts.testApp.config;
+
+import java.util.Locale;
+
+/**
+ * Admission classes, highest priority first. A submitted exam is a
+ * student's irreplaceable work; autosaves protect the answers of exams in
+ * progress; starting or resuming an exam comes next; proctoring events are
+ * batched and resent by the page, so they can wait; dashboard refreshes and
+ * admin pages can be retried later without loss.
+ */
+public enum RequestPriority {
+
+    SUBMIT,
+    AUTOSAVE,
+    INITIALIZE,
+    PROCTORING,
+    STUDENT,
+    ADMIN;
+
+    /**
+     * Name used in settings (app.admission.classes.[name].*) and metric tags
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param path request path without the context path
+     * @return the admission class, or null for requests that are not admission-controlled
+     *         (login, static resources, actuator)
+     */
+    public static RequestPriority classify(String path) {
+        if (path.equals("/api/test/submit")) {
+            return SUBMIT;
+        }
+        if (path.equals("/api/test/autosave")) {
+            return AUTOSAVE;
+        }
+        if (path.equals("/api/test/proctoring")) {
+            return PROCTORING;
+        }
+        // initialize, resume and the start page's config checks
+        if (path.startsWith("/api/test/")) {
+            return INITIALIZE;
+        }
+        // Student pages: dashboard, test start page, exam page and history
+        if (path.startsWith("/student/") || path.equals("/student-dashboard") || path.equals("/start-test")
+                || path.startsWith("/test/")) {
+            return STUDENT;
+        }
+        if (path.startsWith("/admin/")) {
+            return ADMIN;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,198 @@
+package com.tts.testApp.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Phase timings for the request being handled on the current thread.
+ * ServerTimingFilter opens one per request; instrumentation hooks (SQL,
+ * template rendering, JSON serialization, service calls, password hashing,
+ * admission queueing) add to it through the static methods, which do nothing when no request
+ * is being timed (background jobs, startup).
+ *
+ * Only touched from the request thread, so it needs no synchronization.
+ */
+public final class RequestTiming {
+
+    public static final String SQL = "db";
+    public static final String RENDER = "render";
+    public static final String SERIALIZE = "json";
+    public static final String SERVICE = "svc";
+    public static final String PASSWORD_HASH = "hash";
+    public static final String QUEUE = "queue";
+
+    /** Slowest service methods listed individually in the header */
+    private static final int MAX_SPANS_IN_HEADER = 3;
+    /** Bound on distinct service methods tracked per request */
+    private static final int MAX_SPANS = 32;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final Map<String, Phase> spans = new LinkedHashMap<>();
+    private int serviceDepth;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Add elapsed time to a phase of the current request
+     */
+    public static void record(String phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phases.computeIfAbsent(phase, name -> new Phase()).add(nanos);
+        }
+    }
+
+    /**
+     * Mark entry into a service method
+     * @return true if this is the outermost service call, whose time should be recorded
+     */
+    public static boolean enterService() {
+        RequestTiming timing = CURRENT.get();
+        return timing != null && timing.serviceDepth++ == 0;
+    }
+
+    /**
+     * Mark exit from a service method entered with enterService()
+     * @param outermost the value enterService() returned
+     */
+    public static void exitService(String method, long nanos, boolean outermost) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        timing.serviceDepth--;
+        if (outermost) {
+            timing.phases.computeIfAbsent(SERVICE, name -> new Phase()).add(nanos);
+            Phase span = timing.spans.get(method);
+            if (span == null && timing.spans.size() < MAX_SPANS) {
+                span = new Phase();
+                timing.spans.put(method, span);
+            }
+            if (span != null) {
+                span.add(nanos);
+            }
+        }
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long totalNanos(String phase) {
+        Phase p = phases.get(phase);
+        return p != null ? p.nanos : 0;
+    }
+
+    public int count(String phase) {
+        Phase p = phases.get(phase);
+        return p != null ? p.count : 0;
+    }
+
+    /**
+     * Server-Timing header value, e.g.
+     * db;desc="3 queries";dur=1.2, render;dur=5.0, svc.QuestionService.validateAnswers;dur=2.1, total;dur=9.8
+     */
+    public String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder();
+        phases.forEach((name, phase) -> append(header, name,
+                SQL.equals(name) ? phase.count + (phase.count == 1 ? " query" : " queries") : null,
+                phase.nanos));
+
+        List<Map.Entry<String, Phase>> slowest = new ArrayList<>(spans.entrySet());
+        slowest.sort((a, b) -> Long.compare(b.getValue().nanos, a.getValue().nanos));
+        for (Map.Entry<String, Phase> span : slowest.subList(0, Math.min(MAX_SPANS_IN_HEADER, slowest.size()))) {
+            append(header, "svc." + span.getKey(), null, span.getValue().nanos);
+        }
+
+        append(header, "total", null, elapsedNanos());
+        return header.toString();
+    }
+
+    /**
+     * Phase totals as key=value pairs for the request summary log line
+     */
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder();
+        forEachLogField((name, value) -> {
+            if (!fields.isEmpty()) {
+                fields.append(' ');
+            }
+            fields.append(name).append('=').append(value instanceof Double ms ? millis(ms) : value);
+        });
+        return fields.toString();
+    }
+
+    /**
+     * The same fields as toLogFields(), with durations as Double milliseconds
+     * (0.1 ms precision), for structured log output
+     */
+    public void forEachLogField(BiConsumer<String, Object> field) {
+        field.accept("total_ms", roundedMillis(elapsedNanos()));
+        field.accept("sql_count", count(SQL));
+        for (String phase : List.of(SQL, RENDER, SERIALIZE, SERVICE, PASSWORD_HASH)) {
+            field.accept(phase + "_ms", roundedMillis(totalNanos(phase)));
+        }
+        if (count(QUEUE) > 0) {
+            field.accept(QUEUE + "_ms", roundedMillis(totalNanos(QUEUE)));
+        }
+        spans.entrySet().stream()
+                .max((a, b) -> Long.compare(a.getValue().nanos, b.getValue().nanos))
+                .ifPresent(slowest -> field.accept("slowest_svc", slowest.getKey()));
+    }
+
+    private static void append(StringBuilder header, String name, String description, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name);
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+        header.append(";dur=").append(millis(nanos));
+    }
+
+    private static String millis(long nanos) {
+        return millis(nanos / 1_000_000.0);
+    }
+
+    private static double roundedMillis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private static String millis(double ms) {
+        return String.format(Locale.ROOT, "%.1f", ms);
+    }
+
+    private static final class Phase {
+        private long nanos;
+        private int count;
+
+        void add(long elapsed) {
+            nanos += elapsed;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Instrumentation hooks feeding RequestTiming:
+ * - SQL: the application DataSource is wrapped in a datasource-proxy that
+ *   times every statement executed on the request thread
+ * - render: time between the handler returning a view and request completion
+ * - json: Jackson serialization of @ResponseBody return values
+ * - hash: password encoding and matching (BCrypt / PBKDF2)
+ * Service method spans are recorded by ServiceTimingAspect.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.request-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    private static final String RENDER_START_ATTRIBUTE = RequestTimingConfig.class.getName() + ".renderStart";
+    private static final String QUERY_START = "requestTiming.queryStart";
+
+    /**
+     * Static so wrapping the DataSource does not force early creation of this configuration
+     */
+    @Bean
+    public static BeanPostProcessor requestTimingBeanPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlTimingListener())
+                            .build();
+                }
+                if (bean instanceof PasswordEncoder passwordEncoder) {
+                    return new TimedPasswordEncoder(passwordEncoder);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RenderTimingInterceptor());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonConverter)) {
+                converters.set(i, new TimedJacksonConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+
+    private static final class SqlTimingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (RequestTiming.isActive()) {
+                execInfo.addCustomValue(QUERY_START, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long start = execInfo.getCustomValue(QUERY_START, Long.class);
+            if (start != null) {
+                RequestTiming.record(RequestTiming.SQL, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class RenderTimingInterceptor implements HandlerInterceptor {
+
+        @Override
+        public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                               ModelAndView modelAndView) {
+            // @ResponseBody handlers have no view; their body is already written
+            if (modelAndView != null && RequestTiming.isActive()) {
+                request.setAttribute(RENDER_START_ATTRIBUTE, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            if (request.getAttribute(RENDER_START_ATTRIBUTE) instanceof Long start) {
+                RequestTiming.record(RequestTiming.RENDER, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJacksonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTiming.record(RequestTiming.SERIALIZE, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private record TimedPasswordEncoder(PasswordEncoder delegate) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            long start = System.nanoTime();
+            try {
+                return delegate.encode(rawPassword);
+            } finally {
+                RequestTiming.record(RequestTiming.PASSWORD_HASH, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            long start = System.nanoTime();
+            try {
+                return delegate.matches(rawPassword, encodedPassword);
+            } finally {
+                RequestTiming.record(RequestTiming.PASSWORD_HASH, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.tts.testApp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback filter that enables DEBUG for application loggers on requests
+ * picked by DebugLogSamplingFilter, while every other request stays at the
+ * configured level. Declared in logback-spring.xml.
+ *
+ * Runs for every logging call (including isDebugEnabled checks), so it only
+ * looks at the level, the logger name and one MDC entry.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.tts";
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(DebugLogSamplingFilter.MDC_KEY) != null ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+}
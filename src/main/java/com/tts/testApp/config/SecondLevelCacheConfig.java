@@ -0,0 +1,125 @@
+package com.tts.testApp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the reference entities read on every
+ * dashboard and test start (Subject, CreateTest, QuestionBank).
+ *
+ * app.cache.l2.enabled turns the entity and query caches on or off without
+ * touching the entity mappings. Each region is a bounded on-heap Ehcache
+ * (JCache) with its own size and time-to-live, overridable through
+ * app.cache.l2.regions.[region].max-entries and .ttl-minutes.
+ * Writes on this node update the regions through Hibernate; writes on other
+ * nodes are evicted by SecondLevelCacheService via the invalidation bus, and
+ * the time-to-live bounds staleness if a message is ever lost.
+ */
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    /**
+     * Default size and time-to-live per region.
+     * The update timestamps region must never evict or expire entries,
+     * otherwise cached query results could outlive a write to their table.
+     */
+    private static final Map<String, RegionDefaults> REGION_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        REGION_DEFAULTS.put(CacheRegions.SUBJECT, new RegionDefaults(500, 60));
+        REGION_DEFAULTS.put(CacheRegions.TEST, new RegionDefaults(2000, 60));
+        REGION_DEFAULTS.put(CacheRegions.QUESTION_BANK, new RegionDefaults(2000, 60));
+        REGION_DEFAULTS.put(CacheRegions.SUBJECT_QUERIES, new RegionDefaults(200, 10));
+        REGION_DEFAULTS.put(CacheRegions.TEST_QUERIES, new RegionDefaults(500, 10));
+        REGION_DEFAULTS.put(CacheRegions.QUESTION_BANK_QUERIES, new RegionDefaults(500, 10));
+        REGION_DEFAULTS.put(CacheRegions.DEFAULT_QUERY_RESULTS, new RegionDefaults(500, 10));
+        REGION_DEFAULTS.put(CacheRegions.UPDATE_TIMESTAMPS, new RegionDefaults(10_000, 0));
+    }
+
+    @Value("${app.cache.l2.statistics:true}")
+    private boolean statisticsEnabled;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            ObjectProvider<CacheManager> hibernateCacheManager) {
+        return properties -> {
+            // Also feeds per-region hit/miss counts to SecondLevelCacheService
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+
+            CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+            if (cacheManager == null) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                log.info("Hibernate second-level cache disabled");
+                return;
+            }
+
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            // Every region is created below; an unknown one means a mapping typo
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cache.l2.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager(Environment environment) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+
+        for (Map.Entry<String, RegionDefaults> entry : REGION_DEFAULTS.entrySet()) {
+            String region = entry.getKey();
+            String prefix = "app.cache.l2.regions." + region + ".";
+            long maxEntries = environment.getProperty(prefix + "max-entries", Long.class,
+                    entry.getValue().maxEntries());
+            long ttlMinutes = environment.getProperty(prefix + "ttl-minutes", Long.class,
+                    entry.getValue().ttlMinutes());
+
+            configuration = configuration.withCache(region, regionConfiguration(maxEntries, ttlMinutes));
+            log.info("L2 cache region {}: max {} entries, ttl {}", region, maxEntries,
+                    ttlMinutes > 0 ? ttlMinutes + "m" : "none");
+        }
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        // A unique URI keeps separate application contexts in one JVM from sharing caches
+        return provider.getCacheManager(URI.create("urn:tts:hibernate-l2:" + UUID.randomUUID()),
+                configuration.build());
+    }
+
+    private static CacheConfiguration<Object, Object> regionConfiguration(long maxEntries, long ttlMinutes) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        return builder.withExpiry(ttlMinutes > 0
+                        ? ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofMinutes(ttlMinutes))
+                        : ExpiryPolicyBuilder.noExpiration())
+                .build();
+    }
+
+    private record RegionDefaults(long maxEntries, long ttlMinutes) {
+    }
+}
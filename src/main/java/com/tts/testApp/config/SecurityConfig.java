@@ -2,18 +2,31 @@ package com.tts.testApp.config;
 
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -26,18 +39,38 @@ public class SecurityConfig {
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
     private final CustomLoginFailureHandler customLoginFailureHandler;
     private final CustomLogoutSuccessHandler customLogoutSuccessHandler;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final SessionRegistry sessionRegistry;
+    private final ApiTokenService apiTokenService;
+    private final ExamMetrics examMetrics;
+
+    /**
+     * Addresses allowed to scrape /actuator/prometheus (IPs or CIDR ranges)
+     */
+    @Value("${app.metrics.scrape-allowed-addresses:127.0.0.1,::1}")
+    private List<String> scrapeAllowedAddresses;
+
+    /**
+     * Hashing policy for new passwords; see PasswordEncoders for supported ids
+     */
+    @Value("${app.security.password-encoder:" + PasswordEncoders.DEFAULT_ENCODER_ID + "}")
+    private String passwordEncoderId;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return PasswordEncoders.create(passwordEncoderId);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
-        return provider;
+        // Re-encode stored hashes that do not match the current policy after a successful login
+        provider.setUserDetailsPasswordService(userDetailsService);
+        // Reject brute-force attempts before the password hash is checked
+        return new TimedAuthenticationProvider(
+                new ThrottlingAuthenticationProvider(provider, loginAttemptThrottle), examMetrics);
     }
 
     @Bean
@@ -45,6 +78,69 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Stateless exam API (app.security.api-token.enabled=true).
+     * Requests are authenticated from the signed token issued at login. No
+     * security context is read from or stored in the session, and the
+     * session store is not touched at all: a later login or a logout revokes
+     * earlier tokens through an in-memory, bus-backed check. The CSRF check
+     * is skipped because the token is a SameSite=Strict cookie or an
+     * Authorization header.
+     */
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(name = "app.security.api-token.enabled", havingValue = "true")
+    public SecurityFilterChain apiTokenSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/api/test/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .requestCache(cache -> cache.disable())
+                .addFilterBefore(new ApiTokenAuthenticationFilter(apiTokenService),
+                        AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("STUDENT"))
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint((request, response, authException) -> {
+                            response.setContentType("application/json");
+                            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                            response.getWriter().write("{\"success\":false,\"error\":\"Unauthorized or token expired\"}");
+                        })
+                );
+
+        return http.build();
+    }
+
+    /**
+     * Actuator endpoints. Health is public for load balancer checks; metrics
+     * are only served to the scrape addresses and need no login.
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        List<IpAddressMatcher> scrapers = scrapeAllowedAddresses.stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        AuthorizationManager<RequestAuthorizationContext> fromScraper = (authentication, context) ->
+                new AuthorizationDecision(scrapers.stream()
+                        .anyMatch(matcher -> matcher.matches(context.getRequest().getRemoteAddr())));
+
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.disable())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health/**", "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").access(fromScraper)
+                        .anyRequest().denyAll()
+                );
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -73,7 +169,7 @@ public class SecurityConfig {
                         .logoutUrl("/logout")
                         .logoutSuccessHandler(customLogoutSuccessHandler)
                         .invalidateHttpSession(true)
-                        .deleteCookies("JSESSIONID")
+                        .deleteCookies("SESSION")
                         .permitAll()
                 )
                 .exceptionHandling(exception -> exception
@@ -92,6 +188,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .maximumSessions(1)
                         .maxSessionsPreventsLogin(false)
+                        // Backed by the shared session store, so the limit applies across all nodes
+                        .sessionRegistry(sessionRegistry)
                 );
 
         return http.build();
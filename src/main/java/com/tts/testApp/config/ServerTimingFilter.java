@@ -0,0 +1,114 @@
+package com.tts.testApp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times every request by phase (SQL, template rendering, JSON
+ * serialization, service calls, password hashing) and reports it:
+ * - as a Server-Timing response header, added just before the response is
+ *   committed, so it covers everything up to the first byte of the body
+ * - as one summary log line per request once the response is complete
+ *
+ * Runs ahead of Spring Security so authentication time is included, and
+ * inside DebugLogSamplingFilter so the summary line carries its marker.
+ * Static resources are not timed.
+ *
+ * With app.request-timing.structured-log the fields are attached as
+ * key/value pairs instead of being formatted into the message, so the
+ * structured (JSON) log encoder emits them as separate fields.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.request-timing.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Value("${app.request-timing.server-timing-header:true}")
+    private boolean exposeHeader;
+
+    @Value("${app.request-timing.structured-log:false}")
+    private boolean structuredLog;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/css/") || path.startsWith("/js/") || path.startsWith("/images/")
+                || path.startsWith("/base64_images/") || path.equals("/favicon.ico");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        HttpServletResponse timedResponse = exposeHeader ? new ServerTimingResponse(response, timing) : response;
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.end();
+            if (timedResponse instanceof ServerTimingResponse serverTimingResponse) {
+                serverTimingResponse.addHeaderIfNotCommitted();
+            }
+            logRequest(request, response, timing);
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        if (structuredLog) {
+            LoggingEventBuilder event = log.atInfo()
+                    .setMessage("request")
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("path", request.getRequestURI())
+                    .addKeyValue("status", response.getStatus());
+            timing.forEachLogField(event::addKeyValue);
+            event.log();
+        } else {
+            log.info("request method={} path={} status={} {}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), timing.toLogFields());
+        }
+    }
+
+    /**
+     * Adds the Server-Timing header at the last moment headers can still be written
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean headerWritten;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeaderIfNotCommitted();
+        }
+
+        void addHeaderIfNotCommitted() {
+            if (!headerWritten && !getResponse().isCommitted()) {
+                headerWritten = true;
+                ((HttpServletResponse) getResponse()).addHeader(SERVER_TIMING_HEADER, timing.toServerTimingHeader());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tts.testApp.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the outermost service call of each request as a span
+ * (e.g. svc.QuestionService.validateAnswers). Nested service calls are
+ * part of their caller's span, so span times never overlap.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.request-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceTimingAspect {
+
+    @Around("within(com.tts.testApp.service..*) && execution(public * *(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!RequestTiming.isActive()) {
+            return joinPoint.proceed();
+        }
+
+        boolean outermost = RequestTiming.enterService();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.exitService(joinPoint.getSignature().getDeclaringType().getSimpleName()
+                    + "." + joinPoint.getSignature().getName(), System.nanoTime() - start, outermost);
+        }
+    }
+}
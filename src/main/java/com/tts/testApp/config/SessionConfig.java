@@ -0,0 +1,47 @@
+package com.tts.testApp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+
+/**
+ * Externalized HTTP sessions so any node can serve any request and a
+ * restart does not log users out.
+ *
+ * app.session.store=jdbc (default): Spring Session JDBC on the application
+ * datasource, configured by Spring Boot under spring.session.jdbc.*.
+ * app.session.store=local: in-memory LocalIndexedSessionRepository for a
+ * single node during development and tests.
+ *
+ * Both stores index sessions by principal name, and the SessionRegistry used
+ * by maximumSessions(1) is backed by that index, so the one-session-per-user
+ * rule holds across nodes.
+ */
+@Configuration
+public class SessionConfig {
+
+    @Bean
+    public <S extends Session> SpringSessionBackedSessionRegistry<S> sessionRegistry(
+            FindByIndexNameSessionRepository<S> sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(name = "app.session.store", havingValue = "local")
+    static class LocalSessionStoreConfiguration {
+
+        @Bean
+        public LocalIndexedSessionRepository sessionRepository(
+                @Value("${spring.session.timeout:30m}") Duration sessionTimeout) {
+            return new LocalIndexedSessionRepository(sessionTimeout);
+        }
+    }
+}
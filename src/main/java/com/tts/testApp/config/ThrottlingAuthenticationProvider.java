@@ -0,0 +1,59 @@
+package com.tts.testApp.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Consults LoginAttemptThrottle before delegating to the password-checking
+ * provider, so throttled attempts never reach the (expensive) hash check.
+ * Only wrong credentials count as failures; disabled or locked accounts are
+ * rejected by the delegate without adding to the user's or the IP's count.
+ */
+@RequiredArgsConstructor
+public class ThrottlingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final LoginAttemptThrottle throttle;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        String ip = clientIp(authentication);
+
+        if (!throttle.isAllowed(username, ip)) {
+            throw new LoginThrottledException("Too many failed login attempts. Please try again later.");
+        }
+
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result != null) {
+                throttle.recordSuccess(username);
+            }
+            return result;
+        } catch (BadCredentialsException e) {
+            throttle.recordFailure(username, ip);
+            throw e;
+        }
+    }
+
+    // The peer address, never a header a client could vary per attempt to get a fresh budget
+    private static String clientIp(Authentication authentication) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return ClientIpResolver.resolve(attributes.getRequest());
+        }
+        return authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,40 @@
+package com.tts.testApp.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Records login latency by outcome; throttled attempts are timed separately
+ * because they are rejected before the password hash is checked.
+ */
+@RequiredArgsConstructor
+public class TimedAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final ExamMetrics examMetrics;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        long start = examMetrics.start();
+        String outcome = ExamMetrics.OUTCOME_FAILURE;
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result != null) {
+                outcome = ExamMetrics.OUTCOME_SUCCESS;
+            }
+            return result;
+        } catch (LoginThrottledException e) {
+            outcome = ExamMetrics.OUTCOME_THROTTLED;
+            throw e;
+        } finally {
+            examMetrics.recordLogin(start, outcome);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
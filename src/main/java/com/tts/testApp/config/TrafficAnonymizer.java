@@ -0,0 +1,177 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Strips identifying data from captured requests before they are written:
+ * - secrets (passwords, tokens) are replaced by a fixed placeholder that
+ *   still passes form validation when replayed
+ * - CSRF fields are dropped; the replay client sends its own
+ * - identities (e-mail, names, student IDs, phone numbers, search text) are
+ *   replaced by a salted hash, so the same person maps to the same pseudonym
+ *   throughout a capture without the original being recoverable; numeric
+ *   JSON values get a numeric pseudonym so replayed requests still bind
+ * Everything else (exam configuration, answers, test and question IDs) is kept as is.
+ */
+final class TrafficAnonymizer {
+
+    static final String REDACTED_SECRET = "Redacted-Passw0rd";
+    static final String EMAIL_DOMAIN = "@anon.invalid";
+
+    private static final Set<String> DROPPED = Set.of("_csrf");
+    private static final List<String> SECRET_MARKERS = List.of("password", "token", "secret");
+    private static final Set<String> IDENTITIES = Set.of("email", "username", "fullname", "phone", "phonenumber",
+            "studentid", "query", "ipaddress", "uploadedby");
+    private static final int PSEUDONYM_HEX_CHARS = 12;
+
+    private final byte[] salt;
+    private final ObjectMapper objectMapper;
+
+    TrafficAnonymizer(byte[] salt, ObjectMapper objectMapper) {
+        this.salt = salt.clone();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stable, non-reversible stand-in for an identifying value
+     */
+    String pseudonym(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash).substring(0, PSEUDONYM_HEX_CHARS);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Numeric form of the pseudonym (48 bits, so it is exact in JavaScript too)
+     */
+    long numericPseudonym(String value) {
+        return Long.parseLong(pseudonym(value), 16);
+    }
+
+    /**
+     * @return the anonymized document, or null if the body is not valid JSON
+     */
+    String anonymizeJson(String json) {
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            if (root == null) {
+                return null;
+            }
+            anonymizeNode(root);
+            return objectMapper.writeValueAsString(root);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Anonymize an application/x-www-form-urlencoded body or query string
+     */
+    String anonymizeForm(String form) {
+        if (form == null || form.isEmpty()) {
+            return form;
+        }
+        StringBuilder result = new StringBuilder(form.length());
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? null : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            appendField(result, name, value);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Anonymize already-parsed form fields (multipart requests) and encode them as a form body
+     */
+    String anonymizeParameters(Map<String, String[]> parameters) {
+        StringBuilder result = new StringBuilder();
+        parameters.forEach((name, values) -> {
+            for (String value : values) {
+                appendField(result, name, value);
+            }
+        });
+        return result.toString();
+    }
+
+    private void appendField(StringBuilder form, String name, String value) {
+        if (DROPPED.contains(name)) {
+            return;
+        }
+        if (!form.isEmpty()) {
+            form.append('&');
+        }
+        form.append(URLEncoder.encode(name, StandardCharsets.UTF_8));
+        if (value != null) {
+            form.append('=').append(URLEncoder.encode(anonymizeValue(name, value), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void anonymizeNode(JsonNode node) {
+        if (node instanceof ArrayNode array) {
+            array.forEach(this::anonymizeNode);
+        } else if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.properties().iterator();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                if (DROPPED.contains(field.getKey())) {
+                    fields.remove();
+                } else if (value.isTextual()) {
+                    field.setValue(TextNode.valueOf(anonymizeValue(field.getKey(), value.asText())));
+                } else if (value.isNumber() && isIdentity(field.getKey())) {
+                    field.setValue(LongNode.valueOf(numericPseudonym(value.asText())));
+                } else {
+                    anonymizeNode(value);
+                }
+            }
+        }
+    }
+
+    private String anonymizeValue(String name, String value) {
+        String key = name.toLowerCase(Locale.ROOT);
+        if (value.isEmpty()) {
+            return value;
+        }
+        for (String marker : SECRET_MARKERS) {
+            if (key.contains(marker)) {
+                return REDACTED_SECRET;
+            }
+        }
+        if (isIdentity(key)) {
+            String pseudonym = pseudonym(value);
+            return key.equals("email") || value.contains("@") ? pseudonym + EMAIL_DOMAIN : "anon-" + pseudonym;
+        }
+        return value;
+    }
+
+    private static boolean isIdentity(String name) {
+        return IDENTITIES.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
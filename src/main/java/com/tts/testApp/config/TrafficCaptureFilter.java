@@ -0,0 +1,174 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records exam, student and admin traffic (/api/test/*, /student/*,
+ * /admin/*) for replay in performance tests: method, path, query, body,
+ * status and server time, anonymized by TrafficAnonymizer and appended to
+ * TrafficCaptureLog. Uploaded files are recorded by size only.
+ *
+ * Requests are grouped by a pseudonym of the session cookie, so the replay
+ * tool can re-issue each browser's requests in order on its own session.
+ * The salt (app.traffic-capture.salt) is random per start unless set; set
+ * the same value on every node to merge captures from a cluster.
+ *
+ * Off by default. Bodies larger than app.traffic-capture.max-body-bytes are
+ * not recorded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "app.traffic-capture.enabled", havingValue = "true")
+@Slf4j
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private static final List<String> CAPTURED_PREFIXES = List.of("/api/test/", "/student/", "/admin/");
+    private static final String SESSION_COOKIE = "SESSION";
+
+    private final TrafficCaptureLog captureLog;
+    private final TrafficAnonymizer anonymizer;
+    private final int maxBodyBytes;
+
+    @Autowired
+    public TrafficCaptureFilter(TrafficCaptureLog captureLog,
+                                ObjectMapper objectMapper,
+                                @Value("${app.traffic-capture.salt:}") String salt,
+                                @Value("${app.traffic-capture.max-body-bytes:65536}") int maxBodyBytes) {
+        this.captureLog = captureLog;
+        this.anonymizer = new TrafficAnonymizer(salt.isEmpty() ? randomSalt() : salt.getBytes(StandardCharsets.UTF_8),
+                objectMapper);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    private static byte[] randomSalt() {
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : CAPTURED_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long arrivedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        // Multipart bodies are never buffered; their fields are read from the parsed parts
+        HttpServletRequest captured = isMultipart(request) ? request
+                : new ContentCachingRequestWrapper(request, maxBodyBytes);
+        try {
+            chain.doFilter(captured, response);
+        } finally {
+            long durationMicros = (System.nanoTime() - start) / 1_000;
+            try {
+                captureLog.append(capture(captured, response.getStatus(), arrivedAt, durationMicros));
+            } catch (Exception e) {
+                // Capturing is best effort and must never affect the response
+                log.debug("Traffic capture skipped {}: {}", request.getRequestURI(), e.getMessage());
+            }
+        }
+    }
+
+    private CapturedRequest capture(HttpServletRequest request, int status, long arrivedAt, long durationMicros)
+            throws IOException, ServletException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String contentType = mediaType(request.getContentType());
+        long contentLength = request.getContentLengthLong();
+        String body = null;
+        List<CapturedRequest.CapturedFile> files = null;
+
+        if (request instanceof ContentCachingRequestWrapper cached && contentLength <= maxBodyBytes) {
+            byte[] content = cached.getContentAsByteArray();
+            // A chunked body that filled the cache was cut off
+            boolean complete = contentLength >= 0 || content.length < maxBodyBytes;
+            if (content.length > 0 && complete) {
+                String text = new String(content, StandardCharsets.UTF_8);
+                if (MediaType.APPLICATION_FORM_URLENCODED_VALUE.equals(contentType)) {
+                    body = anonymizer.anonymizeForm(text);
+                } else if (contentType != null && contentType.endsWith("json")) {
+                    body = anonymizer.anonymizeJson(text);
+                }
+            }
+        } else if (isMultipart(request)) {
+            body = anonymizer.anonymizeParameters(request.getParameterMap());
+            files = new ArrayList<>();
+            for (Part part : request.getParts()) {
+                if (part.getSubmittedFileName() != null) {
+                    files.add(new CapturedRequest.CapturedFile(part.getName(),
+                            "upload" + extension(part.getSubmittedFileName()), part.getSize()));
+                }
+            }
+        }
+
+        return new CapturedRequest(arrivedAt, client(request), path.startsWith("/admin/") ? "ADMIN" : "STUDENT",
+                request.getMethod(), path, anonymizer.anonymizeForm(request.getQueryString()), contentType,
+                contentLength, body, files, status, durationMicros);
+    }
+
+    /**
+     * Pseudonym of the browser session, falling back to the API token for stateless clients
+     */
+    private String client(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (SESSION_COOKIE.equals(cookie.getName())) {
+                    return anonymizer.pseudonym(cookie.getValue());
+                }
+            }
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null ? anonymizer.pseudonym(authorization) : null;
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    private static String mediaType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot).toLowerCase(Locale.ROOT);
+    }
+}
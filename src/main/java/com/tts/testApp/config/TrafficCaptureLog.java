@@ -0,0 +1,146 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only JSON Lines file of captured requests.
+ * Request threads only offer to a bounded queue; one background thread
+ * writes and flushes, so a slow disk never adds latency to a request.
+ * When the queue is full the record is dropped and counted, and once the
+ * file reaches its size limit capturing stops for the rest of the run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.traffic-capture.enabled", havingValue = "true")
+@Slf4j
+public class TrafficCaptureLog {
+
+    private static final long POLL_MILLIS = 200;
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final long maxBytes;
+    private final BlockingQueue<CapturedRequest> queue;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean full;
+    private volatile boolean running;
+    private Thread writer;
+    private OutputStream out;
+    private long bytes;
+
+    @Autowired
+    public TrafficCaptureLog(ObjectMapper objectMapper,
+                             @Value("${app.traffic-capture.file:traffic/capture.jsonl}") String file,
+                             @Value("${app.traffic-capture.max-file-mb:512}") long maxFileMb,
+                             @Value("${app.traffic-capture.queue-capacity:10000}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+        this.maxBytes = maxFileMb * 1024 * 1024;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        bytes = Files.exists(file) ? Files.size(file) : 0;
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), 64 * 1024);
+        running = true;
+        writer = Thread.ofPlatform().name("traffic-capture").daemon().start(this::writeLoop);
+        log.warn("Traffic capture enabled, appending to {}", file.toAbsolutePath());
+    }
+
+    /**
+     * Queue a record for writing; never blocks
+     */
+    public void append(CapturedRequest request) {
+        if (full || !running) {
+            return;
+        }
+        if (!queue.offer(request)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        log.info("Traffic capture stopped: {} requests written, {} dropped", written.get(), dropped.get());
+    }
+
+    private void writeLoop() {
+        List<CapturedRequest> batch = new ArrayList<>();
+        try (OutputStream stream = out) {
+            while (running || !queue.isEmpty()) {
+                CapturedRequest first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (CapturedRequest request : batch) {
+                    write(stream, request);
+                }
+                batch.clear();
+                // One flush per burst rather than per request
+                stream.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Traffic capture stopped, cannot write {}: {}", file, e.getMessage());
+            full = true;
+        }
+    }
+
+    private void write(OutputStream stream, CapturedRequest request) throws IOException {
+        if (full) {
+            dropped.incrementAndGet();
+            return;
+        }
+        byte[] line = objectMapper.writeValueAsBytes(request);
+        if (bytes + line.length + 1 > maxBytes) {
+            full = true;
+            log.warn("Traffic capture file {} reached its size limit, capture stopped", file);
+            dropped.incrementAndGet();
+            return;
+        }
+        stream.write(line);
+        stream.write('\n');
+        bytes += line.length + 1;
+        written.incrementAndGet();
+    }
+}
@@ -1,15 +1,21 @@
 package com.tts.testApp.controller;
 
+import com.tts.testApp.config.AuthenticatedUser;
+import com.tts.testApp.dto.CacheInvalidationStatsDTO;
+import com.tts.testApp.dto.CacheRegionStatsDTO;
 import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.ExamMonitorSnapshotDTO;
 import com.tts.testApp.dto.QuestionBankDTO;
 import com.tts.testApp.dto.StudentDTO;
+import com.tts.testApp.dto.StudentImportStatusDTO;
 import com.tts.testApp.dto.SubjectDTO;
-import com.tts.testApp.model.Admin;
 import com.tts.testApp.model.Student;
 import com.tts.testApp.service.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,10 +23,13 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,9 +40,12 @@ public class AdminController {
 
     private final SubjectService subjectService;
     private final StudentService studentService;
-    private final AdminService adminService;
     private final CreateTestService createTestService;
     private final QuestionBankService questionBankService;
+    private final StudentImportService studentImportService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final ExamMonitorService examMonitorService;
 
     // ========================================
     // DASHBOARD
@@ -41,7 +53,7 @@ public class AdminController {
     @GetMapping("/dashboard")
     public String showDashboard(
             Model model,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal AuthenticatedUser userDetails) {
 
         log.info("Admin dashboard accessed by: {}",
                 userDetails != null ? userDetails.getUsername() : "Unknown");
@@ -88,25 +100,10 @@ public class AdminController {
             // All tests - FOR CREATE TEST SECTION TABLE
             model.addAttribute("allTests", createTestService.getAllTests());
 
-            // Add admin name
+            // Add admin name from the authenticated principal (no extra query)
             if (userDetails != null) {
-                String username = userDetails.getUsername();
-
-                // Fetch the admin user by email
-                Optional<Admin> adminOpt = adminService.findByUsername(username);
-
-                String firstName = "Admin";
-
-                if (adminOpt.isPresent()) {
-                    String fullName = adminOpt.get().getFullName().trim();
-
-                    // Extract first name
-                    if (!fullName.isEmpty()) {
-                        firstName = fullName.split("\\s+")[0]; // split by space and take first part
-                    }
-                }
-
-                model.addAttribute("adminName", firstName);
+                String firstName = userDetails.getFirstName();
+                model.addAttribute("adminName", firstName != null ? firstName : "Admin");
             }
 
             // Add placeholders for other dashboard data
@@ -271,6 +268,72 @@ public class AdminController {
         studentService.deleteStudent(id);
     }
 
+    @PostMapping("/api/students/import")
+    @ResponseBody
+    public ResponseEntity<StudentImportStatusDTO> importStudentsAPI(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        String startedBy = userDetails != null ? userDetails.getUsername() : "Unknown";
+        log.info("API: Bulk student import requested by: {}", startedBy);
+        try {
+            StudentImportStatusDTO status = studentImportService.startImport(file, startedBy);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (RejectedExecutionException e) {
+            // Too many imports already queued; nothing was kept
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .build();
+        }
+    }
+
+    @GetMapping("/api/students/import/{jobId}")
+    @ResponseBody
+    public StudentImportStatusDTO getStudentImportStatusAPI(@PathVariable String jobId) {
+        return studentImportService.getImportStatus(jobId);
+    }
+
+    // ========================================
+    // CACHE MONITORING (API)
+    // ========================================
+    @GetMapping("/api/cache/invalidation-stats")
+    @ResponseBody
+    public CacheInvalidationStatsDTO getCacheInvalidationStatsAPI() {
+        return cacheInvalidationBus.getStats();
+    }
+
+    @GetMapping("/api/cache/l2-stats")
+    @ResponseBody
+    public List<CacheRegionStatsDTO> getSecondLevelCacheStatsAPI() {
+        return secondLevelCacheService.getRegionStats();
+    }
+
+    // ========================================
+    // EXAM MONITORING (API)
+    // ========================================
+    /**
+     * Live exam activity as Server-Sent Events: a "snapshot" event every tick
+     */
+    @GetMapping("/api/monitor/stream")
+    public ResponseEntity<SseEmitter> streamExamMonitorAPI() {
+        try {
+            return ResponseEntity.ok()
+                    // Keeps reverse proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(examMonitorService.subscribe());
+        } catch (IllegalStateException e) {
+            log.warn("Exam monitor stream refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
+    @GetMapping("/api/monitor")
+    @ResponseBody
+    public ExamMonitorSnapshotDTO getExamMonitorSnapshotAPI() {
+        return examMonitorService.getSnapshot();
+    }
+
     // ========================================
     // SUBJECT MANAGEMENT (UI)
     // ========================================
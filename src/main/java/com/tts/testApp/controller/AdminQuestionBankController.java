@@ -1,5 +1,6 @@
 package com.tts.testApp.controller;
 
+import com.tts.testApp.config.ExamMetrics;
 import com.tts.testApp.dto.QuestionBankDTO;
 import com.tts.testApp.exception.FileUploadException;
 import com.tts.testApp.exception.InvalidCSVFormatException;
@@ -29,6 +30,7 @@ public class AdminQuestionBankController {
 
     private final QuestionBankService questionBankService;
     private final SubjectService subjectService;
+    private final ExamMetrics examMetrics;
 
     /**
      * Upload Question Bank - POST
@@ -79,10 +81,18 @@ public class AdminQuestionBankController {
             }
 
             // Upload and process
-            QuestionBank questionBank = questionBankService.uploadQuestionBank(
-                    questionBankDTO,
-                    authentication.getName()
-            );
+            QuestionBank questionBank;
+            long start = examMetrics.start();
+            boolean uploaded = false;
+            try {
+                questionBank = questionBankService.uploadQuestionBank(
+                        questionBankDTO,
+                        authentication.getName()
+                );
+                uploaded = true;
+            } finally {
+                examMetrics.recordUpload(start, uploaded);
+            }
 
             log.info("Question bank uploaded successfully: {}", questionBank.getId());
             redirectAttributes.addFlashAttribute("success",
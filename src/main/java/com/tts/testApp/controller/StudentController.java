@@ -1,16 +1,20 @@
 package com.tts.testApp.controller;
 
+import com.tts.testApp.config.AuthenticatedUser;
 import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.service.ActiveTestCatalog;
 import com.tts.testApp.service.CreateTestService;
-import com.tts.testApp.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,7 +25,7 @@ import java.util.List;
 public class StudentController {
 
     private final CreateTestService createTestService;
-    private final StudentService studentService;
+    private final ActiveTestCatalog activeTestCatalog;
 
     /**
      * Student Dashboard - Shows available tests
@@ -29,52 +33,35 @@ public class StudentController {
     @GetMapping("/dashboard")
     public String showStudentDashboard(
             Model model,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        log.info("========================================");
-        log.info("Student Dashboard Access");
-        log.info("========================================");
-        log.info("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-        log.info("Timestamp: {}", java.time.LocalDateTime.now());
+            @AuthenticationPrincipal AuthenticatedUser userDetails) {
 
         try {
-            // Fetch all active tests
-            List<CreateTestDTO> allTests = createTestService.getAllActiveTests();
-
-            log.info("Fetched {} active tests from database", allTests.size());
-
-            // Log each test for debugging
-            allTests.forEach(test -> {
-                log.debug("Test ID: {}, Name: {}, Subject: {}, Type: {}, Questions: {}, Duration: {} min",
-                        test.getId(),
-                        test.getTestName(),
-                        test.getSubjectName(),
-                        test.getTestType(),
-                        test.getTotalQuestions(),
-                        test.getDuration()
-                );
-            });
+            // Active tests come from the shared catalog snapshot, not the database
+            List<CreateTestDTO> allTests = activeTestCatalog.getSnapshot().tests();
+
+            // Per-test detail only when debugging; the request itself is logged by ServerTimingFilter
+            if (log.isDebugEnabled()) {
+                log.debug("Student dashboard for {}: {} active tests", username(userDetails), allTests.size());
+                for (CreateTestDTO test : allTests) {
+                    log.debug("Test ID: {}, Name: {}, Subject: {}, Type: {}, Questions: {}, Duration: {} min",
+                            test.getId(),
+                            test.getTestName(),
+                            test.getSubjectName(),
+                            test.getTestType(),
+                            test.getTotalQuestions(),
+                            test.getDuration()
+                    );
+                }
+            }
 
             // Add to model
             model.addAttribute("allTests", allTests);
             model.addAttribute("totalTests", allTests.size());
 
-            // Get student name
+            // Get student name from the authenticated principal (no extra query)
             if (userDetails != null) {
-                String email = userDetails.getUsername();
-                var student = studentService.findByEmail(email);
-                if (student.isPresent()) {
-                    String fullName = student.get().getFullName();
-                    String firstName = fullName != null && !fullName.isEmpty()
-                            ? fullName.split(" ")[0]
-                            : "Student User";
-
-                    model.addAttribute("studentName", firstName);
-                    log.info("Student logged in: {} ({})", student.get().getFullName(), email);
-                } else {
-                    model.addAttribute("studentName", "Student");
-                    log.warn("Student not found for email: {}", email);
-                }
+                String firstName = userDetails.getFirstName();
+                model.addAttribute("studentName", firstName != null ? firstName : "Student");
             }
 
             // Stats (you can enhance this)
@@ -82,18 +69,8 @@ public class StudentController {
             model.addAttribute("avgScore", 0);
             model.addAttribute("totalHours", 0);
 
-            log.info("Dashboard loaded successfully for user: {}",
-                    userDetails != null ? userDetails.getUsername() : "Anonymous");
-            log.info("========================================");
-
         } catch (Exception e) {
-            log.error("========================================");
-            log.error("ERROR Loading Student Dashboard");
-            log.error("========================================");
-            log.error("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-            log.error("Error message: {}", e.getMessage());
-            log.error("Stack trace:", e);
-            log.error("========================================");
+            log.error("Failed to load student dashboard for {}", username(userDetails), e);
 
             model.addAttribute("error", "Failed to load dashboard. Please try again.");
             model.addAttribute("allTests", List.of());
@@ -104,34 +81,35 @@ public class StudentController {
 
     /**
      * API: Get all available tests
+     * Answers If-None-Match with 304 when the catalog has not changed;
+     * otherwise returns the catalog's pre-serialized JSON.
      */
     @GetMapping("/api/tests")
     @ResponseBody
-    public ResponseEntity<List<CreateTestDTO>> getAvailableTests(
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        log.info("========================================");
-        log.info("API: Fetch Available Tests");
-        log.info("========================================");
-        log.info("Endpoint: GET /student/api/tests");
-        log.info("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-        log.info("Timestamp: {}", java.time.LocalDateTime.now());
+    public ResponseEntity<byte[]> getAvailableTests(
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
 
         try {
-            List<CreateTestDTO> tests = createTestService.getAllActiveTests();
+            ActiveTestCatalog.Snapshot catalog = activeTestCatalog.getSnapshot();
+            if (webRequest.checkNotModified(catalog.etag())) {
+                log.debug("Available tests for {}: catalog v{} not modified", username(userDetails), catalog.version());
+                return null;
+            }
 
-            log.info("API Response: {} tests found", tests.size());
-            log.debug("Tests: {}", tests);
-            log.info("========================================");
+            if (log.isDebugEnabled()) {
+                log.debug("Available tests for {}: {} tests (catalog v{})",
+                        username(userDetails), catalog.tests().size(), catalog.version());
+            }
 
-            return ResponseEntity.ok(tests);
+            return ResponseEntity.ok()
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(catalog.json());
 
         } catch (Exception e) {
-            log.error("========================================");
-            log.error("API ERROR: Failed to fetch tests");
-            log.error("========================================");
-            log.error("Error: {}", e.getMessage(), e);
-            log.error("========================================");
+            log.error("Failed to fetch available tests", e);
 
             return ResponseEntity.internalServerError().build();
         }
@@ -144,31 +122,36 @@ public class StudentController {
     @ResponseBody
     public ResponseEntity<CreateTestDTO> getTestById(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        log.info("========================================");
-        log.info("API: Fetch Test by ID");
-        log.info("========================================");
-        log.info("Endpoint: GET /student/api/tests/{}", id);
-        log.info("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-        log.info("Test ID requested: {}", id);
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
 
         try {
-            CreateTestDTO test = createTestService.getTestById(id);
+            // Active tests are served from the catalog; its ETag changes whenever any test does
+            ActiveTestCatalog.Snapshot catalog = activeTestCatalog.getSnapshot();
+            CreateTestDTO test = catalog.findTest(id).orElse(null);
+            if (test == null) {
+                test = createTestService.getTestById(id);
+                if (log.isDebugEnabled()) {
+                    log.debug("Test {} for {}: {} (inactive)", id, username(userDetails), test.getTestName());
+                }
+                return ResponseEntity.ok(test);
+            }
+
+            if (webRequest.checkNotModified(catalog.etag())) {
+                return null;
+            }
 
-            log.info("API Response: Test found - {}", test.getTestName());
-            log.debug("Test details: {}", test);
-            log.info("========================================");
+            if (log.isDebugEnabled()) {
+                log.debug("Test {} for {}: {}", id, username(userDetails), test);
+            }
 
-            return ResponseEntity.ok(test);
+            return ResponseEntity.ok()
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(test);
 
         } catch (Exception e) {
-            log.error("========================================");
-            log.error("API ERROR: Test not found");
-            log.error("========================================");
-            log.error("Test ID: {}", id);
-            log.error("Error: {}", e.getMessage(), e);
-            log.error("========================================");
+            log.warn("Test {} not found: {}", id, e.getMessage());
 
             return ResponseEntity.notFound().build();
         }
@@ -183,23 +166,16 @@ public class StudentController {
             Model model,
             @AuthenticationPrincipal UserDetails userDetails) {
 
-        log.info("========================================");
-        log.info("Starting Test");
-        log.info("========================================");
-        log.info("Test ID: {}", id);
-        log.info("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-        log.info("Timestamp: {}", java.time.LocalDateTime.now());
-
         try {
             // Fetch test details
             CreateTestDTO test = createTestService.getTestById(id);
 
-            log.info("Test loaded: {}", test.getTestName());
-            log.info("Subject: {}", test.getSubjectName());
-            log.info("Total Questions: {}", test.getTotalQuestions());
-            log.info("Duration: {} minutes", test.getDuration());
-            log.info("Passing %: {}", test.getPassingPercentage());
-            log.info("Tab Switch Limit: {}", test.getTabSwitchLimit());
+            log.info("Starting test {} ({}) for {}", id, test.getTestName(), username(userDetails));
+            if (log.isDebugEnabled()) {
+                log.debug("Test {}: subject={}, questions={}, duration={} min, passing={}%, tabSwitchLimit={}",
+                        id, test.getSubjectName(), test.getTotalQuestions(), test.getDuration(),
+                        test.getPassingPercentage(), test.getTabSwitchLimit());
+            }
 
             model.addAttribute("test", test);
 
@@ -211,19 +187,10 @@ public class StudentController {
             // );
             // model.addAttribute("questions", questions);
 
-            log.info("Test start page loaded successfully");
-            log.info("========================================");
-
             return "test-page"; // Create this template
 
         } catch (Exception e) {
-            log.error("========================================");
-            log.error("ERROR: Failed to start test");
-            log.error("========================================");
-            log.error("Test ID: {}", id);
-            log.error("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-            log.error("Error: {}", e.getMessage(), e);
-            log.error("========================================");
+            log.error("Failed to start test {} for {}", id, username(userDetails), e);
 
             model.addAttribute("error", "Test not found or unavailable");
             return "redirect:/student/dashboard";
@@ -238,11 +205,6 @@ public class StudentController {
     public ResponseEntity<?> getStudentStats(
             @AuthenticationPrincipal UserDetails userDetails) {
 
-        log.info("========================================");
-        log.info("API: Fetch Student Statistics");
-        log.info("========================================");
-        log.info("User: {}", userDetails != null ? userDetails.getUsername() : "Anonymous");
-
         try {
             // TODO: Implement statistics logic
             var stats = new Object() {
@@ -252,9 +214,6 @@ public class StudentController {
                 public final String lastTestDate = "N/A";
             };
 
-            log.info("Stats retrieved successfully");
-            log.info("========================================");
-
             return ResponseEntity.ok(stats);
 
         } catch (Exception e) {
@@ -262,4 +221,8 @@ public class StudentController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    private static String username(UserDetails userDetails) {
+        return userDetails != null ? userDetails.getUsername() : "Anonymous";
+    }
+}
@@ -1,6 +1,15 @@
 package com.tts.testApp.controller;
 
+import com.tts.testApp.config.AuthenticatedUser;
+import com.tts.testApp.config.ExamMetrics;
 import com.tts.testApp.dto.*;
+import com.tts.testApp.exception.ResourceNotFoundException;
+import com.tts.testApp.service.ActiveTestCatalog;
+import com.tts.testApp.service.ExamAutosaveService;
+import com.tts.testApp.service.ExamDeadlineService;
+import com.tts.testApp.service.ExamMonitorService;
+import com.tts.testApp.service.ExamSessionSnapshot;
+import com.tts.testApp.service.ProctoringService;
 import com.tts.testApp.service.QuestionService;
 import com.tts.testApp.service.TestService;
 import jakarta.validation.Valid;
@@ -9,12 +18,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/test")
@@ -24,21 +34,54 @@ public class TestController {
 
     private final QuestionService questionService;
     private final TestService testService;
+    private final ExamMetrics examMetrics;
+    private final ExamAutosaveService examAutosaveService;
+    private final ProctoringService proctoringService;
+    private final ExamDeadlineService examDeadlineService;
+    private final ExamMonitorService examMonitorService;
+    private final ActiveTestCatalog activeTestCatalog;
 
     /**
-     * Initialize test - fetch random questions
+     * Initialize test - fetch random questions.
+     * Duration, pass mark, tab switch limit and question count come from the
+     * scheduled test; the values the page sends are only used to ask for fewer
+     * questions than the test allows.
      */
     @PostMapping("/initialize")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<?> initializeTest(@Valid @RequestBody TestConfigDTO config,
-                                            Principal principal) {
+                                            @AuthenticationPrincipal AuthenticatedUser principal) {
+        long start = examMetrics.start();
+        boolean success = false;
         try {
-            log.info("Initializing test for user: {}, questionBankId: {}",
-                    principal.getName(), config.getQuestionBankId());
+            log.info("Initializing test for user: {}, testId: {}, questionBankId: {}",
+                    principal.getUsername(), config.getTestId(), config.getQuestionBankId());
 
-            List<QuestionDTO> questions = (config.getEasyCount() != null &&
+            if (config.getTestId() == null) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("success", false, "error", "Test is required"));
+            }
+            // The deadline and proctoring limit are enforced from these, so never take them from the browser
+            Optional<CreateTestDTO> scheduled = activeTestCatalog.getSnapshot().findTest(config.getTestId());
+            if (scheduled.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("success", false, "error", "Test not found or no longer active"));
+            }
+            CreateTestDTO test = scheduled.get();
+            int questionCount = config.getTotalQuestions() > 0
+                    ? Math.min(config.getTotalQuestions(), test.getTotalQuestions())
+                    : test.getTotalQuestions();
+
+            boolean byDifficulty = config.getEasyCount() != null &&
                     config.getMediumCount() != null &&
-                    config.getHardCount() != null)
+                    config.getHardCount() != null;
+            if (byDifficulty && config.getEasyCount() + config.getMediumCount() + config.getHardCount()
+                    > test.getTotalQuestions()) {
+                return ResponseEntity.badRequest().body(Map.of("success", false,
+                        "error", "This test has at most " + test.getTotalQuestions() + " questions"));
+            }
+
+            List<QuestionDTO> questions = byDifficulty
                     ? questionService.getRandomQuestionsByDifficulty(
                     config.getQuestionBankId(),
                     config.getEasyCount(),
@@ -46,16 +89,25 @@ public class TestController {
                     config.getHardCount())
                     : questionService.getRandomQuestionsForTest(
                     config.getQuestionBankId(),
-                    config.getTotalQuestions());
+                    questionCount);
+
+            ExamSessionSnapshot examSession = examAutosaveService.open(principal.getAccountId(),
+                    test.getId(), config.getQuestionBankId(),
+                    questions.stream().map(QuestionDTO::getId).toList(),
+                    test.getDuration(), test.getTabSwitchLimit());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
+            response.put("sessionId", examSession.sessionId());
             response.put("questions", questions);
             response.put("totalQuestions", questions.size());
-            response.put("duration", config.getDurationMinutes());
-            response.put("passingPercentage", config.getPassingPercentage());
-            response.put("tabSwitchLimit", config.getTabSwitchLimit());
+            response.put("duration", test.getDuration());
+            response.put("passingPercentage", test.getPassingPercentage());
+            response.put("tabSwitchLimit", test.getTabSwitchLimit());
 
+            examMetrics.examStarted(principal.getAccountId(), test.getDuration());
+            examMonitorService.examStarted(config.getTestId());
+            success = true;
             return ResponseEntity.ok(response);
 
         } catch (IllegalStateException e) {
@@ -66,6 +118,8 @@ public class TestController {
             log.error("Unexpected error during test initialization", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("success", false, "error", "Failed to initialize test"));
+        } finally {
+            examMetrics.recordInitialize(start, success);
         }
     }
 
@@ -75,23 +129,139 @@ public class TestController {
     @PostMapping("/submit")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<?> submitTest(@Valid @RequestBody TestSubmissionDTO submission,
-                                        Principal principal) {
+                                        @AuthenticationPrincipal AuthenticatedUser principal) {
+        long start = examMetrics.start();
+        boolean success = false;
+        Optional<ExamSessionSnapshot> claimed = Optional.empty();
         try {
             log.info("Test submission from user: {}, testId: {}",
-                    principal.getName(), submission.getTestId());
+                    principal.getUsername(), submission.getTestId());
+
+            // Never trust the student ID sent by the browser
+            submission.setStudentId(principal.getAccountId());
+
+            // Closing the autosave session claims the attempt, so the server cannot submit it too;
+            // without a current session ID, the student's open attempt at the test is claimed.
+            // Only a claimed attempt is recorded: anything else was already submitted or never started.
+            claimed = examAutosaveService.claim(submission.getSessionId(), principal.getAccountId());
+            if (claimed.isEmpty() && examDeadlineService.wasAutoSubmitted(submission.getSessionId())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false,
+                        "error", "Time ran out; your saved answers were submitted automatically"));
+            }
+            if (claimed.isEmpty() && submission.getTestId() != null) {
+                claimed = examAutosaveService.findOpen(principal.getAccountId(), submission.getTestId())
+                        .flatMap(open -> examAutosaveService.claim(open.sessionId(), principal.getAccountId()));
+            }
+            if (claimed.isEmpty() && examDeadlineService.wasAutoSubmitted(principal.getAccountId(), submission.getTestId())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false,
+                        "error", "Time ran out; your saved answers were submitted automatically"));
+            }
+            if (claimed.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false,
+                        "error", "No open attempt at this test; it was already submitted or never started"));
+            }
+            submission.setSessionId(claimed.get().sessionId());
+            // Nor a tab switch count lower than the one reported as it happened
+            submission.setTabSwitches(Math.max(submission.getTabSwitches(),
+                    proctoringService.getViolationCount(submission.getSessionId())));
 
+            long validateStart = examMetrics.start();
             TestResultDTO result = questionService.validateAnswers(submission.getAnswers());
+            examMetrics.recordValidateAnswers(validateStart);
             result.setGrade(result.calculateGrade());
             result.setPassed(result.getScorePercentage() >= 35);
 
-            testService.saveTestAttempt(submission, result, principal.getName());
+            testService.saveTestAttempt(submission, result, principal.getUsername());
+            proctoringService.sessionClosed(submission.getSessionId());
 
+            examMetrics.examFinished(principal.getAccountId());
+            examMonitorService.examSubmitted(submission.getTestId(), result.isPassed());
+            success = true;
             return ResponseEntity.ok(Map.of("success", true, "result", result));
 
         } catch (Exception e) {
             log.error("Test submission failed", e);
+            // Release the claim, so the attempt can be submitted again
+            claimed.ifPresent(examAutosaveService::reopen);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("success", false, "error", "Failed to submit test"));
+        } finally {
+            examMetrics.recordSubmit(start, success);
+        }
+    }
+
+    /**
+     * Autosave answers changed since the last autosave
+     */
+    @PostMapping("/autosave")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> autosave(@Valid @RequestBody AutosaveDTO autosave,
+                                      @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            long seq = examAutosaveService.save(autosave.getSessionId(), principal.getAccountId(),
+                    autosave.getSeq(), autosave.getAnswers());
+            return ResponseEntity.ok(Map.of("success", true, "seq", seq));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Report proctoring events (tab switches, fullscreen exits, focus loss)
+     */
+    @PostMapping("/proctoring")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> reportProctoringEvents(@Valid @RequestBody ProctoringBatchDTO batch,
+                                                    @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            ProctoringService.ProctoringStatus status = proctoringService.record(batch.getSessionId(),
+                    principal.getAccountId(), batch.getEvents());
+            return ResponseEntity.ok(Map.of("success", true, "violations", status.violations(),
+                    "limit", status.limit(), "limitReached", status.limitReached()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Resume the student's unfinished attempt at a test: its questions, saved answers and time left
+     */
+    @GetMapping("/resume")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> resumeTest(@RequestParam Long testId,
+                                        @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            Optional<ExamSessionSnapshot> open = examAutosaveService.findOpen(principal.getAccountId(), testId);
+            if (open.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("success", false, "error", "No unfinished attempt at this test"));
+            }
+            ExamSessionSnapshot examSession = open.get();
+            Map<Long, String> answers = new HashMap<>();
+            for (int i = 0; i < examSession.questionIds().size(); i++) {
+                if (examSession.answers().get(i) != null) {
+                    answers.put(examSession.questionIds().get(i), examSession.answers().get(i));
+                }
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("sessionId", examSession.sessionId());
+            response.put("questions", questionService.getQuestionsByIds(examSession.questionIds()));
+            response.put("answers", answers);
+            response.put("seq", examSession.seq());
+            response.put("remainingSeconds", examSession.remainingSeconds(System.currentTimeMillis()));
+            response.put("tabSwitchLimit", examSession.tabSwitchLimit());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Failed to resume test", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to resume test"));
         }
     }
 
@@ -1,10 +1,12 @@
 package com.tts.testApp.controller;
 
+import com.tts.testApp.config.AuthenticatedUser;
 import com.tts.testApp.service.QuestionService;
 import com.tts.testApp.service.TestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,14 +26,12 @@ public class TestViewController {
     private final QuestionService questionService;
 
     /**
-     * Show test start page with comprehensive logging
+     * Show test start page
      */
     @GetMapping("/start/{testId}")
     @PreAuthorize("hasRole('STUDENT')")
-    public String showTestStartPage(@PathVariable Long testId, Model model, Principal principal) {
-        log.info("========== TEST VIEW CONTROLLER START ==========");
-        log.info("User: {}, TestId: {}", principal.getName(), testId);
-
+    public String showTestStartPage(@PathVariable Long testId, Model model,
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             // TODO: Replace hardcoded values with actual test lookup
             Long questionBankId = 2L;
@@ -42,29 +42,25 @@ public class TestViewController {
             Integer marksPerQuestion = 1;
             Integer tabSwitchLimit = 3;
 
-            log.info("Test Configuration:");
-            log.info("  - QuestionBankId: {}", questionBankId);
-            log.info("  - TestName: {}", testName);
-            log.info("  - TotalQuestions: {}", totalQuestions);
-            log.info("  - Duration: {} minutes", duration);
-            log.info("  - PassingPercentage: {}%", passingPercentage);
-            log.info("  - TabSwitchLimit: {}", tabSwitchLimit);
-
             // Get question bank statistics
-            log.info("Fetching question bank statistics...");
             Map<String, Object> stats = testService.getQuestionBankStats(questionBankId);
-            log.info("Question Bank Stats: {}", stats);
+            if (log.isDebugEnabled()) {
+                log.debug("Test start page for {}, test {}: questionBank={}, name={}, questions={}, duration={} min, "
+                                + "passing={}%, tabSwitchLimit={}, stats={}",
+                        principal.getUsername(), testId, questionBankId, testName, totalQuestions, duration,
+                        passingPercentage, tabSwitchLimit, stats);
+            }
 
             // Validate that questions are available
             Long totalAvailable = (Long) stats.get("totalQuestions");
             if (totalAvailable == null || totalAvailable == 0) {
-                log.error("ERROR: No questions available in question bank {}", questionBankId);
+                log.error("No questions available in question bank {}", questionBankId);
                 model.addAttribute("error", "No questions available in this question bank");
                 return "error";
             }
 
             if (totalQuestions > totalAvailable) {
-                log.warn("WARNING: Requested {} questions but only {} available",
+                log.warn("Requested {} questions but only {} available",
                         totalQuestions, totalAvailable);
                 totalQuestions = totalAvailable.intValue();
             }
@@ -78,22 +74,13 @@ public class TestViewController {
             model.addAttribute("passingPercentage", passingPercentage);
             model.addAttribute("marksPerQuestion", marksPerQuestion);
             model.addAttribute("tabSwitchLimit", tabSwitchLimit);
-            model.addAttribute("studentId", 1L); // TODO: Get from authenticated user
+            model.addAttribute("studentId", principal.getAccountId());
             model.addAttribute("questionBankStats", stats);
 
-            log.info("Model attributes added successfully");
-            log.info("========== TEST VIEW CONTROLLER END ==========");
-
             return "start-test";
 
         } catch (Exception e) {
-            log.error("========== ERROR IN TEST VIEW CONTROLLER ==========");
-            log.error("Error loading test page", e);
-            log.error("Exception type: {}", e.getClass().getName());
-            log.error("Exception message: {}", e.getMessage());
-            if (e.getCause() != null) {
-                log.error("Cause: {}", e.getCause().getMessage());
-            }
+            log.error("Error loading test page for test {}", testId, e);
 
             model.addAttribute("error", "Failed to load test: " + e.getMessage());
             return "error";
@@ -107,7 +94,7 @@ public class TestViewController {
     @PreAuthorize("hasRole('STUDENT')")
     public String showTestHistory(Model model, Principal principal) {
         try {
-            log.info("Loading test history for user: {}", principal.getName());
+            log.debug("Loading test history for user: {}", principal.getName());
             // model.addAttribute("attempts", testService.getStudentTestHistory(principal.getName()));
             return "test-history";
         } catch (Exception e) {
@@ -0,0 +1,29 @@
+package com.tts.testApp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for an answer autosave: the answers changed since the last acknowledged autosave
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutosaveDTO {
+    @NotBlank(message = "Session ID is required")
+    private String sessionId;
+
+    // Increases with every autosave sent for the session; late or repeated ones are ignored
+    @Min(value = 1, message = "Sequence number must be positive")
+    private long seq;
+
+    @NotNull(message = "Answers are required")
+    private List<@Valid StudentAnswerDTO> answers;
+}
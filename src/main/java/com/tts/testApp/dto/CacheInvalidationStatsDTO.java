@@ -0,0 +1,19 @@
+package com.tts.testApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationStatsDTO {
+    private String nodeId;
+    private String transport;
+    private long published;
+    private long receivedFromOtherNodes;
+    private long lastLagMillis;
+    private long maxLagMillis;
+    private double averageLagMillis;
+    private long backlog;
+}
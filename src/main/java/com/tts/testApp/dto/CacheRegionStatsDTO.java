@@ -0,0 +1,17 @@
+package com.tts.testApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+    private String region;
+    private String type; // ENTITY or QUERY
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio;
+}
@@ -0,0 +1,26 @@
+package com.tts.testApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Live exam activity on this node, as streamed to admins
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamMonitorSnapshotDTO {
+    private long timestamp; // Epoch milliseconds
+    private int activeCandidates;
+    private long startsPerMinute;
+    private long submitsPerMinute;
+    private long tabSwitchesPerMinute;
+    private long submitted;
+    private long passed;
+    private Double passRate; // Percentage of submitted attempts that passed; null before the first
+    private List<ExamMonitorTestDTO> tests;
+    private List<TabSwitchAlertDTO> alerts; // Most recent first
+}
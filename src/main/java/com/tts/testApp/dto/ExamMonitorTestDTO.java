@@ -0,0 +1,22 @@
+package com.tts.testApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live activity of one scheduled test, part of ExamMonitorSnapshotDTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamMonitorTestDTO {
+    private Long testId;
+    private int activeCandidates;
+    private long startsPerMinute;
+    private long submitsPerMinute;
+    private long tabSwitchesPerMinute;
+    private long submitted;
+    private long passed;
+    private Double passRate;
+}
@@ -0,0 +1,26 @@
+package com.tts.testApp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the proctoring events the exam page collected since its last report
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProctoringBatchDTO {
+    @NotBlank(message = "Session ID is required")
+    private String sessionId;
+
+    @NotNull(message = "Events are required")
+    @Size(max = 100, message = "At most 100 events per report")
+    private List<@Valid ProctoringEventDTO> events;
+}
@@ -0,0 +1,20 @@
+package com.tts.testApp.dto;
+
+import com.tts.testApp.model.ProctoringEventType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one proctoring event reported by the exam page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProctoringEventDTO {
+    @NotNull(message = "Event type is required")
+    private ProctoringEventType type;
+
+    private Long occurredAt; // Epoch milliseconds in the browser; the receive time is used if missing
+}
@@ -0,0 +1,50 @@
+package com.tts.testApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress snapshot of a bulk student import job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportStatusDTO {
+
+    private String jobId;
+    private String fileName;
+    private String startedBy;
+
+    /**
+     * QUEUED, RUNNING, COMPLETED or FAILED
+     */
+    private String status;
+
+    private int totalRows;
+    private int processedRows;
+    private int importedCount;
+    private int failedCount;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Job-level failure reason (e.g. unreadable file)
+     */
+    private String message;
+
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int rowNumber;
+        private String email;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tts.testApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A candidate switching away from the exam, part of ExamMonitorSnapshotDTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TabSwitchAlertDTO {
+    private long timestamp; // Epoch milliseconds
+    private Long testId;
+    private Long studentId;
+    private int violations;
+    private int limit; // 0 for no limit
+    private boolean limitReached;
+}
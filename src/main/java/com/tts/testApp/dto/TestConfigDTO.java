@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TestConfigDTO {
+    private Long testId; // Required: the scheduled test being started
     private Long questionBankId;
     private String testName;
     private int totalQuestions;
@@ -31,4 +31,6 @@ public class TestSubmissionDTO {
     private int timeTakenSeconds;
 
     private int tabSwitches;
+
+    private String sessionId; // Autosave session from initialize, closed on submit
 }
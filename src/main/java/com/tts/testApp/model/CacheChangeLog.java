@@ -0,0 +1,40 @@
+package com.tts.testApp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cache invalidation published by a node. Other nodes poll rows with
+ * an id above their cursor and evict the matching entries. Rows are written
+ * in the same transaction as the change they describe, so an invalidation
+ * becomes visible exactly when the data does.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "cache_change_log", indexes = {
+        @Index(name = "idx_cache_change_published_at", columnList = "publishedAt")
+})
+public class CacheChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String cacheName;
+
+    /** Entry to evict, or null to clear the whole cache */
+    @Column(length = 100)
+    private String entityKey;
+
+    @Column(nullable = false, length = 64)
+    private String originNode;
+
+    /** Epoch milliseconds, used to measure invalidation lag across nodes */
+    @Column(nullable = false)
+    private long publishedAt;
+}
@@ -1,12 +1,17 @@
 package com.tts.testApp.model;
 
+import com.tts.testApp.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TEST)
 @Table(name = "tests")
 @Data
 @NoArgsConstructor
@@ -19,9 +24,10 @@ public class CreateTest {
 
     /**
      * Foreign key relationship to Subject table
-     * Use @ManyToOne instead of storing subject name as String
+     * Use @ManyToOne instead of storing subject name as String.
+     * Lazy: list queries that need the subject fetch it with an entity graph
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "subject_id", nullable = false, referencedColumnName = "id")
     private Subject subject;
 
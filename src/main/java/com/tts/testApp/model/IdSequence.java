@@ -0,0 +1,26 @@
+package com.tts.testApp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Named counter row used to hand out blocks of business identifiers
+ * (e.g. STD-xxx student IDs). Each node reserves a range by bumping
+ * nextValue under a row lock and then serves IDs from memory.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "id_sequences")
+public class IdSequence {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long nextValue;
+}
@@ -0,0 +1,47 @@
+package com.tts.testApp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit trail of proctoring events. Rows are bulk-inserted by
+ * ProctoringService in batches, never updated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "proctoring_events", indexes = {
+        @Index(name = "idx_proctoring_session", columnList = "session_id"),
+        @Index(name = "idx_proctoring_student", columnList = "student_id")
+})
+public class ProctoringEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Exam session (autosave session ID) the event belongs to */
+    @Column(nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    private Long testId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ProctoringEventType eventType;
+
+    /** When the browser saw it */
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,27 @@
+package com.tts.testApp.model;
+
+/**
+ * Proctoring events reported by the exam page
+ */
+public enum ProctoringEventType {
+
+    /** The exam tab was hidden (switched tab or window, minimized) */
+    TAB_SWITCH(true),
+    /** Fullscreen mode was left */
+    FULLSCREEN_EXIT(true),
+    /** The exam window lost focus while still visible (another window or dialog on top) */
+    FOCUS_LOST(false);
+
+    private final boolean violation;
+
+    ProctoringEventType(boolean violation) {
+        this.violation = violation;
+    }
+
+    /**
+     * @return true if the event counts toward the test's tab switch limit
+     */
+    public boolean isViolation() {
+        return violation;
+    }
+}
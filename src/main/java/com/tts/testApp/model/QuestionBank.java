@@ -1,10 +1,13 @@
 package com.tts.testApp.model;
 
+import com.tts.testApp.config.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +19,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.QUESTION_BANK)
 @Table(name = "question_banks", indexes = {
         @Index(name = "idx_subject_id", columnList = "subject_id"),
         @Index(name = "idx_file_name", columnList = "fileName")
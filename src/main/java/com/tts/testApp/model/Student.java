@@ -50,6 +50,15 @@ public class Student {
     @Column(nullable = false)
     private boolean accountNonLocked = true;
 
+    @Column
+    private LocalDateTime accountLockedUntil;
+
+    @Column
+    private LocalDateTime lastLoginAt;
+
+    @Column(length = 45)
+    private String lastLoginIp;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime registeredDate;
@@ -1,10 +1,13 @@
 package com.tts.testApp.model;
 
+import com.tts.testApp.config.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
@@ -13,6 +16,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SUBJECT)
 @Table(name = "subjects", indexes = {
         @Index(name = "idx_subject_code", columnList = "subjectCode"),
         @Index(name = "idx_subject_name", columnList = "name")
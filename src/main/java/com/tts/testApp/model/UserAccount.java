@@ -0,0 +1,85 @@
+package com.tts.testApp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view over admins and students exposing only the columns
+ * needed for authentication. Admins log in with their username and
+ * students with their email; account creation keeps the login name
+ * unique across both tables.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Subselect(UserAccount.ADMIN_SELECT + " UNION ALL " + UserAccount.STUDENT_SELECT)
+@Synchronize({"admins", "students"})
+public class UserAccount {
+
+    public static final String ADMIN_SELECT =
+            "SELECT 'ADMIN' AS account_type, a.id AS account_id, a.username AS username, " +
+                    "a.password AS password, a.full_name AS full_name, CONCAT('ROLE_', a.role) AS role, " +
+                    "a.is_active AS enabled, TRUE AS account_non_locked, " +
+                    "a.account_locked_until AS locked_until FROM admins a";
+
+    public static final String STUDENT_SELECT =
+            "SELECT 'STUDENT' AS account_type, s.id AS account_id, s.email AS username, " +
+                    "s.password AS password, s.full_name AS full_name, s.role AS role, " +
+                    "s.enabled AS enabled, s.account_non_locked AS account_non_locked, " +
+                    "s.account_locked_until AS locked_until FROM students s";
+
+    @Id
+    @Column(name = "username")
+    private String username;
+
+    /**
+     * ADMIN or STUDENT
+     */
+    @Column(name = "account_type")
+    private String accountType;
+
+    /**
+     * Primary key in the admins or students table
+     */
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "password")
+    private String password;
+
+    @Column(name = "full_name")
+    private String fullName;
+
+    /**
+     * Granted authority, e.g. ROLE_ADMIN
+     */
+    @Column(name = "role")
+    private String role;
+
+    @Column(name = "enabled")
+    private boolean enabled;
+
+    @Column(name = "account_non_locked")
+    private boolean accountNonLocked;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(accountType);
+    }
+
+    public boolean isLocked() {
+        return !accountNonLocked
+                || (lockedUntil != null && LocalDateTime.now().isBefore(lockedUntil));
+    }
+}
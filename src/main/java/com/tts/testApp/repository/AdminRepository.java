@@ -36,4 +36,14 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
     @Modifying
     @Query("UPDATE Admin a SET a.accountLockedUntil = :lockUntil WHERE a.username = :username")
     void lockAccount(@Param("username") String username, @Param("lockUntil") LocalDateTime lockUntil);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("UPDATE Admin a SET a.accountLockedUntil = :lockUntil, a.loginAttempts = :attempts WHERE a.username = :username")
+    int lockAccount(@Param("username") String username,
+                    @Param("lockUntil") LocalDateTime lockUntil,
+                    @Param("attempts") Integer attempts);
+
+    @Modifying
+    @Query("UPDATE Admin a SET a.password = :password WHERE a.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+}
@@ -0,0 +1,37 @@
+package com.tts.testApp.repository;
+
+import com.tts.testApp.model.CacheChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CacheChangeLogRepository extends JpaRepository<CacheChangeLog, Long> {
+
+    /**
+     * Next page of changes after the given cursor, oldest first
+     */
+    List<CacheChangeLog> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+
+    /**
+     * Changes to one cache published since the given time
+     * @param since epoch milliseconds
+     */
+    List<CacheChangeLog> findByCacheNameAndPublishedAtGreaterThanEqual(String cacheName, long since);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM CacheChangeLog c")
+    long findMaxId();
+
+    /**
+     * Remove changes every node has long since seen
+     * @param cutoff epoch milliseconds
+     */
+    @Modifying
+    @Query("DELETE FROM CacheChangeLog c WHERE c.publishedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") long cutoff);
+}
@@ -1,9 +1,14 @@
 package com.tts.testApp.repository;
 
+import com.tts.testApp.config.CacheRegions;
 import com.tts.testApp.model.CreateTest;
 import com.tts.testApp.model.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,9 +17,26 @@ import java.util.Optional;
 @Repository
 public interface CreateTestRepository extends JpaRepository<CreateTest, Long> {
 
+    /**
+     * All tests with their subject fetched in the same statement.
+     * CreateTest.subject is lazy; every finder whose results are converted
+     * to DTOs uses the "subject" graph so a list costs one query, not one per test.
+     */
+    @Override
+    @EntityGraph(attributePaths = "subject")
+    List<CreateTest> findAll();
+
+    /**
+     * Find test by ID with its subject
+     */
+    @Override
+    @EntityGraph(attributePaths = "subject")
+    Optional<CreateTest> findById(Long id);
+
     /**
      * Find test by name
      */
+    @EntityGraph(attributePaths = "subject")
     Optional<CreateTest> findByTestName(String testName);
 
     /**
@@ -25,16 +47,27 @@ public interface CreateTestRepository extends JpaRepository<CreateTest, Long> {
     /**
      * Find all active tests
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.TEST_QUERIES)
+    })
+    @EntityGraph(attributePaths = "subject")
     List<CreateTest> findByActiveTrue();
 
     /**
      * Find tests by type (MOCK or FINAL)
      */
+    @EntityGraph(attributePaths = "subject")
     List<CreateTest> findByTestType(String testType);
 
     /**
      * Find tests by subject - ADDED THIS METHOD
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.TEST_QUERIES)
+    })
+    @EntityGraph(attributePaths = "subject")
     List<CreateTest> findBySubject(Subject subject);
 
     /**
@@ -1,9 +1,14 @@
 package com.tts.testApp.repository;
 
+import com.tts.testApp.config.CacheRegions;
 import com.tts.testApp.model.QuestionBank;
 import com.tts.testApp.model.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,10 +18,24 @@ import java.util.Optional;
 @Repository
 public interface QuestionBankRepository extends JpaRepository<QuestionBank, Long> {
 
+    /**
+     * All banks with their subject fetched in the same statement.
+     * List finders use the "subject" graph because the DTOs show the subject
+     * name, and loading the lazy subject per bank costs one query per row.
+     */
+    @Override
+    @EntityGraph(attributePaths = "subject")
+    List<QuestionBank> findAll();
+
     List<QuestionBank> findBySubject(Subject subject);
 
     List<QuestionBank> findBySubjectId(Long subjectId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.QUESTION_BANK_QUERIES)
+    })
+    @EntityGraph(attributePaths = "subject")
     List<QuestionBank> findByActiveTrue();
 
     List<QuestionBank> findBySubjectIdAndActiveTrue(Long subjectId);
@@ -25,6 +44,11 @@ public interface QuestionBankRepository extends JpaRepository<QuestionBank, Long
 
     boolean existsByFileName(String fileName);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.QUESTION_BANK_QUERIES)
+    })
+    @EntityGraph(attributePaths = "subject")
     @Query("SELECT qb FROM QuestionBank qb WHERE qb.subject.id = :subjectId ORDER BY qb.lastUpdated DESC")
     List<QuestionBank> findBySubjectIdOrderByLastUpdatedDesc(@Param("subjectId") Long subjectId);
 
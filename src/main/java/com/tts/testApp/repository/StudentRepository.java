@@ -2,6 +2,9 @@ package com.tts.testApp.repository;
 
 import com.tts.testApp.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -48,4 +51,42 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      * @return count of enabled students
      */
     long countByEnabledTrue();
-}
\ No newline at end of file
+
+    /**
+     * Highest numeric suffix among STD-xxx student IDs
+     * @return the highest student number, or null if there are no students
+     */
+    @Query("SELECT MAX(CAST(SUBSTRING(s.studentId, 5) AS long)) FROM Student s WHERE s.studentId LIKE 'STD-%'")
+    Long findHighestStudentNumber();
+
+    /**
+     * Find which of the given emails are already taken as a login name,
+     * either by a student or as an admin username
+     * @param emails candidate emails (lower-cased)
+     * @return the subset that already exists
+     */
+    @Query(value = "SELECT s.email FROM students s WHERE s.email IN (:emails) "
+            + "UNION SELECT a.username FROM admins a WHERE a.username IN (:emails)",
+            nativeQuery = true)
+    java.util.List<String> findExistingEmails(@Param("emails") java.util.Collection<String> emails);
+
+    /**
+     * Replace the stored password hash of a student
+     * @param email the student's email
+     * @param password the new encoded password
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE Student s SET s.password = :password WHERE s.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    /**
+     * Temporarily lock a student account after repeated failed logins
+     * @param email the student's email
+     * @param lockUntil end of the lockout
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE Student s SET s.accountLockedUntil = :lockUntil WHERE s.email = :email")
+    int lockAccount(@Param("email") String email, @Param("lockUntil") java.time.LocalDateTime lockUntil);
+}
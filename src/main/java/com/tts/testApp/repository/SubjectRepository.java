@@ -1,8 +1,12 @@
 package com.tts.testApp.repository;
 
+import com.tts.testApp.config.CacheRegions;
 import com.tts.testApp.model.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBJECT_QUERIES)
+    })
     Optional<Subject> findByName(String name);
 
     Optional<Subject> findBySubjectCode(String subjectCode);
@@ -19,8 +27,16 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
     boolean existsBySubjectCode(String subjectCode);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBJECT_QUERIES)
+    })
     List<Subject> findByActiveTrue();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBJECT_QUERIES)
+    })
     @Query("SELECT s FROM Subject s ORDER BY s.createdAt DESC")
     List<Subject> findAllOrderByCreatedAtDesc();
 
@@ -0,0 +1,24 @@
+package com.tts.testApp.repository;
+
+import com.tts.testApp.model.UserAccount;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+@org.springframework.stereotype.Repository
+public interface UserAccountRepository extends Repository<UserAccount, String> {
+
+    /**
+     * Look up an admin (by username) or a student (by email) in one round trip.
+     * The filter is applied inside each branch so both unique indexes are used.
+     * Login names are kept unique across both tables when accounts are created;
+     * should a clash exist anyway, the admin wins, as it did before the merge.
+     */
+    @Query(value = UserAccount.ADMIN_SELECT + " WHERE a.username = :username UNION ALL "
+            + UserAccount.STUDENT_SELECT + " WHERE s.email = :username "
+            + "ORDER BY account_type LIMIT 1",
+            nativeQuery = true)
+    Optional<UserAccount> findByLoginName(@Param("username") String username);
+}
@@ -0,0 +1,147 @@
+package com.tts.testApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tts.testApp.dto.CreateTestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-mostly snapshot of the active tests shown on student dashboards.
+ * The snapshot (DTO list, pre-serialized JSON and ETag) is built once and
+ * shared by every request until a test or subject changes on any node,
+ * at which point the next reader rebuilds it.
+ *
+ * The ETag is a digest of the serialized catalog, so every node hands out
+ * the same ETag for the same content and clients can revalidate against
+ * any node behind the load balancer.
+ */
+@Service
+@Slf4j
+public class ActiveTestCatalog {
+
+    private final CreateTestService createTestService;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** Bumped on every invalidation; a build only publishes if nothing changed while it ran */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong versionCounter = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile Snapshot snapshot;
+
+    public ActiveTestCatalog(CreateTestService createTestService,
+                             ObjectMapper objectMapper,
+                             CacheInvalidationBus cacheInvalidationBus) {
+        this.createTestService = createTestService;
+        this.objectMapper = objectMapper;
+        cacheInvalidationBus.subscribe(CacheNames.TESTS, invalidation -> invalidate());
+        // Tests show their subject's name
+        cacheInvalidationBus.subscribe(CacheNames.SUBJECTS, invalidation -> invalidate());
+    }
+
+    /**
+     * Current catalog; the returned DTOs are shared and must not be modified
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            if (current != null) {
+                hits.increment();
+                return current;
+            }
+            rebuilds.increment();
+            long startGeneration = generation.get();
+            Snapshot rebuilt = build();
+            if (generation.get() == startGeneration) {
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reads served from the current snapshot
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Reads that had to build a new snapshot
+     */
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot build() {
+        long start = System.nanoTime();
+        List<CreateTestDTO> tests = List.copyOf(createTestService.getActiveTests());
+
+        Map<Long, CreateTestDTO> byId = new LinkedHashMap<>();
+        tests.forEach(test -> byId.put(test.getId(), test));
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(tests);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize active test catalog", e);
+        }
+
+        long version = versionCounter.incrementAndGet();
+        String etag = "\"tests-" + digest(json) + "\"";
+        log.info("Rebuilt active test catalog v{} with {} tests in {} ms",
+                version, tests.size(), (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(version, tests, Map.copyOf(byId), json, etag);
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Immutable view of the active tests at one point in time
+     * @param version local build number, increases with every rebuild on this node
+     * @param tests active tests in database order
+     * @param testsById the same tests keyed by id
+     * @param json the tests serialized as a JSON array
+     * @param etag strong ETag derived from the JSON content
+     */
+    public record Snapshot(long version, List<CreateTestDTO> tests, Map<Long, CreateTestDTO> testsById,
+                           byte[] json, String etag) {
+
+        public Optional<CreateTestDTO> findTest(Long id) {
+            return Optional.ofNullable(testsById.get(id));
+        }
+    }
+}
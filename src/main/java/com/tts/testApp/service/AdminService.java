@@ -1,10 +1,12 @@
 package com.tts.testApp.service;
 
+import com.tts.testApp.config.ClientIpResolver;
 import com.tts.testApp.dto.SignUpDTO;
 import com.tts.testApp.model.Admin;
 import com.tts.testApp.exception.AdminAlreadyExistsException;
 import com.tts.testApp.exception.PasswordMismatchException;
 import com.tts.testApp.repository.AdminRepository;
+import com.tts.testApp.repository.StudentRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +14,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
@@ -21,6 +22,7 @@ import java.util.Optional;
 public class AdminService {
 
     private final AdminRepository adminRepository;
+    private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Transactional
@@ -37,6 +39,11 @@ public class AdminService {
             throw new AdminAlreadyExistsException("Username already exists: " + signUpDTO.getUsername());
         }
 
+        // Students log in with their email, so the username must not be a student's email
+        if (studentRepository.existsByEmail(signUpDTO.getUsername().toLowerCase().trim())) {
+            throw new AdminAlreadyExistsException("Username already exists: " + signUpDTO.getUsername());
+        }
+
         // Check if email already exists
         if (adminRepository.existsByEmail(signUpDTO.getEmail())) {
             throw new AdminAlreadyExistsException("Email already exists: " + signUpDTO.getEmail());
@@ -50,7 +57,7 @@ public class AdminService {
         admin.setPassword(passwordEncoder.encode(signUpDTO.getPassword()));
         admin.setRole("ADMIN");
         admin.setIsActive(true);
-        admin.setRegistrationIp(getClientIp(request));
+        admin.setRegistrationIp(ClientIpResolver.resolve(request));
         admin.setLoginAttempts(0);
 
         Admin savedAdmin = adminRepository.save(admin);
@@ -66,66 +73,4 @@ public class AdminService {
     public Optional<Admin> findActiveAdminByUsername(String username) {
         return adminRepository.findByUsernameAndIsActiveTrue(username);
     }
-
-    @Transactional
-    public void updateLastLogin(String username, HttpServletRequest request) {
-        String ipAddress = getClientIp(request);
-        adminRepository.updateLastLogin(username, LocalDateTime.now(), ipAddress);
-        adminRepository.updateLoginAttempts(username, 0);
-        log.info("Updated last login for admin: {}", username);
-    }
-
-    @Transactional
-    public void incrementLoginAttempts(String username) {
-        Optional<Admin> adminOpt = adminRepository.findByUsername(username);
-        if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
-            int attempts = admin.getLoginAttempts() + 1;
-            adminRepository.updateLoginAttempts(username, attempts);
-
-            // Lock account after 5 failed attempts for 15 minutes
-            if (attempts >= 5) {
-                LocalDateTime lockUntil = LocalDateTime.now().plusMinutes(15);
-                adminRepository.lockAccount(username, lockUntil);
-                log.warn("Account locked due to multiple failed login attempts: {}", username);
-            }
-        }
-    }
-
-    public boolean isAccountLocked(String username) {
-        Optional<Admin> adminOpt = adminRepository.findByUsername(username);
-        if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
-            if (admin.getAccountLockedUntil() != null) {
-                if (LocalDateTime.now().isBefore(admin.getAccountLockedUntil())) {
-                    return true;
-                } else {
-                    // Unlock account if lock time has passed
-                    adminRepository.lockAccount(username, null);
-                    adminRepository.updateLoginAttempts(username, 0);
-                }
-            }
-        }
-        return false;
-    }
-
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        return ip;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package com.tts.testApp.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only record log in numbered segment files
+ * (segment-0000000001.log, ...). Each record is framed as
+ * [length][CRC32C][payload], so recovery can tell where a write torn by a
+ * crash ends and skip the rest of that segment.
+ *
+ * Records are appended to an in-memory buffer and written (and optionally
+ * fsynced) in one go by sync(); the active segment is rolled once it reaches
+ * the size limit. compact() starts a new segment with the records given and
+ * deletes all older segments, so the caller decides what is still live.
+ *
+ * Not thread-safe: ExamAutosaveService calls it under its flush lock.
+ */
+@Slf4j
+class AutosaveSegmentLog implements Closeable {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    /** Larger lengths can only come from a torn or corrupt header */
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final boolean fsync;
+    private final CRC32C crc = new CRC32C();
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel active;
+    private long activeId;
+    private long activeBytes;
+
+    AutosaveSegmentLog(Path directory, long maxSegmentBytes, boolean fsync) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Hand every intact record of the existing segments, oldest first, to the consumer,
+     * then open a fresh segment for appends
+     */
+    void recover(Consumer<ByteBuffer> consumer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        for (Path segment : segments) {
+            int records = readSegment(segment, consumer);
+            log.debug("Recovered {} autosave records from {}", records, segment.getFileName());
+        }
+        activeId = segments.isEmpty() ? 0 : segmentId(segments.get(segments.size() - 1));
+        roll();
+    }
+
+    void append(byte[] payload) {
+        ensureCapacity(HEADER_BYTES + payload.length);
+        crc.reset();
+        crc.update(payload);
+        buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+    }
+
+    /**
+     * Write buffered records to the active segment, rolling it if it has reached the size limit
+     */
+    void sync() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        writeBuffer();
+        if (fsync) {
+            active.force(false);
+        }
+        if (activeBytes >= maxSegmentBytes) {
+            roll();
+        }
+    }
+
+    /**
+     * Replace every segment with a new one holding only the given records
+     */
+    void compact(Iterable<byte[]> liveRecords) throws IOException {
+        sync();
+        roll();
+        for (byte[] record : liveRecords) {
+            append(record);
+            if (buffer.position() >= buffer.capacity() / 2) {
+                writeBuffer();
+            }
+        }
+        writeBuffer();
+        active.force(false);
+        for (Path segment : segments()) {
+            if (segmentId(segment) < activeId) {
+                Files.delete(segment);
+            }
+        }
+    }
+
+    int segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (active != null) {
+            sync();
+            active.close();
+            active = null;
+            if (activeBytes == 0) {
+                Files.deleteIfExists(segmentPath(activeId));
+            }
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            activeBytes += active.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+        activeId++;
+        active = FileChannel.open(segmentPath(activeId), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeBytes = 0;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    private int readSegment(Path segment, Consumer<ByteBuffer> consumer) throws IOException {
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int records = 0;
+        while (contents.remaining() >= HEADER_BYTES) {
+            int length = contents.getInt();
+            int checksum = contents.getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || length > contents.remaining()) {
+                log.warn("Autosave segment {} ends in a torn record at byte {}", segment.getFileName(),
+                        contents.position() - HEADER_BYTES);
+                break;
+            }
+            ByteBuffer payload = contents.slice(contents.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Autosave segment {} has a corrupt record at byte {}", segment.getFileName(),
+                        contents.position() - HEADER_BYTES);
+                break;
+            }
+            contents.position(contents.position() + length);
+            consumer.accept(payload);
+            records++;
+        }
+        return records;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .toList());
+            segments.sort((a, b) -> Long.compare(segmentId(a), segmentId(b)));
+            return segments;
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%010d%s", PREFIX, id, SUFFIX));
+    }
+
+    private static long segmentId(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.tts.testApp.service;
+
+/**
+ * A request to evict an entry (or, with a null key, everything) from a named cache
+ * @param cacheName one of CacheNames
+ * @param key entity key, or null for the whole cache
+ * @param originNode node that made the change
+ * @param publishedAt epoch milliseconds when the change was published
+ */
+public record CacheInvalidation(String cacheName, String key, String originNode, long publishedAt) {
+}
@@ -0,0 +1,152 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CacheInvalidationStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps per-node caches consistent across the cluster.
+ * Services publish an invalidation for every mutation; caches subscribe by
+ * cache name. Local subscribers are notified after the mutating
+ * transaction commits, other nodes through the InvalidationTransport.
+ */
+@Service
+@Slf4j
+public class CacheInvalidationBus {
+
+    private final InvalidationTransport transport;
+    private final String nodeId;
+
+    private final Map<String, List<Consumer<CacheInvalidation>>> subscribers = new ConcurrentHashMap<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    public CacheInvalidationBus(InvalidationTransport transport,
+                                @Value("${app.node-id:}") String nodeId) {
+        this.transport = transport;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? generateNodeId() : nodeId;
+        transport.subscribe(this::onTransportMessage);
+        log.info("Cache invalidation bus started on node {} using {}",
+                this.nodeId, transport.getClass().getSimpleName());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Register a callback for invalidations of the given cache, from this node or any other
+     */
+    public void subscribe(String cacheName, Consumer<CacheInvalidation> subscriber) {
+        subscribers.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Register a callback that runs before all others for the given cache.
+     * For lower cache layers (e.g. the Hibernate second-level cache) that
+     * other subscribers read through when they rebuild.
+     */
+    public void subscribeFirst(String cacheName, Consumer<CacheInvalidation> subscriber) {
+        subscribers.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(0, subscriber);
+    }
+
+    /**
+     * Invalidate one entry of a cache on every node
+     * @param key entity key, or null for the whole cache
+     */
+    public void publish(String cacheName, Object key) {
+        CacheInvalidation invalidation = new CacheInvalidation(cacheName, key != null ? key.toString() : null,
+                nodeId, System.currentTimeMillis());
+        transport.publish(invalidation);
+        published.increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evicting before commit would let a concurrent reader re-cache the old row
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(invalidation);
+                }
+            });
+        } else {
+            dispatch(invalidation);
+        }
+    }
+
+    /**
+     * Invalidate a whole cache on every node
+     */
+    public void publishAll(String cacheName) {
+        publish(cacheName, null);
+    }
+
+    public CacheInvalidationStatsDTO getStats() {
+        long count = received.sum();
+        return new CacheInvalidationStatsDTO(
+                nodeId,
+                transport.getClass().getSimpleName(),
+                published.sum(),
+                count,
+                lastLagMillis.get(),
+                maxLagMillis.get(),
+                count > 0 ? (double) totalLagMillis.sum() / count : 0.0,
+                transport.getBacklog());
+    }
+
+    private void onTransportMessage(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.originNode())) {
+            // Already applied locally after commit
+            return;
+        }
+
+        long lag = Math.max(0, System.currentTimeMillis() - invalidation.publishedAt());
+        received.increment();
+        totalLagMillis.add(lag);
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+
+        dispatch(invalidation);
+    }
+
+    private void dispatch(CacheInvalidation invalidation) {
+        List<Consumer<CacheInvalidation>> listeners = subscribers.get(invalidation.cacheName());
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (Exception e) {
+                log.error("Cache subscriber for {} failed: {}", invalidation.cacheName(), e.getMessage());
+            }
+        }
+    }
+
+    private static String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        String id = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return id.length() > 64 ? id.substring(id.length() - 64) : id;
+    }
+}
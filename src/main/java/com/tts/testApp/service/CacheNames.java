@@ -0,0 +1,16 @@
+package com.tts.testApp.service;
+
+/**
+ * Names of caches kept in sync through CacheInvalidationBus
+ */
+public final class CacheNames {
+
+    public static final String SUBJECTS = "subjects";
+    public static final String TESTS = "tests";
+    public static final String QUESTION_BANKS = "questionBanks";
+    /** Not a cache: per-student API token revocations, keyed by student id (see ApiTokenRevocations) */
+    public static final String API_TOKENS = "apiTokens";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,152 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.model.CacheChangeLog;
+import com.tts.testApp.repository.CacheChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Invalidation transport on the shared database: publishing inserts a row
+ * into cache_change_log and every node polls for rows above its cursor.
+ * Works on any database the application runs on, including H2.
+ *
+ * Ids are allocated at insert time but become visible at commit, so a
+ * smaller id can appear after a larger one. The cursor therefore only moves
+ * over contiguous ids; rows seen beyond a gap are delivered immediately and
+ * remembered. Because ids are allocated in order, a missing id below a row
+ * that has been visible for gap-timeout belongs to a transaction that rolled
+ * back (or never used it), and the cursor skips it.
+ */
+@Component
+@Slf4j
+public class ChangeLogInvalidationTransport implements InvalidationTransport {
+
+    private final CacheChangeLogRepository changeLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LongSupplier clock;
+
+    @Value("${app.cache.invalidation.poll-batch-size:500}")
+    private int pollBatchSize;
+
+    @Value("${app.cache.invalidation.gap-timeout-ms:10000}")
+    private long gapTimeoutMillis;
+
+    @Value("${app.cache.invalidation.retention-hours:24}")
+    private long retentionHours;
+
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private volatile Consumer<CacheInvalidation> listener = invalidation -> { };
+
+    /** Highest id below which every row has been delivered (or given up on); -1 until the first poll */
+    private long cursor = -1;
+    /** Rows above the cursor already delivered, with the time they were first seen */
+    private final TreeMap<Long, Long> deliveredAhead = new TreeMap<>();
+
+    @Autowired
+    public ChangeLogInvalidationTransport(CacheChangeLogRepository changeLogRepository,
+                                          TransactionTemplate transactionTemplate) {
+        this(changeLogRepository, transactionTemplate, System::currentTimeMillis);
+    }
+
+    ChangeLogInvalidationTransport(CacheChangeLogRepository changeLogRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   LongSupplier clock) {
+        this.changeLogRepository = changeLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        changeLogRepository.save(new CacheChangeLog(null, invalidation.cacheName(), invalidation.key(),
+                invalidation.originNode(), invalidation.publishedAt()));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public long getBacklog() {
+        pollLock.lock();
+        try {
+            // Ids in gaps below delivered rows: changes still in flight (or rolled back)
+            return deliveredAhead.isEmpty() ? 0 : deliveredAhead.lastKey() - cursor - deliveredAhead.size();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        if (!pollLock.tryLock()) {
+            return;
+        }
+        try {
+            if (cursor < 0) {
+                // Start from the current end of the log; older changes predate this node's caches
+                cursor = changeLogRepository.findMaxId();
+                log.info("Cache invalidation polling starts after change {}", cursor);
+                return;
+            }
+
+            long now = clock.getAsLong();
+            List<CacheChangeLog> changes = changeLogRepository.findByIdGreaterThanOrderByIdAsc(
+                    cursor, PageRequest.of(0, pollBatchSize));
+            for (CacheChangeLog change : changes) {
+                if (deliveredAhead.putIfAbsent(change.getId(), now) == null) {
+                    deliver(change);
+                }
+            }
+            advanceCursor(now);
+        } catch (Exception e) {
+            log.error("Cache invalidation poll failed: {}", e.getMessage());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.prune-interval-ms:3600000}")
+    public void prune() {
+        long cutoff = clock.getAsLong() - retentionHours * 3_600_000;
+        Integer removed = transactionTemplate.execute(status -> changeLogRepository.deleteOlderThan(cutoff));
+        if (removed != null && removed > 0) {
+            log.info("Pruned {} cache change log rows", removed);
+        }
+    }
+
+    private void deliver(CacheChangeLog change) {
+        try {
+            listener.accept(new CacheInvalidation(change.getCacheName(), change.getEntityKey(),
+                    change.getOriginNode(), change.getPublishedAt()));
+        } catch (Exception e) {
+            log.error("Cache invalidation listener failed for change {}: {}", change.getId(), e.getMessage());
+        }
+    }
+
+    private void advanceCursor(long now) {
+        while (!deliveredAhead.isEmpty()) {
+            Map.Entry<Long, Long> next = deliveredAhead.firstEntry();
+            boolean contiguous = next.getKey() == cursor + 1;
+            if (!contiguous && now - next.getValue() < gapTimeoutMillis) {
+                // A lower id may still be committing
+                return;
+            }
+            deliveredAhead.pollFirstEntry();
+            cursor = next.getKey();
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class CreateTestService {
 
     private final CreateTestRepository createTestRepository;
     private final SubjectRepository subjectRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * Create a new test
@@ -73,6 +74,7 @@ public class CreateTestService {
         CreateTest savedTest = createTestRepository.save(test);
         log.info("Test created successfully with ID: {} and name: {}",
                 savedTest.getId(), savedTest.getTestName());
+        cacheInvalidationBus.publish(CacheNames.TESTS, savedTest.getId());
 
         return convertToDTO(savedTest);
     }
@@ -82,7 +84,7 @@ public class CreateTestService {
      */
     @Transactional(readOnly = true)
     public List<CreateTestDTO> getAllTests() {
-        log.info("Fetching all tests");
+        log.debug("Fetching all tests");
         return createTestRepository.findAll()
                 .stream()
                 .map(this::convertToDTO)
@@ -94,7 +96,7 @@ public class CreateTestService {
      */
     @Transactional(readOnly = true)
     public List<CreateTestDTO> getActiveTests() {
-        log.info("Fetching active tests");
+        log.debug("Fetching active tests");
         return createTestRepository.findByActiveTrue()
                 .stream()
                 .map(this::convertToDTO)
@@ -107,7 +109,7 @@ public class CreateTestService {
      */
     @Transactional(readOnly = true)
     public CreateTestDTO getTestById(Long id) {
-        log.info("Fetching test with ID: {}", id);
+        log.debug("Fetching test with ID: {}", id);
         CreateTest test = createTestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Test not found with ID: " + id));
@@ -119,7 +121,7 @@ public class CreateTestService {
      */
     @Transactional(readOnly = true)
     public CreateTestDTO getTestByName(String testName) {
-        log.info("Fetching test with name: {}", testName);
+        log.debug("Fetching test with name: {}", testName);
         CreateTest test = createTestRepository.findByTestName(testName)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Test not found with name: " + testName));
@@ -131,7 +133,7 @@ public class CreateTestService {
      */
     @Transactional(readOnly = true)
     public List<CreateTestDTO> getTestsBySubject(String subjectName) {
-        log.info("Fetching tests for subject: {}", subjectName);
+        log.debug("Fetching tests for subject: {}", subjectName);
         Subject subject = subjectRepository.findByName(subjectName)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Subject not found: " + subjectName));
@@ -188,6 +190,7 @@ public class CreateTestService {
 
         CreateTest updatedTest = createTestRepository.save(existingTest);
         log.info("Test updated successfully with ID: {}", updatedTest.getId());
+        cacheInvalidationBus.publish(CacheNames.TESTS, updatedTest.getId());
 
         return convertToDTO(updatedTest);
     }
@@ -208,6 +211,7 @@ public class CreateTestService {
 
         CreateTest updatedTest = createTestRepository.save(test);
         log.info("Test status updated. ID: {}, Active: {}", id, updatedTest.getActive());
+        cacheInvalidationBus.publish(CacheNames.TESTS, id);
 
         return convertToDTO(updatedTest);
     }
@@ -230,6 +234,7 @@ public class CreateTestService {
 
         createTestRepository.delete(test);
         log.info("Test deleted successfully with ID: {}", id);
+        cacheInvalidationBus.publish(CacheNames.TESTS, id);
     }
 
     /**
@@ -237,7 +242,7 @@ public class CreateTestService {
      */
     @Transactional(readOnly = true)
     public List<CreateTestDTO> getTestsByType(String testType) {
-        log.info("Fetching tests of type: {}", testType);
+        log.debug("Fetching tests of type: {}", testType);
         return createTestRepository.findByTestType(testType)
                 .stream()
                 .map(this::convertToDTO)
@@ -310,31 +315,6 @@ public class CreateTestService {
         testDTO.setTestType(testDTO.getTestType().toUpperCase().trim());
     }
 
-    /**
-     * Get all active tests (for student dashboard)
-     */
-    public List<CreateTestDTO> getAllActiveTests() {
-        log.info("Fetching all active tests");
-
-        try {
-            List<CreateTest> activeTests = createTestRepository.findByActiveTrue();
-
-            log.info("Found {} active tests in database", activeTests.size());
-
-            List<CreateTestDTO> testDTOs = activeTests.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-
-            log.debug("Converted {} tests to DTOs", testDTOs.size());
-
-            return testDTOs;
-
-        } catch (Exception e) {
-            log.error("Error fetching active tests: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch active tests", e);
-        }
-    }
-
     /**
      * Convert Entity to DTO
      */
@@ -0,0 +1,410 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.StudentAnswerDTO;
+import com.tts.testApp.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Answer autosave for exams in progress, kept off the database.
+ *
+ * initialize opens a session holding the questions drawn; autosaves apply
+ * small answer deltas to it in memory (a few array writes under the
+ * session's lock). Every flush interval each changed session is appended
+ * once, as a full snapshot, to an append-only segment log on local disk,
+ * so any number of clicks between flushes cost one record. Submitted and
+ * abandoned sessions get a close record. Once enough segments pile up they
+ * are compacted into one holding only the open sessions.
+ *
+ * On startup the segments are replayed, so a student whose browser or
+ * connection (or this node) died can resume the attempt with the questions
+ * and answers saved up to the last flush. The store is per node: resuming
+ * needs the same node, as with the local session store.
+ *
+ * Each open session's deadline sits in a timing wheel; expire() hands out
+ * the sessions whose time has run out, for ExamDeadlineService to submit.
+ */
+@Service
+@Slf4j
+public class ExamAutosaveService {
+
+    private static final long DEADLINE_TICK_MILLIS = 1000;
+
+    private final Map<UUID, ExamSession> sessions = new ConcurrentHashMap<>();
+    private final Map<StudentTest, ExamSession> openByStudentTest = new ConcurrentHashMap<>();
+    private final Set<ExamSession> dirty = ConcurrentHashMap.newKeySet();
+    private final Queue<UUID> closed = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final TimingWheel<ExamSession> deadlines;
+
+    private final AutosaveSegmentLog segmentLog;
+    private final int compactAfterSegments;
+    private final long retentionMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ExamAutosaveService(@Value("${app.autosave.dir:${user.home}/tts-autosave}") String directory,
+                               @Value("${app.autosave.segment-max-mb:64}") int segmentMaxMb,
+                               @Value("${app.autosave.fsync:true}") boolean fsync,
+                               @Value("${app.autosave.compact-after-segments:4}") int compactAfterSegments,
+                               @Value("${app.autosave.retention-hours:24}") int retentionHours) {
+        this(new AutosaveSegmentLog(Path.of(directory), segmentMaxMb * 1024L * 1024L, fsync),
+                compactAfterSegments, TimeUnit.HOURS.toMillis(retentionHours), System::currentTimeMillis);
+    }
+
+    ExamAutosaveService(AutosaveSegmentLog segmentLog, int compactAfterSegments, long retentionMillis,
+                        LongSupplier clock) {
+        this.segmentLog = segmentLog;
+        this.compactAfterSegments = compactAfterSegments;
+        this.retentionMillis = retentionMillis;
+        this.clock = clock;
+        this.deadlines = new TimingWheel<>(DEADLINE_TICK_MILLIS, clock.getAsLong());
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        flushLock.lock();
+        try {
+            Map<UUID, ExamSession> recovered = new LinkedHashMap<>();
+            segmentLog.recover(record -> {
+                UUID id = ExamSession.recordSessionId(record);
+                if (record.get(0) == ExamSession.RECORD_SNAPSHOT) {
+                    recovered.put(id, ExamSession.fromSnapshotRecord(record));
+                } else {
+                    recovered.remove(id);
+                }
+            });
+            for (ExamSession session : recovered.values()) {
+                ExamSession replaced = register(session);
+                if (replaced != null) {
+                    close(replaced);
+                }
+            }
+            log.info("Exam autosave recovered {} open sessions", sessions.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Start autosaving a new attempt. An open attempt by the same student at the same test is closed.
+     * @param testId the scheduled test, or null if unknown (such attempts cannot be looked up by test)
+     */
+    public ExamSessionSnapshot open(Long studentId, Long testId, Long questionBankId, List<Long> questionIds,
+                                    int durationMinutes, int tabSwitchLimit) {
+        long[] ids = questionIds.stream().mapToLong(Long::longValue).toArray();
+        ExamSession session = new ExamSession(UUID.randomUUID(), studentId, testId == null ? 0 : testId,
+                questionBankId, clock.getAsLong(), durationMinutes * 60, tabSwitchLimit, ids,
+                new byte[ids.length], 0);
+        ExamSession replaced = register(session);
+        if (replaced != null) {
+            close(replaced);
+        }
+        dirty.add(session);
+        return ExamSessionSnapshot.of(session);
+    }
+
+    /**
+     * Apply an answer delta. Deltas are applied whole or not at all; one whose sequence number
+     * is not above the last applied one is a duplicate or arrived late and is ignored.
+     * @param answers changed answers; a null or empty selectedOption clears the answer
+     * @return the highest sequence number applied
+     * @throws ResourceNotFoundException if the student has no such open session
+     * @throws IllegalArgumentException if an answer is for a question outside the attempt or not A-D
+     */
+    public long save(String sessionId, Long studentId, long seq, List<StudentAnswerDTO> answers) {
+        ExamSession session = ownedSession(sessionId, studentId);
+        session.lock.lock();
+        try {
+            if (session.closed) {
+                throw new ResourceNotFoundException("Exam session is no longer open");
+            }
+            if (seq <= session.seq) {
+                return session.seq;
+            }
+            int[] indexes = new int[answers.size()];
+            byte[] options = new byte[answers.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                StudentAnswerDTO answer = answers.get(i);
+                indexes[i] = answer.getQuestionId() == null ? -1 : session.indexOf(answer.getQuestionId());
+                if (indexes[i] < 0) {
+                    throw new IllegalArgumentException("Question " + answer.getQuestionId()
+                            + " is not part of this exam");
+                }
+                options[i] = option(answer.getSelectedOption());
+            }
+            for (int i = 0; i < indexes.length; i++) {
+                session.answers[indexes[i]] = options[i];
+            }
+            session.seq = seq;
+        } finally {
+            session.lock.unlock();
+        }
+        dirty.add(session);
+        return seq;
+    }
+
+    /**
+     * The student's open attempt at a test, for resuming it
+     */
+    public Optional<ExamSessionSnapshot> findOpen(Long studentId, Long testId) {
+        ExamSession session = openByStudentTest.get(new StudentTest(studentId, testId));
+        return session == null ? Optional.empty() : Optional.of(ExamSessionSnapshot.of(session));
+    }
+
+    public Optional<ExamSessionSnapshot> find(String sessionId) {
+        UUID id = parseId(sessionId);
+        ExamSession session = id == null ? null : sessions.get(id);
+        return session == null ? Optional.empty() : Optional.of(ExamSessionSnapshot.of(session));
+    }
+
+    /**
+     * Stop autosaving a submitted attempt. Unknown sessions and other students' sessions are ignored.
+     * @return true if this call closed the session, false if it was not open
+     */
+    public boolean close(String sessionId, Long studentId) {
+        UUID id = parseId(sessionId);
+        ExamSession session = id == null ? null : sessions.get(id);
+        return session != null && session.studentId == studentId && close(session);
+    }
+
+    /**
+     * Close an attempt for submitting it, keeping its final state so the claim can be released
+     * with reopen() if the submit fails.
+     * @return the attempt as closed, or empty if this call did not close it
+     */
+    public Optional<ExamSessionSnapshot> claim(String sessionId, Long studentId) {
+        UUID id = parseId(sessionId);
+        ExamSession session = id == null ? null : sessions.get(id);
+        if (session == null || session.studentId != studentId || !close(session)) {
+            return Optional.empty();
+        }
+        return Optional.of(ExamSessionSnapshot.of(session));
+    }
+
+    /**
+     * Reopen a claimed attempt whose submit failed, so it can be submitted again, by the student
+     * or once its time is up by the server. Left closed if the student has since started the test again.
+     * @return true if the attempt is open again
+     */
+    public boolean reopen(ExamSessionSnapshot claimed) {
+        ExamSession session = ExamSession.fromSnapshot(claimed);
+        flushLock.lock();
+        try {
+            if (sessions.containsKey(session.id) || session.testId != 0 && openByStudentTest
+                    .putIfAbsent(new StudentTest(session.studentId, session.testId), session) != null) {
+                return false;
+            }
+            // The close may not be flushed yet, and flush writes snapshots before closes
+            closed.remove(session.id);
+            sessions.put(session.id, session);
+            session.deadlineTimer = deadlines.schedule(session, session.deadlineMillis());
+            dirty.add(session);
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Open sessions whose deadline is at or before the given time, each handed out once.
+     * They stay open until closed, so a student's own submit can still win the race.
+     */
+    public List<ExamSessionSnapshot> expire(long deadlineBefore) {
+        List<ExamSessionSnapshot> expired = new ArrayList<>();
+        for (ExamSession session : deadlines.advance(deadlineBefore)) {
+            if (sessions.get(session.id) == session) {
+                expired.add(ExamSessionSnapshot.of(session));
+            }
+        }
+        return expired;
+    }
+
+    public int getOpenSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Open attempts per scheduled test; attempts without a test ID are left out
+     */
+    public Map<Long, Integer> countOpenByTest() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (StudentTest studentTest : openByStudentTest.keySet()) {
+            counts.merge(studentTest.testId(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Append every session changed since the last flush to the segment log
+     */
+    @Scheduled(fixedDelayString = "${app.autosave.flush-interval-ms:500}")
+    public void flush() {
+        if (dirty.isEmpty() && closed.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            int written = 0;
+            Iterator<ExamSession> changed = dirty.iterator();
+            while (changed.hasNext()) {
+                ExamSession session = changed.next();
+                // Removed before the snapshot is taken, so a save after it queues the session again
+                changed.remove();
+                byte[] record = session.toSnapshotRecord();
+                if (record != null) {
+                    segmentLog.append(record);
+                    written++;
+                }
+            }
+            UUID closedId;
+            while ((closedId = closed.poll()) != null) {
+                segmentLog.append(ExamSession.closedRecord(closedId));
+            }
+            segmentLog.sync();
+            log.debug("Autosaved {} exam sessions", written);
+
+            if (segmentLog.segmentCount() > compactAfterSegments) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.error("Failed to write exam autosaves: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        flushLock.lock();
+        try {
+            segmentLog.close();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrite the log as one segment of open sessions, dropping those left
+     * unfinished for longer than the retention period; called under flushLock
+     */
+    private void compact() throws IOException {
+        long expiredBefore = clock.getAsLong() - retentionMillis;
+        List<byte[]> live = new ArrayList<>(sessions.size());
+        int expired = 0;
+        for (ExamSession session : sessions.values()) {
+            if (session.deadlineMillis() < expiredBefore) {
+                discard(session);
+                expired++;
+                continue;
+            }
+            byte[] record = session.toSnapshotRecord();
+            if (record != null) {
+                live.add(record);
+            }
+        }
+        segmentLog.compact(live);
+        log.info("Compacted exam autosave log: {} open sessions kept, {} expired", live.size(), expired);
+    }
+
+    /**
+     * @return the open session this one replaces, if any
+     */
+    private ExamSession register(ExamSession session) {
+        sessions.put(session.id, session);
+        session.deadlineTimer = deadlines.schedule(session, session.deadlineMillis());
+        return session.testId == 0 ? null
+                : openByStudentTest.put(new StudentTest(session.studentId, session.testId), session);
+    }
+
+    private boolean close(ExamSession session) {
+        if (!discard(session)) {
+            return false;
+        }
+        closed.add(session.id);
+        return true;
+    }
+
+    /**
+     * @return false if the session was already closed
+     */
+    private boolean discard(ExamSession session) {
+        session.lock.lock();
+        try {
+            if (session.closed) {
+                return false;
+            }
+            session.closed = true;
+        } finally {
+            session.lock.unlock();
+        }
+        sessions.remove(session.id, session);
+        deadlines.cancel(session.deadlineTimer);
+        if (session.testId != 0) {
+            openByStudentTest.remove(new StudentTest(session.studentId, session.testId), session);
+        }
+        dirty.remove(session);
+        return true;
+    }
+
+    private ExamSession ownedSession(String sessionId, Long studentId) {
+        UUID id = parseId(sessionId);
+        ExamSession session = id == null ? null : sessions.get(id);
+        if (session == null || session.studentId != studentId) {
+            throw new ResourceNotFoundException("No open exam session " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * @return null if the ID is not one this service hands out
+     */
+    private static UUID parseId(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(sessionId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte option(String selectedOption) {
+        if (selectedOption == null || selectedOption.isEmpty()) {
+            return 0;
+        }
+        char option = selectedOption.length() == 1 ? selectedOption.charAt(0) : '?';
+        if (option < 'A' || option > 'D') {
+            throw new IllegalArgumentException("Answer must be A, B, C, or D");
+        }
+        return (byte) option;
+    }
+
+    private record StudentTest(long studentId, long testId) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.config.ExamMetrics;
+import com.tts.testApp.dto.TestResultDTO;
+import com.tts.testApp.dto.TestSubmissionDTO;
+import com.tts.testApp.model.Student;
+import com.tts.testApp.repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Enforces exam time limits on the server.
+ *
+ * Every tick, attempts whose deadline passed more than the grace period
+ * ago (time for the page's own auto-submit to arrive) are submitted with
+ * the answers autosaved last, as if the student had submitted them. The
+ * deadlines live in ExamAutosaveService's timing wheel, so a tick costs
+ * the same however many exams are running.
+ *
+ * Attempts submitted here are remembered for a while, by session ID and
+ * by student and test, so a submit that arrives for one afterwards is
+ * refused instead of recording a second attempt, whatever session ID the
+ * page sends. Attempts started without a test ID cannot be recorded and
+ * are left to the page.
+ */
+@Service
+@Slf4j
+public class ExamDeadlineService {
+
+    private static final long FORGET_TICK_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ExamAutosaveService examAutosaveService;
+    private final ProctoringService proctoringService;
+    private final QuestionService questionService;
+    private final TestService testService;
+    private final StudentRepository studentRepository;
+    private final ExamMetrics examMetrics;
+    private final ExamMonitorService examMonitorService;
+    private final long graceMillis;
+    private final long rememberMillis;
+    private final LongSupplier clock;
+
+    /** Session IDs and AttemptKeys of attempts submitted here */
+    private final Set<Object> autoSubmitted = ConcurrentHashMap.newKeySet();
+    private final TimingWheel<Object> forget;
+    private final Counter autoSubmittedCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public ExamDeadlineService(ExamAutosaveService examAutosaveService,
+                               ProctoringService proctoringService,
+                               QuestionService questionService,
+                               TestService testService,
+                               StudentRepository studentRepository,
+                               ExamMetrics examMetrics,
+                               ExamMonitorService examMonitorService,
+                               MeterRegistry registry,
+                               @Value("${app.deadline.grace-seconds:60}") int graceSeconds,
+                               @Value("${app.deadline.remember-hours:24}") int rememberHours) {
+        this(examAutosaveService, proctoringService, questionService, testService, studentRepository, examMetrics,
+                examMonitorService, registry, TimeUnit.SECONDS.toMillis(graceSeconds), TimeUnit.HOURS.toMillis(rememberHours),
+                System::currentTimeMillis);
+    }
+
+    ExamDeadlineService(ExamAutosaveService examAutosaveService,
+                        ProctoringService proctoringService,
+                        QuestionService questionService,
+                        TestService testService,
+                        StudentRepository studentRepository,
+                        ExamMetrics examMetrics,
+                        ExamMonitorService examMonitorService,
+                        MeterRegistry registry,
+                        long graceMillis,
+                        long rememberMillis,
+                        LongSupplier clock) {
+        this.examAutosaveService = examAutosaveService;
+        this.proctoringService = proctoringService;
+        this.questionService = questionService;
+        this.testService = testService;
+        this.studentRepository = studentRepository;
+        this.examMetrics = examMetrics;
+        this.examMonitorService = examMonitorService;
+        this.graceMillis = graceMillis;
+        this.rememberMillis = rememberMillis;
+        this.clock = clock;
+        this.forget = new TimingWheel<>(FORGET_TICK_MILLIS, clock.getAsLong());
+        this.autoSubmittedCounter = Counter.builder("tts.exam.auto-submitted")
+                .description("Exam attempts submitted by the server when their time ran out")
+                .register(registry);
+        this.failedCounter = Counter.builder("tts.exam.auto-submit.failures")
+                .description("Expired exam attempts that could not be submitted")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.deadline.tick-ms:1000}")
+    public void tick() {
+        long now = clock.getAsLong();
+        for (ExamSessionSnapshot expired : examAutosaveService.expire(now - graceMillis)) {
+            submit(expired);
+        }
+        autoSubmitted.removeAll(forget.advance(now));
+    }
+
+    /**
+     * @return true if the server submitted this attempt when its time ran out
+     */
+    public boolean wasAutoSubmitted(String sessionId) {
+        return sessionId != null && autoSubmitted.contains(sessionId);
+    }
+
+    /**
+     * @return true if the server recently submitted an attempt of this student at this test
+     */
+    public boolean wasAutoSubmitted(Long studentId, Long testId) {
+        return studentId != null && testId != null && autoSubmitted.contains(new AttemptKey(studentId, testId));
+    }
+
+    private void submit(ExamSessionSnapshot expired) {
+        if (expired.testId() == null) {
+            log.debug("Exam session {} expired but has no test ID; left to the page", expired.sessionId());
+            return;
+        }
+        AttemptKey attempt = new AttemptKey(expired.studentId(), expired.testId());
+        // Marked before closing, so a submit that finds the session closed knows why
+        autoSubmitted.add(expired.sessionId());
+        autoSubmitted.add(attempt);
+        // Closing claims the attempt; if it fails the student's own submit got there first
+        Optional<ExamSessionSnapshot> claimed = examAutosaveService.claim(expired.sessionId(), expired.studentId());
+        if (claimed.isEmpty()) {
+            autoSubmitted.remove(expired.sessionId());
+            autoSubmitted.remove(attempt);
+            return;
+        }
+        // Answers saved during the grace period count
+        ExamSessionSnapshot examSession = claimed.get();
+        try {
+            String username = studentRepository.findById(examSession.studentId())
+                    .map(Student::getEmail)
+                    .orElse(null);
+
+            TestSubmissionDTO submission = new TestSubmissionDTO();
+            submission.setStudentId(examSession.studentId());
+            submission.setTestId(examSession.testId());
+            submission.setQuestionBankId(examSession.questionBankId());
+            submission.setAnswers(examSession.toStudentAnswers());
+            submission.setTimeTakenSeconds(
+                    (int) ((examSession.deadlineMillis() - examSession.startedAtMillis()) / 1000));
+            submission.setTabSwitches(proctoringService.getViolationCount(examSession.sessionId()));
+            submission.setSessionId(examSession.sessionId());
+
+            TestResultDTO result = questionService.validateAnswers(submission.getAnswers());
+            result.setGrade(result.calculateGrade());
+            result.setPassed(result.getScorePercentage() >= 35);
+            testService.saveTestAttempt(submission, result, username);
+
+            forget.schedule(examSession.sessionId(), clock.getAsLong() + rememberMillis);
+            forget.schedule(attempt, clock.getAsLong() + rememberMillis);
+            proctoringService.sessionClosed(examSession.sessionId());
+            examMetrics.examFinished(examSession.studentId());
+            examMonitorService.examSubmitted(examSession.testId(), result.isPassed());
+            autoSubmittedCounter.increment();
+            log.info("Time ran out for exam session {} (student {}, test {}); submitted {} autosaved answers",
+                    examSession.sessionId(), examSession.studentId(), examSession.testId(),
+                    examSession.answers().stream().filter(answer -> answer != null).count());
+        } catch (Exception e) {
+            autoSubmitted.remove(examSession.sessionId());
+            autoSubmitted.remove(attempt);
+            failedCounter.increment();
+            // Reopened past its deadline, so the next tick tries again
+            examAutosaveService.reopen(examSession);
+            log.error("Failed to submit expired exam session {}", examSession.sessionId(), e);
+        }
+    }
+
+    private record AttemptKey(Long studentId, Long testId) {
+    }
+}
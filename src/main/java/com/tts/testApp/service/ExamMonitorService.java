@@ -0,0 +1,328 @@
+package com.tts.testApp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tts.testApp.dto.ExamMonitorSnapshotDTO;
+import com.tts.testApp.dto.ExamMonitorTestDTO;
+import com.tts.testApp.dto.TabSwitchAlertDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Live exam activity for admins: active candidates, starts, submits and
+ * tab switches per minute, a running pass rate, and recent tab switch
+ * alerts, overall and per scheduled test.
+ *
+ * Exam code only bumps LongAdders. Once a tick a ticker thread moves them
+ * into per-tick rings covering the last minute, builds one snapshot,
+ * serializes it once and sends the same SSE event to every subscriber, so
+ * the cost barely grows with the number of admins watching. It has its own
+ * thread rather than the shared scheduler so a stalled admin connection
+ * cannot hold up autosave flushes or deadline ticks.
+ *
+ * Counts are per node and start at zero when it starts. A test's running
+ * totals are forgotten once it has been idle for the configured time.
+ */
+@Service
+@Slf4j
+public class ExamMonitorService {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_ALERTS = 20;
+    private static final String EVENT_NAME = "snapshot";
+
+    private final ExamAutosaveService examAutosaveService;
+    private final ObjectMapper objectMapper;
+    private final long tickMillis;
+    private final int windowTicks;
+    private final long forgetIdleTicks;
+    private final int maxSubscribers;
+    private final long subscriberTimeoutMillis;
+    private final LongSupplier clock;
+
+    private final Counters total;
+    private final Map<Long, Counters> tests = new ConcurrentHashMap<>();
+    private final Deque<TabSwitchAlertDTO> alerts = new ArrayDeque<>(MAX_ALERTS);
+    private final ReentrantLock alertLock = new ReentrantLock();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile ExamMonitorSnapshotDTO lastSnapshot;
+    private volatile Set<DataWithMediaType> lastEvent;
+    private volatile boolean running;
+    private Thread ticker;
+
+    @Autowired
+    public ExamMonitorService(ExamAutosaveService examAutosaveService,
+                              ObjectMapper objectMapper,
+                              @Value("${app.monitor.tick-ms:1000}") long tickMillis,
+                              @Value("${app.monitor.max-subscribers:50}") int maxSubscribers,
+                              @Value("${app.monitor.subscriber-timeout-minutes:30}") int subscriberTimeoutMinutes,
+                              @Value("${app.monitor.forget-idle-minutes:360}") int forgetIdleMinutes) {
+        this(examAutosaveService, objectMapper, tickMillis, maxSubscribers,
+                TimeUnit.MINUTES.toMillis(subscriberTimeoutMinutes), TimeUnit.MINUTES.toMillis(forgetIdleMinutes),
+                System::currentTimeMillis);
+    }
+
+    ExamMonitorService(ExamAutosaveService examAutosaveService, ObjectMapper objectMapper, long tickMillis,
+                       int maxSubscribers, long subscriberTimeoutMillis, long forgetIdleMillis, LongSupplier clock) {
+        this.examAutosaveService = examAutosaveService;
+        this.objectMapper = objectMapper;
+        this.tickMillis = tickMillis;
+        this.windowTicks = (int) Math.max(1, WINDOW_MILLIS / tickMillis);
+        this.forgetIdleTicks = Math.max(windowTicks, forgetIdleMillis / tickMillis);
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberTimeoutMillis = subscriberTimeoutMillis;
+        this.clock = clock;
+        this.total = new Counters(windowTicks);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        ticker = Thread.ofPlatform().name("exam-monitor").daemon().start(this::tickLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        ticker.interrupt();
+        ticker.join(TimeUnit.SECONDS.toMillis(5));
+        for (SseEmitter subscriber : subscribers) {
+            subscriber.complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * @param testId the scheduled test, or null if unknown (counted only in the totals)
+     */
+    public void examStarted(Long testId) {
+        total.starts.increment();
+        if (testId != null) {
+            counters(testId).starts.increment();
+        }
+    }
+
+    public void examSubmitted(Long testId, boolean passed) {
+        total.submits.increment();
+        if (passed) {
+            total.passes.increment();
+        }
+        if (testId != null) {
+            Counters counters = counters(testId);
+            counters.submits.increment();
+            if (passed) {
+                counters.passes.increment();
+            }
+        }
+    }
+
+    /**
+     * A candidate reported switching away from the exam
+     * @param count      tab switches in this report
+     * @param violations the session's count after it
+     * @param limit      tab switches allowed, 0 for no limit
+     */
+    public void tabSwitched(Long testId, Long studentId, int count, int violations, int limit) {
+        total.tabSwitches.add(count);
+        if (testId != null) {
+            counters(testId).tabSwitches.add(count);
+        }
+        TabSwitchAlertDTO alert = new TabSwitchAlertDTO(clock.getAsLong(), testId, studentId, violations, limit,
+                limit > 0 && violations >= limit);
+        alertLock.lock();
+        try {
+            if (alerts.size() == MAX_ALERTS) {
+                alerts.removeLast();
+            }
+            alerts.addFirst(alert);
+        } finally {
+            alertLock.unlock();
+        }
+    }
+
+    /**
+     * Stream snapshots to a new subscriber, starting with the latest one
+     * @throws IllegalStateException if there are already as many subscribers as allowed
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many exam monitor subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(subscriberTimeoutMillis);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        Set<DataWithMediaType> event = lastEvent;
+        if (event != null) {
+            send(emitter, event);
+        }
+        return emitter;
+    }
+
+    /**
+     * @return the latest snapshot, null before the first tick
+     */
+    public ExamMonitorSnapshotDTO getSnapshot() {
+        return lastSnapshot;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Close the current tick's counts into the window and broadcast a snapshot; called by the ticker thread
+     */
+    void tick() {
+        total.roll();
+        tests.entrySet().removeIf(entry -> {
+            entry.getValue().roll();
+            return entry.getValue().idleTicks > forgetIdleTicks;
+        });
+
+        ExamMonitorSnapshotDTO snapshot = snapshot();
+        lastSnapshot = snapshot;
+        try {
+            Set<DataWithMediaType> event = SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(snapshot), MediaType.APPLICATION_JSON)
+                    .build();
+            lastEvent = event;
+            for (SseEmitter subscriber : subscribers) {
+                send(subscriber, event);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize exam monitor snapshot: {}", e.getMessage());
+        }
+    }
+
+    private ExamMonitorSnapshotDTO snapshot() {
+        Map<Long, Integer> openByTest = examAutosaveService.countOpenByTest();
+        List<ExamMonitorTestDTO> testSnapshots = new ArrayList<>(tests.size());
+        tests.forEach((testId, counters) -> testSnapshots.add(new ExamMonitorTestDTO(testId,
+                openByTest.getOrDefault(testId, 0), counters.startsInWindow, counters.submitsInWindow,
+                counters.tabSwitchesInWindow, counters.submitted, counters.passed, counters.passRate())));
+        testSnapshots.sort(Comparator.comparing(ExamMonitorTestDTO::getTestId));
+
+        List<TabSwitchAlertDTO> recentAlerts;
+        alertLock.lock();
+        try {
+            recentAlerts = List.copyOf(alerts);
+        } finally {
+            alertLock.unlock();
+        }
+        return new ExamMonitorSnapshotDTO(clock.getAsLong(), examAutosaveService.getOpenSessionCount(),
+                total.startsInWindow, total.submitsInWindow, total.tabSwitchesInWindow, total.submitted,
+                total.passed, total.passRate(), testSnapshots, recentAlerts);
+    }
+
+    private void send(SseEmitter subscriber, Set<DataWithMediaType> event) {
+        try {
+            subscriber.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Disconnected; the emitter's callbacks may not run until the container notices
+            subscribers.remove(subscriber);
+            log.debug("Dropped exam monitor subscriber: {}", e.getMessage());
+        }
+    }
+
+    private void tickLoop() {
+        long next = clock.getAsLong() + tickMillis;
+        while (running) {
+            try {
+                long wait = next - clock.getAsLong();
+                if (wait > 0) {
+                    Thread.sleep(wait);
+                }
+                next += tickMillis;
+                tick();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Exam monitor tick failed", e);
+            }
+        }
+    }
+
+    private Counters counters(Long testId) {
+        return tests.computeIfAbsent(testId, id -> new Counters(windowTicks));
+    }
+
+    /**
+     * Counts of one test, or of all. The adders take the current tick's
+     * events from any thread; everything else belongs to the ticker thread.
+     */
+    private static final class Counters {
+        private final LongAdder starts = new LongAdder();
+        private final LongAdder submits = new LongAdder();
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder tabSwitches = new LongAdder();
+
+        /** Per tick over the window, indexed by position */
+        private final long[] startsRing;
+        private final long[] submitsRing;
+        private final long[] tabSwitchesRing;
+        private int position;
+
+        private volatile long startsInWindow;
+        private volatile long submitsInWindow;
+        private volatile long tabSwitchesInWindow;
+        private volatile long submitted;
+        private volatile long passed;
+        private long idleTicks;
+
+        Counters(int windowTicks) {
+            startsRing = new long[windowTicks];
+            submitsRing = new long[windowTicks];
+            tabSwitchesRing = new long[windowTicks];
+        }
+
+        void roll() {
+            long tickStarts = starts.sumThenReset();
+            long tickSubmits = submits.sumThenReset();
+            long tickPasses = passes.sumThenReset();
+            long tickTabSwitches = tabSwitches.sumThenReset();
+
+            position = (position + 1) % startsRing.length;
+            startsInWindow += tickStarts - startsRing[position];
+            submitsInWindow += tickSubmits - submitsRing[position];
+            tabSwitchesInWindow += tickTabSwitches - tabSwitchesRing[position];
+            startsRing[position] = tickStarts;
+            submitsRing[position] = tickSubmits;
+            tabSwitchesRing[position] = tickTabSwitches;
+            submitted += tickSubmits;
+            passed += tickPasses;
+            idleTicks = tickStarts + tickSubmits + tickTabSwitches > 0 ? 0 : idleTicks + 1;
+        }
+
+        Double passRate() {
+            long submittedCount = submitted;
+            return submittedCount == 0 ? null : Math.round(passed * 1000.0 / submittedCount) / 10.0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.tts.testApp.service;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live state of one exam attempt held by ExamAutosaveService: the questions
+ * drawn at initialize and the latest answer to each.
+ *
+ * Answers are kept as one byte per question ('A'-'D', 0 when unanswered),
+ * so an autosave only writes a few array slots under the session lock.
+ * seq is the highest autosave sequence number applied; deltas that arrive
+ * with a lower number are stale and ignored.
+ */
+final class ExamSession {
+
+    static final byte RECORD_SNAPSHOT = 1;
+    static final byte RECORD_CLOSED = 2;
+
+    final UUID id;
+    final long studentId;
+    /** 0 when the client did not say which scheduled test this is */
+    final long testId;
+    final long questionBankId;
+    final long startedAtMillis;
+    final int durationSeconds;
+    final int tabSwitchLimit;
+    final long[] questionIds;
+
+    final ReentrantLock lock = new ReentrantLock();
+    /** Guarded by lock */
+    final byte[] answers;
+    /** Guarded by lock */
+    long seq;
+    /** Guarded by lock; set once the attempt is submitted or abandoned, after which nothing is saved */
+    boolean closed;
+    /** Set when the session is registered with ExamAutosaveService */
+    TimingWheel.Timer<ExamSession> deadlineTimer;
+
+    ExamSession(UUID id, long studentId, long testId, long questionBankId, long startedAtMillis,
+                int durationSeconds, int tabSwitchLimit, long[] questionIds, byte[] answers, long seq) {
+        this.id = id;
+        this.studentId = studentId;
+        this.testId = testId;
+        this.questionBankId = questionBankId;
+        this.startedAtMillis = startedAtMillis;
+        this.durationSeconds = durationSeconds;
+        this.tabSwitchLimit = tabSwitchLimit;
+        this.questionIds = questionIds;
+        this.answers = answers;
+        this.seq = seq;
+    }
+
+    /**
+     * @return position of the question in this attempt, or -1 if it was not drawn for it
+     */
+    int indexOf(long questionId) {
+        for (int i = 0; i < questionIds.length; i++) {
+            if (questionIds[i] == questionId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long deadlineMillis() {
+        return startedAtMillis + durationSeconds * 1000L;
+    }
+
+    /**
+     * Segment log record holding the whole session as of now
+     * @return null once the session is closed
+     */
+    byte[] toSnapshotRecord() {
+        lock.lock();
+        try {
+            if (closed) {
+                return null;
+            }
+            ByteBuffer record = ByteBuffer.allocate(1 + 7 * 8 + 3 * 4 + questionIds.length * 9);
+            record.put(RECORD_SNAPSHOT)
+                    .putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .putLong(seq)
+                    .putLong(studentId)
+                    .putLong(testId)
+                    .putLong(questionBankId)
+                    .putLong(startedAtMillis)
+                    .putInt(durationSeconds)
+                    .putInt(tabSwitchLimit)
+                    .putInt(questionIds.length);
+            for (long questionId : questionIds) {
+                record.putLong(questionId);
+            }
+            record.put(answers);
+            return record.array();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static byte[] closedRecord(UUID id) {
+        return ByteBuffer.allocate(1 + 16)
+                .put(RECORD_CLOSED)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID recordSessionId(ByteBuffer record) {
+        return new UUID(record.getLong(1), record.getLong(9));
+    }
+
+    static ExamSession fromSnapshot(ExamSessionSnapshot snapshot) {
+        long[] questionIds = snapshot.questionIds().stream().mapToLong(Long::longValue).toArray();
+        byte[] answers = new byte[questionIds.length];
+        for (int i = 0; i < answers.length; i++) {
+            String answer = snapshot.answers().get(i);
+            answers[i] = answer == null ? 0 : (byte) answer.charAt(0);
+        }
+        return new ExamSession(UUID.fromString(snapshot.sessionId()), snapshot.studentId(),
+                snapshot.testId() == null ? 0 : snapshot.testId(), snapshot.questionBankId(),
+                snapshot.startedAtMillis(),
+                (int) ((snapshot.deadlineMillis() - snapshot.startedAtMillis()) / 1000),
+                snapshot.tabSwitchLimit(), questionIds, answers, snapshot.seq());
+    }
+
+    static ExamSession fromSnapshotRecord(ByteBuffer record) {
+        record.position(1);
+        UUID id = new UUID(record.getLong(), record.getLong());
+        long seq = record.getLong();
+        long studentId = record.getLong();
+        long testId = record.getLong();
+        long questionBankId = record.getLong();
+        long startedAtMillis = record.getLong();
+        int durationSeconds = record.getInt();
+        int tabSwitchLimit = record.getInt();
+        long[] questionIds = new long[record.getInt()];
+        for (int i = 0; i < questionIds.length; i++) {
+            questionIds[i] = record.getLong();
+        }
+        byte[] answers = new byte[questionIds.length];
+        record.get(answers);
+        return new ExamSession(id, studentId, testId, questionBankId, startedAtMillis, durationSeconds,
+                tabSwitchLimit, questionIds, answers, seq);
+    }
+}
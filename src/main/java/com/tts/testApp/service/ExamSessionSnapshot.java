@@ -0,0 +1,64 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.StudentAnswerDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copy of an exam attempt's autosaved state, as handed out by ExamAutosaveService
+ *
+ * @param testId          null when the client did not say which scheduled test this is
+ * @param answers         selected option per question, in question order; null where unanswered
+ * @param deadlineMillis  epoch millis at which the attempt's time is up
+ * @param seq             highest autosave sequence number applied
+ */
+public record ExamSessionSnapshot(String sessionId,
+                                  Long studentId,
+                                  Long testId,
+                                  Long questionBankId,
+                                  long startedAtMillis,
+                                  long deadlineMillis,
+                                  int tabSwitchLimit,
+                                  List<Long> questionIds,
+                                  List<String> answers,
+                                  long seq) {
+
+    public int remainingSeconds(long nowMillis) {
+        return (int) Math.max(0, (deadlineMillis - nowMillis) / 1000);
+    }
+
+    /**
+     * The answers in the shape of a final submission
+     */
+    public List<StudentAnswerDTO> toStudentAnswers() {
+        List<StudentAnswerDTO> studentAnswers = new ArrayList<>(questionIds.size());
+        for (int i = 0; i < questionIds.size(); i++) {
+            studentAnswers.add(new StudentAnswerDTO(questionIds.get(i), answers.get(i)));
+        }
+        return studentAnswers;
+    }
+
+    static ExamSessionSnapshot of(ExamSession session) {
+        List<Long> questionIds = new ArrayList<>(session.questionIds.length);
+        for (long questionId : session.questionIds) {
+            questionIds.add(questionId);
+        }
+        List<String> answers = new ArrayList<>(session.questionIds.length);
+        long seq;
+        session.lock.lock();
+        try {
+            for (byte answer : session.answers) {
+                answers.add(answer == 0 ? null : String.valueOf((char) answer));
+            }
+            seq = session.seq;
+        } finally {
+            session.lock.unlock();
+        }
+        return new ExamSessionSnapshot(session.id.toString(), session.studentId,
+                session.testId == 0 ? null : session.testId, session.questionBankId, session.startedAtMillis,
+                session.deadlineMillis(), session.tabSwitchLimit, List.copyOf(questionIds),
+                Collections.unmodifiableList(answers), seq);
+    }
+}
@@ -0,0 +1,86 @@
+package com.tts.testApp.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Named sequences in the id_sequences table (see IdSequence).
+ *
+ * Reservations run over a small connection pool of their own. Callers such
+ * as a signup usually hold a connection from the main pool in their own
+ * transaction while they wait for a block; if the reservation needed a
+ * second connection from that pool, a burst of signups could hold every
+ * connection while each waits for one more, until connection-timeout.
+ * The pool is not a bean, so DB admission control does not apply to it.
+ */
+@Service
+@Slf4j
+public class IdSequenceService {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdSequenceService(DataSourceProperties dataSourceProperties,
+                             @Value("${app.id-sequence.pool-size:2}") int poolSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-sequence");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Atomically reserve the next block of values for a sequence.
+     * Runs in its own short transaction so the row lock is released as soon
+     * as the block is claimed, independent of the caller's transaction.
+     *
+     * @param name      the sequence name
+     * @param blockSize number of values to reserve
+     * @return first value of the reserved block, or empty if the sequence does not exist yet
+     */
+    public OptionalLong reserveBlock(String name, int blockSize) {
+        Long start = transactionTemplate.execute(status -> {
+            // SELECT ... FOR UPDATE serializes reservations from every node
+            List<Long> nextValue = jdbcTemplate.queryForList(
+                    "SELECT next_value FROM id_sequences WHERE name = ? FOR UPDATE", Long.class, name);
+            if (nextValue.isEmpty()) {
+                return null;
+            }
+            jdbcTemplate.update("UPDATE id_sequences SET next_value = ? WHERE name = ?",
+                    nextValue.get(0) + blockSize, name);
+            return nextValue.get(0);
+        });
+        if (start == null) {
+            return OptionalLong.empty();
+        }
+
+        log.debug("Reserved block [{}, {}) for sequence {}", start, start + blockSize, name);
+        return OptionalLong.of(start);
+    }
+
+    /**
+     * Create a sequence row. Fails with a DataIntegrityViolationException
+     * if another node created it first, which callers may ignore.
+     */
+    public void createSequence(String name, long initialValue) {
+        jdbcTemplate.update("INSERT INTO id_sequences (name, next_value) VALUES (?, ?)", name, initialValue);
+        log.info("Created id sequence {} starting at {}", name, initialValue);
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
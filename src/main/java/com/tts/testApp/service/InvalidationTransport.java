@@ -0,0 +1,32 @@
+package com.tts.testApp.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between nodes for CacheInvalidationBus.
+ * The default implementation is ChangeLogInvalidationTransport (database
+ * change-log table polled with a cursor); a message broker can be plugged
+ * in by providing another bean of this type.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Send an invalidation to the other nodes. Called inside the transaction
+     * of the change when one is active, so implementations that write to the
+     * database commit or roll back together with it.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Register the callback for invalidations received from the transport,
+     * including ones this node published itself
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+
+    /**
+     * Changes known to exist but not yet delivered to this node, if the transport can tell
+     */
+    default long getBacklog() {
+        return 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.tts.testApp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for login bookkeeping (last login time and IP,
+ * failed-attempt reset).
+ * Logins only update an in-memory map that keeps the latest entry per
+ * account; the map is flushed with batched UPDATEs every few seconds and on
+ * shutdown, so a login storm costs one batch per table instead of several
+ * statements per login.
+ */
+@Service
+@Slf4j
+public class LoginActivityService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_ADMIN_SQL =
+            "UPDATE admins SET last_login_at = ?, last_login_ip = ?, login_attempts = 0 WHERE id = ?";
+    private static final String UPDATE_STUDENT_SQL =
+            "UPDATE students SET last_login_at = ?, last_login_ip = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<AccountKey, LoginActivity> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LoginActivityService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Record a successful login. Only the latest login per account is kept until the next flush.
+     * @param accountType ADMIN or STUDENT
+     * @param accountId primary key in the admins or students table
+     * @param ipAddress client IP of the login request
+     */
+    public void recordLogin(String accountType, Long accountId, String ipAddress) {
+        if (accountId == null) {
+            return;
+        }
+        pending.put(new AccountKey(accountType, accountId), new LoginActivity(LocalDateTime.now(), ipAddress));
+    }
+
+    /**
+     * Number of accounts waiting to be flushed
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-activity.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            List<Object[]> adminRows = new ArrayList<>();
+            List<Object[]> studentRows = new ArrayList<>();
+
+            Iterator<AccountKey> keys = pending.keySet().iterator();
+            while (keys.hasNext()) {
+                AccountKey key = keys.next();
+                // remove() hands back whatever is newest at this instant; a later login re-adds the key
+                LoginActivity activity = pending.remove(key);
+                if (activity == null) {
+                    continue;
+                }
+                Object[] row = {Timestamp.valueOf(activity.loggedInAt()), activity.ipAddress(), key.accountId()};
+                if ("ADMIN".equals(key.accountType())) {
+                    adminRows.add(row);
+                } else {
+                    studentRows.add(row);
+                }
+            }
+
+            writeBatches(UPDATE_ADMIN_SQL, adminRows);
+            writeBatches(UPDATE_STUDENT_SQL, studentRows);
+            log.debug("Flushed login activity for {} admins and {} students", adminRows.size(), studentRows.size());
+        } catch (Exception e) {
+            // Bookkeeping only; losing one interval of last-login data is acceptable
+            log.error("Failed to flush login activity: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} pending login activity entries before shutdown", pending.size());
+        flush();
+    }
+
+    private void writeBatches(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    private record AccountKey(String accountType, Long accountId) {
+    }
+
+    private record LoginActivity(LocalDateTime loggedInAt, String ipAddress) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.repository.AdminRepository;
+import com.tts.testApp.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginLockoutService {
+
+    private final AdminRepository adminRepository;
+    private final StudentRepository studentRepository;
+
+    /**
+     * Persist a temporary lockout decided by the in-memory login throttle.
+     * The login name is an admin username or a student email; unknown names are ignored.
+     */
+    @Transactional
+    public void persistLockout(String username, LocalDateTime lockedUntil, int failedAttempts) {
+        int updated = adminRepository.lockAccount(username, lockedUntil, failedAttempts);
+        if (updated == 0) {
+            updated = studentRepository.lockAccount(username, lockedUntil);
+        }
+
+        if (updated > 0) {
+            log.info("Persisted login lockout for {} until {}", username, lockedUntil);
+        }
+    }
+}
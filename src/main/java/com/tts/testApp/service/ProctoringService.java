@@ -0,0 +1,309 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.ProctoringEventDTO;
+import com.tts.testApp.exception.ResourceNotFoundException;
+import com.tts.testApp.model.ProctoringEventType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Ingests proctoring events (tab switches, fullscreen exits, focus loss)
+ * from the exam page.
+ *
+ * Each event updates per-session counters in memory, so whether the
+ * test's tab switch limit has been reached is known immediately, without
+ * touching the database. The event is then put on a bounded ring buffer
+ * (an ArrayBlockingQueue, as for traffic capture) that one writer thread
+ * drains into proctoring_events with batched INSERTs, one transaction per
+ * batch. When the buffer is full further events are counted as dropped
+ * rather than slowing down the exam; the counters still see them.
+ *
+ * The limit is the scheduled test's tabSwitchLimit when the session names
+ * its test, otherwise the one the session was started with. Counters are
+ * created on a session's first event and seeded from the events already
+ * stored for it, so a restart does not reset them.
+ */
+@Service
+@Slf4j
+public class ProctoringService {
+
+    private static final long POLL_MILLIS = 200;
+    private static final ProctoringEventType[] TYPES = ProctoringEventType.values();
+
+    private static final String INSERT_SQL = "INSERT INTO proctoring_events "
+            + "(session_id, student_id, test_id, event_type, occurred_at, received_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String COUNT_SQL =
+            "SELECT event_type, COUNT(*) FROM proctoring_events WHERE session_id = ? GROUP BY event_type";
+
+    private final ExamAutosaveService examAutosaveService;
+    private final ExamMonitorService examMonitorService;
+    private final LongFunction<Integer> testTabSwitchLimit;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final LongSupplier clock;
+
+    private final Map<String, SessionCounters> counters = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingEvent> buffer;
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public ProctoringService(ExamAutosaveService examAutosaveService,
+                             ExamMonitorService examMonitorService,
+                             ActiveTestCatalog activeTestCatalog,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry registry,
+                             @Value("${app.proctoring.buffer-size:65536}") int bufferSize,
+                             @Value("${app.proctoring.batch-size:1000}") int batchSize) {
+        this(examAutosaveService, examMonitorService,
+                testId -> activeTestCatalog.getSnapshot().findTest(testId)
+                        .map(CreateTestDTO::getTabSwitchLimit).orElse(null),
+                jdbcTemplate, transactionTemplate, registry, bufferSize, batchSize, System::currentTimeMillis);
+    }
+
+    ProctoringService(ExamAutosaveService examAutosaveService,
+                      ExamMonitorService examMonitorService,
+                      LongFunction<Integer> testTabSwitchLimit,
+                      JdbcTemplate jdbcTemplate,
+                      TransactionTemplate transactionTemplate,
+                      MeterRegistry registry,
+                      int bufferSize,
+                      int batchSize,
+                      LongSupplier clock) {
+        this.examAutosaveService = examAutosaveService;
+        this.examMonitorService = examMonitorService;
+        this.testTabSwitchLimit = testTabSwitchLimit;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        Gauge.builder("tts.proctoring.buffered", buffer, BlockingQueue::size)
+                .description("Proctoring events waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("tts.proctoring.events", persisted, AtomicLong::get)
+                .description("Proctoring events by what became of them")
+                .tag("outcome", "persisted")
+                .register(registry);
+        FunctionCounter.builder("tts.proctoring.events", dropped, AtomicLong::get)
+                .description("Proctoring events by what became of them")
+                .tag("outcome", "dropped")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("proctoring-writer").daemon().start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        log.info("Proctoring writer stopped: {} events written, {} dropped", persisted.get(), dropped.get());
+    }
+
+    /**
+     * Count and queue a batch of events from one exam session
+     * @return the session's standing after these events
+     * @throws ResourceNotFoundException if the student has no such open exam session
+     */
+    public ProctoringStatus record(String sessionId, Long studentId, List<ProctoringEventDTO> events) {
+        SessionCounters session = sessionCounters(sessionId, studentId);
+        long receivedAt = clock.getAsLong();
+        int violations = 0;
+        for (ProctoringEventDTO event : events) {
+            session.counts.incrementAndGet(event.getType().ordinal());
+            if (event.getType().isViolation()) {
+                violations++;
+            }
+            long occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : receivedAt;
+            if (!buffer.offer(new PendingEvent(sessionId, session.studentId, session.testId, event.getType(),
+                    occurredAt, receivedAt))) {
+                dropped.incrementAndGet();
+            }
+        }
+        ProctoringStatus status = session.status();
+        if (violations > 0) {
+            examMonitorService.tabSwitched(session.testId, session.studentId, violations, status.violations(),
+                    status.limit());
+        }
+        return status;
+    }
+
+    /**
+     * Violations counted for a session, 0 if it has reported none on this node
+     */
+    public int getViolationCount(String sessionId) {
+        SessionCounters session = sessionId == null ? null : counters.get(sessionId);
+        return session == null ? 0 : session.violations();
+    }
+
+    /**
+     * Forget the counters of a finished session
+     */
+    public void sessionClosed(String sessionId) {
+        if (sessionId != null) {
+            counters.remove(sessionId);
+        }
+    }
+
+    public long getPersistedCount() {
+        return persisted.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Drop counters of sessions that ended without a submit on this node
+     */
+    @Scheduled(fixedDelayString = "${app.proctoring.sweep-interval-ms:60000}")
+    public void sweep() {
+        counters.keySet().removeIf(sessionId -> examAutosaveService.find(sessionId).isEmpty());
+    }
+
+    private SessionCounters sessionCounters(String sessionId, Long studentId) {
+        SessionCounters session = counters.get(sessionId);
+        if (session == null) {
+            ExamSessionSnapshot examSession = examAutosaveService.find(sessionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("No open exam session " + sessionId));
+            if (!examSession.studentId().equals(studentId)) {
+                throw new ResourceNotFoundException("No open exam session " + sessionId);
+            }
+            Integer testLimit = examSession.testId() != null ? testTabSwitchLimit.apply(examSession.testId()) : null;
+            SessionCounters created = new SessionCounters(examSession.studentId(), examSession.testId(),
+                    testLimit != null ? testLimit : examSession.tabSwitchLimit());
+            seedFromStoredEvents(sessionId, created);
+            session = counters.putIfAbsent(sessionId, created);
+            if (session == null) {
+                session = created;
+            }
+        }
+        if (session.studentId != studentId) {
+            throw new ResourceNotFoundException("No open exam session " + sessionId);
+        }
+        return session;
+    }
+
+    private void seedFromStoredEvents(String sessionId, SessionCounters session) {
+        try {
+            jdbcTemplate.query(COUNT_SQL, row -> {
+                session.counts.addAndGet(ProctoringEventType.valueOf(row.getString(1)).ordinal(), row.getInt(2));
+            }, sessionId);
+        } catch (DataAccessException e) {
+            log.warn("Could not read stored proctoring events for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !buffer.isEmpty()) {
+                PendingEvent first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<PendingEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch,
+                    batch.size(), (statement, event) -> {
+                        statement.setString(1, event.sessionId());
+                        statement.setLong(2, event.studentId());
+                        statement.setObject(3, event.testId());
+                        statement.setString(4, event.type().name());
+                        statement.setTimestamp(5, new Timestamp(event.occurredAt()));
+                        statement.setTimestamp(6, new Timestamp(event.receivedAt()));
+                    }));
+            persisted.addAndGet(batch.size());
+        } catch (DataAccessException e) {
+            // Audit only; the counters that enforce the limit are unaffected
+            dropped.addAndGet(batch.size());
+            log.error("Failed to write {} proctoring events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * @param violations events counting toward the tab switch limit
+     * @param limit      tab switches allowed, 0 for no limit
+     */
+    public record ProctoringStatus(int violations, int limit) {
+        public boolean limitReached() {
+            return limit > 0 && violations >= limit;
+        }
+    }
+
+    private static final class SessionCounters {
+        private final long studentId;
+        private final Long testId;
+        private final int limit;
+        /** Per ProctoringEventType ordinal */
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(TYPES.length);
+
+        SessionCounters(long studentId, Long testId, int limit) {
+            this.studentId = studentId;
+            this.testId = testId;
+            this.limit = limit;
+        }
+
+        int violations() {
+            int violations = 0;
+            for (ProctoringEventType type : TYPES) {
+                if (type.isViolation()) {
+                    violations += counts.get(type.ordinal());
+                }
+            }
+            return violations;
+        }
+
+        ProctoringStatus status() {
+            return new ProctoringStatus(violations(), limit);
+        }
+    }
+
+    private record PendingEvent(String sessionId, long studentId, Long testId, ProctoringEventType type,
+                                long occurredAt, long receivedAt) {
+    }
+}
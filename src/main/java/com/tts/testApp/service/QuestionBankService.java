@@ -37,6 +37,7 @@ public class QuestionBankService {
     private final QuestionRepository questionRepository;
     private final SubjectRepository subjectRepository;
     private final CSVParserService csvParserService;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Value("${app.upload.dir:${user.home}/uploads/question-banks}")
     private String uploadDir;
@@ -94,6 +95,7 @@ public class QuestionBankService {
 
         // Update subject's total questions count
         updateSubjectQuestionCount(subject);
+        cacheInvalidationBus.publish(CacheNames.QUESTION_BANKS, questionBank.getId());
 
         return questionBank;
     }
@@ -143,6 +145,7 @@ public class QuestionBankService {
         subject.setTotalQuestions(totalQuestions != null ? totalQuestions : 0);
         subjectRepository.save(subject);
         log.info("Updated subject {} total questions: {}", subject.getId(), subject.getTotalQuestions());
+        cacheInvalidationBus.publish(CacheNames.SUBJECTS, subject.getId());
     }
 
     /**
@@ -203,6 +206,7 @@ public class QuestionBankService {
 
         // Update subject's total questions count
         updateSubjectQuestionCount(subject);
+        cacheInvalidationBus.publish(CacheNames.QUESTION_BANKS, id);
     }
 
     /**
@@ -214,6 +218,7 @@ public class QuestionBankService {
         questionBank.setActive(!questionBank.isActive());
         questionBankRepository.save(questionBank);
         log.info("Toggled question bank {} status to: {}", id, questionBank.isActive());
+        cacheInvalidationBus.publish(CacheNames.QUESTION_BANKS, id);
     }
 
     /**
@@ -15,6 +15,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,7 +35,7 @@ public class QuestionService {
      */
     @Transactional(readOnly = true)
     public List<QuestionDTO> getRandomQuestionsForTest(Long questionBankId, int requiredCount) {
-        log.info("Fetching {} random questions from question bank {}", requiredCount, questionBankId);
+        log.debug("Fetching {} random questions from question bank {}", requiredCount, questionBankId);
 
         // Fetch all active questions from the question bank
         List<Question> allQuestions = questionRepository
@@ -62,7 +65,7 @@ public class QuestionService {
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
 
-        log.info("Successfully prepared {} random questions", questionDTOs.size());
+        log.debug("Successfully prepared {} random questions", questionDTOs.size());
         return questionDTOs;
     }
 
@@ -78,8 +81,10 @@ public class QuestionService {
     public List<QuestionDTO> getRandomQuestionsByDifficulty(
             Long questionBankId, int easyCount, int mediumCount, int hardCount) {
 
-        log.info("Fetching questions by difficulty: Easy={}, Medium={}, Hard={}",
-                easyCount, mediumCount, hardCount);
+        if (log.isDebugEnabled()) {
+            log.debug("Fetching questions by difficulty: Easy={}, Medium={}, Hard={}",
+                    easyCount, mediumCount, hardCount);
+        }
 
         List<QuestionDTO> selectedQuestions = new ArrayList<>();
 
@@ -119,10 +124,26 @@ public class QuestionService {
         // Shuffle the final list to mix difficulty levels
         Collections.shuffle(selectedQuestions);
 
-        log.info("Successfully prepared {} questions with mixed difficulty", selectedQuestions.size());
+        log.debug("Successfully prepared {} questions with mixed difficulty", selectedQuestions.size());
         return selectedQuestions;
     }
 
+    /**
+     * Questions of an exam in progress, for resuming it
+     * @param questionIds question IDs in the order they were presented
+     * @return question DTOs in the same order; questions deleted since are left out
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionDTO> getQuestionsByIds(List<Long> questionIds) {
+        Map<Long, Question> questionsById = questionRepository.findAllById(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        return questionIds.stream()
+                .map(questionsById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Convert Question entity to DTO (without correct answer for security)
      */
@@ -152,10 +173,18 @@ public class QuestionService {
 
         List<AnswerReviewDTO> reviewData = new ArrayList<>();
 
+        // One query for the whole submission instead of one per answer
+        Map<Long, Question> questionsById = questionRepository.findAllById(studentAnswers.stream()
+                        .map(StudentAnswerDTO::getQuestionId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
         for (StudentAnswerDTO answer : studentAnswers) {
-            Question question = questionRepository.findById(answer.getQuestionId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Question not found: " + answer.getQuestionId()));
+            Question question = questionsById.get(answer.getQuestionId());
+            if (question == null) {
+                throw new IllegalArgumentException("Question not found: " + answer.getQuestionId());
+            }
 
             totalMarks += question.getMarks();
 
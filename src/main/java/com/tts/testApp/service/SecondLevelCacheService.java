@@ -0,0 +1,129 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.config.CacheRegions;
+import com.tts.testApp.dto.CacheRegionStatsDTO;
+import com.tts.testApp.model.CreateTest;
+import com.tts.testApp.model.QuestionBank;
+import com.tts.testApp.model.Subject;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the Hibernate second-level cache of this node in line with writes
+ * made on other nodes, and reports hit/miss counts per region.
+ *
+ * Local writes already update the entity regions and the update timestamps
+ * region on commit. Remote writes do neither, so on a remote invalidation
+ * the entity is evicted along with all cached query results. This runs
+ * ahead of the other bus subscribers so caches built on top of these
+ * entities (e.g. ActiveTestCatalog) never rebuild from stale rows.
+ */
+@Service
+@Slf4j
+public class SecondLevelCacheService {
+
+    private static final Map<String, Class<?>> ENTITIES_BY_CACHE = Map.of(
+            CacheNames.SUBJECTS, Subject.class,
+            CacheNames.TESTS, CreateTest.class,
+            CacheNames.QUESTION_BANKS, QuestionBank.class);
+
+    private static final List<String> ENTITY_REGIONS = List.of(
+            CacheRegions.SUBJECT, CacheRegions.TEST, CacheRegions.QUESTION_BANK);
+
+    private static final List<String> QUERY_REGIONS = List.of(
+            CacheRegions.SUBJECT_QUERIES, CacheRegions.TEST_QUERIES,
+            CacheRegions.QUESTION_BANK_QUERIES, CacheRegions.DEFAULT_QUERY_RESULTS);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final String nodeId;
+
+    public SecondLevelCacheService(EntityManagerFactory entityManagerFactory,
+                                   CacheInvalidationBus cacheInvalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.nodeId = cacheInvalidationBus.getNodeId();
+        ENTITIES_BY_CACHE.forEach((cacheName, entityClass) -> cacheInvalidationBus.subscribeFirst(cacheName,
+                invalidation -> onInvalidation(entityClass, invalidation)));
+    }
+
+    public boolean isEnabled() {
+        return sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+    }
+
+    /**
+     * Hit, miss and put counts for every entity and query region.
+     * Empty when the cache or Hibernate statistics are disabled.
+     */
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatsDTO> stats = new ArrayList<>();
+        if (!isEnabled() || !statistics.isStatisticsEnabled()) {
+            return stats;
+        }
+
+        for (String region : ENTITY_REGIONS) {
+            stats.add(toDTO(region, "ENTITY", statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : QUERY_REGIONS) {
+            stats.add(toDTO(region, "QUERY", statistics.getQueryRegionStatistics(region)));
+        }
+        return stats;
+    }
+
+    /**
+     * Drop every cached entity and query result on this node
+     */
+    public void evictAll() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictAllRegions();
+        log.info("Evicted all second-level cache regions");
+    }
+
+    void onInvalidation(Class<?> entityClass, CacheInvalidation invalidation) {
+        if (!isEnabled() || nodeId.equals(invalidation.originNode())) {
+            return;
+        }
+
+        Cache cache = sessionFactory.getCache();
+        Long id = parseId(invalidation.key());
+        if (id != null) {
+            cache.evictEntityData(entityClass, id);
+        } else {
+            cache.evictEntityData(entityClass);
+        }
+        // The update timestamps region never saw the remote write
+        cache.evictQueryRegions();
+        log.debug("Evicted {} {} from second-level cache after change on {}",
+                entityClass.getSimpleName(), id != null ? id : "(all)", invalidation.originNode());
+    }
+
+    private static Long parseId(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static CacheRegionStatsDTO toDTO(String region, String type, CacheRegionStatistics regionStats) {
+        if (regionStats == null) {
+            return new CacheRegionStatsDTO(region, type, 0, 0, 0, 0.0);
+        }
+        long hits = regionStats.getHitCount();
+        long misses = regionStats.getMissCount();
+        long lookups = hits + misses;
+        return new CacheRegionStatsDTO(region, type, hits, misses, regionStats.getPutCount(),
+                lookups > 0 ? (double) hits / lookups : 0.0);
+    }
+}
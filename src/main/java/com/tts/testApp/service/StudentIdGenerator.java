@@ -0,0 +1,87 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hi/lo allocator for STD-xxx student IDs.
+ * A block of numbers is reserved from the id_sequences table in one short
+ * transaction, then IDs are handed out from memory until the block runs out.
+ * Blocks never overlap across threads or nodes; unused numbers in a block
+ * are simply skipped when the application restarts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentIdGenerator {
+
+    static final String SEQUENCE_NAME = "student_id";
+    private static final String PREFIX = "STD-";
+
+    private final IdSequenceService idSequenceService;
+    private final StudentRepository studentRepository;
+
+    @Value("${app.student-id.block-size:50}")
+    private int blockSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public String nextStudentId() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                long start = reserveBlock(blockSize);
+                next = start;
+                limit = start + blockSize;
+            }
+            return format(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve count consecutive IDs in one block, for bulk loads
+     */
+    public String[] nextStudentIds(int count) {
+        long start = reserveBlock(count);
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = format(start + i);
+        }
+        return ids;
+    }
+
+    private static String format(long number) {
+        return PREFIX + String.format("%03d", number);
+    }
+
+    private long reserveBlock(int size) {
+        OptionalLong start = idSequenceService.reserveBlock(SEQUENCE_NAME, size);
+        if (start.isPresent()) {
+            return start.getAsLong();
+        }
+
+        // First use: seed the sequence past any IDs issued by the old count-based scheme
+        Long highest = studentRepository.findHighestStudentNumber();
+        long initialValue = highest != null ? highest + 1 : 1;
+        try {
+            idSequenceService.createSequence(SEQUENCE_NAME, initialValue);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Sequence {} was created concurrently by another node", SEQUENCE_NAME);
+        }
+
+        return idSequenceService.reserveBlock(SEQUENCE_NAME, size)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Unable to reserve student ID block from sequence: " + SEQUENCE_NAME));
+    }
+}
@@ -0,0 +1,349 @@
+package com.tts.testApp.service;
+
+import com.opencsv.CSVReader;
+import com.tts.testApp.dto.StudentDTO;
+import com.tts.testApp.dto.StudentImportStatusDTO;
+import com.tts.testApp.exception.InvalidInputException;
+import com.tts.testApp.exception.ResourceNotFoundException;
+import com.tts.testApp.repository.StudentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk student onboarding from CSV.
+ * Expected CSV format:
+ * Full Name,Email,Password[,Enabled]
+ *
+ * The file is streamed row by row, passwords are hashed in parallel on the
+ * CPU-sized passwordHashingExecutor and students are inserted with JDBC
+ * batches of BATCH_SIZE rows.
+ */
+@Service
+@Slf4j
+public class StudentImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO students (student_id, full_name, email, password, role, enabled, " +
+                    "account_non_locked, registered_date, tests_taken) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final StudentRepository studentRepository;
+    private final StudentIdGenerator studentIdGenerator;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor passwordHashingExecutor;
+    private final Executor studentImportExecutor;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public StudentImportService(StudentRepository studentRepository,
+                                StudentIdGenerator studentIdGenerator,
+                                PasswordEncoder passwordEncoder,
+                                Validator validator,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor,
+                                @Qualifier("studentImportExecutor") Executor studentImportExecutor) {
+        this.studentRepository = studentRepository;
+        this.studentIdGenerator = studentIdGenerator;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.studentImportExecutor = studentImportExecutor;
+    }
+
+    /**
+     * Start a background import job for the uploaded CSV file
+     * @param file the uploaded CSV file
+     * @param startedBy username of the admin starting the import
+     * @return initial status of the job
+     * @throws RejectedExecutionException if the import queue is full
+     */
+    public StudentImportStatusDTO startImport(MultipartFile file, String startedBy) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidInputException("Please select a CSV file to upload");
+        }
+
+        String filename = file.getOriginalFilename();
+        if (filename == null || !filename.toLowerCase().endsWith(".csv")) {
+            throw new InvalidInputException("Only CSV files are allowed");
+        }
+
+        // The multipart temp file is removed when the request ends, so keep our own copy
+        Path tempFile = Files.createTempFile("student-import-", ".csv");
+        file.transferTo(tempFile);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), filename, startedBy);
+        evictFinishedJobs();
+        jobs.put(job.jobId, job);
+
+        try {
+            studentImportExecutor.execute(() -> runImport(job, tempFile));
+        } catch (RejectedExecutionException e) {
+            // Import queue is full: keep nothing, the admin can upload again later
+            jobs.remove(job.jobId);
+            Files.deleteIfExists(tempFile);
+            log.warn("Rejected student import of {} by {}: import queue is full", filename, startedBy);
+            throw e;
+        }
+        log.info("Queued student import job {} for file {} by {}", job.jobId, filename, startedBy);
+
+        return job.toStatus();
+    }
+
+    /**
+     * Get the progress of an import job
+     */
+    public StudentImportStatusDTO getImportStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + jobId);
+        }
+        return job.toStatus();
+    }
+
+    void runImport(ImportJob job, Path csvFile) {
+        job.status = "RUNNING";
+        long startNanos = System.nanoTime();
+
+        try (CSVReader csvReader = new CSVReader(Files.newBufferedReader(csvFile, StandardCharsets.UTF_8))) {
+            String[] header = csvReader.readNext();
+            if (header == null || header.length < 3) {
+                throw new IOException("CSV header must have at least 3 columns: Full Name, Email, Password");
+            }
+
+            Set<String> seenEmails = new HashSet<>();
+            List<PendingStudent> chunk = new ArrayList<>(BATCH_SIZE);
+            String[] row;
+            int rowNumber = 1;
+
+            while ((row = csvReader.readNext()) != null) {
+                rowNumber++;
+                job.totalRows.incrementAndGet();
+
+                PendingStudent pending = parseRow(row, rowNumber, seenEmails, job);
+                if (pending != null) {
+                    chunk.add(pending);
+                }
+
+                if (chunk.size() == BATCH_SIZE) {
+                    importChunk(chunk, job);
+                    chunk = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, job);
+            }
+
+            job.status = "COMPLETED";
+            log.info("Student import job {} completed in {} ms: {} imported, {} failed",
+                    job.jobId, (System.nanoTime() - startNanos) / 1_000_000,
+                    job.importedCount.get(), job.failedCount.get());
+
+        } catch (Exception e) {
+            log.error("Student import job {} failed: {}", job.jobId, e.getMessage(), e);
+            job.status = "FAILED";
+            job.message = e.getMessage();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            try {
+                Files.deleteIfExists(csvFile);
+            } catch (IOException e) {
+                log.warn("Could not delete temp import file {}: {}", csvFile, e.getMessage());
+            }
+        }
+    }
+
+    private PendingStudent parseRow(String[] row, int rowNumber, Set<String> seenEmails, ImportJob job) {
+        String fullName = getColumnValue(row, 0);
+        String email = getColumnValue(row, 1);
+        String password = getColumnValue(row, 2);
+        String enabled = getColumnValue(row, 3);
+
+        StudentDTO dto = new StudentDTO();
+        dto.setFullName(fullName);
+        dto.setEmail(email);
+        dto.setPassword(password);
+        dto.setEnabled(enabled == null || enabled.isEmpty() || Boolean.parseBoolean(enabled));
+
+        if (password == null || password.isEmpty()) {
+            job.rowFailed(rowNumber, email, "Password is required");
+            return null;
+        }
+
+        Set<ConstraintViolation<StudentDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            job.rowFailed(rowNumber, email, violations.iterator().next().getMessage());
+            return null;
+        }
+
+        String normalizedEmail = email.toLowerCase().trim();
+        if (!seenEmails.add(normalizedEmail)) {
+            job.rowFailed(rowNumber, email, "Duplicate email in file");
+            return null;
+        }
+
+        return new PendingStudent(rowNumber, fullName.trim(), normalizedEmail, password, dto.isEnabled());
+    }
+
+    private void importChunk(List<PendingStudent> chunk, ImportJob job) {
+        // Drop rows whose email is already registered (one query per chunk)
+        Set<String> existing = new HashSet<>(studentRepository.findExistingEmails(
+                chunk.stream().map(PendingStudent::email).collect(Collectors.toList())));
+
+        List<PendingStudent> toInsert = new ArrayList<>(chunk.size());
+        for (PendingStudent pending : chunk) {
+            if (existing.contains(pending.email())) {
+                job.rowFailed(pending.rowNumber(), pending.email(), "Email already exists");
+            } else {
+                toInsert.add(pending);
+            }
+        }
+
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        // Hash passwords in parallel on the bounded CPU pool
+        List<CompletableFuture<String>> hashes = toInsert.stream()
+                .map(pending -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(pending.password()), passwordHashingExecutor))
+                .collect(Collectors.toList());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < toInsert.size(); i++) {
+            PendingStudent pending = toInsert.get(i);
+            batchArgs.add(new Object[]{
+                    studentIdGenerator.nextStudentId(),
+                    pending.fullName(),
+                    pending.email(),
+                    hashes.get(i).join(),
+                    "ROLE_STUDENT",
+                    pending.enabled(),
+                    true,
+                    now,
+                    0
+            });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs));
+            job.importedCount.addAndGet(batchArgs.size());
+            job.processedRows.addAndGet(batchArgs.size());
+        } catch (DataAccessException e) {
+            // A row raced with another signup; retry one by one to pinpoint it
+            log.warn("Batch insert failed for job {}, retrying rows individually: {}", job.jobId, e.getMessage());
+            for (int i = 0; i < batchArgs.size(); i++) {
+                PendingStudent pending = toInsert.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, batchArgs.get(i));
+                    job.importedCount.incrementAndGet();
+                    job.processedRows.incrementAndGet();
+                } catch (DataAccessException rowError) {
+                    job.rowFailed(pending.rowNumber(), pending.email(), "Could not save student: "
+                            + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private String getColumnValue(String[] row, int index) {
+        if (index < row.length && row[index] != null) {
+            return row[index].trim();
+        }
+        return null;
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() < MAX_RETAINED_JOBS) {
+            return;
+        }
+        Iterator<ImportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext() && jobs.size() >= MAX_RETAINED_JOBS) {
+            if (iterator.next().finishedAt != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record PendingStudent(int rowNumber, String fullName, String email, String password, boolean enabled) {
+    }
+
+    static final class ImportJob {
+        private final String jobId;
+        private final String fileName;
+        private final String startedBy;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger totalRows = new AtomicInteger();
+        private final AtomicInteger processedRows = new AtomicInteger();
+        private final AtomicInteger importedCount = new AtomicInteger();
+        private final AtomicInteger failedCount = new AtomicInteger();
+        private final List<StudentImportStatusDTO.RowError> errors =
+                Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "QUEUED";
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String jobId, String fileName, String startedBy) {
+            this.jobId = jobId;
+            this.fileName = fileName;
+            this.startedBy = startedBy;
+        }
+
+        void rowFailed(int rowNumber, String email, String reason) {
+            failedCount.incrementAndGet();
+            processedRows.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new StudentImportStatusDTO.RowError(rowNumber, email, reason));
+            }
+        }
+
+        StudentImportStatusDTO toStatus() {
+            List<StudentImportStatusDTO.RowError> errorSnapshot;
+            synchronized (errors) {
+                errorSnapshot = new ArrayList<>(errors);
+            }
+            return new StudentImportStatusDTO(jobId, fileName, startedBy, status,
+                    totalRows.get(), processedRows.get(), importedCount.get(), failedCount.get(),
+                    startedAt, finishedAt, message, errorSnapshot);
+        }
+    }
+}
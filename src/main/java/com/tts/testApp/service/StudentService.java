@@ -5,6 +5,7 @@ import com.tts.testApp.exception.DuplicateResourceException;
 import com.tts.testApp.exception.InvalidInputException;
 import com.tts.testApp.exception.ResourceNotFoundException;
 import com.tts.testApp.model.Student;
+import com.tts.testApp.repository.AdminRepository;
 import com.tts.testApp.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +24,9 @@ import java.util.stream.Collectors;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StudentIdGenerator studentIdGenerator;
 
     @Transactional
     public Student createStudent(StudentDTO studentDTO) {
@@ -40,10 +43,11 @@ public class StudentService {
         if (studentRepository.existsByEmail(studentDTO.getEmail())) {
             throw new DuplicateResourceException("Email already exists: " + studentDTO.getEmail());
         }
+        requireNotAdminLogin(studentDTO.getEmail());
 
         // Create new student
         Student student = new Student();
-        student.setStudentId(generateStudentId());
+        student.setStudentId(studentIdGenerator.nextStudentId());
         student.setFullName(studentDTO.getFullName().trim());
         student.setEmail(studentDTO.getEmail().toLowerCase().trim());
         student.setPassword(passwordEncoder.encode(studentDTO.getPassword()));
@@ -112,6 +116,7 @@ public class StudentService {
             if (studentRepository.existsByEmail(studentDTO.getEmail())) {
                 throw new DuplicateResourceException("Email already exists: " + studentDTO.getEmail());
             }
+            requireNotAdminLogin(studentDTO.getEmail());
             student.setEmail(studentDTO.getEmail().toLowerCase().trim());
         }
 
@@ -173,23 +178,6 @@ public class StudentService {
                 student.getStudentId(), student.getTestsTaken());
     }
 
-    private String generateStudentId() {
-        String prefix = "STD-";
-        Long count = studentRepository.count();
-        String number = String.format("%03d", count + 1);
-
-        String studentId = prefix + number;
-
-        // Ensure uniqueness
-        while (studentRepository.existsByStudentId(studentId)) {
-            count++;
-            number = String.format("%03d", count + 1);
-            studentId = prefix + number;
-        }
-
-        return studentId;
-    }
-
     public List<StudentDTO> searchStudents(String query) {
         log.info("Searching students with query: {}", query);
 
@@ -203,4 +191,12 @@ public class StudentService {
                 .map(StudentDTO::new)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Admins log in with their username and students with their email,
+    // so a student email must not match an existing admin username
+    private void requireNotAdminLogin(String email) {
+        if (adminRepository.existsByUsername(email.toLowerCase().trim())) {
+            throw new DuplicateResourceException("Email already exists: " + email);
+        }
+    }
+}
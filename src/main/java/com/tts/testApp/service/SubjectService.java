@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 public class SubjectService {
 
     private final SubjectRepository subjectRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Transactional
     public SubjectDTO createSubject(SubjectDTO subjectDTO) {
@@ -45,6 +46,7 @@ public class SubjectService {
         // Save subject
         Subject savedSubject = subjectRepository.save(subject);
         log.info("Subject created successfully with ID: {}", savedSubject.getId());
+        cacheInvalidationBus.publish(CacheNames.SUBJECTS, savedSubject.getId());
 
         return convertToDTO(savedSubject);
     }
@@ -109,6 +111,7 @@ public class SubjectService {
 
         Subject updatedSubject = subjectRepository.save(existingSubject);
         log.info("Subject updated successfully with ID: {}", updatedSubject.getId());
+        cacheInvalidationBus.publish(CacheNames.SUBJECTS, updatedSubject.getId());
 
         return convertToDTO(updatedSubject);
     }
@@ -136,6 +139,7 @@ public class SubjectService {
 
         subjectRepository.delete(subject);
         log.info("Subject deleted successfully with ID: {}", id);
+        cacheInvalidationBus.publish(CacheNames.SUBJECTS, id);
     }
 
     @Transactional(readOnly = true)
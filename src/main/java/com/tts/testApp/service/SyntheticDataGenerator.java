@@ -0,0 +1,418 @@
+package com.tts.testApp.service;
+
+import com.opencsv.CSVWriter;
+import com.tts.testApp.dto.TestResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with a large synthetic dataset for performance work:
+ * subjects (each with a MOCK and a FINAL test and one question bank),
+ * questions with a skewed difficulty mix, students and test attempts.
+ * Rows are written with JDBC batches of app.datagen.batch-size, one
+ * transaction per batch, so it works the same on H2 and MySQL.
+ *
+ * Every value comes from one Random seeded with app.datagen.seed, so the
+ * same settings produce the same data (dates are relative to the day of
+ * the run). Each question bank is also written as an upload-format CSV
+ * file into app.upload.dir, giving ingest benchmarks matching inputs.
+ *
+ * Runs at startup with the datagen profile (see application-datagen.yaml)
+ * and refuses to run twice against the same database. Rows are written
+ * behind Hibernate's back, so run it against a database no application
+ * node is serving from, or restart the nodes afterwards.
+ */
+@Service
+@ConditionalOnProperty(name = "app.datagen.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    static final String SUBJECT_CODE_PREFIX = "SYN-";
+    static final String EMAIL_DOMAIN = "@synthetic.test";
+
+    private static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+    private static final String[] OPTIONS = {"A", "B", "C", "D"};
+    private static final String[] CSV_HEADER = {"Question", "Option A", "Option B", "Option C", "Option D",
+            "Correct Answer", "Explanation", "Marks", "Difficulty"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Meera", "Arjun",
+            "Kavya", "Ishaan", "Diya", "Kabir", "Sara", "Aditya", "Nisha", "Rahul", "Pooja", "Karan", "Sneha"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Gupta", "Nair", "Singh",
+            "Kulkarni", "Das", "Mehta", "Joshi", "Rao", "Khan", "Verma", "Menon", "Bose"};
+
+    private static final String SUBJECT_SQL =
+            "INSERT INTO subjects (name, subject_code, description, active, total_questions, students_enrolled, " +
+                    "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String TEST_SQL =
+            "INSERT INTO tests (subject_id, test_name, test_type, total_questions, duration, passing_percentage, " +
+                    "marks_per_question, total_marks, tab_switch_limit, active, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String BANK_SQL =
+            "INSERT INTO question_banks (file_name, original_file_name, file_path, subject_id, total_questions, " +
+                    "active, description, file_size, created_at, last_updated, uploaded_by) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String QUESTION_SQL =
+            "INSERT INTO questions (question_text, optiona, optionb, optionc, optiond, correct_answer, " +
+                    "explanation, question_bank_id, active, marks, difficulty_level, created_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String STUDENT_SQL =
+            "INSERT INTO students (student_id, full_name, email, password, role, enabled, " +
+                    "account_non_locked, registered_date, tests_taken) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ATTEMPT_SQL =
+            "INSERT INTO test_attempts (student_id, test_id, question_bank_id, total_questions, correct_answers, " +
+                    "wrong_answers, unanswered, total_marks, obtained_marks, score_percentage, grade, passed, " +
+                    "time_taken_seconds, tab_switches, username, attempt_date) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final StudentIdGenerator studentIdGenerator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.subjects:500}")
+    private int subjectCount;
+
+    @Value("${app.datagen.questions:1000000}")
+    private int questionCount;
+
+    /** Relative weights of EASY, MEDIUM and HARD questions */
+    @Value("${app.datagen.difficulty-weights:60,30,10}")
+    private int[] difficultyWeights;
+
+    @Value("${app.datagen.students:200000}")
+    private int studentCount;
+
+    @Value("${app.datagen.test-attempts:2000000}")
+    private int attemptCount;
+
+    /** 1 spreads attempts evenly over students; higher values concentrate them on fewer students */
+    @Value("${app.datagen.attempt-skew:2.0}")
+    private double attemptSkew;
+
+    @Value("${app.datagen.student-password:Password1!}")
+    private String studentPassword;
+
+    @Value("${app.datagen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.datagen.write-csv:true}")
+    private boolean writeCsv;
+
+    @Value("${app.upload.dir:${user.home}/uploads/question-banks}")
+    private String uploadDir;
+
+    /** Shut the application down once the data is written */
+    @Value("${app.datagen.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    void generate() throws IOException {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM subjects WHERE subject_code LIKE ?", Integer.class, SUBJECT_CODE_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Synthetic data already present (" + existing
+                    + " subjects with code " + SUBJECT_CODE_PREFIX + "*); use an empty database");
+        }
+
+        long startNanos = System.nanoTime();
+        Random random = new Random(seed);
+        // Dates are spread over the year before the start of today
+        LocalDateTime baseTime = LocalDate.now().atStartOfDay();
+        log.info("Generating synthetic data (seed {}): {} subjects, {} questions, {} students, {} test attempts",
+                seed, subjectCount, questionCount, studentCount, attemptCount);
+
+        List<SubjectRows> subjects = generateSubjects(random, baseTime);
+        generateQuestions(random, baseTime, subjects);
+        int[] attemptsPerStudent = distributeAttempts(random);
+        List<Long> studentIds = generateStudents(random, baseTime, attemptsPerStudent);
+        generateAttempts(random, baseTime, subjects, studentIds, attemptsPerStudent);
+
+        log.info("Synthetic data generated in {} s", (System.nanoTime() - startNanos) / 1_000_000_000);
+    }
+
+    /**
+     * Subjects with their MOCK and FINAL tests and an (empty) question bank row
+     */
+    private List<SubjectRows> generateSubjects(Random random, LocalDateTime baseTime) {
+        List<SubjectRows> subjects = new ArrayList<>(subjectCount);
+        List<Object[]> tests = new ArrayList<>(subjectCount * 2);
+        for (int i = 1; i <= subjectCount; i++) {
+            String code = SUBJECT_CODE_PREFIX + String.format("%04d", i);
+            Timestamp createdAt = Timestamp.valueOf(baseTime.minusDays(400 + random.nextInt(300)));
+            long subjectId = insertReturningId(SUBJECT_SQL, "Synthetic Subject " + code, code,
+                    "Generated subject " + i, true, 0, 0, createdAt, createdAt);
+
+            TestRows mock = new TestRows("MOCK", 30, 30);
+            TestRows finalTest = new TestRows("FINAL", 50, 60);
+            subjects.add(new SubjectRows(subjectId, code, mock, finalTest));
+            for (TestRows test : List.of(mock, finalTest)) {
+                tests.add(new Object[]{subjectId, code + " " + test.type + " Test", test.type, test.totalQuestions,
+                        test.durationMinutes, test.type.equals("FINAL") ? 40 : 35, 1, test.totalQuestions, 3, true,
+                        createdAt, createdAt});
+            }
+        }
+        insertBatched(TEST_SQL, tests);
+
+        Map<Long, SubjectRows> byId = new HashMap<>();
+        subjects.forEach(subject -> byId.put(subject.id, subject));
+        jdbcTemplate.query(
+                "SELECT t.id, t.subject_id, t.test_type FROM tests t JOIN subjects s ON s.id = t.subject_id " +
+                        "WHERE s.subject_code LIKE ?",
+                rs -> {
+                    SubjectRows subject = byId.get(rs.getLong(2));
+                    (rs.getString(3).equals("MOCK") ? subject.mock : subject.finalTest).id = rs.getLong(1);
+                },
+                SUBJECT_CODE_PREFIX + "%");
+        log.info("Inserted {} subjects and {} tests", subjects.size(), tests.size());
+        return subjects;
+    }
+
+    /**
+     * One question bank per subject; questions are split evenly across banks
+     */
+    private void generateQuestions(Random random, LocalDateTime baseTime, List<SubjectRows> subjects)
+            throws IOException {
+        int totalWeight = 0;
+        for (int weight : difficultyWeights) {
+            totalWeight += weight;
+        }
+        Path uploadPath = Paths.get(uploadDir);
+        if (writeCsv) {
+            Files.createDirectories(uploadPath);
+        }
+
+        int inserted = 0;
+        for (int s = 0; s < subjects.size(); s++) {
+            SubjectRows subject = subjects.get(s);
+            int bankSize = questionCount / subjects.size() + (s < questionCount % subjects.size() ? 1 : 0);
+            Timestamp createdAt = Timestamp.valueOf(baseTime.minusDays(random.nextInt(365)));
+
+            List<String[]> rows = new ArrayList<>(bankSize);
+            for (int q = 1; q <= bankSize; q++) {
+                String difficulty = pick(random, difficultyWeights, totalWeight);
+                rows.add(new String[]{
+                        subject.code + " question " + q + ": which option is correct for case " + random.nextInt(10_000) + "?",
+                        "Option A " + random.nextInt(1000), "Option B " + random.nextInt(1000),
+                        "Option C " + random.nextInt(1000), "Option D " + random.nextInt(1000),
+                        OPTIONS[random.nextInt(OPTIONS.length)],
+                        "Explanation for " + subject.code + " question " + q,
+                        "1", difficulty});
+            }
+
+            String fileName = "QB_" + subject.code.replace('-', '_') + ".csv";
+            Path filePath = uploadPath.resolve(fileName);
+            long fileSize = writeCsv ? writeCsv(filePath, rows) : 0L;
+
+            long bankId = insertReturningId(BANK_SQL, fileName, subject.code.toLowerCase() + "-questions.csv",
+                    filePath.toString(), subject.id, bankSize, true, "Generated question bank", fileSize,
+                    createdAt, createdAt, "datagen");
+            subject.questionBankId = bankId;
+
+            List<Object[]> batch = new ArrayList<>(bankSize);
+            for (String[] row : rows) {
+                batch.add(new Object[]{row[0], row[1], row[2], row[3], row[4], row[5], row[6], bankId, true,
+                        1, row[8], createdAt});
+            }
+            insertBatched(QUESTION_SQL, batch);
+            jdbcTemplate.update("UPDATE subjects SET total_questions = ? WHERE id = ?", bankSize, subject.id);
+
+            inserted += bankSize;
+            if ((s + 1) % 50 == 0 || s + 1 == subjects.size()) {
+                log.info("Inserted {} / {} questions", inserted, questionCount);
+            }
+        }
+    }
+
+    /**
+     * Attempts per student index, skewed towards low indexes by attemptSkew
+     */
+    private int[] distributeAttempts(Random random) {
+        int[] attempts = new int[studentCount];
+        if (studentCount == 0) {
+            return attempts;
+        }
+        for (int i = 0; i < attemptCount; i++) {
+            attempts[(int) (Math.pow(random.nextDouble(), attemptSkew) * studentCount)]++;
+        }
+        return attempts;
+    }
+
+    /**
+     * @return database ids of the inserted students, in student index order
+     */
+    private List<Long> generateStudents(Random random, LocalDateTime baseTime, int[] attemptsPerStudent) {
+        // One hash for everyone: generating N hashes would take hours at the production cost
+        String passwordHash = passwordEncoder.encode(studentPassword);
+        String[] studentIds = studentIdGenerator.nextStudentIds(studentCount);
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < studentCount; i++) {
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Timestamp registered = Timestamp.valueOf(baseTime.minusDays(366 + random.nextInt(365)));
+            batch.add(new Object[]{studentIds[i], fullName, studentEmail(i), passwordHash, "ROLE_STUDENT",
+                    true, true, registered, attemptsPerStudent[i]});
+            if (batch.size() == batchSize) {
+                insertBatched(STUDENT_SQL, batch);
+                batch.clear();
+                if ((i + 1) % (batchSize * 50) == 0) {
+                    log.info("Inserted {} / {} students", i + 1, studentCount);
+                }
+            }
+        }
+        insertBatched(STUDENT_SQL, batch);
+        log.info("Inserted {} students", studentCount);
+
+        // Inserted in index order, so ids ascend with the index
+        return jdbcTemplate.queryForList("SELECT id FROM students WHERE email LIKE ? ORDER BY id",
+                Long.class, "%" + EMAIL_DOMAIN);
+    }
+
+    private void generateAttempts(Random random, LocalDateTime baseTime, List<SubjectRows> subjects,
+                                  List<Long> studentIds, int[] attemptsPerStudent) {
+        TestResultDTO result = new TestResultDTO();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int inserted = 0;
+        for (int i = 0; i < studentCount; i++) {
+            for (int a = 0; a < attemptsPerStudent[i]; a++) {
+                SubjectRows subject = subjects.get(random.nextInt(subjects.size()));
+                TestRows test = random.nextInt(4) == 0 ? subject.finalTest : subject.mock;
+
+                int total = test.totalQuestions;
+                double ability = Math.min(1.0, Math.max(0.0, 0.62 + random.nextGaussian() * 0.18));
+                int unanswered = random.nextInt(Math.max(1, total / 10));
+                int correct = Math.min(total - unanswered, (int) Math.round(ability * total));
+                result.setScorePercentage(correct * 100.0 / total);
+                String grade = result.calculateGrade();
+
+                batch.add(new Object[]{studentIds.get(i), test.id, subject.questionBankId, total, correct,
+                        total - unanswered - correct, unanswered, total, correct, result.getScorePercentage(),
+                        grade, result.getScorePercentage() >= 35,
+                        120 + random.nextInt(test.durationMinutes * 60 - 120),
+                        random.nextInt(10) == 0 ? 1 + random.nextInt(3) : 0,
+                        studentEmail(i),
+                        Timestamp.valueOf(baseTime.minusSeconds(1 + random.nextInt(365 * 24 * 3600)))});
+                if (batch.size() == batchSize) {
+                    insertBatched(ATTEMPT_SQL, batch);
+                    batch.clear();
+                    inserted += batchSize;
+                    if (inserted % (batchSize * 100) == 0) {
+                        log.info("Inserted {} / {} test attempts", inserted, attemptCount);
+                    }
+                }
+            }
+        }
+        insertBatched(ATTEMPT_SQL, batch);
+        log.info("Inserted {} test attempts", attemptCount);
+    }
+
+    static String studentEmail(int index) {
+        return String.format("student%06d", index + 1) + EMAIL_DOMAIN;
+    }
+
+    private static String pick(Random random, int[] weights, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return DIFFICULTIES[i];
+            }
+        }
+        return DIFFICULTIES[DIFFICULTIES.length - 1];
+    }
+
+    private static long writeCsv(Path file, List<String[]> rows) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             CSVWriter csvWriter = new CSVWriter(writer)) {
+            csvWriter.writeNext(CSV_HEADER);
+            csvWriter.writeAll(rows);
+        }
+        return Files.size(file);
+    }
+
+    private void insertBatched(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    private long insertReturningId(String sql, Object... values) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private static final class SubjectRows {
+        private final long id;
+        private final String code;
+        private final TestRows mock;
+        private final TestRows finalTest;
+        private long questionBankId;
+
+        SubjectRows(long id, String code, TestRows mock, TestRows finalTest) {
+            this.id = id;
+            this.code = code;
+            this.mock = mock;
+            this.finalTest = finalTest;
+        }
+    }
+
+    private static final class TestRows {
+        private final String type;
+        private final int totalQuestions;
+        private final int durationMinutes;
+        private long id;
+
+        TestRows(String type, int totalQuestions, int durationMinutes) {
+            this.type = type;
+            this.totalQuestions = totalQuestions;
+            this.durationMinutes = durationMinutes;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.tts.testApp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel: timers in a fixed set of buckets instead of
+ * one scheduled task or heap entry each.
+ *
+ * There are LEVELS wheels of SLOTS buckets. Level 0 holds timers due within
+ * SLOTS ticks, one bucket per tick; each level above covers SLOTS times the
+ * span of the one below, one bucket per span of the level below. Every tick
+ * the wheel expires one level-0 bucket, and when the lower levels come
+ * round it moves the next bucket of the level above down, so each timer is
+ * moved at most LEVELS - 1 times. Scheduling and cancelling are O(1) (each
+ * bucket is an intrusive doubly linked list) and memory is the bucket
+ * heads plus one node per timer. With 1 second ticks the four levels reach
+ * about 194 days; later deadlines wait in the last bucket until they are in
+ * range.
+ *
+ * Thread-safe; all operations take one lock.
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Timer<T>[][] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Guarded by lock; the last tick processed */
+    private long currentTick;
+    /** Guarded by lock */
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new Timer[LEVELS][SLOTS];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Add a timer. One due at or before the current tick expires on the next.
+     * @return handle for cancelling it
+     */
+    Timer<T> schedule(T value, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(value, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        lock.lock();
+        try {
+            place(timer, currentTick + 1);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+        return timer;
+    }
+
+    /**
+     * @return false if the timer already expired or was cancelled
+     */
+    boolean cancel(Timer<T> timer) {
+        lock.lock();
+        try {
+            if (timer.bucket == null) {
+                return false;
+            }
+            unlink(timer);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advance the wheel to the given time
+     * @return values of the timers that came due, removed from the wheel
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = 1; level < LEVELS; level++) {
+                    if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                        break;
+                    }
+                    cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                }
+                int slot = (int) currentTick & SLOT_MASK;
+                Timer<T> timer = buckets[0][slot];
+                buckets[0][slot] = null;
+                while (timer != null) {
+                    Timer<T> next = timer.next;
+                    timer.bucket = null;
+                    timer.prev = timer.next = null;
+                    expired.add(timer.value);
+                    size--;
+                    timer = next;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move one bucket's timers to the buckets they now belong in, all on lower levels
+     */
+    private void cascade(int level, int slot) {
+        Timer<T> timer = buckets[level][slot];
+        buckets[level][slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = timer.next = null;
+            // Level 0's bucket for the current tick is expired right after the cascades
+            place(timer, currentTick);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer, long earliestTick) {
+        long ticks = Math.max(timer.deadlineTick, earliestTick) - currentTick;
+        long tick = currentTick + Math.min(ticks, MAX_TICKS - 1);
+        int level = 0;
+        while (level < LEVELS - 1 && ticks >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+        Timer<T>[] wheel = buckets[level];
+        timer.bucket = wheel;
+        timer.slot = slot;
+        timer.next = wheel[slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        wheel[slot] = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            timer.bucket[timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.bucket = null;
+        timer.prev = timer.next = null;
+    }
+
+    static final class Timer<T> {
+        private final T value;
+        private final long deadlineTick;
+        /** Guarded by the wheel's lock; null once expired or cancelled */
+        private Timer<T>[] bucket;
+        private int slot;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
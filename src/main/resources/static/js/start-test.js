@@ -5,6 +5,25 @@ function getCsrfToken() {
     return token && header ? { header: header.content, token: token.content } : null;
 }
 
+// The server sheds load with 429/503 and Retry-After before doing any work,
+// so those requests are safe to send again once the server asks us to.
+const MAX_BUSY_RETRIES = 5;
+
+async function fetchWithRetry(url, options) {
+    for (let attempt = 0; ; attempt++) {
+        const response = await fetch(url, options);
+        const retryAfter = response.headers.get('Retry-After');
+        const busy = (response.status === 429 || response.status === 503) && retryAfter !== null;
+        if (!busy || attempt >= MAX_BUSY_RETRIES) {
+            return response;
+        }
+        // Spread retries so shed clients do not all come back at the same moment
+        const delayMs = (parseInt(retryAfter, 10) || 1) * 1000 * (1 + Math.random());
+        console.warn(`Server busy (${response.status}), retrying ${url} in ${Math.round(delayMs)} ms`);
+        await new Promise(resolve => setTimeout(resolve, delayMs));
+    }
+}
+
 // ==================== TEST CONFIGURATION ====================
 let testState = {
     currentQuestion: 0,
@@ -13,6 +32,7 @@ let testState = {
     timeRemaining: testConfig.duration,
     timerInterval: null,
     startTime: null,
+    sessionId: null,
     isTestActive: false,
     fullscreenExited: false,
     questions: []
@@ -51,8 +71,14 @@ async function startTest() {
         console.log('Configuration validated successfully');
         showLoadingState();
 
+        if (await resumeTest()) {
+            console.log('========== TEST RESUMED ==========');
+            return;
+        }
+
         // Prepare request payload
         const requestBody = {
+            testId: testConfig.testId,
             questionBankId: testConfig.questionBankId,
             testName: testConfig.testName || 'Online Test',
             totalQuestions: testConfig.totalQuestions,
@@ -76,7 +102,7 @@ async function startTest() {
         console.log('Sending POST request to /api/test/initialize...');
 
         // Make API call
-        const response = await fetch('/api/test/initialize', {
+        const response = await fetchWithRetry('/api/test/initialize', {
             method: 'POST',
             headers: headers,
             body: JSON.stringify(requestBody)
@@ -183,22 +209,11 @@ async function startTest() {
             answersCount: Object.keys(testState.answers).length
         });
 
-        // Hide start screen and show test screen
-        console.log('Switching to test screen...');
-        document.getElementById('startScreen').style.display = 'none';
-        document.getElementById('testScreen').style.display = 'block';
-
-        // Activate test
-        testState.isTestActive = true;
-        testState.timeRemaining = testConfig.duration;
-
-        // Initialize UI
-        console.log('Initializing test UI...');
-        enterFullscreen();
-        initializeTest();
-        startTimer();
-        setupTabSwitchDetection();
-        setupFullscreenDetection();
+        testState.sessionId = data.sessionId || null;
+        // The server enforces the scheduled test's settings; the page values were only for display
+        testConfig.duration = data.duration * 60;
+        testConfig.tabSwitchLimit = data.tabSwitchLimit;
+        beginTest(testConfig.duration);
 
         console.log('========== TEST STARTED SUCCESSFULLY ==========');
 
@@ -212,6 +227,69 @@ async function startTest() {
     }
 }
 
+function beginTest(remainingSeconds) {
+    // Hide start screen and show test screen
+    console.log('Switching to test screen...');
+    document.getElementById('startScreen').style.display = 'none';
+    document.getElementById('testScreen').style.display = 'block';
+
+    // Activate test
+    testState.isTestActive = true;
+
+    // Initialize UI
+    console.log('Initializing test UI...');
+    enterFullscreen();
+    initializeTest();
+    testState.timeRemaining = remainingSeconds;
+    startTimer();
+    setupTabSwitchDetection();
+    setupFullscreenDetection();
+}
+
+/**
+ * Continue an unfinished attempt at this test (after a crash, reload or
+ * network drop) with its questions, autosaved answers and remaining time.
+ * @returns true if an attempt was resumed
+ */
+async function resumeTest() {
+    try {
+        const response = await fetchWithRetry(`/api/test/resume?testId=${encodeURIComponent(testConfig.testId)}`, {
+            headers: { 'Accept': 'application/json' }
+        });
+        if (!response.ok) {
+            return false;
+        }
+        const data = await response.json();
+        if (!data.success || !Array.isArray(data.questions) || data.questions.length === 0) {
+            return false;
+        }
+        console.log(`Resuming attempt ${data.sessionId}: ${Object.keys(data.answers).length} answers saved, `
+            + `${data.remainingSeconds}s left`);
+
+        testState.questions = data.questions.map((q, index) => ({
+            id: q.id,
+            questionNumber: index + 1,
+            question: q.questionText,
+            options: [q.optionA, q.optionB, q.optionC, q.optionD],
+            marks: q.marks || 1,
+            difficultyLevel: q.difficultyLevel || 'MEDIUM'
+        }));
+        testState.answers = { ...data.answers };
+        testState.sessionId = data.sessionId;
+        autosave.seq = data.seq;
+        testConfig.tabSwitchLimit = data.tabSwitchLimit;
+
+        beginTest(data.remainingSeconds);
+        if (data.remainingSeconds <= 0) {
+            autoSubmitTest('Time expired');
+        }
+        return true;
+    } catch (error) {
+        console.warn('Could not check for an unfinished attempt:', error.message);
+        return false;
+    }
+}
+
 function showLoadingState() {
     console.log('Showing loading state...');
     const startButton = document.querySelector('.btn-primary');
@@ -263,6 +341,7 @@ function setupFullscreenDetection() {
             console.warn('WARNING: Fullscreen exited by user');
             testState.fullscreenExited = true;
             testState.tabSwitches++;
+            reportProctoringEvent('FULLSCREEN_EXIT');
             showWarningBanner();
 
             if (testState.tabSwitches >= testConfig.tabSwitchLimit) {
@@ -366,9 +445,133 @@ function saveAnswer(questionId, optionLetter) {
         if (option) option.classList.add('selected');
     }
 
+    queueAutosave(questionId, optionLetter);
     renderQuestionNavigator();
 }
 
+// ==================== AUTOSAVE ====================
+// Answers changed since the last acknowledged autosave are sent together
+// a moment after the last click, one request at a time; a failed autosave
+// is merged back and retried with the next one.
+const AUTOSAVE_DELAY_MS = 1500;
+const autosave = { seq: 0, pending: {}, timer: null, inFlight: false };
+
+function queueAutosave(questionId, optionLetter) {
+    if (!testState.sessionId) return;
+    autosave.pending[questionId] = optionLetter;
+    scheduleAutosave();
+}
+
+function scheduleAutosave() {
+    if (!autosave.timer && Object.keys(autosave.pending).length > 0) {
+        autosave.timer = setTimeout(sendAutosave, AUTOSAVE_DELAY_MS);
+    }
+}
+
+async function sendAutosave() {
+    autosave.timer = null;
+    if (autosave.inFlight || !testState.sessionId) return;
+
+    const sent = autosave.pending;
+    autosave.pending = {};
+    const answers = Object.entries(sent).map(([questionId, selectedOption]) => ({
+        questionId: Number(questionId),
+        selectedOption: selectedOption
+    }));
+    if (answers.length === 0) return;
+
+    const csrf = getCsrfToken();
+    const headers = { 'Content-Type': 'application/json' };
+    if (csrf) {
+        headers[csrf.header] = csrf.token;
+    }
+
+    autosave.inFlight = true;
+    try {
+        const response = await fetch('/api/test/autosave', {
+            method: 'POST',
+            headers: headers,
+            body: JSON.stringify({ sessionId: testState.sessionId, seq: ++autosave.seq, answers: answers }),
+            // Lets the last autosave finish if the page is being closed
+            keepalive: true
+        });
+        if (response.status === 404) {
+            console.warn('Autosave session is no longer open; answers are kept until submit');
+            testState.sessionId = null;
+        } else if (!response.ok) {
+            throw new Error(`Server error: ${response.status}`);
+        }
+    } catch (error) {
+        console.warn('Autosave failed, retrying with the next one:', error.message);
+        // Choices made while this autosave was in flight are newer
+        autosave.pending = { ...sent, ...autosave.pending };
+    } finally {
+        autosave.inFlight = false;
+        if (testState.isTestActive) {
+            scheduleAutosave();
+        }
+    }
+}
+
+window.addEventListener('pagehide', () => {
+    if (testState.isTestActive) {
+        sendAutosave();
+    }
+});
+
+// ==================== PROCTORING ====================
+// Tab switches and fullscreen exits are reported at once; focus loss, which
+// does not count toward the limit, goes along with the next report. The
+// server keeps its own count, so a limit reached across a reload or resume
+// still ends the test.
+const PROCTORING_DELAY_MS = 2000;
+const proctoring = { pending: [], timer: null };
+
+function reportProctoringEvent(type) {
+    if (!testState.sessionId) return;
+    proctoring.pending.push({ type: type, occurredAt: Date.now() });
+    if (type !== 'FOCUS_LOST') {
+        sendProctoringEvents();
+    } else if (!proctoring.timer) {
+        proctoring.timer = setTimeout(sendProctoringEvents, PROCTORING_DELAY_MS);
+    }
+}
+
+async function sendProctoringEvents() {
+    clearTimeout(proctoring.timer);
+    proctoring.timer = null;
+    const events = proctoring.pending.splice(0, 100);
+    if (events.length === 0 || !testState.sessionId) return;
+
+    const csrf = getCsrfToken();
+    const headers = { 'Content-Type': 'application/json' };
+    if (csrf) {
+        headers[csrf.header] = csrf.token;
+    }
+
+    try {
+        const response = await fetch('/api/test/proctoring', {
+            method: 'POST',
+            headers: headers,
+            body: JSON.stringify({ sessionId: testState.sessionId, events: events }),
+            keepalive: true
+        });
+        if (!response.ok) {
+            throw new Error(`Server error: ${response.status}`);
+        }
+        const data = await response.json();
+        if (data.violations > testState.tabSwitches) {
+            testState.tabSwitches = data.violations;
+        }
+        if (data.limitReached) {
+            autoSubmitTest('Tab switch limit exceeded');
+        }
+    } catch (error) {
+        // The local count still enforces the limit and is sent with the submission
+        console.warn('Proctoring report failed:', error.message);
+    }
+}
+
 // ==================== NAVIGATION ====================
 function goToQuestion(index) {
     if (index < 0 || index >= testState.questions.length) return;
@@ -453,6 +656,7 @@ function setupTabSwitchDetection() {
     const tabSwitchHandler = function() {
         if (document.hidden && testState.isTestActive) {
             testState.tabSwitches++;
+            reportProctoringEvent('TAB_SWITCH');
             console.warn('WARNING: Tab switch detected. Count:', testState.tabSwitches);
             showWarningBanner();
 
@@ -465,6 +669,11 @@ function setupTabSwitchDetection() {
     };
 
     document.addEventListener('visibilitychange', tabSwitchHandler);
+    window.addEventListener('blur', () => {
+        if (!document.hidden && testState.isTestActive) {
+            reportProctoringEvent('FOCUS_LOST');
+        }
+    });
 }
 
 function showWarningBanner() {
@@ -557,7 +766,8 @@ async function finishTest() {
             questionBankId: testConfig.questionBankId,
             answers: answers,
             timeTakenSeconds: timeTaken,
-            tabSwitches: testState.tabSwitches
+            tabSwitches: testState.tabSwitches,
+            sessionId: testState.sessionId
         };
 
         console.log('Submission payload:', submission);
@@ -571,7 +781,7 @@ async function finishTest() {
 
         console.log('Sending POST request to /api/test/submit...');
 
-        const response = await fetch('/api/test/submit', {
+        const response = await fetchWithRetry('/api/test/submit', {
             method: 'POST',
             headers: headers,
             body: JSON.stringify(submission)
@@ -603,6 +813,13 @@ async function finishTest() {
         console.log('========== SUBMIT RESPONSE ==========');
         console.log('Response data:', data);
 
+        // The server already submitted this attempt when its time ran out
+        if (response.status === 409) {
+            alert(data.error);
+            window.location.href = '/student-dashboard';
+            return;
+        }
+
         if (!response.ok) {
             console.error('ERROR: Response not OK');
             throw new Error(data.error || `Server error: ${response.status}`);
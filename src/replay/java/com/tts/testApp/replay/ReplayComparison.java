@@ -0,0 +1,106 @@
+package com.tts.testApp.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compares the latency distributions of two TrafficReplay results, usually
+ * the same capture replayed against two builds, and prints p50/p95/p99 per
+ * endpoint with the change.
+ *
+ * An endpoint regresses when its p95 or p99 is worse than the baseline by
+ * more than the threshold. Endpoints with fewer than minSamples requests in
+ * either run are listed but not judged: their tail percentiles are a single
+ * request.
+ *
+ * Usage: ReplayComparison <baseline.json> <result.json> [thresholdPercent] [failOnRegression] [minSamples]
+ * Runs after the replay in the replay Maven profile; see pom.xml.
+ */
+public final class ReplayComparison {
+
+    private static final String[] PERCENTILES = {"p50Ms", "p95Ms", "p99Ms"};
+
+    private ReplayComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReplayComparison <baseline.json> <result.json> [thresholdPercent] "
+                    + "[failOnRegression] [minSamples]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        boolean failOnRegression = args.length > 3 && Boolean.parseBoolean(args[3]);
+        int minSamples = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        if (!resultFile.isFile()) {
+            System.out.printf("No replay result at %s%n", resultFile);
+            return;
+        }
+        if (!baselineFile.isFile()) {
+            System.out.printf("No replay baseline at %s; to compare the next build with this one, copy %s there%n",
+                    baselineFile, resultFile);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baseline = mapper.readTree(baselineFile);
+        JsonNode current = mapper.readTree(resultFile);
+        if (baseline.path("speed").asDouble() != current.path("speed").asDouble()
+                || !baseline.path("capture").asText().equals(current.path("capture").asText())) {
+            System.out.printf("Warning: comparing %s at %.1fx with %s at %.1fx%n",
+                    baseline.path("capture").asText(), baseline.path("speed").asDouble(),
+                    current.path("capture").asText(), current.path("speed").asDouble());
+        }
+
+        int regressions = 0;
+        System.out.printf("%n%-55s %7s %17s %17s %17s %8s%n", "endpoint", "count",
+                "p50 ms (change)", "p95 ms (change)", "p99 ms (change)", "errors");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = current.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entry = endpoints.next();
+            JsonNode after = entry.getValue();
+            JsonNode before = baseline.path("endpoints").get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-55s %7d %17s%n", entry.getKey(), after.path("count").asInt(), "(new)");
+                continue;
+            }
+            boolean judged = before.path("count").asInt() >= minSamples && after.path("count").asInt() >= minSamples;
+            boolean regressed = false;
+            StringBuilder columns = new StringBuilder();
+            for (String percentile : PERCENTILES) {
+                double base = before.path(percentile).asDouble();
+                double value = after.path(percentile).asDouble();
+                double change = percentChange(base, value);
+                if (judged && !"p50Ms".equals(percentile) && change > threshold) {
+                    regressed = true;
+                }
+                columns.append(String.format(" %8.1f (%+5.0f%%)", value, change));
+            }
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-55s %7d%s %3d -> %-3d%s%n", entry.getKey(), after.path("count").asInt(), columns,
+                    before.path("errors").asInt(), after.path("errors").asInt(),
+                    regressed ? "  REGRESSION" : judged ? "" : "  (too few samples)");
+        }
+
+        System.out.printf("%n%d endpoint(s) regressed by more than %.0f%% at p95/p99 "
+                + "(max lag %.0f ms -> %.0f ms)%n", regressions, threshold,
+                baseline.path("maxLagMs").asDouble(), current.path("maxLagMs").asDouble());
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,462 @@
+package com.tts.testApp.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tts.testApp.config.CapturedRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Re-issues a traffic capture (see TrafficCaptureFilter) against a running
+ * instance and records the latency distribution per endpoint.
+ *
+ * Every captured session becomes one client on its own virtual thread with
+ * its own cookies and CSRF token. It logs in with a synthetic account
+ * (students: the app.datagen accounts student000001@synthetic.test, ...;
+ * admins: replay.admin-username / replay.admin-password), then sends its
+ * captured requests in order, each at its original offset from the start of
+ * the capture divided by the speed factor. A client whose previous request
+ * is still running sends late; the largest delay is reported as lag, which
+ * shows the target could not keep up at that speed.
+ *
+ * Uploads are replayed with synthetic CSV files of the captured size.
+ * Captured IDs (tests, question banks, questions) are sent as recorded, so
+ * replay against a copy of the captured database or the synthetic dataset
+ * generated with the same seed; otherwise many requests fail, which is
+ * visible in the error and status-mismatch counts.
+ *
+ * Usage: TrafficReplay <capture.jsonl> <baseUrl> <result.json> [speed]
+ * Options: -Dreplay.student-email=student%06d@synthetic.test -Dreplay.student-password=Password1!
+ *          -Dreplay.admin-username=... -Dreplay.admin-password=... -Dreplay.timeout-seconds=60
+ * Runs in the replay Maven profile; see pom.xml. Compare two results with ReplayComparison.
+ */
+public final class TrafficReplay {
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+    private static final Pattern CSRF_HEADER = Pattern.compile("<meta name=\"_csrf_header\" content=\"([^\"]+)\"");
+    /** Numeric IDs and UUIDs (import jobs) in paths are grouped into one endpoint */
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27})(?=/|$)");
+    private static final String LOGIN = "POST /login";
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final double speed;
+    private final Duration timeout;
+    private final String studentEmail;
+    private final String studentPassword;
+    private final String adminUsername;
+    private final String adminPassword;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger skippedClients = new AtomicInteger();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+    private TrafficReplay(HttpClient http, String baseUrl, double speed) {
+        this.http = http;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.speed = speed;
+        this.timeout = Duration.ofSeconds(Long.getLong("replay.timeout-seconds", 60L));
+        this.studentEmail = System.getProperty("replay.student-email", "student%06d@synthetic.test");
+        this.studentPassword = System.getProperty("replay.student-password", "Password1!");
+        this.adminUsername = System.getProperty("replay.admin-username", "");
+        this.adminPassword = System.getProperty("replay.admin-password", "");
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: TrafficReplay <capture.jsonl> <baseUrl> <result.json> [speed]");
+            System.exit(2);
+        }
+        Path capture = Path.of(args[0]);
+        double speed = args.length > 3 ? Double.parseDouble(args[3]) : 1.0;
+        if (!Files.isRegularFile(capture)) {
+            System.out.printf("No traffic capture at %s; record one with app.traffic-capture.enabled=true%n", capture);
+            return;
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            TrafficReplay replay = new TrafficReplay(http, args[1], speed);
+            Result result = replay.run(executor, replay.load(capture), capture);
+            replay.print(result);
+            Path resultFile = Path.of(args[2]);
+            if (resultFile.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(resultFile.toAbsolutePath().getParent());
+            }
+            replay.objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), result);
+            System.out.printf("Wrote %s%n", resultFile);
+        }
+    }
+
+    private List<CapturedRequest> load(Path capture) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        int malformed = 0;
+        try (Stream<String> lines = Files.lines(capture)) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    requests.add(objectMapper.readValue(line, CapturedRequest.class));
+                } catch (IOException e) {
+                    // A line cut off when the capturing server was killed
+                    malformed++;
+                }
+            }
+        }
+        if (malformed > 0) {
+            System.out.printf("Ignored %d malformed capture lines%n", malformed);
+        }
+        requests.sort(Comparator.comparingLong(CapturedRequest::timestamp));
+        return requests;
+    }
+
+    private Result run(ExecutorService executor, List<CapturedRequest> requests, Path capture) throws Exception {
+        if (requests.isEmpty()) {
+            return new Result(capture.toString(), baseUrl, speed, 0, 0, 0, 0, 0, Map.of());
+        }
+        long captureStart = requests.get(0).timestamp();
+        long captureMillis = requests.get(requests.size() - 1).timestamp() - captureStart;
+
+        // One client per captured session, in order of first appearance; requests without a session stand alone
+        Map<String, List<CapturedRequest>> sessions = new LinkedHashMap<>();
+        for (CapturedRequest request : requests) {
+            String key = request.client() != null ? request.client() : "anonymous-" + sessions.size();
+            sessions.computeIfAbsent(key, k -> new ArrayList<>()).add(request);
+        }
+
+        System.out.printf("Replaying %d requests from %d sessions (%.0f s captured) against %s at %.1fx%n",
+                requests.size(), sessions.size(), captureMillis / 1000.0, baseUrl, speed);
+        long replayStart = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        int students = 0;
+        for (Map.Entry<String, List<CapturedRequest>> session : sessions.entrySet()) {
+            List<CapturedRequest> sessionRequests = session.getValue();
+            String username = null;
+            String password = null;
+            boolean admin = sessionRequests.stream().anyMatch(request -> "ADMIN".equals(request.role()));
+            if (session.getKey().startsWith("anonymous-")) {
+                // Not logged in when captured, not logged in now
+            } else if (admin) {
+                username = adminUsername;
+                password = adminPassword;
+            } else {
+                username = String.format(studentEmail, ++students);
+                password = studentPassword;
+            }
+            Client client = new Client(username, password, admin);
+            running.add(executor.submit(() -> {
+                client.replay(sessionRequests, captureStart, replayStart);
+                return null;
+            }));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+        double wallSeconds = (System.nanoTime() - replayStart) / 1e9;
+
+        Map<String, EndpointResult> results = new TreeMap<>();
+        endpoints.forEach((key, endpoint) -> results.put(key, endpoint.result()));
+        int sent = results.entrySet().stream()
+                .filter(entry -> !LOGIN.equals(entry.getKey()))
+                .mapToInt(entry -> entry.getValue().count())
+                .sum();
+        return new Result(capture.toString(), baseUrl, speed, requests.size(), sent, skippedClients.get(),
+                wallSeconds, maxLagNanos.get() / 1e6, results);
+    }
+
+    private void print(Result result) {
+        System.out.printf("%nsent=%d of %d captured, skipped clients=%d, wall=%.1fs, max lag=%.0fms%n",
+                result.sent(), result.captured(), result.skippedClients(), result.wallSeconds(), result.maxLagMs());
+        System.out.printf("%-55s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "mismatch", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        result.endpoints().forEach((key, endpoint) -> System.out.printf("%-55s %7d %7d %9d %9.1f %9.1f %9.1f %9.1f%n",
+                key, endpoint.count(), endpoint.errors(), endpoint.statusMismatches(),
+                endpoint.p50Ms(), endpoint.p95Ms(), endpoint.p99Ms(), endpoint.maxMs()));
+    }
+
+    static String endpointKey(String method, String path) {
+        return method + " " + ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    private Endpoint endpoint(String key) {
+        return endpoints.computeIfAbsent(key, k -> new Endpoint());
+    }
+
+    /**
+     * One captured session: cookies, CSRF token and the account it is replayed as
+     */
+    private final class Client {
+        private final String username;
+        private final String password;
+        private final boolean admin;
+        private final Map<String, String> cookies = new HashMap<>();
+        private String csrfHeader;
+        private String csrfToken;
+
+        Client(String username, String password, boolean admin) {
+            this.username = username;
+            this.password = password;
+            this.admin = admin;
+        }
+
+        void replay(List<CapturedRequest> requests, long captureStart, long replayStart) throws InterruptedException {
+            if (username != null && (username.isEmpty() || !login())) {
+                skippedClients.incrementAndGet();
+                return;
+            }
+            boolean first = true;
+            for (CapturedRequest captured : requests) {
+                long due = replayStart + (long) ((captured.timestamp() - captureStart) * 1_000_000 / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } else if (!first) {
+                    // The first request also waited for the login, which was not part of the capture
+                    maxLagNanos.accumulate(-wait);
+                }
+                first = false;
+                send(captured);
+            }
+        }
+
+        private boolean login() {
+            String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8)
+                    + "&role=" + (admin ? "ADMIN" : "STUDENT");
+            Endpoint endpoint = endpoint(LOGIN);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = exchange(request("/login")
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)));
+                String location = response.headers().firstValue("Location").orElse("");
+                boolean success = response.statusCode() == 302 && !location.contains("error");
+                endpoint.record(System.nanoTime() - start, !success, false);
+                if (!success) {
+                    return false;
+                }
+                // The dashboard carries the CSRF token for the session's POSTs
+                HttpResponse<String> dashboard = exchange(request(admin ? "/admin/dashboard" : "/student/dashboard").GET());
+                Matcher token = CSRF_TOKEN.matcher(dashboard.body());
+                Matcher header = CSRF_HEADER.matcher(dashboard.body());
+                if (token.find() && header.find()) {
+                    csrfToken = token.group(1);
+                    csrfHeader = header.group(1);
+                }
+                return true;
+            } catch (Exception e) {
+                endpoint.record(System.nanoTime() - start, true, false);
+                return false;
+            }
+        }
+
+        private void send(CapturedRequest captured) {
+            Endpoint endpoint = endpoint(endpointKey(captured.method(), captured.path()));
+            HttpRequest.Builder request = request(captured.query() != null
+                    ? captured.path() + "?" + captured.query() : captured.path());
+            request.method(captured.method(), body(captured, request));
+            if (csrfToken != null && !"GET".equals(captured.method())) {
+                request.header(csrfHeader, csrfToken);
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = exchange(request);
+                long latency = System.nanoTime() - start;
+                endpoint.record(latency, response.statusCode() >= 500,
+                        response.statusCode() / 100 != captured.status() / 100);
+            } catch (Exception e) {
+                endpoint.record(System.nanoTime() - start, true, true);
+            }
+        }
+
+        private HttpRequest.BodyPublisher body(CapturedRequest captured, HttpRequest.Builder request) {
+            if (captured.files() != null) {
+                String boundary = "replay-" + UUID.randomUUID();
+                request.header("Content-Type", "multipart/form-data; boundary=" + boundary);
+                return HttpRequest.BodyPublishers.ofByteArray(multipart(captured, boundary));
+            }
+            if (captured.body() == null) {
+                return HttpRequest.BodyPublishers.noBody();
+            }
+            request.header("Content-Type", captured.contentType());
+            return HttpRequest.BodyPublishers.ofString(captured.body());
+        }
+
+        private HttpRequest.Builder request(String pathAndQuery) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).timeout(timeout);
+            if (!cookies.isEmpty()) {
+                StringBuilder cookie = new StringBuilder();
+                cookies.forEach((name, value) -> cookie.append(cookie.isEmpty() ? "" : "; ")
+                        .append(name).append('=').append(value));
+                request.header("Cookie", cookie.toString());
+            }
+            return request;
+        }
+
+        private HttpResponse<String> exchange(HttpRequest.Builder request) throws IOException, InterruptedException {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            for (String setCookie : response.headers().allValues("Set-Cookie")) {
+                String pair = setCookie.split(";", 2)[0];
+                int equals = pair.indexOf('=');
+                String name = pair.substring(0, equals).trim();
+                String value = pair.substring(equals + 1).trim();
+                if (value.isEmpty() || setCookie.contains("Max-Age=0")) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, value);
+                }
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Captured form fields plus a synthetic CSV of the captured size for each file
+     */
+    static byte[] multipart(CapturedRequest captured, String boundary) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (captured.body() != null && !captured.body().isEmpty()) {
+            for (String pair : captured.body().split("&")) {
+                int equals = pair.indexOf('=');
+                String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+                String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+                write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                        + value + "\r\n");
+            }
+        }
+        for (CapturedRequest.CapturedFile file : captured.files()) {
+            write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + file.field()
+                    + "\"; filename=\"" + file.fileName() + "\"\r\nContent-Type: text/csv\r\n\r\n");
+            body.writeBytes(syntheticCsv(captured.path(), file.size()));
+            write(body, "\r\n");
+        }
+        write(body, "--" + boundary + "--\r\n");
+        return body.toByteArray();
+    }
+
+    /**
+     * Student import rows for the student import endpoint, question rows for anything else
+     */
+    static byte[] syntheticCsv(String path, long size) {
+        boolean students = path.contains("/students/");
+        StringBuilder csv = new StringBuilder(students
+                ? "Full Name,Email,Password,Enabled\n"
+                : "Question,Option A,Option B,Option C,Option D,Correct Answer,Explanation,Marks,Difficulty\n");
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int row = 1; csv.length() < size; row++) {
+            if (students) {
+                csv.append("Replay Student ").append(row).append(",replay-").append(run).append('-').append(row)
+                        .append("@replay.invalid,Replay-Passw0rd,true\n");
+            } else {
+                csv.append("Replay question ").append(run).append(' ').append(row)
+                        .append(",Option A,Option B,Option C,Option D,").append("ABCD".charAt(row % 4))
+                        .append(",Synthetic,1,").append(row % 3 == 0 ? "HARD" : row % 2 == 0 ? "MEDIUM" : "EASY")
+                        .append('\n');
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Latencies of one endpoint, from any client thread
+     */
+    private static final class Endpoint {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] latencies = new long[64];
+        private int count;
+        private int errors;
+        private int statusMismatches;
+
+        void record(long nanos, boolean error, boolean statusMismatch) {
+            lock.lock();
+            try {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = nanos;
+                errors += error ? 1 : 0;
+                statusMismatches += statusMismatch ? 1 : 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        EndpointResult result() {
+            lock.lock();
+            try {
+                long[] sorted = Arrays.copyOf(latencies, count);
+                Arrays.sort(sorted);
+                double mean = Arrays.stream(sorted).average().orElse(0);
+                return new EndpointResult(count, errors, statusMismatches, millis(percentile(sorted, 0.50)),
+                        millis(percentile(sorted, 0.95)), millis(percentile(sorted, 0.99)),
+                        millis(count > 0 ? sorted[count - 1] : 0), mean / 1e6);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return sorted.length == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    /**
+     * Written as the result file; read back by ReplayComparison
+     */
+    record Result(String capture, String target, double speed, int captured, int sent, int skippedClients,
+                  double wallSeconds, double maxLagMs, Map<String, EndpointResult> endpoints) {
+    }
+
+    /**
+     * @param errors           transport failures and 5xx responses
+     * @param statusMismatches responses whose status class differs from the captured one
+     */
+    record EndpointResult(int count, int errors, int statusMismatches, double p50Ms, double p95Ms, double p99Ms,
+                          double maxMs, double meanMs) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionController controller = new AdmissionController(10, limits(), new SimpleMeterRegistry());
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(controller, new ObjectMapper());
+
+    @Test
+    void shedRequestGetsRetryAfterAndTheApiErrorBody() throws Exception {
+        controller.admit(RequestPriority.INITIALIZE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(withSession(new MockHttpServletRequest("POST", "/api/test/initialize")), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(response.getContentAsString()).contains("\"success\":false").contains("\"retryAfterSeconds\":3");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void admittedRequestIsReleasedAndUnclassifiedRequestsPassStraightThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/student/dashboard"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(controller.getInFlight(RequestPriority.STUDENT)).isZero();
+
+        controller.admit(RequestPriority.SUBMIT);
+        MockFilterChain login = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/login"), new MockHttpServletResponse(), login);
+        assertThat(login.getRequest()).isNotNull();
+    }
+
+    @Test
+    void examCallsWithoutAnyCredentialAreRefusedBeforeTakingASlot() throws Exception {
+        controller.admit(RequestPriority.SUBMIT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/test/submit"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(controller.getInFlight(RequestPriority.SUBMIT)).isEqualTo(1);
+
+        // A token is enough; whether it is valid is for Spring Security to decide
+        MockHttpServletRequest withToken = new MockHttpServletRequest("POST", "/api/test/submit");
+        withToken.setCookies(new Cookie(ApiTokenService.COOKIE_NAME, "token"));
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(withToken, shed, new MockFilterChain());
+        assertThat(shed.getStatus()).isEqualTo(429);
+    }
+
+    private static MockHttpServletRequest withSession(MockHttpServletRequest request) {
+        request.setCookies(new Cookie("SESSION", "session-1"));
+        return request;
+    }
+
+    private static Map<RequestPriority, AdmissionController.Limits> limits() {
+        Map<RequestPriority, AdmissionController.Limits> limits = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            limits.put(priority, new AdmissionController.Limits(1, 0, 50, 100, 3));
+        }
+        return limits;
+    }
+}
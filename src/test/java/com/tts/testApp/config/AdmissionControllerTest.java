@@ -0,0 +1,110 @@
+package com.tts.testApp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControllerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shedsWhenTheClassQueueIsFull() {
+        AdmissionController controller = controller(10, limits(1, 0, 50, 100));
+
+        assertThat(controller.admit(RequestPriority.STUDENT).outcome())
+                .isEqualTo(AdmissionController.Outcome.ADMITTED);
+        assertThat(controller.admit(RequestPriority.STUDENT).outcome())
+                .isEqualTo(AdmissionController.Outcome.QUEUE_FULL);
+        assertThat(registry.get("tts.admission.shed").tags("class", "student", "reason", "queue_full")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timesOutAfterTheClassMaximumWait() {
+        AdmissionController controller = controller(10, limits(1, 5, 20, 100));
+        controller.admit(RequestPriority.ADMIN);
+
+        AdmissionController.Admission admission = controller.admit(RequestPriority.ADMIN);
+
+        assertThat(admission.outcome()).isEqualTo(AdmissionController.Outcome.TIMED_OUT);
+        assertThat(admission.waitedNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(controller.getQueued(RequestPriority.ADMIN)).isZero();
+        assertThat(registry.get("tts.admission.shed").tags("class", "admin", "reason", "timeout")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void lowerClassesStopAtTheirShareOfTheSharedBudget() {
+        Map<RequestPriority, AdmissionController.Limits> limits = limits(10, 0, 50, 100);
+        limits.put(RequestPriority.ADMIN, new AdmissionController.Limits(10, 0, 50, 50, 1));
+        AdmissionController controller = controller(4, limits);
+
+        controller.admit(RequestPriority.SUBMIT);
+        controller.admit(RequestPriority.SUBMIT);
+
+        assertThat(controller.admit(RequestPriority.ADMIN).admitted()).isFalse();
+        assertThat(controller.admit(RequestPriority.SUBMIT).admitted()).isTrue();
+        assertThat(controller.admit(RequestPriority.SUBMIT).admitted()).isTrue();
+        assertThat(controller.admit(RequestPriority.SUBMIT).admitted()).isFalse();
+    }
+
+    @Test
+    void releasedCapacityGoesToTheHighestWaitingClassFirst() throws Exception {
+        AdmissionController controller = controller(1, limits(1, 10, 5_000, 100));
+        controller.admit(RequestPriority.SUBMIT);
+        List<RequestPriority> admittedOrder = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<?> admin = waitFor(controller, RequestPriority.ADMIN, admittedOrder);
+        CompletableFuture<?> student = waitFor(controller, RequestPriority.STUDENT, admittedOrder);
+        CompletableFuture<?> submit = waitFor(controller, RequestPriority.SUBMIT, admittedOrder);
+        awaitQueued(() -> controller.getQueued(RequestPriority.ADMIN) + controller.getQueued(RequestPriority.STUDENT)
+                + controller.getQueued(RequestPriority.SUBMIT) == 3);
+        controller.release(RequestPriority.SUBMIT);
+
+        CompletableFuture.allOf(admin, student, submit).get(5, TimeUnit.SECONDS);
+        assertThat(admittedOrder).containsExactly(RequestPriority.SUBMIT, RequestPriority.STUDENT,
+                RequestPriority.ADMIN);
+        assertThat(controller.getInFlight(RequestPriority.ADMIN)).isZero();
+    }
+
+    private CompletableFuture<?> waitFor(AdmissionController controller, RequestPriority priority,
+                                         List<RequestPriority> admittedOrder) {
+        return CompletableFuture.runAsync(() -> {
+            assertThat(controller.admit(priority).admitted()).isTrue();
+            admittedOrder.add(priority);
+            controller.release(priority);
+        }, command -> Thread.ofPlatform().daemon().start(command));
+    }
+
+    private static void awaitQueued(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).as("requests queued").isTrue();
+    }
+
+    private AdmissionController controller(int maxInFlight, Map<RequestPriority, AdmissionController.Limits> limits) {
+        return new AdmissionController(maxInFlight, limits, registry);
+    }
+
+    private static Map<RequestPriority, AdmissionController.Limits> limits(int maxConcurrent, int maxQueue,
+                                                                          long maxWaitMillis, int sharePercent) {
+        Map<RequestPriority, AdmissionController.Limits> limits = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            limits.put(priority, new AdmissionController.Limits(maxConcurrent, maxQueue, maxWaitMillis,
+                    sharePercent, 1));
+        }
+        return limits;
+    }
+}
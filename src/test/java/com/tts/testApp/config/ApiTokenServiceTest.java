@@ -0,0 +1,156 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tts.testApp.model.CacheChangeLog;
+import com.tts.testApp.repository.CacheChangeLogRepository;
+import com.tts.testApp.service.CacheInvalidation;
+import com.tts.testApp.service.CacheInvalidationBus;
+import com.tts.testApp.service.CacheNames;
+import com.tts.testApp.service.InvalidationTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(mock(InvalidationTransport.class), "node-a");
+    private final ApiTokenService service = service(bus, SECRET, 60);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void roundTripsStudentIdAndRoles() {
+        String token = service.issue(student());
+
+        AuthenticatedUser user = service.verify(token);
+
+        assertThat(token.split("\\.")).hasSize(3);
+        assertThat(user.getUsername()).isEqualTo("alice@example.com");
+        assertThat(user.getAccountId()).isEqualTo(42L);
+        assertThat(user.isStudent()).isTrue();
+        assertThat(user.getFullName()).isEqualTo("Alice Smith");
+        assertThat(AuthorityUtils.authorityListToSet(user.getAuthorities())).containsExactly("ROLE_STUDENT");
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String[] parts = service.issue(student()).split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("42", "43").getBytes());
+
+        assertThat(service.verify(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        String otherSecret = Base64.getEncoder().encodeToString("another-secret-of-at-least-32-bytes".getBytes());
+        ApiTokenService otherNode = service(bus, otherSecret, 60);
+
+        assertThat(service.verify(otherNode.issue(student()))).isNull();
+    }
+
+    @Test
+    void rejectsExpiredAndMalformedTokens() {
+        ApiTokenService expired = service(bus, SECRET, -1);
+
+        assertThat(service.verify(expired.issue(student()))).isNull();
+        assertThat(service.verify("not-a-token")).isNull();
+        assertThat(service.verify(null)).isNull();
+    }
+
+    @Test
+    void aLaterLoginOrALogoutRevokesEarlierTokensWithoutTheSession() throws Exception {
+        ApiTokenAuthenticationFilter filter = new ApiTokenAuthenticationFilter(service);
+        String firstToken = service.issue(student());
+        assertThat(authenticate(filter, firstToken)).isNotNull();
+
+        Thread.sleep(2);
+        service.revokeIssued(42L);
+        String secondToken = service.issue(student());
+        assertThat(authenticate(filter, firstToken)).isNull();
+        assertThat(authenticate(filter, secondToken)).isNotNull();
+
+        Thread.sleep(2);
+        service.revokeIssued(42L);
+        assertThat(authenticate(filter, secondToken)).isNull();
+    }
+
+    @Test
+    void revocationsFromOtherNodesAndBeforeStartupApply() throws Exception {
+        FakeTransport transport = new FakeTransport();
+        CacheInvalidationBus otherNodeBus = new CacheInvalidationBus(transport, "node-a");
+        ApiTokenService otherNode = service(otherNodeBus, SECRET, 60);
+        String token = otherNode.issue(student());
+        Thread.sleep(2);
+
+        transport.listener.accept(new CacheInvalidation(CacheNames.API_TOKENS, "42", "node-b",
+                System.currentTimeMillis()));
+        assertThat(otherNode.verify(token)).isNull();
+
+        // A node started after the revocation reads it from the change log
+        CacheChangeLogRepository changeLog = mock(CacheChangeLogRepository.class);
+        when(changeLog.findByCacheNameAndPublishedAtGreaterThanEqual(eq(CacheNames.API_TOKENS), anyLong()))
+                .thenReturn(List.of(new CacheChangeLog(1L, CacheNames.API_TOKENS, "42", "node-b",
+                        System.currentTimeMillis())));
+        ApiTokenRevocations revocations = new ApiTokenRevocations(bus, changeLog, true, 60);
+        revocations.loadRecent();
+        ApiTokenService newNode = new ApiTokenService(new ObjectMapper(), revocations, true, SECRET, 60);
+        assertThat(newNode.verify(token)).isNull();
+    }
+
+    private static ApiTokenService service(CacheInvalidationBus bus, String secret, long ttlMinutes) {
+        ApiTokenRevocations revocations = new ApiTokenRevocations(bus, mock(CacheChangeLogRepository.class),
+                true, ttlMinutes);
+        return new ApiTokenService(new ObjectMapper(), revocations, true, secret, ttlMinutes);
+    }
+
+    private static Authentication authenticate(ApiTokenAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/test/autosave");
+        request.addHeader("Authorization", "Bearer " + token);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> authentication.set(SecurityContextHolder.getContext().getAuthentication()));
+        SecurityContextHolder.clearContext();
+        assertThat(request.getSession(false)).isNull();
+        return authentication.get();
+    }
+
+    private AuthenticatedUser student() {
+        return new AuthenticatedUser("alice@example.com", "hash", true, true,
+                AuthorityUtils.createAuthorityList("ROLE_STUDENT"), 42L, "STUDENT", "Alice Smith");
+    }
+
+    private static class FakeTransport implements InvalidationTransport {
+
+        private Consumer<CacheInvalidation> listener;
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.tts.testApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DbAdmissionControlledDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    void admitsUpToTheLimitAndTimesOutBeyondIt() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        DbAdmissionControlledDataSource dataSource = new DbAdmissionControlledDataSource(pool, 2, 50);
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getInUse()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("2 in use");
+        assertThat(dataSource.getTimedOutCount()).isEqualTo(1);
+
+        first.close();
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+        assertThat(dataSource.getConnection()).isNotNull();
+        assertThat(dataSource.getAdmittedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void closingTwiceReturnsThePermitOnce() throws Exception {
+        Connection target = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(target);
+        DbAdmissionControlledDataSource dataSource = new DbAdmissionControlledDataSource(pool, 2, 50);
+
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+        verify(target, times(2)).close();
+    }
+
+    @Test
+    void permitIsReturnedWhenThePoolFails() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        DbAdmissionControlledDataSource dataSource = new DbAdmissionControlledDataSource(pool, 1, 50);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getInUse()).isZero();
+    }
+
+    @Test
+    void waiterIsAdmittedWhenAConnectionIsClosed() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        DbAdmissionControlledDataSource dataSource = new DbAdmissionControlledDataSource(pool, 1, 5_000);
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        held.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(dataSource.getWaiting()).isZero();
+    }
+
+    @Test
+    void unwrappingToConnectionKeepsTheReleasingWrapper() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        DbAdmissionControlledDataSource dataSource = new DbAdmissionControlledDataSource(pool, 1, 50);
+
+        Connection connection = dataSource.getConnection();
+        connection.unwrap(Connection.class).close();
+
+        assertThat(dataSource.getInUse()).isZero();
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(mock(Connection.class));
+    }
+
+    @Test
+    void postProcessorRunsFirstAndSeesThroughProxies() throws Exception {
+        DbAdmissionConfig.DataSourcePostProcessor postProcessor =
+                new DbAdmissionConfig.DataSourcePostProcessor(new MockEnvironment());
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(7);
+            DataSource proxied = new DelegatingDataSource(hikari);
+
+            Object processed = postProcessor.postProcessAfterInitialization(proxied, "dataSource");
+
+            assertThat(postProcessor.getOrder()).isEqualTo(Ordered.HIGHEST_PRECEDENCE);
+            assertThat(processed).isInstanceOfSatisfying(DbAdmissionControlledDataSource.class, admission -> {
+                assertThat(admission.getTargetDataSource()).isSameAs(proxied);
+                assertThat(admission.getMaxConcurrency()).isEqualTo(7);
+            });
+            // Already governed, and not a pool at all
+            assertThat(postProcessor.postProcessAfterInitialization(processed, "dataSource")).isSameAs(processed);
+            assertThat(postProcessor.postProcessAfterInitialization(pool, "other")).isSameAs(pool);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tts.testApp.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamMetricsTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExamMetrics metrics = new ExamMetrics(registry, false, now::get);
+
+    @Test
+    void recordsDurationByOutcome() {
+        long start = metrics.start();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordSubmit(start, true);
+        metrics.recordLogin(start, ExamMetrics.OUTCOME_THROTTLED);
+
+        Timer submitted = registry.get("tts.exam.submit").tag("outcome", "success").timer();
+        assertThat(submitted.count()).isEqualTo(1);
+        assertThat(submitted.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40.0);
+        assertThat(registry.get("tts.exam.submit").tag("outcome", "failure").timer().count()).isZero();
+        assertThat(registry.get("tts.login").tag("outcome", "throttled").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesP50P95P99() {
+        metrics.recordValidateAnswers(metrics.start());
+
+        assertThat(registry.get("tts.exam.validate-answers").timer().takeSnapshot().percentileValues())
+                .extracting(value -> value.percentile())
+                .containsExactly(0.5, 0.95, 0.99);
+    }
+
+    @Test
+    void activeExamsEndOnSubmitOrTimeLimit() {
+        metrics.examStarted(1L, 30);
+        metrics.examStarted(2L, 60);
+        metrics.examStarted(3L, 60);
+        metrics.examFinished(3L);
+
+        assertThat(activeExams()).isEqualTo(2);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(31));
+        assertThat(activeExams()).isEqualTo(1);
+    }
+
+    private double activeExams() {
+        return registry.get("tts.exam.sessions.active").gauge().value();
+    }
+}
@@ -0,0 +1,88 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalIndexedSessionRepositoryTest {
+
+    private final LocalIndexedSessionRepository repository = new LocalIndexedSessionRepository(Duration.ofMinutes(30));
+
+    @Test
+    void indexesSessionsByPrincipalName() {
+        MapSession first = loggedInSession("alice@example.com");
+        MapSession second = loggedInSession("alice@example.com");
+        loggedInSession("bob@example.com");
+
+        assertThat(findByPrincipal("alice@example.com")).containsOnlyKeys(first.getId(), second.getId());
+
+        repository.deleteById(first.getId());
+
+        assertThat(findByPrincipal("alice@example.com")).containsOnlyKeys(second.getId());
+    }
+
+    @Test
+    void followsSessionIdChanges() {
+        MapSession session = loggedInSession("alice@example.com");
+        String oldId = session.getId();
+
+        MapSession loaded = repository.findById(oldId);
+        loaded.changeSessionId();
+        repository.save(loaded);
+
+        assertThat(repository.findById(oldId)).isNull();
+        assertThat(findByPrincipal("alice@example.com")).containsOnlyKeys(loaded.getId());
+    }
+
+    @Test
+    void expiredSessionsAreDroppedFromIndex() {
+        MapSession session = loggedInSession("alice@example.com");
+        MapSession loaded = repository.findById(session.getId());
+        loaded.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+        repository.save(loaded);
+
+        repository.cleanUpExpiredSessions();
+
+        assertThat(repository.size()).isZero();
+        assertThat(findByPrincipal("alice@example.com")).isEmpty();
+    }
+
+    @Test
+    void sessionRegistrySeesAndExpiresSessionsThroughTheIndex() {
+        MapSession session = loggedInSession("alice@example.com");
+        SpringSessionBackedSessionRegistry<MapSession> registry = new SpringSessionBackedSessionRegistry<>(repository);
+
+        var sessions = registry.getAllSessions("alice@example.com", false);
+        assertThat(sessions).hasSize(1);
+
+        sessions.get(0).expireNow();
+
+        assertThat(registry.getSessionInformation(session.getId()).isExpired()).isTrue();
+        assertThat(registry.getAllSessions("alice@example.com", false)).isEmpty();
+    }
+
+    private MapSession loggedInSession(String username) {
+        MapSession session = repository.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+                        username, null, AuthorityUtils.createAuthorityList("ROLE_STUDENT"))));
+        repository.save(session);
+        return session;
+    }
+
+    private Map<String, MapSession> findByPrincipal(String username) {
+        return repository.findByIndexNameAndIndexValue(
+                FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, username);
+    }
+}
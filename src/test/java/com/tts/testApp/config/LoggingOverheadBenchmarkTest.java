@@ -0,0 +1,170 @@
+package com.tts.testApp.config;
+
+import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.SubjectDTO;
+import com.tts.testApp.service.CreateTestService;
+import com.tts.testApp.service.SubjectService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Student request throughput with the shipped development logging
+ * (banner INFO lines, DEBUG for the app, Spring Web and Security, show-sql)
+ * and with the prod profile (INFO, async structured appender, one summary
+ * line per request). Both write to the console, so the difference is the
+ * cost of logging itself.
+ *
+ * Logback is configured once per JVM, so each mode runs in its own Maven
+ * invocation, selected with -Dbenchmark.logging.
+ *
+ * Each client thread is a different student with its own session and cycles
+ * through the dashboard, the test list API and a test by id through the full
+ * filter chain (MockMvc).
+ *
+ * Run with: mvn test -Dtest=LoggingOverheadBenchmarkTest -Dbenchmark=true -Dbenchmark.logging=dev
+ *      then: mvn test -Dtest=LoggingOverheadBenchmarkTest -Dbenchmark=true -Dbenchmark.logging=prod
+ * Optional: -Dbenchmark.threads=8 -Dbenchmark.requests=2000 (per thread)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoggingOverheadBenchmarkTest {
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmark.logging", matches = "dev")
+    @TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:logging-dev;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    class DevelopmentLogging extends Scenario {
+        DevelopmentLogging() {
+            super("dev");
+        }
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmark.logging", matches = "prod")
+    @ActiveProfiles("prod")
+    @TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:logging-prod;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    class ProductionLogging extends Scenario {
+        ProductionLogging() {
+            super("prod");
+        }
+    }
+
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    @TestPropertySource(properties = {
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.hibernate.ddl-auto=create",
+            "app.cache.invalidation.poll-interval-ms=3600000",
+            "app.session.store=local",
+            // Same template caching in both modes, so only logging differs
+            "spring.thymeleaf.cache=true"
+    })
+    abstract static class Scenario {
+
+        private final String label;
+
+        @Autowired
+        private MockMvc mockMvc;
+        @Autowired
+        private SubjectService subjectService;
+        @Autowired
+        private CreateTestService createTestService;
+
+        Scenario(String label) {
+            this.label = label;
+        }
+
+        @Test
+        void throughput() throws Exception {
+            int threads = Integer.getInteger("benchmark.threads", 8);
+            int requests = Integer.getInteger("benchmark.requests", 2000);
+
+            List<Long> testIds = seed(20);
+
+            // Warm up the JIT, the catalog and the template cache
+            run(1, requests / 4, testIds);
+
+            long start = System.nanoTime();
+            run(threads, requests, testIds);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%n%-6s %8s %10s %12s%n", "mode", "threads", "requests", "requests/s");
+            System.out.printf("%-6s %8d %10d %12.0f%n", label, threads, threads * requests,
+                    threads * requests / seconds);
+        }
+
+        private void run(int threads, int requests, List<Long> testIds) throws Exception {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> clients = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int offset = t;
+                    RequestPostProcessor student = user(new AuthenticatedUser("student" + t + "@example.com", "x",
+                            true, true, AuthorityUtils.createAuthorityList("ROLE_STUDENT"), (long) t + 1,
+                            "STUDENT", "Bench Student"));
+                    MockHttpSession session = new MockHttpSession();
+                    clients.add(pool.submit(() -> {
+                        for (int i = 0; i < requests; i++) {
+                            Long testId = testIds.get((offset + i) % testIds.size());
+                            String path = switch (i % 3) {
+                                case 0 -> "/student/dashboard";
+                                case 1 -> "/student/api/tests";
+                                default -> "/student/api/tests/" + testId;
+                            };
+                            mockMvc.perform(get(path).session(session).with(student)).andReturn();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> client : clients) {
+                    client.get();
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        private List<Long> seed(int subjects) {
+            List<Long> testIds = new ArrayList<>();
+            for (int i = 0; i < subjects; i++) {
+                SubjectDTO subject = new SubjectDTO();
+                subject.setName("Logging Subject " + i);
+                subject.setSubjectCode(String.format("LG-%03d", i));
+                subject.setActive(true);
+                subjectService.createSubject(subject);
+
+                CreateTestDTO test = new CreateTestDTO();
+                test.setSubjectName(subject.getName());
+                test.setTestType("MOCK");
+                test.setTotalQuestions(30);
+                test.setDuration(30);
+                test.setPassingPercentage(40);
+                test.setMarksPerQuestion(1);
+                test.setTabSwitchLimit(3);
+                testIds.add(createTestService.createTest(test).getId());
+            }
+            return testIds;
+        }
+    }
+}
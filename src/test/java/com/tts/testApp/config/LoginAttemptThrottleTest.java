@@ -0,0 +1,156 @@
+package com.tts.testApp.config;
+
+import com.tts.testApp.service.LoginLockoutService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginAttemptThrottleTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private LoginLockoutService lockoutService;
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        lockoutService = mock(LoginLockoutService.class);
+        throttle = new LoginAttemptThrottle(lockoutService, Runnable::run, now::get);
+        ReflectionTestUtils.setField(throttle, "maxFailuresPerUser", 5);
+        ReflectionTestUtils.setField(throttle, "maxFailuresPerIp", 20);
+        ReflectionTestUtils.setField(throttle, "windowMinutes", 15L);
+        ReflectionTestUtils.setField(throttle, "lockMinutes", 15L);
+    }
+
+    @Test
+    void blocksUsernameAfterLimitAndPersistsLockoutOnce() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("alice@example.com", "10.0.0." + i);
+        }
+        assertThat(throttle.isAllowed("alice@example.com", "10.0.0.9")).isTrue();
+
+        throttle.recordFailure("Alice@Example.com", "10.0.0.5");
+
+        assertThat(throttle.isAllowed("alice@example.com", "10.0.0.9")).isFalse();
+        assertThat(throttle.isAllowed("bob@example.com", "10.0.0.9")).isTrue();
+        verify(lockoutService, times(1)).persistLockout(eq("alice@example.com"), any(LocalDateTime.class), eq(5));
+    }
+
+    @Test
+    void blocksIpAcrossDifferentUsernames() {
+        for (int i = 0; i < 20; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        assertThat(throttle.isAllowed("someone@example.com", "203.0.113.7")).isFalse();
+        assertThat(throttle.isAllowed("someone@example.com", "203.0.113.8")).isTrue();
+        verify(lockoutService, never()).persistLockout(any(), any(), anyInt());
+    }
+
+    @Test
+    void blockExpiresAfterLockDuration() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("alice@example.com", null);
+        }
+        assertThat(throttle.isAllowed("alice@example.com", null)).isFalse();
+
+        now.addAndGet(15 * MINUTE + 1);
+
+        assertThat(throttle.isAllowed("alice@example.com", null)).isTrue();
+    }
+
+    @Test
+    void oldFailuresSlideOutOfTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("alice@example.com", null);
+        }
+
+        now.addAndGet(31 * MINUTE);
+        throttle.recordFailure("alice@example.com", null);
+
+        assertThat(throttle.isAllowed("alice@example.com", null)).isTrue();
+    }
+
+    @Test
+    void successClearsUsernameFailures() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("alice@example.com", null);
+        }
+        throttle.recordSuccess("alice@example.com");
+        throttle.recordFailure("alice@example.com", null);
+
+        assertThat(throttle.isAllowed("alice@example.com", null)).isTrue();
+    }
+
+    @Test
+    void throttledAttemptsNeverReachPasswordCheck() {
+        AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+        ThrottlingAuthenticationProvider provider = new ThrottlingAuthenticationProvider(delegate, throttle);
+        UsernamePasswordAuthenticationToken attempt =
+                new UsernamePasswordAuthenticationToken("alice@example.com", "wrong");
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> provider.authenticate(attempt)).isInstanceOf(BadCredentialsException.class);
+        }
+        assertThatThrownBy(() -> provider.authenticate(attempt)).isInstanceOf(LoginThrottledException.class);
+
+        verify(delegate, times(5)).authenticate(any());
+    }
+
+    @Test
+    void onlyWrongCredentialsCountAgainstThePeerAddress() {
+        AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+        ThrottlingAuthenticationProvider provider = new ThrottlingAuthenticationProvider(delegate, throttle);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.9");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            doThrow(new DisabledException("disabled")).when(delegate).authenticate(any());
+            for (int i = 0; i < 10; i++) {
+                assertThatThrownBy(() -> provider.authenticate(
+                        new UsernamePasswordAuthenticationToken("alice@example.com", "secret")))
+                        .isInstanceOf(DisabledException.class);
+            }
+            assertThat(throttle.isAllowed("alice@example.com", "203.0.113.9")).isTrue();
+
+            // A new spoofed X-Forwarded-For per attempt must not buy a fresh per-IP budget
+            doThrow(new BadCredentialsException("bad")).when(delegate).authenticate(any());
+            for (int i = 0; i < 20; i++) {
+                request.removeHeader("X-Forwarded-For");
+                request.addHeader("X-Forwarded-For", "198.51.100." + i);
+                String username = "user" + i + "@example.com";
+                assertThatThrownBy(() -> provider.authenticate(
+                        new UsernamePasswordAuthenticationToken(username, "wrong")))
+                        .isInstanceOf(BadCredentialsException.class);
+            }
+            assertThat(throttle.isAllowed("bob@example.com", "203.0.113.9")).isFalse();
+            assertThat(throttle.isAllowed("bob@example.com", "198.51.100.0")).isTrue();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
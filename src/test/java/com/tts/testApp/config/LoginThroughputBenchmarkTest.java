@@ -0,0 +1,96 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Logins per second per core for each hashing policy, measured through
+ * DaoAuthenticationProvider with an in-memory user store so only the
+ * hashing cost is visible.
+ *
+ * Run with: mvn test -Dtest=LoginThroughputBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.policies=bcrypt-10,bcrypt-12 -Dbenchmark.seconds=5
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginThroughputBenchmarkTest {
+
+    private static final String PASSWORD = "Secret123";
+
+    @Test
+    void loginsPerSecondPerCore() throws Exception {
+        String[] policies = System.getProperty("benchmark.policies", "bcrypt-10,bcrypt-11,bcrypt-12,pbkdf2-sha256")
+                .split(",");
+        long seconds = Long.getLong("benchmark.seconds", 5L);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%n%-15s %12s %14s %16s %14s%n",
+                "policy", "ms/login", "logins/s (1t)", "logins/s (" + cores + "t)", "per core");
+
+        for (String policy : policies) {
+            PasswordEncoder encoder = PasswordEncoders.create(policy.trim());
+            DaoAuthenticationProvider provider = newProvider(encoder);
+
+            // Warm up the JIT before measuring
+            runFor(provider, 1, 1);
+
+            double singleThread = runFor(provider, 1, seconds);
+            double allCores = runFor(provider, cores, seconds);
+
+            System.out.printf("%-15s %12.1f %14.1f %16.1f %14.1f%n",
+                    policy, 1000.0 / singleThread, singleThread, allCores, allCores / cores);
+        }
+    }
+
+    private DaoAuthenticationProvider newProvider(PasswordEncoder encoder) {
+        UserDetails user = User.withUsername("student@example.com")
+                .password(encoder.encode(PASSWORD))
+                .roles("STUDENT")
+                .build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(user));
+        provider.setPasswordEncoder(encoder);
+        return provider;
+    }
+
+    /**
+     * @return successful logins per second across all threads
+     */
+    private double runFor(DaoAuthenticationProvider provider, int threads, long seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    long logins = 0;
+                    while (System.nanoTime() < deadline) {
+                        provider.authenticate(UsernamePasswordAuthenticationToken
+                                .unauthenticated("student@example.com", PASSWORD));
+                        logins++;
+                    }
+                    return logins;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get();
+            }
+            return total / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncodersTest {
+
+    @Test
+    void prefixesNewHashesWithPolicyId() {
+        PasswordEncoder encoder = PasswordEncoders.create("bcrypt-8");
+
+        String hash = encoder.encode("Secret123");
+
+        assertThat(hash).startsWith("{bcrypt-8}$2a$08$");
+        assertThat(encoder.matches("Secret123", hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void verifiesAndUpgradesLegacyUnprefixedHashes() {
+        String legacy = new BCryptPasswordEncoder(4).encode("Secret123");
+        PasswordEncoder encoder = PasswordEncoders.create("bcrypt-8");
+
+        assertThat(encoder.matches("Secret123", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void flagsHashesFromOtherPoliciesInBothDirections() {
+        String cheaper = PasswordEncoders.create("bcrypt-8").encode("Secret123");
+        String stronger = PasswordEncoders.create("bcrypt-10").encode("Secret123");
+        PasswordEncoder policy = PasswordEncoders.create("bcrypt-9");
+
+        assertThat(policy.matches("Secret123", cheaper)).isTrue();
+        assertThat(policy.matches("Secret123", stronger)).isTrue();
+        assertThat(policy.upgradeEncoding(cheaper)).isTrue();
+        assertThat(policy.upgradeEncoding(stronger)).isTrue();
+    }
+
+    @Test
+    void rejectsUnknownPolicy() {
+        assertThatThrownBy(() -> PasswordEncoders.create("md5"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("bcrypt-12");
+    }
+}
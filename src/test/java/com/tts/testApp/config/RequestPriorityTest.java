@@ -0,0 +1,30 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestPriorityTest {
+
+    @Test
+    void examCallsAreClassifiedByWhatIsAtStake() {
+        assertThat(RequestPriority.classify("/api/test/submit")).isEqualTo(RequestPriority.SUBMIT);
+        assertThat(RequestPriority.classify("/api/test/autosave")).isEqualTo(RequestPriority.AUTOSAVE);
+        assertThat(RequestPriority.classify("/api/test/initialize")).isEqualTo(RequestPriority.INITIALIZE);
+        assertThat(RequestPriority.classify("/api/test/resume")).isEqualTo(RequestPriority.INITIALIZE);
+        assertThat(RequestPriority.classify("/api/test/validate-config")).isEqualTo(RequestPriority.INITIALIZE);
+        assertThat(RequestPriority.classify("/api/test/proctoring")).isEqualTo(RequestPriority.PROCTORING);
+    }
+
+    @Test
+    void pagesAreClassifiedByAreaAndLoginIsNotControlled() {
+        assertThat(RequestPriority.classify("/student/dashboard")).isEqualTo(RequestPriority.STUDENT);
+        assertThat(RequestPriority.classify("/student-dashboard")).isEqualTo(RequestPriority.STUDENT);
+        assertThat(RequestPriority.classify("/start-test")).isEqualTo(RequestPriority.STUDENT);
+        assertThat(RequestPriority.classify("/test/start/5")).isEqualTo(RequestPriority.STUDENT);
+        assertThat(RequestPriority.classify("/test/history")).isEqualTo(RequestPriority.STUDENT);
+        assertThat(RequestPriority.classify("/admin/api/monitor")).isEqualTo(RequestPriority.ADMIN);
+        assertThat(RequestPriority.classify("/login")).isNull();
+        assertThat(RequestPriority.classify("/js/start-test.js")).isNull();
+    }
+}
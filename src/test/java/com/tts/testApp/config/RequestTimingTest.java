@@ -0,0 +1,81 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void endRequest() {
+        RequestTiming.end();
+    }
+
+    @Test
+    void recordingOutsideARequestIsIgnored() {
+        RequestTiming.record(RequestTiming.SQL, 1_000_000);
+
+        assertThat(RequestTiming.isActive()).isFalse();
+        assertThat(RequestTiming.enterService()).isFalse();
+    }
+
+    @Test
+    void headerListsPhasesWithQueryCountAndTotal() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.record(RequestTiming.SQL, 1_000_000);
+        RequestTiming.record(RequestTiming.SQL, 500_000);
+        RequestTiming.record(RequestTiming.RENDER, 4_000_000);
+
+        String header = timing.toServerTimingHeader();
+
+        assertThat(header).startsWith("db;desc=\"2 queries\";dur=1.5, render;dur=4.0, total;dur=");
+        assertThat(timing.count(RequestTiming.SQL)).isEqualTo(2);
+    }
+
+    @Test
+    void onlyOutermostServiceCallIsRecorded() {
+        RequestTiming timing = RequestTiming.begin();
+
+        boolean outer = RequestTiming.enterService();
+        boolean inner = RequestTiming.enterService();
+        RequestTiming.exitService("StudentService.findByEmail", 2_000_000, inner);
+        RequestTiming.exitService("QuestionService.validateAnswers", 3_000_000, outer);
+
+        assertThat(outer).isTrue();
+        assertThat(inner).isFalse();
+        assertThat(timing.totalNanos(RequestTiming.SERVICE)).isEqualTo(3_000_000);
+        assertThat(timing.toServerTimingHeader())
+                .contains("svc.QuestionService.validateAnswers;dur=3.0")
+                .doesNotContain("StudentService");
+    }
+
+    @Test
+    void logFieldsAlwaysIncludeEveryPhase() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.record(RequestTiming.PASSWORD_HASH, 80_000_000);
+        boolean outermost = RequestTiming.enterService();
+        RequestTiming.exitService("SubjectService.getAllSubjects", 1_000_000, outermost);
+
+        assertThat(timing.toLogFields())
+                .matches("total_ms=\\d+\\.\\d sql_count=0 db_ms=0\\.0 render_ms=0\\.0 json_ms=0\\.0 "
+                        + "svc_ms=1\\.0 hash_ms=80\\.0 slowest_svc=SubjectService\\.getAllSubjects");
+    }
+
+    @Test
+    void structuredFieldsMatchLogFields() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.record(RequestTiming.SQL, 1_260_000);
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        timing.forEachLogField(fields::put);
+
+        assertThat(fields).containsKeys("total_ms", "render_ms", "json_ms", "svc_ms", "hash_ms")
+                .containsEntry("sql_count", 1)
+                .containsEntry("db_ms", 1.3)
+                .doesNotContainKey("slowest_svc");
+    }
+}
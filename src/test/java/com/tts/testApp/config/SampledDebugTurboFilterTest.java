@@ -0,0 +1,46 @@
+package com.tts.testApp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledDebugTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger appLogger = context.getLogger("com.tts.testApp.controller.StudentController");
+    private final Logger frameworkLogger = context.getLogger("org.springframework.security.web.FilterChainProxy");
+
+    @BeforeEach
+    void configure() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        SampledDebugTurboFilter filter = new SampledDebugTurboFilter();
+        filter.start();
+        context.addTurboFilter(filter);
+    }
+
+    @AfterEach
+    void clearMdc() {
+        MDC.remove(DebugLogSamplingFilter.MDC_KEY);
+    }
+
+    @Test
+    void unsampledRequestsStayAtConfiguredLevel() {
+        assertThat(appLogger.isDebugEnabled()).isFalse();
+        assertThat(appLogger.isInfoEnabled()).isTrue();
+    }
+
+    @Test
+    void sampledRequestsLogApplicationDebugOnly() {
+        MDC.put(DebugLogSamplingFilter.MDC_KEY, "true");
+
+        assertThat(appLogger.isDebugEnabled()).isTrue();
+        assertThat(appLogger.isTraceEnabled()).isFalse();
+        assertThat(frameworkLogger.isDebugEnabled()).isFalse();
+    }
+}
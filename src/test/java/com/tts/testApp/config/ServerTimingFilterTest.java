@@ -0,0 +1,59 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ServerTimingFilterTest {
+
+    @Test
+    void headerIsAddedBeforeTheBodyIsCommitted() throws Exception {
+        MockMvc mockMvc = mockMvc(true);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/timed")).andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER))
+                .startsWith("db;desc=\"1 query\";dur=2.0")
+                .contains("total;dur=");
+        assertThat(RequestTiming.isActive()).isFalse();
+    }
+
+    @Test
+    void staticResourcesAndDisabledHeaderAreLeftAlone() throws Exception {
+        assertThat(mockMvc(true).perform(get("/css/site.css")).andReturn().getResponse()
+                .getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+        assertThat(mockMvc(false).perform(get("/timed")).andReturn().getResponse()
+                .getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+    }
+
+    private static MockMvc mockMvc(boolean exposeHeader) {
+        ServerTimingFilter filter = new ServerTimingFilter();
+        ReflectionTestUtils.setField(filter, "exposeHeader", exposeHeader);
+        return MockMvcBuilders.standaloneSetup(new TimedController()).addFilters(filter).build();
+    }
+
+    @RestController
+    static class TimedController {
+
+        @GetMapping("/timed")
+        Map<String, Object> timed() {
+            RequestTiming.record(RequestTiming.SQL, 2_000_000);
+            return Map.of("success", true);
+        }
+
+        @GetMapping("/css/site.css")
+        String stylesheet() {
+            return "body {}";
+        }
+    }
+}
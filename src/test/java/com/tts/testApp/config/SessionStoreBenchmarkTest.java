@@ -0,0 +1,106 @@
+package com.tts.testApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-request session overhead of each session store, replaying what
+ * SessionRepositoryFilter does for a logged-in student:
+ * - read request: load session, touch last-accessed time, save
+ * - write request: same plus one attribute change
+ *
+ * The JDBC store runs against an embedded H2 database, so the numbers show
+ * the store's own cost without network latency; add the database round
+ * trip time (two to three statements per request) for a real deployment.
+ *
+ * Run with: mvn test -Dtest=SessionStoreBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.sessions=1000 -Dbenchmark.requests=20000
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SessionStoreBenchmarkTest {
+
+    @Test
+    void perRequestSessionOverhead() {
+        int sessions = Integer.getInteger("benchmark.sessions", 1000);
+        int requests = Integer.getInteger("benchmark.requests", 20000);
+
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("org/springframework/session/jdbc/schema-h2.sql")
+                .build();
+        try {
+            JdbcIndexedSessionRepository jdbc = new JdbcIndexedSessionRepository(new JdbcTemplate(database),
+                    new TransactionTemplate(new DataSourceTransactionManager(database)));
+            jdbc.setDefaultMaxInactiveInterval(Duration.ofMinutes(30));
+
+            System.out.printf("%n%-8s %16s %16s%n", "store", "read us/request", "write us/request");
+            report("local", new LocalIndexedSessionRepository(Duration.ofMinutes(30)), sessions, requests);
+            report("jdbc", jdbc, sessions, requests);
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    private <S extends Session> void report(String name, SessionRepository<S> repository, int sessions, int requests) {
+        List<String> ids = createSessions(repository, sessions);
+
+        // Warm up the JIT before measuring
+        run(repository, ids, requests / 4, false);
+        run(repository, ids, requests / 4, true);
+
+        double read = run(repository, ids, requests, false);
+        double write = run(repository, ids, requests, true);
+        System.out.printf("%-8s %16.1f %16.1f%n", name, read, write);
+    }
+
+    private <S extends Session> List<String> createSessions(SessionRepository<S> repository, int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            S session = repository.createSession();
+            String username = "student" + i + "@example.com";
+            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                    new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+                            new AuthenticatedUser(username, "", true, true,
+                                    List.of(), (long) i, "STUDENT", "Student " + i),
+                            null, List.of())));
+            repository.save(session);
+            ids.add(session.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * @return average microseconds per simulated request
+     */
+    private <S extends Session> double run(SessionRepository<S> repository, List<String> ids,
+                                           int requests, boolean write) {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            S session = repository.findById(ids.get(i % ids.size()));
+            session.setLastAccessedTime(Instant.now());
+            if (write) {
+                session.setAttribute("lastPage", "/student/dashboard?" + i);
+            }
+            repository.save(session);
+        }
+        return (System.nanoTime() - start) / 1000.0 / requests;
+    }
+}
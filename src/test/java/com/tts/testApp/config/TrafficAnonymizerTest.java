@@ -0,0 +1,90 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrafficAnonymizerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TrafficAnonymizer anonymizer =
+            new TrafficAnonymizer("salt".getBytes(StandardCharsets.UTF_8), objectMapper);
+
+    @Test
+    void pseudonymsAreStablePerSaltAndDoNotContainTheValue() {
+        TrafficAnonymizer otherSalt = new TrafficAnonymizer("other".getBytes(StandardCharsets.UTF_8), objectMapper);
+
+        String pseudonym = anonymizer.pseudonym("asha@example.com");
+
+        assertThat(pseudonym).hasSize(12).isEqualTo(anonymizer.pseudonym("asha@example.com"));
+        assertThat(pseudonym).isNotEqualTo(otherSalt.pseudonym("asha@example.com"));
+        assertThat(pseudonym).isNotEqualTo(anonymizer.pseudonym("ravi@example.com"));
+    }
+
+    @Test
+    void jsonIdentitiesAreReplacedSecretsRedactedAndExamDataKept() throws Exception {
+        String json = """
+                {"fullName":"Asha Rao","email":"asha@example.com","password":"hunter2",
+                 "testId":7,"answers":[{"questionId":11,"selectedOption":"B"}],
+                 "nested":{"studentId":"STD-001","_csrf":"abc"}}""";
+
+        JsonNode result = objectMapper.readTree(anonymizer.anonymizeJson(json));
+
+        assertThat(result.path("fullName").asText()).startsWith("anon-").doesNotContain("Asha");
+        assertThat(result.path("email").asText())
+                .isEqualTo(anonymizer.pseudonym("asha@example.com") + TrafficAnonymizer.EMAIL_DOMAIN);
+        assertThat(result.path("password").asText()).isEqualTo(TrafficAnonymizer.REDACTED_SECRET);
+        assertThat(result.path("testId").asLong()).isEqualTo(7);
+        assertThat(result.path("answers").get(0).path("selectedOption").asText()).isEqualTo("B");
+        assertThat(result.path("nested").path("studentId").asText()).startsWith("anon-");
+        assertThat(result.path("nested").has("_csrf")).isFalse();
+    }
+
+    @Test
+    void numericIdentitiesGetNumericPseudonyms() throws Exception {
+        String json = """
+                {"studentId":4242,"phoneNumber":9876543210,"testId":7,"questionId":11}""";
+
+        JsonNode result = objectMapper.readTree(anonymizer.anonymizeJson(json));
+
+        assertThat(result.path("studentId").isIntegralNumber()).isTrue();
+        assertThat(result.path("studentId").asLong())
+                .isEqualTo(anonymizer.numericPseudonym("4242"))
+                .isNotEqualTo(4242);
+        assertThat(result.path("phoneNumber").asLong()).isEqualTo(anonymizer.numericPseudonym("9876543210"));
+        assertThat(result.path("testId").asLong()).isEqualTo(7);
+        assertThat(result.path("questionId").asLong()).isEqualTo(11);
+    }
+
+    @Test
+    void invalidJsonIsNotRecorded() {
+        assertThat(anonymizer.anonymizeJson("{\"email\":\"asha@exa")).isNull();
+    }
+
+    @Test
+    void formsAndQueryStringsAreAnonymizedByFieldName() {
+        String form = anonymizer.anonymizeForm(
+                "_csrf=abc&email=asha%40example.com&confirmPassword=x&subjectName=Physics+I&enabled");
+
+        assertThat(form).isEqualTo("email=" + anonymizer.pseudonym("asha@example.com") + "%40anon.invalid"
+                + "&confirmPassword=" + TrafficAnonymizer.REDACTED_SECRET + "&subjectName=Physics+I&enabled");
+        assertThat(anonymizer.anonymizeForm("query=asha")).isEqualTo("query=anon-" + anonymizer.pseudonym("asha"));
+        assertThat(anonymizer.anonymizeForm(null)).isNull();
+    }
+
+    @Test
+    void multipartFieldsAreEncodedAsAForm() {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameters.put("subjectId", new String[]{"3"});
+        parameters.put("description", new String[]{"Unit 1 & 2"});
+        parameters.put("_csrf", new String[]{"abc"});
+
+        assertThat(anonymizer.anonymizeParameters(parameters)).isEqualTo("subjectId=3&description=Unit+1+%26+2");
+    }
+}
@@ -0,0 +1,132 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrafficCaptureFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private TrafficCaptureLog captureLog;
+    private TrafficCaptureFilter filter;
+
+    @BeforeEach
+    void startCapture() throws IOException {
+        file = directory.resolve("capture.jsonl");
+        captureLog = new TrafficCaptureLog(objectMapper, file.toString(), 1, 100);
+        captureLog.start();
+        filter = new TrafficCaptureFilter(captureLog, objectMapper, "salt", 1024);
+    }
+
+    @AfterEach
+    void stopCapture() throws InterruptedException {
+        captureLog.stop();
+    }
+
+    @Test
+    void recordsAnonymizedJsonRequestWithSessionPseudonymAndStatus() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/test/submit");
+        request.setContentType("application/json;charset=UTF-8");
+        request.setContent("{\"testId\":4,\"email\":\"asha@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        request.setCookies(new Cookie("SESSION", "session-1"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(readingServlet(201)));
+        filter.doFilter(get("/student/dashboard", "session-1"), new MockHttpServletResponse(),
+                new MockFilterChain(readingServlet(200)));
+
+        List<CapturedRequest> captured = readCapture(2);
+        CapturedRequest submit = captured.get(0);
+        assertThat(submit.method()).isEqualTo("POST");
+        assertThat(submit.path()).isEqualTo("/api/test/submit");
+        assertThat(submit.role()).isEqualTo("STUDENT");
+        assertThat(submit.contentType()).isEqualTo("application/json");
+        assertThat(submit.status()).isEqualTo(201);
+        assertThat(submit.body()).contains("\"testId\":4").doesNotContain("asha");
+        assertThat(submit.client()).isNotNull().doesNotContain("session-1").isEqualTo(captured.get(1).client());
+    }
+
+    @Test
+    void uploadsAreRecordedBySizeOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/admin/questions/upload");
+        request.setContentType("multipart/form-data; boundary=x");
+        request.addParameter("subjectId", "3");
+        request.addPart(new MockPart("file", "Physics Bank.CSV", new byte[2048]));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(readingServlet(302)));
+
+        CapturedRequest upload = readCapture(1).get(0);
+        assertThat(upload.role()).isEqualTo("ADMIN");
+        assertThat(upload.body()).isEqualTo("subjectId=3");
+        assertThat(upload.files()).containsExactly(new CapturedRequest.CapturedFile("file", "upload.csv", 2048));
+    }
+
+    @Test
+    void otherPathsAreNotCaptured() throws Exception {
+        filter.doFilter(get("/login", null), new MockHttpServletResponse(), new MockFilterChain(readingServlet(200)));
+        filter.doFilter(get("/css/app.css", null), new MockHttpServletResponse(),
+                new MockFilterChain(readingServlet(200)));
+        filter.doFilter(get("/admin/dashboard", null), new MockHttpServletResponse(),
+                new MockFilterChain(readingServlet(200)));
+
+        List<CapturedRequest> captured = readCapture(1);
+        assertThat(captured).extracting(CapturedRequest::path).containsExactly("/admin/dashboard");
+        assertThat(captured.get(0).client()).isNull();
+    }
+
+    private static MockHttpServletRequest get(String path, String session) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (session != null) {
+            request.setCookies(new Cookie("SESSION", session));
+        }
+        return request;
+    }
+
+    /**
+     * Reads the body like a controller would and answers with the given status
+     */
+    private static Servlet readingServlet(int status) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.getInputStream().readAllBytes();
+                response.setStatus(status);
+            }
+        };
+    }
+
+    private List<CapturedRequest> readCapture(int expected) throws Exception {
+        captureLog.stop();
+        List<CapturedRequest> captured = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            captured.add(objectMapper.readValue(line, CapturedRequest.class));
+        }
+        assertThat(captured).hasSize(expected);
+        assertThat(captureLog.getWrittenCount()).isEqualTo(expected);
+        return captured;
+    }
+}
@@ -0,0 +1,290 @@
+package com.tts.testApp.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the exam flow (login, dashboard, initialize, autosave, submit) for concurrent
+ * students in virtual-thread mode and fails if a request-handling virtual
+ * thread blocked while pinned to its carrier, as recorded by JFR
+ * (jdk.VirtualThreadPinned, no duration threshold). A pinned virtual thread
+ * holds a carrier for as long as it blocks, so under load a few of them can
+ * stall every request.
+ *
+ * Pinning inside the H2 driver is ignored: it is the test database, and the
+ * production MySQL driver (Connector/J 9) and HikariCP lock without
+ * monitors. Everything else that pins fails the test, with the pinned
+ * stacks in the failure message. A deliberate pin recorded alongside the
+ * flow proves the recording would have caught one.
+ *
+ * Runs in the regular build: the flow is small and the assertion does not
+ * depend on timing. The throughput comparison between thread modes is
+ * ExamStartStormBenchmarkTest, which stays behind -Dbenchmark=true.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vt-pinning;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "app.cache.invalidation.poll-interval-ms=3600000",
+        "app.security.password-encoder=bcrypt-8",
+        "app.upload.dir=target/vt-pinning-test/question-banks",
+        "app.autosave.dir=target/vt-pinning-test/autosave",
+        "app.datagen.enabled=true",
+        "app.datagen.exit-on-completion=false",
+        "app.datagen.write-csv=false",
+        "app.datagen.subjects=2",
+        "app.datagen.questions=200",
+        "app.datagen.students=16",
+        "app.datagen.test-attempts=16",
+        "logging.level.com.tts=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN"
+})
+class VirtualThreadPinningTest {
+
+    private static final int STUDENTS = 16;
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> IGNORED_PINNING = List.of("org.h2.");
+    private static final Pattern CSRF_TOKEN = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+    private static final Pattern CSRF_HEADER = Pattern.compile("<meta name=\"_csrf_header\" content=\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ServletWebServerApplicationContext context;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void requestsRunOnVirtualThreadsBehindTheAdmissionGovernor() throws Exception {
+        ProtocolHandler handler = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector()
+                .getProtocolHandler();
+        assertThat(handler.getExecutor().getClass().getSimpleName()).isEqualTo("VirtualThreadExecutor");
+
+        DbAdmissionControlledDataSource admission = dataSource.unwrap(DbAdmissionControlledDataSource.class);
+        assertThat(admission.getMaxConcurrency()).isEqualTo(4);
+    }
+
+    @Test
+    void examFlowDoesNotPinCarrierThreads() throws Exception {
+        Map<String, Object> exam = jdbcTemplate.queryForMap("SELECT t.id AS test_id, b.id AS bank_id FROM tests t "
+                + "JOIN question_banks b ON b.subject_id = t.subject_id ORDER BY t.id LIMIT 1");
+        Path dump = directory.resolve("pinning.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            Thread.ofVirtual().start(VirtualThreadPinningTest::pinCarrier).join();
+            runExamFlow(((Number) exam.get("test_id")).longValue(), ((Number) exam.get("bank_id")).longValue());
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, Integer> pinnedAt = new TreeMap<>();
+        int ignored = 0;
+        boolean probeSeen = false;
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (!PINNED_EVENT.equals(event.getEventType().getName()) || event.getStackTrace() == null) {
+                continue;
+            }
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            if (frames.stream().anyMatch(frame -> frame.getMethod().getName().equals("pinCarrier"))) {
+                probeSeen = true;
+                continue;
+            }
+            if (frames.stream().anyMatch(frame -> isIgnored(frame.getMethod().getType().getName()))) {
+                ignored++;
+                continue;
+            }
+            pinnedAt.merge(describe(frames), 1, Integer::sum);
+        }
+        assertThat(probeSeen).as("deliberate pin recorded").isTrue();
+        assertThat(pinnedAt)
+                .as("pinned stacks and counts outside the test database (%d pins in it ignored)", ignored)
+                .isEmpty();
+    }
+
+    /**
+     * Blocks inside a monitor, which pins a virtual thread on Java 21
+     */
+    private static void pinCarrier() {
+        Object monitor = new Object();
+        synchronized (monitor) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean isIgnored(String className) {
+        return IGNORED_PINNING.stream().anyMatch(className::startsWith);
+    }
+
+    private static String describe(List<RecordedFrame> frames) {
+        StringBuilder stack = new StringBuilder();
+        for (RecordedFrame frame : frames.subList(0, Math.min(frames.size(), 12))) {
+            stack.append("    ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return stack.toString();
+    }
+
+    private void runExamFlow(long testId, long questionBankId) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .build();
+            List<Future<String>> students = new ArrayList<>();
+            for (int i = 1; i <= STUDENTS; i++) {
+                String email = String.format("student%06d@synthetic.test", i);
+                students.add(executor.submit(() -> new Student(http, email).sitExam(testId, questionBankId)));
+            }
+            for (Future<String> student : students) {
+                assertThat(student.get()).as("exam flow error").isNull();
+            }
+        }
+    }
+
+    /**
+     * One browser session: cookies and CSRF token
+     */
+    private final class Student {
+        private final HttpClient http;
+        private final String email;
+        private final Map<String, String> cookies = new HashMap<>();
+        private String csrfHeader;
+        private String csrfToken;
+
+        Student(HttpClient http, String email) {
+            this.http = http;
+            this.email = email;
+        }
+
+        /**
+         * @return null on success, otherwise the failing step
+         */
+        String sitExam(long testId, long questionBankId) throws Exception {
+            HttpResponse<String> login = send(request("/login")
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("username=" + URLEncoder.encode(email,
+                            StandardCharsets.UTF_8) + "&password=Password1%21&role=STUDENT")));
+            if (login.statusCode() != 302 || login.headers().firstValue("Location").orElse("").contains("error")) {
+                return "login: " + login.statusCode();
+            }
+            HttpResponse<String> dashboard = send(request("/student/dashboard").GET());
+            Matcher token = CSRF_TOKEN.matcher(dashboard.body());
+            Matcher header = CSRF_HEADER.matcher(dashboard.body());
+            if (!token.find() || !header.find()) {
+                return "dashboard: " + dashboard.statusCode();
+            }
+            csrfToken = token.group(1);
+            csrfHeader = header.group(1);
+
+            HttpResponse<String> initialize = postJson("/api/test/initialize", Map.of(
+                    "testId", testId, "questionBankId", questionBankId, "testName", "Pinning",
+                    "totalQuestions", 10, "durationMinutes", 30, "passingPercentage", 35, "tabSwitchLimit", 3));
+            JsonNode questions = objectMapper.readTree(initialize.body()).path("questions");
+            if (initialize.statusCode() != 200 || questions.isEmpty()) {
+                return "initialize: " + initialize.statusCode() + " " + initialize.body();
+            }
+            List<Map<String, Object>> answers = new ArrayList<>();
+            questions.forEach(question -> answers.add(Map.of(
+                    "questionId", question.path("id").asLong(), "selectedOption", "A")));
+            String sessionId = objectMapper.readTree(initialize.body()).path("sessionId").asText();
+
+            HttpResponse<String> autosave = postJson("/api/test/autosave", Map.of(
+                    "sessionId", sessionId, "seq", 1, "answers", answers.subList(0, 3)));
+            if (autosave.statusCode() != 200) {
+                return "autosave: " + autosave.statusCode() + " " + autosave.body();
+            }
+
+            HttpResponse<String> submit = postJson("/api/test/submit", Map.of(
+                    "studentId", 0L, "testId", testId, "questionBankId", questionBankId,
+                    "answers", answers, "timeTakenSeconds", 60, "tabSwitches", 0, "sessionId", sessionId));
+            return submit.statusCode() == 200 ? null : "submit: " + submit.statusCode() + " " + submit.body();
+        }
+
+        private HttpResponse<String> postJson(String path, Object body) throws Exception {
+            return send(request(path)
+                    .header("Content-Type", "application/json")
+                    .header(csrfHeader, csrfToken)
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(60));
+            if (!cookies.isEmpty()) {
+                StringBuilder cookie = new StringBuilder();
+                cookies.forEach((name, value) -> cookie.append(cookie.isEmpty() ? "" : "; ")
+                        .append(name).append('=').append(value));
+                request.header("Cookie", cookie.toString());
+            }
+            return request;
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            for (String setCookie : response.headers().allValues("Set-Cookie")) {
+                String pair = setCookie.split(";", 2)[0];
+                int equals = pair.indexOf('=');
+                cookies.put(pair.substring(0, equals).trim(), pair.substring(equals + 1).trim());
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,549 @@
+package com.tts.testApp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tts.testApp.config.DbAdmissionControlledDataSource;
+import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.SubjectDTO;
+import com.tts.testApp.model.Question;
+import com.tts.testApp.model.QuestionBank;
+import com.tts.testApp.model.Student;
+import com.tts.testApp.model.Subject;
+import com.tts.testApp.repository.QuestionBankRepository;
+import com.tts.testApp.repository.QuestionRepository;
+import com.tts.testApp.repository.StudentRepository;
+import com.tts.testApp.repository.SubjectRepository;
+import com.tts.testApp.service.CreateTestService;
+import com.tts.testApp.service.StudentIdGenerator;
+import com.tts.testApp.service.SubjectService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Exam-start storm: N students log in, press Start at the same instant and
+ * submit together at the deadline, through the real HTTP endpoints of an
+ * embedded server on H2:
+ * POST /login -> GET /student/dashboard (CSRF token) -> POST /api/test/initialize
+ * -> think time -> POST /api/test/submit
+ *
+ * Every client is a virtual thread with its own cookies (session) and CSRF
+ * token, so the server sees N independent browsers. For each phase the
+ * harness reports throughput, p50/p99 latency, errors and how saturated the
+ * Hikari connection pool was (peak active and waiting, time with waiters).
+ *
+ * Run with: mvn test -Dtest=ExamStartStormBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.clients=200 -Dbenchmark.think-ms=2000 -Dbenchmark.think-jitter=0.0
+ *           -Dbenchmark.questions=30 -Dbenchmark.rounds=2 -Dbenchmark.timeout-seconds=120
+ *           and any app setting, e.g. -Dapp.security.password-encoder=bcrypt-10, -Dapp.session.store=local
+ *           or -Dspring.datasource.hikari.maximum-pool-size=20
+ * Compare thread modes by running it again with -Dspring.threads.virtual.enabled=true
+ * (requests on virtual threads behind the database admission governor).
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exam-storm;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.thymeleaf.cache=true",
+        "app.cache.invalidation.poll-interval-ms=3600000",
+        "app.autosave.dir=target/exam-storm/autosave",
+        // Thousands of per-request INFO lines would measure the console, not the server
+        "logging.level.com.tts=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN"
+})
+class ExamStartStormBenchmarkTest {
+
+    private static final String PASSWORD = "Storm-Password1";
+    private static final int BANK_SIZE = 300;
+    private static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+    private static final String[] OPTIONS = {"A", "B", "C", "D"};
+    private static final Pattern CSRF_TOKEN = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+    private static final Pattern CSRF_HEADER = Pattern.compile("<meta name=\"_csrf_header\" content=\"([^\"]+)\"");
+    private static final long POOL_SAMPLE_MILLIS = 2;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private CreateTestService createTestService;
+    @Autowired
+    private SubjectRepository subjectRepository;
+    @Autowired
+    private QuestionBankRepository questionBankRepository;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private StudentIdGenerator studentIdGenerator;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /** The database admission governor, when on; its queue counts as waiting for the pool */
+    private DbAdmissionControlledDataSource admission;
+
+    @Test
+    void examStartStorm() throws Exception {
+        int clientCount = Integer.getInteger("benchmark.clients", 200);
+        long thinkMillis = Long.getLong("benchmark.think-ms", 2000L);
+        double thinkJitter = Double.parseDouble(System.getProperty("benchmark.think-jitter", "0.0"));
+        int questions = Integer.getInteger("benchmark.questions", 30);
+        int rounds = Integer.getInteger("benchmark.rounds", 2);
+        Duration timeout = Duration.ofSeconds(Long.getLong("benchmark.timeout-seconds", 120L));
+
+        Exam exam = seed(clientCount);
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        admission = dataSource.isWrapperFor(DbAdmissionControlledDataSource.class)
+                ? dataSource.unwrap(DbAdmissionControlledDataSource.class) : null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            // The first round warms up the JIT, caches and connection pool; later rounds show the warm server
+            for (int round = 1; round <= rounds; round++) {
+                List<Client> clients = new ArrayList<>();
+                for (int i = 0; i < clientCount; i++) {
+                    clients.add(new Client(http, timeout, "storm" + i + "@example.com"));
+                }
+
+                Phase login = new Phase("login", clientCount);
+                Phase dashboard = new Phase("dashboard", clientCount);
+                Phase initialize = new Phase("initialize", clientCount);
+                Phase submit = new Phase("submit", clientCount);
+
+                // Students arrive and log in before the exam opens
+                runTogether(executor, hikari, clients, List.of(login, dashboard), (client, index) -> {
+                    client.login(login, index);
+                    client.loadDashboard(dashboard, index);
+                });
+
+                // Everyone presses Start at once, then answers and submits at the deadline
+                runTogether(executor, hikari, clients, List.of(initialize), (client, index) ->
+                        client.initialize(initialize, index, exam, questions));
+                runTogether(executor, hikari, clients, List.of(submit), (client, index) -> {
+                    long jitter = (long) (thinkMillis * thinkJitter);
+                    Thread.sleep(thinkMillis
+                            + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0));
+                    client.submit(submit, index, exam);
+                });
+
+                System.out.printf("%nround %d/%d: clients=%d questions=%d think=%dms +/-%.0f%% pool=%d threads=%s%n",
+                        round, rounds, clientCount, questions, thinkMillis, thinkJitter * 100,
+                        hikari.getMaximumPoolSize(), virtualThreads ? "virtual" : "platform");
+                System.out.printf("%-11s %8s %7s %8s %9s %9s %9s %9s %12s %13s %14s%n", "phase", "requests",
+                        "errors", "skipped", "req/s", "p50 ms", "p99 ms", "max ms", "pool active", "pool waiting", "pool waited ms");
+                for (Phase phase : List.of(login, dashboard, initialize, submit)) {
+                    phase.print();
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases all clients at the same instant and waits for every one to finish,
+     * sampling the connection pool meanwhile for the given phases
+     */
+    private void runTogether(ExecutorService executor, HikariDataSource hikari, List<Client> clients,
+                             List<Phase> phases, ClientStep step) throws Exception {
+        CountDownLatch ready = new CountDownLatch(clients.size());
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            int index = i;
+            running.add(executor.submit(() -> {
+                ready.countDown();
+                go.await();
+                step.run(client, index);
+                return null;
+            }));
+        }
+
+        ready.await();
+        PoolSampler sampler = new PoolSampler(hikari.getHikariPoolMXBean(), admission);
+        // A platform thread, so CPU-bound virtual threads (password hashing) cannot starve the sampling
+        Thread sampling = Thread.ofPlatform().daemon().start(sampler);
+        go.countDown();
+        for (Future<?> client : running) {
+            client.get();
+        }
+        sampling.interrupt();
+        sampling.join();
+        phases.forEach(phase -> phase.pool = sampler);
+    }
+
+    private Exam seed(int students) {
+        SubjectDTO subjectDTO = new SubjectDTO();
+        subjectDTO.setName("Storm Subject");
+        subjectDTO.setSubjectCode("STORM-1");
+        subjectDTO.setActive(true);
+        subjectService.createSubject(subjectDTO);
+        Subject subject = subjectRepository.findByName(subjectDTO.getName()).orElseThrow();
+
+        CreateTestDTO test = new CreateTestDTO();
+        test.setSubjectName(subject.getName());
+        test.setTestType("MOCK");
+        test.setTotalQuestions(30);
+        test.setDuration(30);
+        test.setPassingPercentage(40);
+        test.setMarksPerQuestion(1);
+        test.setTabSwitchLimit(3);
+        Long testId = createTestService.createTest(test).getId();
+
+        QuestionBank bank = new QuestionBank();
+        bank.setSubject(subject);
+        bank.setFileName("storm.csv");
+        bank.setOriginalFileName("storm.csv");
+        bank.setFilePath("/tmp/storm.csv");
+        bank.setFileSize(1024L);
+        bank.setTotalQuestions(BANK_SIZE);
+        bank = questionBankRepository.save(bank);
+
+        List<Question> bankQuestions = new ArrayList<>();
+        for (int q = 0; q < BANK_SIZE; q++) {
+            Question question = new Question();
+            question.setQuestionBank(bank);
+            question.setQuestionText("Storm question " + q);
+            question.setOptionA("Option A");
+            question.setOptionB("Option B");
+            question.setOptionC("Option C");
+            question.setOptionD("Option D");
+            question.setCorrectAnswer(OPTIONS[q % OPTIONS.length]);
+            question.setDifficultyLevel(DIFFICULTIES[q % DIFFICULTIES.length]);
+            bankQuestions.add(question);
+        }
+        questionRepository.saveAll(bankQuestions);
+
+        // One hash for everyone: seeding should not take N password hashes, logging in still does
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Student> accounts = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            Student student = new Student();
+            student.setStudentId(studentIdGenerator.nextStudentId());
+            student.setFullName("Storm Student");
+            student.setEmail("storm" + i + "@example.com");
+            student.setPassword(hash);
+            student.setRegisteredDate(LocalDateTime.now());
+            accounts.add(student);
+        }
+        studentRepository.saveAll(accounts);
+
+        return new Exam(testId, bank.getId());
+    }
+
+    private record Exam(Long testId, Long questionBankId) {
+    }
+
+    @FunctionalInterface
+    private interface ClientStep {
+        void run(Client client, int index) throws Exception;
+    }
+
+    /**
+     * One browser: a student's cookies, CSRF token and current exam
+     */
+    private final class Client {
+
+        private final HttpClient http;
+        private final Duration timeout;
+        private final String email;
+        private final Map<String, String> cookies = new HashMap<>();
+        private String csrfHeader;
+        private String csrfToken;
+        private List<Long> questionIds = List.of();
+        /** Set when a step fails; the remaining steps of the flow are skipped */
+        private boolean failed;
+
+        Client(HttpClient http, Duration timeout, String email) {
+            this.http = http;
+            this.timeout = timeout;
+            this.email = email;
+        }
+
+        void login(Phase phase, int index) {
+            String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(PASSWORD, StandardCharsets.UTF_8) + "&role=STUDENT";
+            step(phase, index, () -> {
+                HttpResponse<String> response = send(request("/login")
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)));
+                String location = response.headers().firstValue("Location").orElse("");
+                return response.statusCode() == 302 && location.endsWith("/student/dashboard")
+                        ? null : "login: " + response.statusCode() + " -> " + location;
+            });
+        }
+
+        void loadDashboard(Phase phase, int index) {
+            step(phase, index, () -> {
+                HttpResponse<String> response = send(request("/student/dashboard").GET());
+                Matcher token = CSRF_TOKEN.matcher(response.body());
+                Matcher header = CSRF_HEADER.matcher(response.body());
+                if (response.statusCode() != 200 || !token.find() || !header.find()) {
+                    return "dashboard: " + response.statusCode();
+                }
+                csrfToken = token.group(1);
+                csrfHeader = header.group(1);
+                return null;
+            });
+        }
+
+        void initialize(Phase phase, int index, Exam exam, int questions) {
+            Map<String, Object> config = Map.of(
+                    "testId", exam.testId(),
+                    "questionBankId", exam.questionBankId(),
+                    "testName", "Storm Test",
+                    "totalQuestions", questions,
+                    "durationMinutes", 30,
+                    "passingPercentage", 35,
+                    "tabSwitchLimit", 3);
+            step(phase, index, () -> {
+                HttpResponse<String> response = postJson("/api/test/initialize", config);
+                JsonNode body = response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+                if (body == null || !body.path("success").asBoolean()) {
+                    return "initialize: " + response.statusCode() + " " + response.body();
+                }
+                List<Long> ids = new ArrayList<>();
+                body.path("questions").forEach(question -> ids.add(question.path("id").asLong()));
+                questionIds = ids;
+                return null;
+            });
+        }
+
+        void submit(Phase phase, int index, Exam exam) {
+            List<Map<String, Object>> answers = new ArrayList<>();
+            for (Long questionId : questionIds) {
+                answers.add(Map.of("questionId", questionId,
+                        "selectedOption", OPTIONS[ThreadLocalRandom.current().nextInt(OPTIONS.length)]));
+            }
+            Map<String, Object> submission = Map.of(
+                    // Replaced by the server with the logged-in student's id
+                    "studentId", 0L,
+                    "testId", exam.testId(),
+                    "questionBankId", exam.questionBankId(),
+                    "answers", answers,
+                    "timeTakenSeconds", 1800,
+                    "tabSwitches", 0);
+            step(phase, index, () -> {
+                HttpResponse<String> response = postJson("/api/test/submit", submission);
+                return response.statusCode() == 200 && objectMapper.readTree(response.body()).path("success").asBoolean()
+                        ? null : "submit: " + response.statusCode() + " " + response.body();
+            });
+        }
+
+        private void step(Phase phase, int index, TimedRequest request) {
+            if (failed) {
+                phase.skip();
+            } else {
+                failed = !phase.time(index, request);
+            }
+        }
+
+        private HttpResponse<String> postJson(String path, Object body) throws Exception {
+            HttpRequest.Builder request = request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+            if (csrfToken != null) {
+                request.header(csrfHeader, csrfToken);
+            }
+            return send(request);
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(timeout);
+            if (!cookies.isEmpty()) {
+                StringBuilder cookie = new StringBuilder();
+                cookies.forEach((name, value) -> cookie.append(cookie.isEmpty() ? "" : "; ")
+                        .append(name).append('=').append(value));
+                request.header("Cookie", cookie.toString());
+            }
+            return request;
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            for (String setCookie : response.headers().allValues("Set-Cookie")) {
+                String pair = setCookie.split(";", 2)[0];
+                int equals = pair.indexOf('=');
+                String name = pair.substring(0, equals).trim();
+                String value = pair.substring(equals + 1).trim();
+                if (value.isEmpty() || setCookie.contains("Max-Age=0")) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, value);
+                }
+            }
+            return response;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TimedRequest {
+        /**
+         * @return null on success, otherwise a description of the error
+         */
+        String call() throws Exception;
+    }
+
+    /**
+     * At most one request per client; latencies are kept by client index
+     * (-1 when skipped) so no locking is needed
+     */
+    private static final class Phase {
+
+        private final String name;
+        private final long[] latencies;
+        private final AtomicInteger errors = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+        private final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private PoolSampler pool;
+
+        Phase(String name, int clients) {
+            this.name = name;
+            this.latencies = new long[clients];
+            Arrays.fill(latencies, -1);
+        }
+
+        /**
+         * @return true if the request succeeded
+         */
+        boolean time(int index, TimedRequest request) {
+            long start = System.nanoTime();
+            String error;
+            try {
+                error = request.call();
+            } catch (Exception e) {
+                error = e.toString();
+            }
+            long end = System.nanoTime();
+            latencies[index] = end - start;
+            firstStart.accumulate(start);
+            lastEnd.accumulate(end);
+            if (error != null) {
+                errors.incrementAndGet();
+                firstError.compareAndSet(null, error);
+            }
+            return error == null;
+        }
+
+        void skip() {
+            skipped.incrementAndGet();
+        }
+
+        void print() {
+            long[] sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+            if (sorted.length == 0) {
+                System.out.printf("%-11s %8d %7d %8d%n", name, 0, 0, skipped.get());
+                return;
+            }
+            double seconds = (lastEnd.get() - firstStart.get()) / 1e9;
+            System.out.printf("%-11s %8d %7d %8d %9.1f %9.1f %9.1f %9.1f %12d %13d %14d%n", name, sorted.length,
+                    errors.get(), skipped.get(), sorted.length / seconds, millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)), millis(sorted[sorted.length - 1]),
+                    pool.peakActive, pool.peakWaiting, pool.waitingSamples * POOL_SAMPLE_MILLIS);
+            if (firstError.get() != null) {
+                System.out.printf("%-11s first error: %s%n", "", firstError.get());
+            }
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+
+    /**
+     * Polls the Hikari pool (and the admission governor's queue in front of
+     * it) until interrupted; only this thread writes the fields
+     */
+    private static final class PoolSampler implements Runnable {
+
+        private final HikariPoolMXBean pool;
+        private final DbAdmissionControlledDataSource admission;
+        private volatile int peakActive;
+        private volatile int peakWaiting;
+        private volatile long waitingSamples;
+
+        PoolSampler(HikariPoolMXBean pool, DbAdmissionControlledDataSource admission) {
+            this.pool = pool;
+            this.admission = admission;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    int waiting = pool.getThreadsAwaitingConnection()
+                            + (admission != null ? admission.getWaiting() : 0);
+                    peakActive = Math.max(peakActive, pool.getActiveConnections());
+                    peakWaiting = Math.max(peakWaiting, waiting);
+                    if (waiting > 0) {
+                        waitingSamples++;
+                    }
+                    Thread.sleep(POOL_SAMPLE_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
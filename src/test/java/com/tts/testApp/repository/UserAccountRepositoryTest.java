@@ -0,0 +1,88 @@
+package com.tts.testApp.repository;
+
+import com.tts.testApp.model.Admin;
+import com.tts.testApp.model.Student;
+import com.tts.testApp.model.UserAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The single principal query against an embedded database: admins by
+ * username, students by email, each mapped with its own role and flags.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class UserAccountRepositoryTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Test
+    void studentsAreFoundByEmailAndAdminsByUsername() {
+        Student student = studentRepository.saveAndFlush(student("ada@example.com"));
+        Admin admin = admin("boss", "boss@example.com");
+        admin.setAccountLockedUntil(LocalDateTime.now().plusMinutes(5));
+        admin = adminRepository.saveAndFlush(admin);
+
+        UserAccount studentAccount = userAccountRepository.findByLoginName("ada@example.com").orElseThrow();
+        assertThat(studentAccount.isAdmin()).isFalse();
+        assertThat(studentAccount.getAccountId()).isEqualTo(student.getId());
+        assertThat(studentAccount.getRole()).isEqualTo("ROLE_STUDENT");
+        assertThat(studentAccount.isEnabled()).isTrue();
+        assertThat(studentAccount.isLocked()).isFalse();
+        assertThat(studentAccount.getFullName()).isEqualTo("Ada Lovelace");
+
+        UserAccount adminAccount = userAccountRepository.findByLoginName("boss").orElseThrow();
+        assertThat(adminAccount.isAdmin()).isTrue();
+        assertThat(adminAccount.getAccountId()).isEqualTo(admin.getId());
+        assertThat(adminAccount.getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(adminAccount.isLocked()).isTrue();
+
+        // An admin is not found by email, nor an unknown name at all
+        assertThat(userAccountRepository.findByLoginName("boss@example.com")).isEmpty();
+        assertThat(userAccountRepository.findByLoginName("nobody")).isEmpty();
+    }
+
+    @Test
+    void theAdminWinsAClashingLoginName() {
+        studentRepository.saveAndFlush(student("shared@example.com"));
+        adminRepository.saveAndFlush(admin("shared@example.com", "admin@example.com"));
+
+        assertThat(userAccountRepository.findByLoginName("shared@example.com").orElseThrow().isAdmin()).isTrue();
+        assertThat(studentRepository.findExistingEmails(List.of("shared@example.com", "new@example.com")))
+                .containsExactly("shared@example.com");
+    }
+
+    private static Student student(String email) {
+        Student student = new Student();
+        student.setStudentId("STD-" + Math.abs(email.hashCode() % 10000));
+        student.setFullName("Ada Lovelace");
+        student.setEmail(email);
+        student.setPassword("password");
+        return student;
+    }
+
+    private static Admin admin(String username, String email) {
+        Admin admin = new Admin();
+        admin.setFullName("Boss Admin");
+        admin.setUsername(username);
+        admin.setEmail(email);
+        admin.setPassword("password");
+        return admin;
+    }
+}
@@ -0,0 +1,112 @@
+package com.tts.testApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tts.testApp.controller.StudentController;
+import com.tts.testApp.dto.CreateTestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ActiveTestCatalogTest {
+
+    private CreateTestService createTestService;
+    private CacheInvalidationBus bus;
+    private ActiveTestCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        createTestService = mock(CreateTestService.class);
+        bus = new CacheInvalidationBus(mock(InvalidationTransport.class), "node-a");
+        catalog = new ActiveTestCatalog(createTestService, new ObjectMapper().findAndRegisterModules(), bus);
+    }
+
+    @Test
+    void buildsOnceAndServesTheSameSnapshot() {
+        when(createTestService.getActiveTests()).thenReturn(List.of(test(1L, "Java Mock Test")));
+
+        ActiveTestCatalog.Snapshot first = catalog.getSnapshot();
+        ActiveTestCatalog.Snapshot second = catalog.getSnapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.findTest(1L)).isPresent();
+        assertThat(new String(first.json())).contains("Java Mock Test");
+        verify(createTestService, times(1)).getActiveTests();
+    }
+
+    @Test
+    void testOrSubjectChangesTriggerRebuildWithNewEtag() {
+        when(createTestService.getActiveTests())
+                .thenReturn(List.of(test(1L, "Java Mock Test")))
+                .thenReturn(List.of(test(1L, "Java Final Test")));
+        ActiveTestCatalog.Snapshot before = catalog.getSnapshot();
+
+        bus.publish(CacheNames.SUBJECTS, 3L);
+        ActiveTestCatalog.Snapshot after = catalog.getSnapshot();
+
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void etagDependsOnlyOnContent() {
+        when(createTestService.getActiveTests()).thenReturn(List.of(test(1L, "Java Mock Test")));
+        ActiveTestCatalog.Snapshot before = catalog.getSnapshot();
+
+        bus.publish(CacheNames.TESTS, 1L);
+        ActiveTestCatalog.Snapshot after = catalog.getSnapshot();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.etag()).isEqualTo(before.etag());
+    }
+
+    @Test
+    void studentsRevalidateTheCatalogWithItsEtag() throws Exception {
+        when(createTestService.getActiveTests())
+                .thenReturn(List.of(test(1L, "Java Mock Test")))
+                .thenReturn(List.of(test(1L, "Java Final Test")));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(createTestService, catalog))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        MockHttpServletResponse first = mockMvc.perform(get("/student/api/tests")).andReturn().getResponse();
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("Cache-Control")).contains("no-cache");
+        assertThat(first.getContentAsString()).contains("Java Mock Test");
+        String etag = first.getHeader("ETag");
+        assertThat(etag).isEqualTo(catalog.getSnapshot().etag());
+
+        assertThat(mockMvc.perform(get("/student/api/tests").header("If-None-Match", etag))
+                .andReturn().getResponse().getStatus()).isEqualTo(304);
+        assertThat(mockMvc.perform(get("/student/api/tests/1").header("If-None-Match", etag))
+                .andReturn().getResponse().getStatus()).isEqualTo(304);
+
+        bus.publish(CacheNames.TESTS, 1L);
+        MockHttpServletResponse changed = mockMvc.perform(get("/student/api/tests").header("If-None-Match", etag))
+                .andReturn().getResponse();
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader("ETag")).isNotEqualTo(etag);
+        assertThat(changed.getContentAsString()).contains("Java Final Test");
+    }
+
+    private CreateTestDTO test(Long id, String name) {
+        CreateTestDTO dto = new CreateTestDTO();
+        dto.setId(id);
+        dto.setTestName(name);
+        dto.setSubjectName("Java");
+        dto.setTestType("MOCK");
+        dto.setActive(true);
+        return dto;
+    }
+}
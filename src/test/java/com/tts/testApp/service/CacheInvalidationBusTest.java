@@ -0,0 +1,75 @@
+package com.tts.testApp.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    private final FakeTransport transport = new FakeTransport();
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(transport, "node-a");
+    private final List<String> evicted = new ArrayList<>();
+
+    @Test
+    void notifiesLocalSubscribersOnlyAfterCommit() {
+        bus.subscribe(CacheNames.TESTS, invalidation -> evicted.add(invalidation.key()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.publish(CacheNames.TESTS, 7L);
+            assertThat(transport.sent).hasSize(1);
+            assertThat(evicted).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(evicted).containsExactly("7");
+    }
+
+    @Test
+    void appliesRemoteInvalidationsAndIgnoresItsOwnEcho() {
+        bus.subscribe(CacheNames.SUBJECTS, invalidation -> evicted.add(invalidation.key()));
+
+        bus.publish(CacheNames.SUBJECTS, 1L);
+        transport.listener.accept(transport.sent.get(0));
+        transport.listener.accept(new CacheInvalidation(CacheNames.SUBJECTS, "2", "node-b",
+                System.currentTimeMillis() - 250));
+
+        assertThat(evicted).containsExactly("1", "2");
+        assertThat(bus.getStats().getReceivedFromOtherNodes()).isEqualTo(1);
+        assertThat(bus.getStats().getLastLagMillis()).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    void firstSubscribersRunBeforeCachesBuiltOnTopOfThem() {
+        bus.subscribe(CacheNames.TESTS, invalidation -> evicted.add("catalog"));
+        bus.subscribeFirst(CacheNames.TESTS, invalidation -> evicted.add("l2"));
+
+        bus.publish(CacheNames.TESTS, 3L);
+
+        assertThat(evicted).containsExactly("l2", "catalog");
+    }
+
+    private static class FakeTransport implements InvalidationTransport {
+        private final List<CacheInvalidation> sent = new ArrayList<>();
+        private Consumer<CacheInvalidation> listener;
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            sent.add(invalidation);
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+            this.listener = listener;
+        }
+    }
+}
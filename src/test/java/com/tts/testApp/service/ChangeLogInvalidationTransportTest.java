@@ -0,0 +1,102 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.model.CacheChangeLog;
+import com.tts.testApp.repository.CacheChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeLogInvalidationTransportTest {
+
+    private final List<CacheChangeLog> table = new ArrayList<>();
+    private final List<String> delivered = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private ChangeLogInvalidationTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        CacheChangeLogRepository repository = mock(CacheChangeLogRepository.class);
+        when(repository.findMaxId()).thenAnswer(invocation ->
+                table.stream().mapToLong(CacheChangeLog::getId).max().orElse(0));
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long cursor = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return table.stream()
+                    .filter(row -> row.getId() > cursor)
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+
+        transport = new ChangeLogInvalidationTransport(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), now::get);
+        ReflectionTestUtils.setField(transport, "pollBatchSize", 100);
+        ReflectionTestUtils.setField(transport, "gapTimeoutMillis", 10_000L);
+        transport.subscribe(invalidation -> delivered.add(invalidation.key()));
+    }
+
+    @Test
+    void startsAtTheEndOfTheLogAndDeliversEachChangeOnce() {
+        commit(1);
+        transport.poll();
+        assertThat(delivered).isEmpty();
+
+        commit(2);
+        commit(3);
+        transport.poll();
+        transport.poll();
+
+        assertThat(delivered).containsExactly("2", "3");
+        assertThat(transport.getBacklog()).isZero();
+    }
+
+    @Test
+    void deliversLateCommitsBelowTheCursorFrontier() {
+        transport.poll();
+
+        // 1 is still committing when 2 becomes visible
+        commit(2);
+        transport.poll();
+        assertThat(delivered).containsExactly("2");
+        assertThat(transport.getBacklog()).isEqualTo(1);
+
+        commit(1);
+        transport.poll();
+
+        assertThat(delivered).containsExactly("2", "1");
+        assertThat(transport.getBacklog()).isZero();
+    }
+
+    @Test
+    void skipsGapsThatNeverCommit() {
+        transport.poll();
+        commit(2);
+        transport.poll();
+
+        now.addAndGet(10_000);
+        transport.poll();
+        assertThat(transport.getBacklog()).isZero();
+
+        // A row that shows up after the gap was given up on is not replayed below the cursor
+        commit(3);
+        transport.poll();
+        assertThat(delivered).containsExactly("2", "3");
+    }
+
+    private void commit(long id) {
+        table.add(new CacheChangeLog(id, CacheNames.TESTS, String.valueOf(id), "other-node", now.get()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.StudentAnswerDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Cost of answer autosave outside HTTP:
+ * - save: applying one single-answer delta to a session in memory (the per-click cost)
+ * - flush: appending every changed session to the segment log with fsync
+ * - recover: replaying the log on startup
+ *
+ * Run with: mvn test -Dtest=ExamAutosaveBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.sessions=50000 -Dbenchmark.questions=50 -Dbenchmark.clicks=1000000
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExamAutosaveBenchmarkTest {
+
+    private static final String[] OPTIONS = {"A", "B", "C", "D"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void autosaveCost() throws IOException {
+        int sessions = Integer.getInteger("benchmark.sessions", 50000);
+        int questions = Integer.getInteger("benchmark.questions", 50);
+        int clicks = Integer.getInteger("benchmark.clicks", 1000000);
+
+        ExamAutosaveService service = new ExamAutosaveService(
+                new AutosaveSegmentLog(directory, 64L * 1024 * 1024, true), 4, Long.MAX_VALUE / 2,
+                System::currentTimeMillis);
+        service.recover();
+        List<Long> questionIds = LongStream.rangeClosed(1, questions).boxed().toList();
+        List<String> sessionIds = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            sessionIds.add(service.open((long) i, (long) i, 1L, questionIds, 60, 3).sessionId());
+        }
+        service.flush();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] seq = new long[sessions];
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int click = 0; click < clicks; click++) {
+                int session = random.nextInt(sessions);
+                service.save(sessionIds.get(session), (long) session, ++seq[session], List.of(new StudentAnswerDTO(
+                        questionIds.get(random.nextInt(questions)), OPTIONS[random.nextInt(OPTIONS.length)])));
+            }
+            long saveNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            service.flush();
+            long flushNanos = System.nanoTime() - start;
+            System.out.printf("round %d: save %.2f us/click, flush of %d sessions %.1f ms%n", round,
+                    saveNanos / 1000.0 / clicks, sessions, flushNanos / 1e6);
+        }
+        service.shutdown();
+
+        long start = System.nanoTime();
+        ExamAutosaveService restarted = new ExamAutosaveService(
+                new AutosaveSegmentLog(directory, 64L * 1024 * 1024, true), 4, Long.MAX_VALUE / 2,
+                System::currentTimeMillis);
+        restarted.recover();
+        System.out.printf("recover %d sessions: %.1f ms%n", restarted.getOpenSessionCount(),
+                (System.nanoTime() - start) / 1e6);
+        restarted.shutdown();
+    }
+}
@@ -0,0 +1,184 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.StudentAnswerDTO;
+import com.tts.testApp.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExamAutosaveServiceTest {
+
+    private static final long STUDENT = 7L;
+    private static final long TEST = 3L;
+    private static final List<Long> QUESTIONS = List.of(11L, 12L, 13L);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final List<ExamAutosaveService> started = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() throws IOException {
+        for (ExamAutosaveService service : started) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void savedAnswersSurviveARestart() throws IOException {
+        ExamAutosaveService service = start(4, 1024 * 1024);
+        String sessionId = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        service.save(sessionId, STUDENT, 1, List.of(answer(11L, "A"), answer(13L, "C")));
+        service.save(sessionId, STUDENT, 2, List.of(answer(11L, "B")));
+        service.flush();
+
+        ExamSessionSnapshot resumed = start(4, 1024 * 1024).findOpen(STUDENT, TEST).orElseThrow();
+
+        assertThat(resumed.sessionId()).isEqualTo(sessionId);
+        assertThat(resumed.questionIds()).isEqualTo(QUESTIONS);
+        assertThat(resumed.answers()).containsExactly("B", null, "C");
+        assertThat(resumed.seq()).isEqualTo(2);
+        assertThat(resumed.remainingSeconds(now.get())).isEqualTo(30 * 60);
+    }
+
+    @Test
+    void staleDeltasAreIgnoredAndInvalidOnesRejectedWhole() throws IOException {
+        ExamAutosaveService service = start(4, 1024 * 1024);
+        String sessionId = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        service.save(sessionId, STUDENT, 5, List.of(answer(12L, "D")));
+
+        assertThat(service.save(sessionId, STUDENT, 4, List.of(answer(12L, "A")))).isEqualTo(5);
+        assertThatThrownBy(() -> service.save(sessionId, STUDENT, 6, List.of(answer(12L, "A"), answer(99L, "A"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.save(sessionId, 8L, 7, List.of(answer(12L, "A"))))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(service.find(sessionId).orElseThrow().answers()).containsExactly(null, "D", null);
+    }
+
+    @Test
+    void submittedAttemptsAreNotResumedAfterARestart() throws IOException {
+        ExamAutosaveService service = start(4, 1024 * 1024);
+        String sessionId = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        service.save(sessionId, STUDENT, 1, List.of(answer(11L, "A")));
+        service.flush();
+        service.close(sessionId, STUDENT);
+        service.flush();
+
+        assertThat(start(4, 1024 * 1024).findOpen(STUDENT, TEST)).isEmpty();
+    }
+
+    @Test
+    void aFailedSubmitReopensItsClaimedAttempt() throws IOException {
+        ExamAutosaveService service = start(4, 1024 * 1024);
+        String sessionId = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        service.save(sessionId, STUDENT, 1, List.of(answer(12L, "D")));
+        service.flush();
+
+        assertThat(service.claim(sessionId, 8L)).isEmpty();
+        ExamSessionSnapshot claimed = service.claim(sessionId, STUDENT).orElseThrow();
+        assertThat(claimed.answers()).containsExactly(null, "D", null);
+        assertThat(service.claim(sessionId, STUDENT)).isEmpty();
+
+        // Reopened before the close is flushed, which must not win on recovery
+        assertThat(service.reopen(claimed)).isTrue();
+        assertThat(service.reopen(claimed)).isFalse();
+        service.flush();
+
+        ExamSessionSnapshot resumed = start(4, 1024 * 1024).findOpen(STUDENT, TEST).orElseThrow();
+        assertThat(resumed.sessionId()).isEqualTo(sessionId);
+        assertThat(resumed.answers()).containsExactly(null, "D", null);
+        assertThat(resumed.deadlineMillis()).isEqualTo(claimed.deadlineMillis());
+        assertThat(resumed.seq()).isEqualTo(1);
+    }
+
+    @Test
+    void aClaimIsNotReopenedOverANewerAttempt() throws IOException {
+        ExamAutosaveService service = start(4, 1024 * 1024);
+        String sessionId = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        ExamSessionSnapshot claimed = service.claim(sessionId, STUDENT).orElseThrow();
+        String newer = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+
+        assertThat(service.reopen(claimed)).isFalse();
+        assertThat(service.find(sessionId)).isEmpty();
+        assertThat(service.findOpen(STUDENT, TEST).orElseThrow().sessionId()).isEqualTo(newer);
+    }
+
+    @Test
+    void compactionKeepsOnlyOpenAttemptsInOneSegment() throws IOException {
+        // Every flush fills a segment, so every flush compacts
+        ExamAutosaveService service = start(1, 1);
+        String kept = service.open(STUDENT, TEST, 1L, QUESTIONS, 180, 3).sessionId();
+        service.flush();
+        String submitted = service.open(8L, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        service.flush();
+        service.close(submitted, 8L);
+        service.save(kept, STUDENT, 1, List.of(answer(13L, "B")));
+        String expired = service.open(9L, TEST, 1L, QUESTIONS, 1, 3).sessionId();
+        now.addAndGet(TimeUnit.HOURS.toMillis(2));
+        service.flush();
+        service.shutdown();
+        started.remove(service);
+
+        assertThat(segments()).hasSize(1);
+        ExamAutosaveService restarted = start(1, 1);
+        assertThat(restarted.getOpenSessionCount()).isEqualTo(1);
+        assertThat(restarted.find(kept).orElseThrow().answers()).containsExactly(null, null, "B");
+        assertThat(restarted.find(expired)).isEmpty();
+    }
+
+    @Test
+    void recoveryStopsAtATornRecord() throws IOException {
+        ExamAutosaveService service = start(4, 1024 * 1024);
+        String sessionId = service.open(STUDENT, TEST, 1L, QUESTIONS, 30, 3).sessionId();
+        service.save(sessionId, STUDENT, 1, List.of(answer(11L, "A")));
+        service.flush();
+        service.save(sessionId, STUDENT, 2, List.of(answer(11L, "C")));
+        service.flush();
+        service.shutdown();
+        started.remove(service);
+
+        // Cut the last record short, as a crash in the middle of a write would
+        Path segment = segments().get(0);
+        long size = Files.size(segment);
+        try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        ExamSessionSnapshot resumed = start(4, 1024 * 1024).find(sessionId).orElseThrow();
+        assertThat(resumed.answers()).containsExactly("A", null, null);
+        assertThat(resumed.seq()).isEqualTo(1);
+    }
+
+    private ExamAutosaveService start(int compactAfterSegments, long maxSegmentBytes) throws IOException {
+        ExamAutosaveService service = new ExamAutosaveService(
+                new AutosaveSegmentLog(directory, maxSegmentBytes, false), compactAfterSegments,
+                TimeUnit.HOURS.toMillis(1), now::get);
+        service.recover();
+        started.add(service);
+        return service;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private static StudentAnswerDTO answer(Long questionId, String option) {
+        return new StudentAnswerDTO(questionId, option);
+    }
+}
@@ -0,0 +1,176 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.config.AuthenticatedUser;
+import com.tts.testApp.config.ExamMetrics;
+import com.tts.testApp.controller.TestController;
+import com.tts.testApp.dto.StudentAnswerDTO;
+import com.tts.testApp.dto.TestResultDTO;
+import com.tts.testApp.dto.TestSubmissionDTO;
+import com.tts.testApp.model.Student;
+import com.tts.testApp.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExamDeadlineServiceTest {
+
+    private static final long STUDENT = 7L;
+    private static final long TEST = 3L;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+    private final TestService testService = mock(TestService.class);
+    private final QuestionService questionService = mock(QuestionService.class);
+    private ProctoringService proctoringService;
+    private ExamAutosaveService examAutosaveService;
+    private ExamDeadlineService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        examAutosaveService = new ExamAutosaveService(new AutosaveSegmentLog(directory, 1024 * 1024, false), 4,
+                TimeUnit.HOURS.toMillis(24), now::get);
+        examAutosaveService.recover();
+
+        Student student = new Student();
+        student.setEmail("student@example.com");
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findById(STUDENT)).thenReturn(Optional.of(student));
+        when(questionService.validateAnswers(anyList())).thenAnswer(inv -> new TestResultDTO());
+        proctoringService = mock(ProctoringService.class);
+        when(proctoringService.getViolationCount(anyString())).thenReturn(2);
+
+        service = new ExamDeadlineService(examAutosaveService, proctoringService, questionService, testService,
+                studentRepository, mock(ExamMetrics.class), mock(ExamMonitorService.class), new SimpleMeterRegistry(),
+                TimeUnit.SECONDS.toMillis(60), TimeUnit.HOURS.toMillis(1), now::get);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        examAutosaveService.shutdown();
+    }
+
+    @Test
+    void expiredAttemptIsSubmittedWithItsAutosavedAnswersAfterTheGracePeriod() {
+        String sessionId = examAutosaveService.open(STUDENT, TEST, 1L, List.of(11L, 12L), 30, 3).sessionId();
+        examAutosaveService.save(sessionId, STUDENT, 1, List.of(new StudentAnswerDTO(12L, "C")));
+
+        advance(TimeUnit.MINUTES.toMillis(30) + TimeUnit.SECONDS.toMillis(59));
+        verify(testService, never()).saveTestAttempt(any(), any(), any());
+
+        advance(TimeUnit.SECONDS.toMillis(1));
+        ArgumentCaptor<TestSubmissionDTO> submission = ArgumentCaptor.forClass(TestSubmissionDTO.class);
+        verify(testService).saveTestAttempt(submission.capture(), any(), eq("student@example.com"));
+        assertThat(submission.getValue().getStudentId()).isEqualTo(STUDENT);
+        assertThat(submission.getValue().getTestId()).isEqualTo(TEST);
+        assertThat(submission.getValue().getAnswers())
+                .containsExactly(new StudentAnswerDTO(11L, null), new StudentAnswerDTO(12L, "C"));
+        assertThat(submission.getValue().getTimeTakenSeconds()).isEqualTo(30 * 60);
+        assertThat(submission.getValue().getTabSwitches()).isEqualTo(2);
+        assertThat(examAutosaveService.find(sessionId)).isEmpty();
+        assertThat(service.wasAutoSubmitted(sessionId)).isTrue();
+        assertThat(service.wasAutoSubmitted(STUDENT, TEST)).isTrue();
+        assertThat(service.wasAutoSubmitted(STUDENT, 4L)).isFalse();
+
+        // A late submit is refused for a while, then forgotten
+        advance(TimeUnit.MINUTES.toMillis(61));
+        assertThat(service.wasAutoSubmitted(sessionId)).isFalse();
+        assertThat(service.wasAutoSubmitted(STUDENT, TEST)).isFalse();
+    }
+
+    @Test
+    void submitsWithoutAClaimedAttemptAreRefusedWhateverSessionIdThePageSends() {
+        TestController controller = new TestController(questionService, testService, mock(ExamMetrics.class),
+                examAutosaveService, proctoringService, service, mock(ExamMonitorService.class),
+                mock(ActiveTestCatalog.class));
+        AuthenticatedUser student = new AuthenticatedUser("student@example.com", "", true, true,
+                AuthorityUtils.createAuthorityList("ROLE_STUDENT"), STUDENT, "STUDENT", "Student");
+        examAutosaveService.open(STUDENT, TEST, 1L, List.of(11L), 30, 3);
+        advance(TimeUnit.MINUTES.toMillis(31));
+        verify(testService).saveTestAttempt(any(), any(), any());
+
+        assertThat(controller.submitTest(lateSubmission(TEST, null), student).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(controller.submitTest(lateSubmission(TEST, "made-up"), student).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        // Nor is a test that was never started recorded
+        assertThat(controller.submitTest(lateSubmission(4L, null), student).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(testService).saveTestAttempt(any(), any(), any());
+    }
+
+    private static TestSubmissionDTO lateSubmission(Long testId, String sessionId) {
+        TestSubmissionDTO submission = new TestSubmissionDTO();
+        submission.setTestId(testId);
+        submission.setSessionId(sessionId);
+        submission.setAnswers(List.of(new StudentAnswerDTO(11L, "A")));
+        return submission;
+    }
+
+    @Test
+    void attemptSubmittedByTheStudentIsLeftAlone() {
+        String sessionId = examAutosaveService.open(STUDENT, TEST, 1L, List.of(11L), 30, 3).sessionId();
+        String withoutTest = examAutosaveService.open(STUDENT, null, 1L, List.of(11L), 30, 3).sessionId();
+        examAutosaveService.close(sessionId, STUDENT);
+
+        advance(TimeUnit.MINUTES.toMillis(32));
+
+        verify(testService, never()).saveTestAttempt(any(), any(), any());
+        assertThat(service.wasAutoSubmitted(sessionId)).isFalse();
+        // Nothing to record it against, so the page's own submit is awaited
+        assertThat(examAutosaveService.find(withoutTest)).isPresent();
+    }
+
+    @Test
+    void attemptThatFailsToSaveIsTriedAgainOnTheNextTick() {
+        String sessionId = examAutosaveService.open(STUDENT, TEST, 1L, List.of(11L), 30, 3).sessionId();
+        doThrow(new IllegalStateException("database down")).doNothing()
+                .when(testService).saveTestAttempt(any(), any(), any());
+
+        advance(TimeUnit.MINUTES.toMillis(31));
+        verify(testService).saveTestAttempt(any(), any(), any());
+        assertThat(examAutosaveService.find(sessionId)).isPresent();
+        assertThat(service.wasAutoSubmitted(sessionId)).isFalse();
+
+        advance(TimeUnit.SECONDS.toMillis(1));
+        verify(testService, times(2)).saveTestAttempt(any(), any(), any());
+        assertThat(examAutosaveService.find(sessionId)).isEmpty();
+        assertThat(service.wasAutoSubmitted(sessionId)).isTrue();
+    }
+
+    /**
+     * Move the clock forward a second at a time, ticking as the scheduler would
+     */
+    private void advance(long millis) {
+        long until = now.get() + millis;
+        while (now.get() < until) {
+            now.set(Math.min(until, now.get() + 1000));
+            service.tick();
+        }
+    }
+}
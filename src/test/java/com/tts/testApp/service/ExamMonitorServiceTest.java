@@ -0,0 +1,127 @@
+package com.tts.testApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tts.testApp.dto.ExamMonitorSnapshotDTO;
+import com.tts.testApp.dto.ExamMonitorTestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ExamMonitorServiceTest {
+
+    private static final long TEST = 3L;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+    private ExamAutosaveService examAutosaveService;
+    private ExamMonitorService monitor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        examAutosaveService = new ExamAutosaveService(new AutosaveSegmentLog(directory, 1024 * 1024, false), 4,
+                TimeUnit.HOURS.toMillis(24), now::get);
+        examAutosaveService.recover();
+        monitor = new ExamMonitorService(examAutosaveService, new ObjectMapper(), 1000, 2,
+                TimeUnit.MINUTES.toMillis(1), TimeUnit.MINUTES.toMillis(10), now::get);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        examAutosaveService.shutdown();
+    }
+
+    @Test
+    void ratesCoverTheLastMinuteAndTotalsKeepRunning() {
+        examAutosaveService.open(7L, TEST, 1L, List.of(11L), 30, 3);
+        examAutosaveService.open(8L, null, 1L, List.of(11L), 30, 3);
+        monitor.examStarted(TEST);
+        monitor.examStarted(null);
+        monitor.examSubmitted(TEST, true);
+        monitor.examSubmitted(TEST, false);
+        monitor.tabSwitched(TEST, 7L, 1, 3, 3);
+        tick(1);
+
+        ExamMonitorSnapshotDTO snapshot = monitor.getSnapshot();
+        assertThat(snapshot.getActiveCandidates()).isEqualTo(2);
+        assertThat(snapshot.getStartsPerMinute()).isEqualTo(2);
+        assertThat(snapshot.getSubmitsPerMinute()).isEqualTo(2);
+        assertThat(snapshot.getTabSwitchesPerMinute()).isEqualTo(1);
+        assertThat(snapshot.getPassRate()).isEqualTo(50.0);
+        assertThat(snapshot.getAlerts()).singleElement()
+                .satisfies(alert -> assertThat(alert.isLimitReached()).isTrue());
+        ExamMonitorTestDTO test = snapshot.getTests().get(0);
+        assertThat(test.getTestId()).isEqualTo(TEST);
+        assertThat(test.getActiveCandidates()).isEqualTo(1);
+        assertThat(test.getStartsPerMinute()).isEqualTo(1);
+
+        monitor.examSubmitted(TEST, true);
+        tick(59);
+        assertThat(monitor.getSnapshot().getSubmitsPerMinute()).isEqualTo(3);
+        tick(1);
+        snapshot = monitor.getSnapshot();
+        assertThat(snapshot.getStartsPerMinute()).isZero();
+        assertThat(snapshot.getSubmitsPerMinute()).isEqualTo(1);
+        assertThat(snapshot.getSubmitted()).isEqualTo(3);
+        assertThat(snapshot.getPassRate()).isEqualTo(66.7);
+
+        // Idle tests are dropped from the snapshot after the configured time
+        tick(10 * 60);
+        assertThat(monitor.getSnapshot().getTests()).isEmpty();
+    }
+
+    @Test
+    void everySubscriberGetsTheSameSnapshotEvent() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(monitor)).build();
+        MvcResult first = mockMvc.perform(get("/stream")).andReturn();
+        MvcResult second = mockMvc.perform(get("/stream")).andReturn();
+        assertThatThrownBy(monitor::subscribe).isInstanceOf(IllegalStateException.class);
+
+        monitor.examStarted(TEST);
+        tick(1);
+
+        String event = first.getResponse().getContentAsString();
+        assertThat(event).startsWith("event:snapshot\ndata:{").contains("\"startsPerMinute\":1");
+        assertThat(second.getResponse().getContentAsString()).isEqualTo(event);
+        assertThat(monitor.getSubscriberCount()).isEqualTo(2);
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            now.addAndGet(1000);
+            monitor.tick();
+        }
+    }
+
+    @RestController
+    static class StreamController {
+        private final ExamMonitorService monitor;
+
+        StreamController(ExamMonitorService monitor) {
+            this.monitor = monitor;
+        }
+
+        @GetMapping("/stream")
+        SseEmitter stream() {
+            return monitor.subscribe();
+        }
+    }
+}
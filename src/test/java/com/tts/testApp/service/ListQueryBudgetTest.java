@@ -0,0 +1,182 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.QuestionBankDTO;
+import com.tts.testApp.dto.StudentAnswerDTO;
+import com.tts.testApp.dto.StudentDTO;
+import com.tts.testApp.dto.SubjectDTO;
+import com.tts.testApp.dto.TestResultDTO;
+import com.tts.testApp.model.Question;
+import com.tts.testApp.model.QuestionBank;
+import com.tts.testApp.model.Subject;
+import com.tts.testApp.repository.QuestionBankRepository;
+import com.tts.testApp.repository.QuestionRepository;
+import com.tts.testApp.repository.SubjectRepository;
+import com.tts.testApp.support.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query budgets for the list paths behind the admin and student dashboards
+ * and test submission. Each budget is independent of the number of rows,
+ * so a lazy association touched per row fails the test.
+ * Runs with the second-level cache off to measure the database path.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "app.cache.l2.enabled=false",
+        "app.cache.l2.statistics=true",
+        "app.cache.invalidation.poll-interval-ms=3600000"
+})
+class ListQueryBudgetTest {
+
+    private static final int SUBJECTS = 5;
+    private static final int QUESTIONS_PER_BANK = 10;
+
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private CreateTestService createTestService;
+    @Autowired
+    private QuestionBankService questionBankService;
+    @Autowired
+    private QuestionService questionService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private SubjectRepository subjectRepository;
+    @Autowired
+    private QuestionBankRepository questionBankRepository;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryBudget budget;
+    private Long firstTestId;
+    private Long firstSubjectId;
+    private final List<Long> questionIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        budget = new QueryBudget(entityManagerFactory);
+
+        for (int i = 0; i < SUBJECTS; i++) {
+            SubjectDTO subjectDTO = new SubjectDTO();
+            subjectDTO.setName("Budget Subject " + i);
+            subjectDTO.setSubjectCode("BUDGET-" + i);
+            subjectDTO.setActive(true);
+            subjectService.createSubject(subjectDTO);
+            Subject subject = subjectRepository.findByName(subjectDTO.getName()).orElseThrow();
+
+            for (String type : new String[]{"MOCK", "FINAL"}) {
+                CreateTestDTO test = new CreateTestDTO();
+                test.setSubjectName(subject.getName());
+                test.setTestType(type);
+                test.setTotalQuestions(QUESTIONS_PER_BANK);
+                test.setDuration(30);
+                test.setPassingPercentage(40);
+                test.setMarksPerQuestion(1);
+                test.setTabSwitchLimit(3);
+                Long id = createTestService.createTest(test).getId();
+                if (firstTestId == null) {
+                    firstTestId = id;
+                    firstSubjectId = subject.getId();
+                }
+            }
+
+            QuestionBank bank = new QuestionBank();
+            bank.setSubject(subject);
+            bank.setFileName("bank-" + i + ".csv");
+            bank.setOriginalFileName("bank-" + i + ".csv");
+            bank.setFilePath("/tmp/bank-" + i + ".csv");
+            bank.setFileSize(1024L);
+            bank.setTotalQuestions(QUESTIONS_PER_BANK);
+            bank = questionBankRepository.save(bank);
+
+            for (int q = 0; q < QUESTIONS_PER_BANK; q++) {
+                Question question = new Question();
+                question.setQuestionBank(bank);
+                question.setQuestionText("Question " + q + " of bank " + i);
+                question.setOptionA("A");
+                question.setOptionB("B");
+                question.setOptionC("C");
+                question.setOptionD("D");
+                question.setCorrectAnswer("A");
+                questionIds.add(questionRepository.save(question).getId());
+            }
+
+            StudentDTO student = new StudentDTO();
+            student.setFullName("Budget Student " + (char) ('A' + i));
+            student.setEmail("budget" + i + "@example.com");
+            student.setPassword("Password1!");
+            studentService.createStudent(student);
+        }
+    }
+
+    @Test
+    void adminDashboardLists() {
+        assertThat(budget.atMost(1, "getAllSubjects", subjectService::getAllSubjects)).hasSize(SUBJECTS);
+        assertThat(budget.atMost(1, "getAllStudents", studentService::getAllStudents)).hasSize(SUBJECTS);
+        assertThat(budget.atMost(1, "getAllTests", createTestService::getAllTests)).hasSize(SUBJECTS * 2);
+
+        List<QuestionBankDTO> banks = budget.atMost(1, "getAllQuestionBanks + convertToDTOs",
+                () -> questionBankService.convertToDTOs(questionBankService.getAllQuestionBanks()));
+        assertThat(banks).hasSize(SUBJECTS).allSatisfy(bank -> assertThat(bank.getSubjectName()).isNotNull());
+    }
+
+    @Test
+    void testLists() {
+        assertThat(budget.atMost(1, "getActiveTests", createTestService::getActiveTests)).hasSize(SUBJECTS * 2);
+        assertThat(budget.atMost(1, "getTestsByType", () -> createTestService.getTestsByType("MOCK")))
+                .hasSize(SUBJECTS);
+        assertThat(budget.atMost(2, "getTestsBySubject",
+                () -> createTestService.getTestsBySubject("Budget Subject 0"))).hasSize(2);
+        assertThat(budget.atMost(1, "getTestById", () -> createTestService.getTestById(firstTestId))
+                .getSubjectName()).isEqualTo("Budget Subject 0");
+    }
+
+    @Test
+    void questionBankLists() {
+        assertThat(budget.atMost(1, "getActiveQuestionBanks + convertToDTOs",
+                () -> questionBankService.convertToDTOs(questionBankService.getActiveQuestionBanks())))
+                .hasSize(SUBJECTS);
+        assertThat(budget.atMost(1, "getQuestionBanksBySubjectId + convertToDTOs",
+                () -> questionBankService.convertToDTOs(questionBankService.getQuestionBanksBySubjectId(firstSubjectId))))
+                .hasSize(1);
+    }
+
+    @Test
+    void submissionValidatesAllAnswersInOneQuery() {
+        List<StudentAnswerDTO> answers = new ArrayList<>();
+        for (Long questionId : questionIds.subList(0, 30)) {
+            StudentAnswerDTO answer = new StudentAnswerDTO();
+            answer.setQuestionId(questionId);
+            answer.setSelectedOption("A");
+            answers.add(answer);
+        }
+
+        TestResultDTO result = budget.atMost(1, "validateAnswers", () -> questionService.validateAnswers(answers));
+
+        assertThat(result.getCorrectAnswers()).isEqualTo(30);
+    }
+}
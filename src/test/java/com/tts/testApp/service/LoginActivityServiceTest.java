@@ -0,0 +1,64 @@
+package com.tts.testApp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LoginActivityServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LoginActivityService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new LoginActivityService(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesRepeatedLoginsIntoOneRowPerAccount() {
+        service.recordLogin("STUDENT", 7L, "10.0.0.1");
+        service.recordLogin("STUDENT", 7L, "10.0.0.2");
+        service.recordLogin("STUDENT", 8L, "10.0.0.3");
+        service.recordLogin("ADMIN", 7L, "10.0.0.4");
+        assertThat(service.getPendingCount()).isEqualTo(3);
+
+        service.flush();
+
+        ArgumentCaptor<List<Object[]>> students = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE students"), students.capture());
+        assertThat(students.getValue()).hasSize(2);
+        assertThat(students.getValue())
+                .filteredOn(row -> row[2].equals(7L))
+                .singleElement()
+                .satisfies(row -> assertThat(row[1]).isEqualTo("10.0.0.2"));
+
+        ArgumentCaptor<List<Object[]>> admins = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE admins"), admins.capture());
+        assertThat(admins.getValue()).hasSize(1);
+
+        assertThat(service.getPendingCount()).isZero();
+    }
+
+    @Test
+    void flushWithNothingPendingWritesNothing() {
+        service.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
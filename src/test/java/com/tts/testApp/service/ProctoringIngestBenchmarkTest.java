@@ -0,0 +1,97 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.ProctoringEventDTO;
+import com.tts.testApp.model.ProctoringEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Proctoring ingestion rate outside HTTP: events recorded per second (the
+ * counter update and buffer offer on the request thread) and rows written
+ * per second by the batching writer, against an embedded H2 database.
+ *
+ * Run with: mvn test -Dtest=ProctoringIngestBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.sessions=10000 -Dbenchmark.events=1000000 -Dbenchmark.batch=1000
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProctoringIngestBenchmarkTest {
+
+    private static final ProctoringEventType[] TYPES = ProctoringEventType.values();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ingestRate() throws IOException, InterruptedException {
+        int sessions = Integer.getInteger("benchmark.sessions", 10000);
+        int events = Integer.getInteger("benchmark.events", 1000000);
+        int batchSize = Integer.getInteger("benchmark.batch", 1000);
+
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        ExamAutosaveService examAutosaveService = new ExamAutosaveService(
+                new AutosaveSegmentLog(directory, 64L * 1024 * 1024, false), 4, TimeUnit.HOURS.toMillis(24),
+                System::currentTimeMillis);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.execute("CREATE TABLE proctoring_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "session_id VARCHAR(36) NOT NULL, student_id BIGINT NOT NULL, test_id BIGINT, "
+                    + "event_type VARCHAR(32) NOT NULL, occurred_at TIMESTAMP NOT NULL, "
+                    + "received_at TIMESTAMP NOT NULL)");
+            examAutosaveService.recover();
+            List<String> sessionIds = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                sessionIds.add(examAutosaveService.open((long) i, (long) i, 1L, List.of(1L), 60, 0).sessionId());
+            }
+
+            ProctoringService service = new ProctoringService(examAutosaveService,
+                    mock(ExamMonitorService.class), testId -> null, jdbcTemplate,
+                    new TransactionTemplate(new DataSourceTransactionManager(database)), new SimpleMeterRegistry(),
+                    65536, batchSize, System::currentTimeMillis);
+            service.start();
+            // A session's first event looks it up and reads its stored events; measure the steady state
+            for (int i = 0; i < sessions; i++) {
+                service.record(sessionIds.get(i), (long) i, List.of());
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long start = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                int session = random.nextInt(sessions);
+                service.record(sessionIds.get(session), (long) session, List.of(new ProctoringEventDTO(
+                        TYPES[random.nextInt(TYPES.length)], System.currentTimeMillis())));
+            }
+            long recordNanos = System.nanoTime() - start;
+            service.stop();
+            long totalNanos = System.nanoTime() - start;
+
+            System.out.printf("record: %.0f events/s (%.2f us/event)%n", events / (recordNanos / 1e9),
+                    recordNanos / 1000.0 / events);
+            System.out.printf("written: %d rows, %.0f rows/s; dropped on full buffer: %d%n",
+                    service.getPersistedCount(), service.getPersistedCount() / (totalNanos / 1e9),
+                    service.getDroppedCount());
+        } finally {
+            examAutosaveService.shutdown();
+            database.shutdown();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.ProctoringEventDTO;
+import com.tts.testApp.exception.ResourceNotFoundException;
+import com.tts.testApp.model.ProctoringEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ProctoringServiceTest {
+
+    private static final long STUDENT = 7L;
+    private static final long TEST = 3L;
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ExamAutosaveService examAutosaveService;
+    private String sessionId;
+    private final ExamMonitorService monitor = mock(ExamMonitorService.class);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE proctoring_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "session_id VARCHAR(36) NOT NULL, student_id BIGINT NOT NULL, test_id BIGINT, "
+                + "event_type VARCHAR(32) NOT NULL, occurred_at TIMESTAMP NOT NULL, received_at TIMESTAMP NOT NULL)");
+
+        examAutosaveService = new ExamAutosaveService(new AutosaveSegmentLog(directory, 1024 * 1024, false), 4,
+                TimeUnit.HOURS.toMillis(1), System::currentTimeMillis);
+        examAutosaveService.recover();
+        sessionId = examAutosaveService.open(STUDENT, TEST, 1L, List.of(11L, 12L), 30, 3).sessionId();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        examAutosaveService.shutdown();
+        database.shutdown();
+    }
+
+    @Test
+    void violationsCountTowardTheScheduledTestsLimit() throws InterruptedException {
+        ProctoringService service = start(testId -> testId == TEST ? 2 : null);
+        try {
+            ProctoringService.ProctoringStatus status = service.record(sessionId, STUDENT,
+                    events(ProctoringEventType.FOCUS_LOST, ProctoringEventType.TAB_SWITCH));
+            assertThat(status.violations()).isEqualTo(1);
+            assertThat(status.limit()).isEqualTo(2);
+            assertThat(status.limitReached()).isFalse();
+
+            status = service.record(sessionId, STUDENT, events(ProctoringEventType.FULLSCREEN_EXIT));
+            assertThat(status.limitReached()).isTrue();
+            assertThat(service.getViolationCount(sessionId)).isEqualTo(2);
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void eventsAreStoredAndCountedAgainAfterARestart() throws InterruptedException {
+        ProctoringService service = start(testId -> null);
+        service.record(sessionId, STUDENT, events(ProctoringEventType.TAB_SWITCH, ProctoringEventType.FOCUS_LOST,
+                ProctoringEventType.TAB_SWITCH));
+        // Stopping drains the buffer
+        service.stop();
+
+        assertThat(service.getPersistedCount()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM proctoring_events WHERE session_id = ? "
+                + "AND student_id = ? AND test_id = ?", Integer.class, sessionId, STUDENT, TEST)).isEqualTo(3);
+
+        ProctoringService restarted = start(testId -> null);
+        try {
+            ProctoringService.ProctoringStatus status = restarted.record(sessionId, STUDENT,
+                    events(ProctoringEventType.TAB_SWITCH));
+            assertThat(status.violations()).isEqualTo(3);
+            assertThat(status.limit()).isEqualTo(3);
+            assertThat(status.limitReached()).isTrue();
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void eventsForAnotherStudentsOrAClosedSessionAreRejected() throws InterruptedException {
+        ProctoringService service = start(testId -> null);
+        try {
+            assertThatThrownBy(() -> service.record(sessionId, 8L, events(ProctoringEventType.TAB_SWITCH)))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            service.record(sessionId, STUDENT, events(ProctoringEventType.TAB_SWITCH));
+            assertThatThrownBy(() -> service.record(sessionId, 8L, events(ProctoringEventType.TAB_SWITCH)))
+                    .isInstanceOf(ResourceNotFoundException.class);
+
+            examAutosaveService.close(sessionId, STUDENT);
+            service.sweep();
+            assertThat(service.getViolationCount(sessionId)).isZero();
+            assertThatThrownBy(() -> service.record(sessionId, STUDENT, events(ProctoringEventType.TAB_SWITCH)))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        } finally {
+            service.stop();
+        }
+    }
+
+    private ProctoringService start(LongFunction<Integer> testTabSwitchLimit) {
+        ProctoringService service = new ProctoringService(examAutosaveService, monitor, testTabSwitchLimit, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(database)), new SimpleMeterRegistry(),
+                1024, 100, System::currentTimeMillis);
+        service.start();
+        return service;
+    }
+
+    private static List<ProctoringEventDTO> events(ProctoringEventType... types) {
+        long now = System.currentTimeMillis();
+        return Arrays.stream(types).map(type -> new ProctoringEventDTO(type, now)).toList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.SubjectDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Dashboard and test-start latency with the Hibernate second-level cache
+ * on and off, each against its own embedded H2 database.
+ * - dashboard: rebuild the active test catalog (what every node does after
+ *   a test or subject changes) and list subjects as the admin dashboard does
+ * - test start: load one test with its subject, as /student/test/{id}/start does
+ *
+ * H2 runs in-process, so the difference understates what the cache saves
+ * against a networked database; the SQL statements per operation column
+ * shows the round trips avoided.
+ *
+ * Run with: mvn test -Dtest=SecondLevelCacheBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.subjects=100 -Dbenchmark.iterations=5000
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SecondLevelCacheBenchmarkTest {
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:l2-on;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "app.cache.l2.enabled=true"
+    })
+    class CacheOn extends Scenario {
+        CacheOn() {
+            super("L2 on");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:l2-off;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "app.cache.l2.enabled=false"
+    })
+    class CacheOff extends Scenario {
+        CacheOff() {
+            super("L2 off");
+        }
+    }
+
+    @SpringBootTest
+    @TestPropertySource(properties = {
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.hibernate.ddl-auto=create",
+            "spring.jpa.show-sql=false",
+            "logging.level.com.tts=WARN",
+            "logging.level.org.springframework=WARN",
+            "logging.level.org.hibernate=ERROR"
+    })
+    abstract static class Scenario {
+
+        private final String label;
+
+        @Autowired
+        private SubjectService subjectService;
+        @Autowired
+        private CreateTestService createTestService;
+        @Autowired
+        private ActiveTestCatalog activeTestCatalog;
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        Scenario(String label) {
+            this.label = label;
+        }
+
+        @Test
+        void latency() {
+            int subjects = Integer.getInteger("benchmark.subjects", 100);
+            int iterations = Integer.getInteger("benchmark.iterations", 5000);
+
+            List<Long> testIds = seed(subjects);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            Random random = new Random(42);
+
+            Runnable dashboard = () -> {
+                activeTestCatalog.invalidate();
+                activeTestCatalog.getSnapshot();
+                subjectService.getAllSubjects();
+            };
+            Runnable testStart = () -> createTestService.getTestById(testIds.get(random.nextInt(testIds.size())));
+
+            // Warm up the JIT and, when enabled, the cache
+            measure(dashboard, iterations / 4, statistics);
+            measure(testStart, iterations, statistics);
+
+            double[] dashboardResult = measure(dashboard, iterations, statistics);
+            double[] testStartResult = measure(testStart, iterations * 4, statistics);
+
+            System.out.printf("%n%-8s %14s %10s %16s %10s%n",
+                    "mode", "dashboard us", "SQL/op", "test start us", "SQL/op");
+            System.out.printf("%-8s %14.1f %10.2f %16.1f %10.2f%n", label,
+                    dashboardResult[0], dashboardResult[1], testStartResult[0], testStartResult[1]);
+        }
+
+        private List<Long> seed(int subjects) {
+            List<Long> testIds = new ArrayList<>();
+            for (int i = 0; i < subjects; i++) {
+                SubjectDTO subject = new SubjectDTO();
+                subject.setName("Benchmark Subject " + i);
+                subject.setSubjectCode(String.format("BS-%03d", i));
+                subject.setActive(true);
+                subjectService.createSubject(subject);
+
+                for (String type : new String[]{"MOCK", "FINAL"}) {
+                    CreateTestDTO test = new CreateTestDTO();
+                    test.setSubjectName(subject.getName());
+                    test.setTestType(type);
+                    test.setTotalQuestions(30);
+                    test.setDuration(30);
+                    test.setPassingPercentage(40);
+                    test.setMarksPerQuestion(1);
+                    test.setTabSwitchLimit(3);
+                    testIds.add(createTestService.createTest(test).getId());
+                }
+            }
+            return testIds;
+        }
+
+        /**
+         * @return average microseconds and SQL statements per operation
+         */
+        private static double[] measure(Runnable operation, int iterations, Statistics statistics) {
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                operation.run();
+            }
+            double micros = (System.nanoTime() - start) / 1000.0 / iterations;
+            return new double[]{micros, (double) statistics.getPrepareStatementCount() / iterations};
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CreateTestDTO;
+import com.tts.testApp.dto.SubjectDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The second-level cache against an embedded database: repeated reads of a
+ * test and the active test list issue no SQL, and a change made by another
+ * node reaches this one through the change-log transport.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2-query;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "app.cache.l2.enabled=true",
+        "app.cache.l2.statistics=true",
+        "app.cache.invalidation.poll-interval-ms=3600000"
+})
+class SecondLevelCacheQueryTest {
+
+    @Autowired
+    private SubjectService subjectService;
+    @Autowired
+    private CreateTestService createTestService;
+    @Autowired
+    private ActiveTestCatalog activeTestCatalog;
+    @Autowired
+    private ChangeLogInvalidationTransport transport;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedReadsHitTheCacheUntilAnotherNodeChangesTheTest() {
+        SubjectDTO subject = new SubjectDTO();
+        subject.setName("Java");
+        subject.setSubjectCode("JV-1");
+        subject.setActive(true);
+        subjectService.createSubject(subject);
+        CreateTestDTO test = new CreateTestDTO();
+        test.setSubjectName("Java");
+        test.setTestType("MOCK");
+        test.setTotalQuestions(10);
+        test.setDuration(30);
+        test.setPassingPercentage(50);
+        test.setMarksPerQuestion(1);
+        test.setTabSwitchLimit(3);
+        Long testId = createTestService.createTest(test).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        createTestService.getTestById(testId);
+        createTestService.getActiveTests();
+        statistics.clear();
+        createTestService.getTestById(testId);
+        createTestService.getActiveTests();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        // Another node's write bypasses this node's cache until its change-log entry is polled
+        jdbcTemplate.update("UPDATE tests SET duration = 99 WHERE id = ?", testId);
+        assertThat(createTestService.getTestById(testId).getDuration()).isEqualTo(30);
+
+        transport.publish(new CacheInvalidation(CacheNames.TESTS, testId.toString(), "other-node",
+                System.currentTimeMillis()));
+        transport.poll();
+        assertThat(createTestService.getTestById(testId).getDuration()).isEqualTo(99);
+        assertThat(activeTestCatalog.getSnapshot().findTest(testId).orElseThrow().getDuration()).isEqualTo(99);
+    }
+}
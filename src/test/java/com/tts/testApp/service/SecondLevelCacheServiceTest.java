@@ -0,0 +1,79 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.model.CreateTest;
+import com.tts.testApp.model.Subject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class SecondLevelCacheServiceTest {
+
+    private final CacheImplementor cache = mock(CacheImplementor.class);
+    private CacheInvalidationBus bus;
+    private Consumer<CacheInvalidation> remoteListener;
+
+    @BeforeEach
+    void setUp() {
+        // Some annotations on the SPI interface reference classes that are not on the test classpath
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class,
+                withSettings().withoutAnnotations());
+        SessionFactoryOptions options = mock(SessionFactoryOptions.class);
+        when(options.isSecondLevelCacheEnabled()).thenReturn(true);
+        when(sessionFactory.getSessionFactoryOptions()).thenReturn(options);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+
+        InvalidationTransport transport = mock(InvalidationTransport.class);
+        bus = new CacheInvalidationBus(transport, "node-a");
+        new SecondLevelCacheService(entityManagerFactory, bus);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<CacheInvalidation>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(transport).subscribe(listener.capture());
+        remoteListener = listener.getValue();
+    }
+
+    @Test
+    void remoteChangeEvictsEntityAndCachedQueries() {
+        dispatchRemote(new CacheInvalidation(CacheNames.TESTS, "42", "node-b", System.currentTimeMillis()));
+
+        verify(cache).evictEntityData(CreateTest.class, 42L);
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void remoteChangeWithoutKeyEvictsWholeEntityRegion() {
+        dispatchRemote(new CacheInvalidation(CacheNames.SUBJECTS, null, "node-b", System.currentTimeMillis()));
+
+        verify(cache).evictEntityData(Subject.class);
+        verify(cache, never()).evictEntityData(any(Class.class), any());
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void localChangesAreLeftToHibernate() {
+        bus.publish(CacheNames.TESTS, 42L);
+
+        verifyNoInteractions(cache);
+    }
+
+    private void dispatchRemote(CacheInvalidation invalidation) {
+        remoteListener.accept(invalidation);
+    }
+}
@@ -0,0 +1,134 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentIdGeneratorTest {
+
+    private static final int BLOCK_SIZE = 20;
+
+    /**
+     * In-memory stand-in for the id_sequences row; synchronized methods play
+     * the role of the row lock taken by SELECT ... FOR UPDATE.
+     */
+    private static class SequenceRow {
+        private Long nextValue;
+        private final AtomicInteger reservations = new AtomicInteger();
+
+        synchronized OptionalLong reserve(int size) {
+            if (nextValue == null) {
+                return OptionalLong.empty();
+            }
+            reservations.incrementAndGet();
+            long start = nextValue;
+            nextValue += size;
+            return OptionalLong.of(start);
+        }
+
+        synchronized void create(long initialValue) {
+            if (nextValue != null) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            nextValue = initialValue;
+        }
+    }
+
+    private StudentIdGenerator newNode(SequenceRow row, Long highestExisting) {
+        IdSequenceService sequenceService = mock(IdSequenceService.class);
+        when(sequenceService.reserveBlock(anyString(), anyInt()))
+                .thenAnswer(inv -> row.reserve(inv.getArgument(1)));
+        doAnswer(inv -> {
+            row.create(inv.getArgument(1));
+            return null;
+        }).when(sequenceService).createSequence(anyString(), anyLong());
+
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findHighestStudentNumber()).thenReturn(highestExisting);
+
+        StudentIdGenerator generator = new StudentIdGenerator(sequenceService, studentRepository);
+        ReflectionTestUtils.setField(generator, "blockSize", BLOCK_SIZE);
+        return generator;
+    }
+
+    @Test
+    void seedsSequencePastExistingStudentIds() {
+        StudentIdGenerator generator = newNode(new SequenceRow(), 41L);
+
+        assertThat(generator.nextStudentId()).isEqualTo("STD-042");
+        assertThat(generator.nextStudentId()).isEqualTo("STD-043");
+    }
+
+    @Test
+    void bulkReservationTakesOneBlockAndDoesNotOverlapSingleIds() {
+        SequenceRow row = new SequenceRow();
+        StudentIdGenerator generator = newNode(row, 9L);
+
+        assertThat(generator.nextStudentId()).isEqualTo("STD-010");
+        String[] bulk = generator.nextStudentIds(1000);
+
+        assertThat(bulk).hasSize(1000);
+        assertThat(bulk[0]).isEqualTo("STD-030");
+        assertThat(bulk[999]).isEqualTo("STD-1029");
+        assertThat(generator.nextStudentId()).isEqualTo("STD-011");
+        assertThat(row.reservations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentNodesNeverHandOutTheSameId() throws Exception {
+        SequenceRow row = new SequenceRow();
+        List<StudentIdGenerator> nodes = List.of(newNode(row, null), newNode(row, null), newNode(row, null));
+
+        int threads = 64;
+        int idsPerThread = 500;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                StudentIdGenerator node = nodes.get(t % nodes.size());
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        issued.add(node.nextStudentId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int total = threads * idsPerThread;
+        assertThat(issued).hasSize(total);
+        assertThat(issued).allMatch(id -> id.startsWith("STD-"));
+        // Each node wastes at most one partially used block
+        assertThat(row.reservations.get()).isLessThanOrEqualTo(total / BLOCK_SIZE + nodes.size());
+    }
+}
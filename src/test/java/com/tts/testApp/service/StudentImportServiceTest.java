@@ -0,0 +1,143 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.StudentImportStatusDTO;
+import com.tts.testApp.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentImportServiceTest {
+
+    private final LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+    private final AtomicInteger insertedRows = new AtomicInteger();
+    private StudentImportService service;
+    private StudentImportService rejectingService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        validator.afterPropertiesSet();
+
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com"));
+
+        StudentIdGenerator idGenerator = mock(StudentIdGenerator.class);
+        AtomicInteger ids = new AtomicInteger();
+        when(idGenerator.nextStudentId()).thenAnswer(inv -> "STD-" + ids.incrementAndGet());
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            List<Object[]> args = inv.getArgument(1);
+            insertedRows.addAndGet(args.size());
+            return new int[args.size()];
+        });
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(inv -> {
+            inv.getArgument(0, java.util.function.Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.getArgument(0, TransactionCallback.class).doInTransaction(null));
+
+        // Hashing cost is not under test here
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> inv.getArgument(0));
+
+        service = new StudentImportService(studentRepository, idGenerator, passwordEncoder,
+                validator, jdbcTemplate, transactionTemplate, Runnable::run, Runnable::run);
+        rejectingService = new StudentImportService(studentRepository, idGenerator, passwordEncoder,
+                validator, jdbcTemplate, transactionTemplate, Runnable::run, task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.close();
+    }
+
+    @Test
+    void importsValidRowsAndReportsRowErrors() throws Exception {
+        Path csv = Files.createTempFile("students", ".csv");
+        Files.writeString(csv, String.join("\n",
+                "Full Name,Email,Password",
+                "Asha Patil,asha@example.com,Secret123",
+                "Ravi Kumar,ravi@example.com,Secret123",
+                "Bad Email,not-an-email,Secret123",
+                "Weak Password,weak@example.com,secret",
+                "Asha Again,ASHA@example.com,Secret123",
+                "Already There,taken@example.com,Secret123"));
+
+        StudentImportService.ImportJob job = new StudentImportService.ImportJob("job-1", "students.csv", "admin");
+        service.runImport(job, csv);
+        StudentImportStatusDTO status = job.toStatus();
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getTotalRows()).isEqualTo(6);
+        assertThat(status.getProcessedRows()).isEqualTo(6);
+        assertThat(status.getImportedCount()).isEqualTo(2);
+        assertThat(status.getFailedCount()).isEqualTo(4);
+        assertThat(insertedRows.get()).isEqualTo(2);
+        assertThat(status.getErrors())
+                .extracting(StudentImportStatusDTO.RowError::getRowNumber)
+                .containsExactlyInAnyOrder(4, 5, 6, 7);
+        assertThat(Files.exists(csv)).isFalse();
+    }
+
+    @Test
+    void failsJobOnMissingHeader() throws Exception {
+        Path csv = Files.createTempFile("students", ".csv");
+        Files.writeString(csv, "Full Name\n");
+
+        StudentImportService.ImportJob job = new StudentImportService.ImportJob("job-2", "students.csv", "admin");
+        service.runImport(job, csv);
+
+        assertThat(job.toStatus().getStatus()).isEqualTo("FAILED");
+        assertThat(job.toStatus().getMessage()).contains("at least 3 columns");
+    }
+
+    @Test
+    void rejectedImportKeepsNeitherItsFileNorItsJob() throws Exception {
+        List<Path> copies = new ArrayList<>();
+        MockMultipartFile upload = new MockMultipartFile("file", "students.csv", "text/csv",
+                "Full Name,Email,Password\n".getBytes()) {
+            @Override
+            public void transferTo(Path dest) throws IOException {
+                copies.add(dest);
+                super.transferTo(dest);
+            }
+        };
+
+        assertThatThrownBy(() -> rejectingService.startImport(upload, "admin"))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(copies).singleElement().satisfies(copy -> assertThat(Files.exists(copy)).isFalse());
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(rejectingService, "jobs")).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.StudentDTO;
+import com.tts.testApp.model.Student;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent signups against a connection pool smaller than the number of
+ * signups. Every signup reserves its own student ID block while its
+ * transaction holds a pooled connection, so the reservation must not need
+ * a second connection from the same pool.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:signup-pool;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=10000",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "app.student-id.block-size=1",
+        "app.cache.invalidation.poll-interval-ms=3600000"
+})
+class StudentSignupConcurrencyTest {
+
+    private static final int SIGNUPS = 8;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void moreConcurrentSignupsThanPooledConnectionsAllSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SIGNUPS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Student>> signups = new ArrayList<>();
+        try {
+            for (int i = 0; i < SIGNUPS; i++) {
+                StudentDTO student = new StudentDTO();
+                student.setFullName("Signup Student");
+                student.setEmail("signup" + i + "@example.com");
+                student.setPassword("Secret123");
+                student.setConfirmPassword("Secret123");
+                signups.add(executor.submit(() -> {
+                    start.await();
+                    return studentService.createStudent(student);
+                }));
+            }
+            start.countDown();
+
+            List<String> studentIds = new ArrayList<>();
+            for (Future<Student> signup : signups) {
+                studentIds.add(signup.get(30, TimeUnit.SECONDS).getStudentId());
+            }
+            assertThat(studentIds).doesNotHaveDuplicates().hasSize(SIGNUPS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
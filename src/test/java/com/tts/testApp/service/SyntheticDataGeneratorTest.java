@@ -0,0 +1,121 @@
+package com.tts.testApp.service;
+
+import com.tts.testApp.dto.CSVQuestionDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Generates a small dataset at startup (as the datagen profile does) and
+ * checks the volumes, the relationships between the generated rows and
+ * that the CSV files are accepted by the upload parser.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "app.cache.invalidation.poll-interval-ms=3600000",
+        "app.security.password-encoder=bcrypt-8",
+        "app.upload.dir=target/datagen-test/question-banks",
+        "app.autosave.dir=target/datagen-test/autosave",
+        "app.datagen.enabled=true",
+        "app.datagen.exit-on-completion=false",
+        "app.datagen.subjects=4",
+        "app.datagen.questions=1001",
+        "app.datagen.students=300",
+        "app.datagen.test-attempts=2500",
+        "app.datagen.batch-size=100"
+})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CSVParserService csvParserService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void generatesRequestedVolumesWithConsistentRelationships() {
+        assertThat(count("SELECT COUNT(*) FROM subjects WHERE subject_code LIKE 'SYN-%'")).isEqualTo(4);
+        assertThat(count("SELECT COUNT(*) FROM tests")).isEqualTo(8);
+        assertThat(count("SELECT COUNT(*) FROM question_banks")).isEqualTo(4);
+        assertThat(count("SELECT COUNT(*) FROM questions")).isEqualTo(1001);
+        assertThat(count("SELECT SUM(total_questions) FROM question_banks")).isEqualTo(1001);
+        assertThat(count("SELECT COUNT(*) FROM students")).isEqualTo(300);
+        assertThat(count("SELECT COUNT(*) FROM test_attempts")).isEqualTo(2500);
+
+        // Per-student counters match the attempts, and every attempt points at real rows
+        assertThat(count("SELECT SUM(tests_taken) FROM students")).isEqualTo(2500);
+        assertThat(count("SELECT COUNT(*) FROM test_attempts a JOIN students s ON s.id = a.student_id " +
+                "JOIN tests t ON t.id = a.test_id JOIN question_banks b ON b.id = a.question_bank_id " +
+                "WHERE b.subject_id = t.subject_id AND a.username = s.email")).isEqualTo(2500);
+        assertThat(count("SELECT COUNT(*) FROM test_attempts " +
+                "WHERE correct_answers + wrong_answers + unanswered <> total_questions")).isZero();
+    }
+
+    @Test
+    void difficultyMixIsSkewedTowardsEasy() {
+        Map<String, Long> byDifficulty = new HashMap<>();
+        jdbcTemplate.query("SELECT difficulty_level, COUNT(*) FROM questions GROUP BY difficulty_level",
+                rs -> {
+                    byDifficulty.put(rs.getString(1), rs.getLong(2));
+                });
+
+        assertThat(byDifficulty.get("EASY")).isGreaterThan(byDifficulty.get("MEDIUM"));
+        assertThat(byDifficulty.get("MEDIUM")).isGreaterThan(byDifficulty.get("HARD"));
+    }
+
+    @Test
+    void questionBankFilesParseAsUploads() throws Exception {
+        List<Map<String, Object>> banks = jdbcTemplate.queryForList(
+                "SELECT file_path, original_file_name, total_questions FROM question_banks");
+        for (Map<String, Object> bank : banks) {
+            Path file = Path.of((String) bank.get("file_path"));
+            List<CSVQuestionDTO> parsed = csvParserService.parseCSV(new MockMultipartFile("file",
+                    (String) bank.get("original_file_name"), "text/csv", Files.readAllBytes(file)));
+
+            assertThat(parsed).hasSize(((Number) bank.get("total_questions")).intValue());
+        }
+    }
+
+    @Test
+    void studentsCanLogInWithTheConfiguredPassword() {
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM students WHERE email = ?", String.class,
+                SyntheticDataGenerator.studentEmail(0));
+
+        assertThat(passwordEncoder.matches("Password1!", hash)).isTrue();
+    }
+
+    @Test
+    void refusesToRunTwice() {
+        assertThatThrownBy(generator::generate)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already present");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
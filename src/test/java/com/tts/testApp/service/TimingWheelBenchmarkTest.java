@@ -0,0 +1,63 @@
+package com.tts.testApp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of tracking exam deadlines in the timing wheel: scheduling one per
+ * exam, cancelling most as students submit early, and one-second ticks
+ * across the exams' whole span, with the worst tick reported.
+ *
+ * Run with: mvn test -Dtest=TimingWheelBenchmarkTest -Dbenchmark=true
+ * Optional: -Dbenchmark.exams=50000 -Dbenchmark.minutes=180
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TimingWheelBenchmarkTest {
+
+    @Test
+    void deadlineTrackingCost() {
+        int exams = Integer.getInteger("benchmark.exams", 50000);
+        int minutes = Integer.getInteger("benchmark.minutes", 180);
+        long tick = 1000;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int round = 0; round < 2; round++) {
+            TimingWheel<Integer> wheel = new TimingWheel<>(tick, 0);
+            List<TimingWheel.Timer<Integer>> timers = new ArrayList<>(exams);
+            long start = System.nanoTime();
+            for (int i = 0; i < exams; i++) {
+                timers.add(wheel.schedule(i, TimeUnit.MINUTES.toMillis(30 + random.nextInt(minutes - 30))));
+            }
+            long scheduleNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < exams; i += 5) {
+                for (int j = i; j < Math.min(i + 4, exams); j++) {
+                    wheel.cancel(timers.get(j));
+                }
+            }
+            long cancelNanos = System.nanoTime() - start;
+
+            long expired = 0;
+            long worstTickNanos = 0;
+            long ticks = TimeUnit.MINUTES.toSeconds(minutes);
+            start = System.nanoTime();
+            for (long second = 1; second <= ticks; second++) {
+                long tickStart = System.nanoTime();
+                expired += wheel.advance(second * tick).size();
+                worstTickNanos = Math.max(worstTickNanos, System.nanoTime() - tickStart);
+            }
+            long tickNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d: schedule %.0f ns/exam, cancel %.0f ns/exam, tick avg %.2f us, "
+                            + "worst %.1f us, %d expired%n", round, (double) scheduleNanos / exams,
+                    (double) cancelNanos / (exams * 4 / 5), tickNanos / 1000.0 / ticks, worstTickNanos / 1000.0,
+                    expired);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tts.testApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void timersExpireOnTheirDeadlineTickAtEveryLevel() {
+        long start = 5_000_000;
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, start);
+        Random random = new Random(42);
+        Map<Long, Integer> remaining = new HashMap<>();
+        // Deadlines within level 0, 1, 2 and 3 of the wheel, and some on level boundaries
+        List<Long> deadlines = new ArrayList<>();
+        for (long span : new long[]{64, 64 * 64, 64 * 64 * 64, 64L * 64 * 64 * 4}) {
+            for (int i = 0; i < 200; i++) {
+                deadlines.add(start + (1 + random.nextInt((int) span)) * TICK);
+            }
+            deadlines.add(start + span * TICK);
+        }
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+            remaining.merge(deadline, 1, Integer::sum);
+        }
+
+        long last = deadlines.stream().mapToLong(Long::longValue).max().orElseThrow();
+        // Uneven steps, as a delayed scheduler would advance it
+        for (long now = start; now <= last + TICK; now += TICK * (1 + random.nextInt(3))) {
+            for (long deadline : wheel.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now);
+                assertThat(deadline).isGreaterThan(now - 3 * TICK);
+                remaining.merge(deadline, -1, Integer::sum);
+            }
+        }
+        assertThat(remaining.values()).containsOnly(0);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimersNeverExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", TimeUnit.MINUTES.toMillis(90));
+        wheel.schedule("kept", TimeUnit.MINUTES.toMillis(90));
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.advance(TimeUnit.MINUTES.toMillis(89))).isEmpty();
+        assertThat(wheel.advance(TimeUnit.MINUTES.toMillis(90))).containsExactly("kept");
+    }
+
+    @Test
+    void pastAndFarDeadlinesAreHandled() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, TimeUnit.DAYS.toMillis(1));
+        wheel.schedule("past", 0);
+        wheel.schedule("far", TimeUnit.DAYS.toMillis(400));
+
+        assertThat(wheel.advance(TimeUnit.DAYS.toMillis(1) + TICK)).containsExactly("past");
+        assertThat(wheel.advance(TimeUnit.DAYS.toMillis(400) - TICK)).isEmpty();
+        assertThat(wheel.advance(TimeUnit.DAYS.toMillis(400))).containsExactly("far");
+    }
+}
@@ -0,0 +1,49 @@
+package com.tts.testApp.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements a service call issues through Hibernate
+ * statistics and fails when it exceeds the path's declared budget.
+ * Statistics are global to the SessionFactory, so the application context
+ * under test should not run scheduled database work (e.g. set
+ * app.cache.invalidation.poll-interval-ms very high).
+ *
+ * Usage:
+ *   QueryBudget budget = new QueryBudget(entityManagerFactory);
+ *   List<CreateTestDTO> tests = budget.atMost(1, "getAllTests", createTestService::getAllTests);
+ */
+public class QueryBudget {
+
+    private final Statistics statistics;
+
+    public QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Hibernate statistics are disabled (app.cache.l2.statistics)");
+        }
+    }
+
+    /**
+     * Run the call and fail if it prepared more than maxStatements SQL statements
+     * @return the call's result
+     */
+    public <T> T atMost(int maxStatements, String path, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        if (statements > maxStatements) {
+            throw new AssertionError(String.format(
+                    "%s issued %d SQL statements, budget is %d (entities loaded: %d, collections loaded: %d)%n"
+                            + "HQL/JPQL executed: %s",
+                    path, statements, maxStatements, statistics.getEntityLoadCount(),
+                    statistics.getCollectionLoadCount(), Arrays.toString(statistics.getQueries())));
+        }
+        return result;
+    }
+}